@@ -0,0 +1,75 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.report.impl.InMemoryReportPlugin;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSelection;
+import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end benchmark for applying concepts provided by the Java plugin to the scanned classes of a {@link SyntheticCodebase}.
+ * <p>
+ * Covers the analyzer (e.g. rule execution, result rows, verification and reporting) and the execution of Cypher queries by the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnalyzeBenchmark {
+
+    /**
+     * The number of classes of the codebase.
+     */
+    @Param({ "1000" })
+    private int classes;
+
+    /**
+     * The concept to apply.
+     */
+    @Param({ "java:TypeAssignableFrom", "java:MethodOverrides", "java:VirtualInvokes", "java:VirtualDependsOn" })
+    private String concept;
+
+    private File directory;
+
+    private BenchmarkEnvironment environment;
+
+    private RuleSelection ruleSelection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jqassistant-benchmark-classes-")
+            .toFile();
+        SyntheticCodebase.generate(directory, classes);
+        environment = new BenchmarkEnvironment();
+        environment.start();
+        environment.getStore()
+            .reset();
+        environment.scan(directory, JavaScope.CLASSPATH);
+        ruleSelection = RuleSelection.builder()
+            .conceptId(concept)
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.stop();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Benchmark
+    public int applyConcept() throws RuleException {
+        try (InMemoryReportPlugin reportPlugin = environment.analyze(ruleSelection)) {
+            return reportPlugin.getConceptResults()
+                .size();
+        }
+    }
+}
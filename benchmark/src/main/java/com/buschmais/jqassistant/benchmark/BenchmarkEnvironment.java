@@ -0,0 +1,152 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Collection;
+
+import com.buschmais.jqassistant.core.analysis.api.Analyzer;
+import com.buschmais.jqassistant.core.analysis.api.baseline.BaselineManager;
+import com.buschmais.jqassistant.core.analysis.api.baseline.BaselineRepository;
+import com.buschmais.jqassistant.core.analysis.api.configuration.Analyze;
+import com.buschmais.jqassistant.core.analysis.api.configuration.Baseline;
+import com.buschmais.jqassistant.core.analysis.impl.AnalyzerImpl;
+import com.buschmais.jqassistant.core.report.impl.CompositeReportPlugin;
+import com.buschmais.jqassistant.core.report.impl.InMemoryReportPlugin;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSelection;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.impl.reader.RuleParser;
+import com.buschmais.jqassistant.core.runtime.api.configuration.Configuration;
+import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
+import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationMappingLoader;
+import com.buschmais.jqassistant.core.runtime.api.plugin.PluginClassLoader;
+import com.buschmais.jqassistant.core.runtime.impl.plugin.PluginConfigurationReaderImpl;
+import com.buschmais.jqassistant.core.runtime.impl.plugin.PluginRepositoryImpl;
+import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.Scope;
+import com.buschmais.jqassistant.core.scanner.impl.ScannerContextImpl;
+import com.buschmais.jqassistant.core.scanner.impl.ScannerImpl;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.StoreFactory;
+
+import io.smallrye.config.SysPropConfigSource;
+import org.apache.commons.io.FileUtils;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Provides the infrastructure for benchmarks using an embedded in-memory store, i.e. plugins, scanner and analyzer.
+ * <p>
+ * The configuration may be overridden using system properties, e.g. <code>-Djqassistant.analyze.parallel.enabled=true</code>.
+ */
+public class BenchmarkEnvironment {
+
+    private static final String STORE_URI_MEMORY = "memory:///";
+
+    private final File workingDirectory;
+
+    private PluginRepositoryImpl pluginRepository;
+
+    private Configuration configuration;
+
+    private Store store;
+
+    private RuleSet ruleSet;
+
+    /**
+     * Constructor.
+     *
+     * @throws IOException
+     *     If the working directory cannot be created.
+     */
+    public BenchmarkEnvironment() throws IOException {
+        this.workingDirectory = Files.createTempDirectory("jqassistant-benchmark-")
+            .toFile();
+    }
+
+    /**
+     * Start the environment, i.e. initialize the plugins and start the store.
+     */
+    public void start() {
+        pluginRepository = new PluginRepositoryImpl(new PluginConfigurationReaderImpl(new PluginClassLoader(BenchmarkEnvironment.class.getClassLoader())));
+        pluginRepository.initialize();
+        ConfigurationBuilder configurationBuilder = new ConfigurationBuilder("BenchmarkConfigSource", 110);
+        configurationBuilder.with(com.buschmais.jqassistant.core.store.api.configuration.Store.class,
+            com.buschmais.jqassistant.core.store.api.configuration.Store.URI, URI.create(STORE_URI_MEMORY));
+        // concepts are applied by each invocation of an analyze benchmark
+        configurationBuilder.with(Analyze.class, Analyze.EXECUTE_APPLIED_CONCEPTS, true);
+        configuration = ConfigurationMappingLoader.builder(Configuration.class)
+            .load(configurationBuilder.build(), new SysPropConfigSource());
+        StoreFactory storeFactory = new StoreFactory(pluginRepository.getStorePluginRepository(), plugins -> emptyList());
+        store = storeFactory.getStore(configuration.store(), configuration.metrics(), () -> new File(workingDirectory, "store"));
+        store.start();
+    }
+
+    /**
+     * Stop the environment.
+     */
+    public void stop() {
+        if (store != null) {
+            store.stop();
+        }
+        if (pluginRepository != null) {
+            pluginRepository.destroy();
+        }
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+
+    /**
+     * Return the {@link Store}.
+     *
+     * @return The {@link Store}.
+     */
+    public Store getStore() {
+        return store;
+    }
+
+    /**
+     * Scan a file or directory using a new {@link Scanner}.
+     *
+     * @param file
+     *     The file or directory.
+     * @param scope
+     *     The {@link Scope}.
+     */
+    public void scan(File file, Scope scope) {
+        ScannerContextImpl scannerContext = new ScannerContextImpl(pluginRepository.getClassLoader(), store, workingDirectory, workingDirectory);
+        Scanner scanner = new ScannerImpl(configuration.scan(), scannerContext, pluginRepository.getScannerPluginRepository());
+        store.beginTransaction();
+        scanner.scan(file, file.getAbsolutePath(), scope);
+        store.commitTransaction();
+    }
+
+    /**
+     * Execute the given rules, the rules provided by the plugins are used.
+     *
+     * @param ruleSelection
+     *     The {@link RuleSelection}.
+     * @return The {@link InMemoryReportPlugin} holding the results, it must be closed by the caller for releasing them.
+     * @throws RuleException
+     *     If the analysis fails.
+     */
+    public InMemoryReportPlugin analyze(RuleSelection ruleSelection) throws RuleException {
+        Analyze analyze = configuration.analyze();
+        if (ruleSet == null) {
+            Collection<RuleParserPlugin> ruleParserPlugins = pluginRepository.getRulePluginRepository()
+                .getRuleParserPlugins(analyze.rule());
+            ruleSet = new RuleParser(ruleParserPlugins).parse(pluginRepository.getRulePluginRepository()
+                .getRuleSources());
+        }
+        Baseline baseline = analyze.baseline();
+        BaselineManager baselineManager = new BaselineManager(baseline, new BaselineRepository(baseline, workingDirectory));
+        InMemoryReportPlugin reportPlugin = new InMemoryReportPlugin(new CompositeReportPlugin(emptyMap()));
+        Analyzer analyzer = new AnalyzerImpl(analyze, pluginRepository.getClassLoader(), store, pluginRepository.getAnalyzerPluginRepository()
+            .getRuleInterpreterPlugins(emptyMap()), baselineManager, reportPlugin);
+        analyzer.execute(ruleSet, ruleSelection);
+        return reportPlugin;
+    }
+}
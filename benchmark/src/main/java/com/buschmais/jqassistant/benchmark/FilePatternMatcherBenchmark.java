@@ -0,0 +1,49 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FilePatternMatcher;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark for matching file paths using include and exclude patterns (see {@link FilePatternMatcher#accepts(String)}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilePatternMatcherBenchmark {
+
+    private static final int PATHS = 1000;
+
+    private FilePatternMatcher filePatternMatcher;
+
+    private String[] paths;
+
+    @Setup
+    public void setUp() {
+        filePatternMatcher = FilePatternMatcher.builder()
+            .include("*.class,*.xml,META-INF/*")
+            .exclude("*/test/*,*Test.class,*/generated/*")
+            .build();
+        String[] extensions = { ".class", ".xml", ".properties", "Test.class" };
+        paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = "/com/example/synthetic/p" + (i % 20) + (i % 7 == 0 ? "/test" : "") + "/Type" + i + extensions[i % extensions.length];
+        }
+    }
+
+    @Benchmark
+    public int accepts() {
+        int accepted = 0;
+        for (String path : paths) {
+            if (filePatternMatcher.accepts(path)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
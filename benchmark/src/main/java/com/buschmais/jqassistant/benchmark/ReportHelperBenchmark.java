@@ -0,0 +1,63 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.report.api.ReportHelper;
+import com.buschmais.jqassistant.core.report.api.model.Column;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for creating labels and rows of rule results using the {@link ReportHelper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportHelperBenchmark {
+
+    private final Constraint constraint = Constraint.builder()
+        .id("benchmark:Constraint")
+        .build();
+
+    private List<String> list;
+
+    private Map<String, Object> map;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>();
+        map = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            list.add("com.example.synthetic.Type" + i);
+            map.put("key" + i, i);
+        }
+    }
+
+    @Benchmark
+    public String getLabelOfList() {
+        return ReportHelper.getLabel(list);
+    }
+
+    @Benchmark
+    public String getLabelOfMap() {
+        return ReportHelper.getLabel(map);
+    }
+
+    @Benchmark
+    public String toRow() {
+        Map<String, Column<?>> columns = new LinkedHashMap<>();
+        columns.put("type", ReportHelper.toColumn("com.example.synthetic.Type"));
+        columns.put("methods", ReportHelper.toColumn(list));
+        columns.put("count", ReportHelper.toColumn(42L));
+        return ReportHelper.toRow(constraint, columns)
+            .getKey();
+    }
+}
@@ -0,0 +1,46 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.rule.api.filter.RuleFilter;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark for selecting rules by filters containing wildcards (see {@link RuleFilter}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleFilterBenchmark {
+
+    private static final String[] PREFIXES = { "java", "java-classpath", "junit", "maven3", "spring-component", "jpa2" };
+
+    private static final String FILTER = "java:*, junit*:*, !java:Virtual*, maven3:?ependency*";
+
+    private List<String> ruleIds;
+
+    @Setup
+    public void setUp() {
+        ruleIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ruleIds.add(PREFIXES[i % PREFIXES.length] + ":" + (i % 3 == 0 ? "Virtual" : "Dependency") + "Rule" + i);
+        }
+    }
+
+    @Benchmark
+    public SortedSet<String> match() {
+        return RuleFilter.match(ruleIds, FILTER);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return RuleFilter.matches("java-classpath:ResolveDependsOn", "java*:Resolve*");
+    }
+}
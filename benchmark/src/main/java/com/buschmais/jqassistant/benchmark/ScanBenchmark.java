@@ -0,0 +1,61 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end benchmark for scanning a directory containing the classes of a {@link SyntheticCodebase} into an empty embedded store.
+ * <p>
+ * Covers the scanner infrastructure (e.g. ContainerFileResolver), the class file scanner (ClassVisitor, MethodVisitor, TypeCache) and the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+
+    /**
+     * The number of classes of the codebase.
+     */
+    @Param({ "1000" })
+    private int classes;
+
+    private File directory;
+
+    private BenchmarkEnvironment environment;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jqassistant-benchmark-classes-")
+            .toFile();
+        SyntheticCodebase.generate(directory, classes);
+        environment = new BenchmarkEnvironment();
+        environment.start();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStore() {
+        environment.getStore()
+            .reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.stop();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Benchmark
+    public void scanClassesDirectory() {
+        environment.scan(directory, JavaScope.CLASSPATH);
+    }
+}
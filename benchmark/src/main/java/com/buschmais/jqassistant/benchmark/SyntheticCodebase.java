@@ -0,0 +1,148 @@
+package com.buschmais.jqassistant.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generates the class files of a synthetic codebase into a directory.
+ * <p>
+ * The types are distributed over packages, each package contains an interface and classes implementing it. Each class extends the previous class
+ * of its package, declares fields referencing a class of the next package and methods reading/writing these fields and invoking methods of
+ * other classes. This provides the typical structures created by the Java scanner (e.g. DECLARES, DEPENDS_ON, EXTENDS, INVOKES, READS and
+ * WRITES).
+ */
+public final class SyntheticCodebase {
+
+    private static final String OBJECT = "java/lang/Object";
+
+    private static final String STRING_BUILDER = "java/lang/StringBuilder";
+
+    private static final int TYPES_PER_PACKAGE = 50;
+
+    private static final int METHODS_PER_TYPE = 5;
+
+    private SyntheticCodebase() {
+    }
+
+    /**
+     * Generate the codebase.
+     *
+     * @param directory
+     *     The directory to write the class files to.
+     * @param classes
+     *     The number of classes to generate.
+     * @throws IOException
+     *     If a class file cannot be written.
+     */
+    public static void generate(File directory, int classes) throws IOException {
+        int packages = (classes + TYPES_PER_PACKAGE - 1) / TYPES_PER_PACKAGE;
+        for (int i = 0; i < classes; i++) {
+            int packageIndex = i / TYPES_PER_PACKAGE;
+            int typeIndex = i % TYPES_PER_PACKAGE;
+            if (typeIndex == 0) {
+                write(directory, getInterfaceName(packageIndex), createInterface(packageIndex));
+            }
+            int referencedPackageIndex = (packageIndex + 1) % packages;
+            int referencedTypeIndex = Math.min(typeIndex, getTypeCount(classes, referencedPackageIndex) - 1);
+            write(directory, getClassName(packageIndex, typeIndex),
+                createClass(packageIndex, typeIndex, getClassName(referencedPackageIndex, referencedTypeIndex)));
+        }
+    }
+
+    private static int getTypeCount(int classes, int packageIndex) {
+        return Math.min(TYPES_PER_PACKAGE, classes - packageIndex * TYPES_PER_PACKAGE);
+    }
+
+    private static String getInterfaceName(int packageIndex) {
+        return "com/example/synthetic/p" + packageIndex + "/Service";
+    }
+
+    private static String getClassName(int packageIndex, int typeIndex) {
+        return "com/example/synthetic/p" + packageIndex + "/Type" + typeIndex;
+    }
+
+    private static byte[] createInterface(int packageIndex) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(V11, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE, getInterfaceName(packageIndex), null, OBJECT, null);
+        for (int i = 0; i < METHODS_PER_TYPE; i++) {
+            classWriter.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "execute" + i, "(I)I", null, null)
+                .visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static byte[] createClass(int packageIndex, int typeIndex, String referencedClass) {
+        String className = getClassName(packageIndex, typeIndex);
+        String superClass = typeIndex == 0 ? OBJECT : getClassName(packageIndex, typeIndex - 1);
+        String referencedDescriptor = "L" + referencedClass + ";";
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return OBJECT;
+            }
+        };
+        classWriter.visit(V11, ACC_PUBLIC | ACC_SUPER, className, null, superClass, new String[] { getInterfaceName(packageIndex) });
+        classWriter.visitField(ACC_PRIVATE, "reference", referencedDescriptor, null, null)
+            .visitEnd();
+        classWriter.visitField(ACC_PRIVATE, "counter", "I", null, null)
+            .visitEnd();
+        // constructor
+        MethodVisitor constructor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, superClass, "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        // methods of the interface: read and write the counter, invoke the referenced class
+        for (int i = 0; i < METHODS_PER_TYPE; i++) {
+            MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, "execute" + i, "(I)I", null, null);
+            method.visitCode();
+            method.visitVarInsn(ALOAD, 0);
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, className, "counter", "I");
+            method.visitVarInsn(ILOAD, 1);
+            method.visitInsn(IADD);
+            method.visitFieldInsn(PUTFIELD, className, "counter", "I");
+            method.visitVarInsn(ALOAD, 0);
+            method.visitFieldInsn(GETFIELD, className, "reference", referencedDescriptor);
+            method.visitVarInsn(ILOAD, 1);
+            method.visitMethodInsn(INVOKEVIRTUAL, referencedClass, "execute" + ((i + 1) % METHODS_PER_TYPE), "(I)I", false);
+            method.visitInsn(IRETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        // toString: uses JDK types
+        MethodVisitor toString = classWriter.visitMethod(ACC_PUBLIC, "toString", "()Ljava/lang/String;", null, null);
+        toString.visitCode();
+        toString.visitTypeInsn(NEW, STRING_BUILDER);
+        toString.visitInsn(DUP);
+        toString.visitMethodInsn(INVOKESPECIAL, STRING_BUILDER, "<init>", "()V", false);
+        toString.visitLdcInsn(className);
+        toString.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+        toString.visitVarInsn(ALOAD, 0);
+        toString.visitFieldInsn(GETFIELD, className, "counter", "I");
+        toString.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "append", "(I)Ljava/lang/StringBuilder;", false);
+        toString.visitMethodInsn(INVOKEVIRTUAL, STRING_BUILDER, "toString", "()Ljava/lang/String;", false);
+        toString.visitInsn(ARETURN);
+        toString.visitMaxs(0, 0);
+        toString.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void write(File directory, String name, byte[] bytes) throws IOException {
+        Path file = directory.toPath()
+            .resolve(name + ".class");
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+    }
+}
@@ -11,10 +11,13 @@ import com.buschmais.jqassistant.commandline.plugin.ArtifactProviderFactory;
 import com.buschmais.jqassistant.commandline.task.RegisteredTask;
 import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
 import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationMappingLoader;
+import com.buschmais.jqassistant.core.runtime.api.configuration.StartupIndex;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginClassLoader;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginConfigurationReader;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginResolver;
+import com.buschmais.jqassistant.core.runtime.impl.plugin.AetherArtifactProvider;
+import com.buschmais.jqassistant.core.runtime.impl.plugin.CachingArtifactProvider;
 import com.buschmais.jqassistant.core.runtime.impl.plugin.PluginConfigurationReaderImpl;
 import com.buschmais.jqassistant.core.runtime.impl.plugin.PluginRepositoryImpl;
 import com.buschmais.jqassistant.core.runtime.impl.plugin.PluginResolverImpl;
@@ -107,17 +110,36 @@ public class Main {
      *     The {@link CliConfiguration}
      * @param artifactProvider
      *     The {@link ArtifactProvider}
+     * @param startupIndexDirectory
+     *     The optional startup index directory.
      * @return The repository.
      */
-    private PluginRepository getPluginRepository(CliConfiguration configuration, ArtifactProvider artifactProvider) {
+    private PluginRepository getPluginRepository(CliConfiguration configuration, ArtifactProvider artifactProvider, Optional<File> startupIndexDirectory) {
         PluginResolver pluginResolver = new PluginResolverImpl(artifactProvider);
         PluginClassLoader pluginClassLoader = pluginResolver.createClassLoader(Task.class.getClassLoader(), configuration);
-        PluginConfigurationReader pluginConfigurationReader = new PluginConfigurationReaderImpl(pluginClassLoader);
+        PluginConfigurationReader pluginConfigurationReader = new PluginConfigurationReaderImpl(pluginClassLoader, startupIndexDirectory.orElse(null));
         PluginRepositoryImpl pluginRepository = new PluginRepositoryImpl(pluginConfigurationReader);
         pluginRepository.initialize();
         return pluginRepository;
     }
 
+    /**
+     * Determine the startup index directory.
+     *
+     * @param startupIndex
+     *     The {@link StartupIndex} configuration.
+     * @param userHome
+     *     The user home directory.
+     * @return The startup index directory or {@link Optional#empty()} if it is disabled.
+     */
+    private Optional<File> getStartupIndexDirectory(StartupIndex startupIndex, File userHome) {
+        if (!startupIndex.enabled()) {
+            return empty();
+        }
+        return of(startupIndex.directory()
+            .orElse(new File(userHome, StartupIndex.DEFAULT_DIRECTORY)));
+    }
+
     /**
      * Gather all options which are supported by the task (i.e. including standard and specific options).
      *
@@ -195,8 +217,12 @@ public class Main {
             LOGGER.info("Skipping execution.");
         } else {
             ArtifactProviderFactory artifactProviderFactory = new ArtifactProviderFactory(userHome);
-            ArtifactProvider artifactProvider = artifactProviderFactory.create(configuration);
-            PluginRepository pluginRepository = getPluginRepository(configuration, artifactProvider);
+            AetherArtifactProvider aetherArtifactProvider = artifactProviderFactory.create(configuration);
+            Optional<File> startupIndexDirectory = getStartupIndexDirectory(configuration.startupIndex(), userHome);
+            ArtifactProvider artifactProvider = startupIndexDirectory.<ArtifactProvider>map(
+                    directory -> new CachingArtifactProvider(aetherArtifactProvider, directory, aetherArtifactProvider.getRepositoryDescription()))
+                .orElse(aetherArtifactProvider);
+            PluginRepository pluginRepository = getPluginRepository(configuration, artifactProvider, startupIndexDirectory);
             StoreFactory storeFactory = new StoreFactory(pluginRepository.getStorePluginRepository(), artifactProvider);
             ClassLoader contextClassLoader = currentThread().getContextClassLoader();
             currentThread().setContextClassLoader(pluginRepository.getClassLoader());
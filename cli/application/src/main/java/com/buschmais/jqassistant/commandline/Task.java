@@ -15,6 +15,7 @@ public interface Task extends OptionsProvider, OptionsConsumer {
     String DEFAULT_OUTPUT_DIRECTORY = "jqassistant";
     String DEFAULT_STORE_DIRECTORY = "jqassistant/store";
     String DEFAULT_RULE_DIRECTORY = "jqassistant/rules";
+    String DEFAULT_RULE_CACHE_DIRECTORY = ".jqassistant/rule-cache";
     String DEFAULT_REPORT_DIRECTORY = "jqassistant/report";
     String REPORT_FILE_XML = "jqassistant-report.xml";
 
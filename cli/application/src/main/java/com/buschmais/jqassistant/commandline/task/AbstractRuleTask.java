@@ -16,6 +16,7 @@ import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
 import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
 import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 import com.buschmais.jqassistant.core.rule.impl.reader.RuleParser;
+import com.buschmais.jqassistant.core.rule.impl.reader.RuleSetCache;
 
 /**
  * Abstract base class for all tasks working with rules.
@@ -42,7 +43,7 @@ public abstract class AbstractRuleTask extends AbstractStoreTask {
             throw new CliExecutionException("Cannot get rule source reader plugins.", e);
         }
         try {
-            RuleParser ruleParser = new RuleParser(ruleParserPlugins);
+            RuleParser ruleParser = new RuleParser(ruleParserPlugins, getRuleSetCache(rule));
             return ruleParser.parse(sources);
         } catch (RuleException e) {
             throw new CliExecutionException("Cannot read rules.", e);
@@ -61,6 +62,21 @@ public abstract class AbstractRuleTask extends AbstractStoreTask {
             .orElse(DEFAULT_RULE_DIRECTORY));
     }
 
+    /**
+     * Determines the cache for parsed rules.
+     *
+     * @param rule
+     *     The {@link Rule} configuration.
+     * @return The {@link RuleSetCache} or <code>null</code> if caching is disabled.
+     */
+    private static RuleSetCache getRuleSetCache(Rule rule) {
+        if (!rule.cacheEnabled()) {
+            return null;
+        }
+        return new RuleSetCache(rule.cache()
+            .orElse(new File(System.getProperty("user.home"), DEFAULT_RULE_CACHE_DIRECTORY)), rule);
+    }
+
     /**
      * Return the selection of rules.
      *
@@ -0,0 +1,69 @@
+package com.buschmais.jqassistant.commandline.task;
+
+import java.io.File;
+import java.util.List;
+
+import com.buschmais.jqassistant.commandline.CliConfigurationException;
+import com.buschmais.jqassistant.commandline.CliExecutionException;
+import com.buschmais.jqassistant.commandline.configuration.CliConfiguration;
+import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
+import com.buschmais.jqassistant.core.store.api.configuration.Store;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionBuilder;
+
+/**
+ * Base class for tasks writing or restoring a snapshot of the store.
+ */
+public abstract class AbstractSnapshotTask extends AbstractStoreTask {
+
+    public static final String CMDLINE_OPTION_SNAPSHOT = "s";
+    public static final String CMDLINE_LONG_OPTION_SNAPSHOT = "snapshot";
+
+    public static final String DEFAULT_SNAPSHOT_FILE = "jqassistant/store-snapshot.zip";
+
+    @Override
+    protected boolean isConnectorRequired() {
+        return false;
+    }
+
+    @Override
+    protected void verify(com.buschmais.jqassistant.core.store.api.Store store) throws CliExecutionException {
+        if (!store.isSnapshotSupported()) {
+            throw new CliExecutionException(
+                "Snapshots are only supported by embedded stores located in a directory, check the setting jqassistant.store.uri.");
+        }
+    }
+
+    /**
+     * Determine the snapshot file from the configuration.
+     *
+     * @param configuration
+     *     The {@link CliConfiguration}.
+     * @return The snapshot file.
+     */
+    protected File getSnapshotFile(CliConfiguration configuration) {
+        return configuration.store()
+            .snapshot()
+            .orElse(new File(DEFAULT_SNAPSHOT_FILE));
+    }
+
+    @Override
+    public void configure(CommandLine options, ConfigurationBuilder configurationBuilder) throws CliConfigurationException {
+        super.configure(options, configurationBuilder);
+        if (options.hasOption(CMDLINE_OPTION_SNAPSHOT)) {
+            configurationBuilder.with(Store.class, Store.SNAPSHOT, options.getOptionValue(CMDLINE_OPTION_SNAPSHOT));
+        }
+    }
+
+    @Override
+    protected void addTaskOptions(List<Option> options) {
+        super.addTaskOptions(options);
+        options.add(OptionBuilder.withArgName(CMDLINE_OPTION_SNAPSHOT)
+            .withLongOpt(CMDLINE_LONG_OPTION_SNAPSHOT)
+            .withDescription("The snapshot file, default: " + DEFAULT_SNAPSHOT_FILE)
+            .hasArg()
+            .create(CMDLINE_OPTION_SNAPSHOT));
+    }
+}
@@ -44,7 +44,8 @@ public abstract class AbstractStoreTask extends AbstractTask {
      *     If the execution fails.
      */
     void withStore(CliConfiguration configuration, StoreOperation storeOperation) throws CliExecutionException {
-        Store store = storeFactory.getStore(configuration.store(), () -> new File(DEFAULT_STORE_DIRECTORY));
+        Store store = storeFactory.getStore(configuration.store(), configuration.metrics(), () -> new File(DEFAULT_STORE_DIRECTORY));
+        verify(store);
         try {
             store.start();
             storeOperation.run(store);
@@ -53,6 +54,17 @@ public abstract class AbstractStoreTask extends AbstractTask {
         }
     }
 
+    /**
+     * Verify that the store supports the operations of the task before it is started.
+     *
+     * @param store
+     *     The store.
+     * @throws CliExecutionException
+     *     If the store is not supported.
+     */
+    protected void verify(Store store) throws CliExecutionException {
+    }
+
     @Override
     public void configure(CommandLine options, ConfigurationBuilder configurationBuilder) throws CliConfigurationException {
         configurationBuilder.with(Embedded.class, Embedded.CONNECTOR_ENABLED, isConnectorRequired());
@@ -75,6 +75,7 @@ public class AnalyzeTask extends AbstractRuleTask {
                 });
             } finally {
                 store.commitTransaction();
+                inMemoryReportPlugin.close();
             }
         });
 
@@ -93,6 +93,26 @@ public enum RegisteredTask {
         }
     },
 
+    /**
+     * Snapshot.
+     */
+    SNAPSHOT {
+        @Override
+        public Task getTask() {
+            return new SnapshotTask();
+        }
+    },
+
+    /**
+     * Restore.
+     */
+    RESTORE {
+        @Override
+        public Task getTask() {
+            return new RestoreTask();
+        }
+    },
+
     /**
      * Report.
      */
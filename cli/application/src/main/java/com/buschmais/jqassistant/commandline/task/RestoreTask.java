@@ -0,0 +1,17 @@
+package com.buschmais.jqassistant.commandline.task;
+
+import com.buschmais.jqassistant.commandline.CliExecutionException;
+import com.buschmais.jqassistant.commandline.configuration.CliConfiguration;
+
+import org.apache.commons.cli.Options;
+
+/**
+ * Replaces the content of the store by a snapshot.
+ */
+public class RestoreTask extends AbstractSnapshotTask {
+
+    @Override
+    public void run(CliConfiguration configuration, Options options) throws CliExecutionException {
+        withStore(configuration, store -> store.restore(getSnapshotFile(configuration)));
+    }
+}
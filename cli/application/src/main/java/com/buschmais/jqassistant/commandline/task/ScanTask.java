@@ -9,6 +9,8 @@ import java.util.Optional;
 import com.buschmais.jqassistant.commandline.CliConfigurationException;
 import com.buschmais.jqassistant.commandline.CliExecutionException;
 import com.buschmais.jqassistant.commandline.configuration.CliConfiguration;
+import com.buschmais.jqassistant.core.report.api.ReportException;
+import com.buschmais.jqassistant.core.report.impl.ReportContextImpl;
 import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
@@ -26,6 +28,7 @@ import org.apache.commons.cli.Options;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.buschmais.jqassistant.core.report.impl.MetricsReportPlugin.writeMetrics;
 import static java.util.Collections.emptyList;
 
 /**
@@ -61,6 +64,15 @@ public class ScanTask extends AbstractStoreTask {
                     scanFiles(configuration, include.files(), scannerContext);
                     scanUris(configuration, include.urls(), scannerContext);
                 }, () -> LOGGER.warn("No files, directories or urls given."));
+            File reportDirectory = new File(configuration.analyze()
+                .report()
+                .directory()
+                .orElse(DEFAULT_REPORT_DIRECTORY));
+            try {
+                writeMetrics(new ReportContextImpl(pluginRepository.getClassLoader(), store, reportDirectory, reportDirectory));
+            } catch (ReportException e) {
+                throw new CliExecutionException("Cannot write metrics.", e);
+            }
         });
     }
 
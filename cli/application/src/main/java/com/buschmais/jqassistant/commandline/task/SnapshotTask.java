@@ -0,0 +1,17 @@
+package com.buschmais.jqassistant.commandline.task;
+
+import com.buschmais.jqassistant.commandline.CliExecutionException;
+import com.buschmais.jqassistant.commandline.configuration.CliConfiguration;
+
+import org.apache.commons.cli.Options;
+
+/**
+ * Writes a snapshot of the store to a file.
+ */
+public class SnapshotTask extends AbstractSnapshotTask {
+
+    @Override
+    public void run(CliConfiguration configuration, Options options) throws CliExecutionException {
+        withStore(configuration, store -> store.snapshot(getSnapshotFile(configuration)));
+    }
+}
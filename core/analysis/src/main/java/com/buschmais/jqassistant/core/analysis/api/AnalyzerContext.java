@@ -51,6 +51,18 @@ public interface AnalyzerContext {
      */
     Row toRow(ExecutableRule<?> rule, Map<String, Column<?>> columns);
 
+    /**
+     * Create the list for collecting the result {@link Row}s of a rule.
+     * <p>
+     * Depending on the configuration only a limited number of rows is kept in memory, the returned list therefore requires an active transaction
+     * for reading its rows.
+     *
+     * @param rule
+     *     The {@link ExecutableRule}.
+     * @return The list of {@link Row}s.
+     */
+    List<Row> createRows(ExecutableRule<?> rule);
+
     /**
      * Verifies if the Row shall be suppressed.
      * <p>
@@ -53,7 +53,7 @@ public class BaselineManager {
         }
     }
 
-    public boolean isExisting(ExecutableRule<?> executableRule, Row row) {
+    public synchronized boolean isExisting(ExecutableRule<?> executableRule, Row row) {
         if (!configuration.enabled()) {
             return false;
         }
@@ -38,6 +38,22 @@ public interface Analyze {
     @Description("The report configuration.")
     Report report();
 
+    /**
+     * The {@link Parallel} configuration.
+     *
+     * @return The {@link Parallel} configuration.
+     */
+    @Description("The settings for validating constraints in parallel.")
+    Parallel parallel();
+
+    /**
+     * The {@link Index} configuration.
+     *
+     * @return The {@link Index} configuration.
+     */
+    @Description("The settings for schema indexes used by the executed rules.")
+    Index index();
+
     String CONCEPTS = "concepts";
 
     @Description("The concepts to be applied.")
@@ -75,4 +91,10 @@ public interface Analyze {
     @WithDefault("5")
     int warnOnExecutionTimeSeconds();
 
+    String MAX_ROWS_IN_MEMORY = "max-rows-in-memory";
+
+    @Description("The maximum number of result rows per rule which are kept in memory, further rows are spilled to a temporary file and loaded on demand.")
+    @WithDefault("10000")
+    int maxRowsInMemory();
+
 }
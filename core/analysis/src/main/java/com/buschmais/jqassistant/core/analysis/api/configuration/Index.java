@@ -0,0 +1,24 @@
+package com.buschmais.jqassistant.core.analysis.api.configuration;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.analyze.index")
+@Description("The settings for schema indexes on properties which are used for lookups and joins by the Cypher queries of the executed rules.")
+public interface Index {
+
+    String CREATE = "create";
+
+    @Description("Create missing indexes before the rules using them are executed, otherwise they are only reported.")
+    @WithDefault("false")
+    boolean create();
+
+    String AWAIT_SECONDS = "await-seconds";
+
+    @Description("The maximum duration in seconds to wait for the population of indexes before the rules are executed.")
+    @WithDefault("300")
+    int awaitSeconds();
+
+}
@@ -0,0 +1,25 @@
+package com.buschmais.jqassistant.core.analysis.api.configuration;
+
+import java.util.Optional;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.analyze.parallel")
+@Description("The settings for validating constraints in parallel.")
+public interface Parallel {
+
+    String ENABLED = "enabled";
+
+    @Description("Enables validating constraints by a pool of worker threads, each using its own read transaction. Concepts are still applied one after another and results are reported in their original order.")
+    @WithDefault("false")
+    boolean enabled();
+
+    String THREADS = "threads";
+
+    @Description("The number of worker threads, defaults to the number of available processors.")
+    Optional<Integer> threads();
+
+}
@@ -1,7 +1,6 @@
 package com.buschmais.jqassistant.core.analysis.impl;
 
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -43,7 +42,7 @@ public abstract class AbstractCypherRuleInterpreterPlugin implements RuleInterpr
 
     private <T extends ExecutableRule<?>> Result<T> getResult(T executableRule, Severity severity, AnalyzerContext context,
         Query.Result<Query.Result.CompositeRowObject> compositeRowObjects) throws RuleException {
-        List<Row> rows = new LinkedList<>();
+        List<Row> rows = context.createRows(executableRule);
         String primaryColumn = executableRule.getReport()
             .getPrimaryColumn();
         List<String> columnNames = null;
@@ -60,13 +59,8 @@ public abstract class AbstractCypherRuleInterpreterPlugin implements RuleInterpr
             }
         }
         Status status = getStatus(executableRule, severity, columnNames, rows, context);
-        return Result.<T>builder()
-            .rule(executableRule)
-            .status(status)
-            .severity(severity)
-            .columnNames(columnNames)
-            .rows(rows)
-            .build();
+        // the rows are passed as they are, i.e. they are not copied by the builder
+        return new Result<>(executableRule, status, severity, columnNames, rows, null);
     }
 
     private Row getColumns(ExecutableRule<?> rule, List<String> columnNames, Query.Result.CompositeRowObject rowObject, AnalyzerContext context) {
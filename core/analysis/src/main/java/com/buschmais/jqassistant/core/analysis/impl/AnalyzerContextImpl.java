@@ -32,6 +32,8 @@ class AnalyzerContextImpl implements AnalyzerContext {
     private static final Verification DEFAULT_VERIFICATION = RowCountVerification.builder()
         .build();
 
+    private final Analyze configuration;
+
     private final ClassLoader classLoader;
 
     private final Store store;
@@ -41,6 +43,7 @@ class AnalyzerContextImpl implements AnalyzerContext {
     private final Map<Class<? extends Verification>, VerificationStrategy<?>> verificationStrategies;
 
     AnalyzerContextImpl(Analyze configuration, ClassLoader classLoader, Store store, BaselineManager baselineManager) throws RuleException {
+        this.configuration = configuration;
         this.classLoader = classLoader;
         this.store = store;
         this.baselineManager = baselineManager;
@@ -68,6 +71,11 @@ class AnalyzerContextImpl implements AnalyzerContext {
         return ReportHelper.toRow(rule, columns);
     }
 
+    @Override
+    public List<Row> createRows(ExecutableRule<?> rule) {
+        return new SpillingRowList(rule, store, configuration.maxRowsInMemory());
+    }
+
     @Override
     public <T extends ExecutableRule<?>> boolean isSuppressed(T executableRule, String primaryColumn, Row row) {
         if (baselineManager.isExisting(executableRule, row)) {
@@ -1,22 +1,30 @@
 package com.buschmais.jqassistant.core.analysis.impl;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
 import com.buschmais.jqassistant.core.analysis.api.configuration.Analyze;
+import com.buschmais.jqassistant.core.analysis.api.configuration.Parallel;
 import com.buschmais.jqassistant.core.analysis.api.model.*;
 import com.buschmais.jqassistant.core.analysis.spi.RuleRepository;
 import com.buschmais.jqassistant.core.report.api.ReportPlugin;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.executor.AbstractRuleVisitor;
 import com.buschmais.jqassistant.core.rule.api.model.*;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 
 import io.smallrye.config.ConfigMapping;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
 
@@ -32,13 +40,38 @@ import static java.util.Collections.*;
 @Slf4j
 public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
 
+    /**
+     * Timer for the execution of rules.
+     */
+    static final String METER_RULE = "jqassistant.analyze.rule";
+
+    /**
+     * Counter for the rows returned by rules.
+     */
+    static final String METER_RULE_ROWS = "jqassistant.analyze.rule.rows";
+
     private final Analyze configuration;
     private final AnalyzerContext analyzerContext;
     private final Map<String, Collection<RuleInterpreterPlugin>> ruleInterpreterPlugins;
     private final ReportPlugin reportPlugin;
     private final Store store;
+    private final MeterRegistry meterRegistry;
     private final RuleRepository ruleRepository;
+    private final IndexAdvisor indexAdvisor;
     private final Deque<RuleGroupTemplate> ruleGroups = new ArrayDeque<>();
+    private final Deque<PendingConstraint> pendingConstraints = new ArrayDeque<>();
+    private ExecutorService executorService;
+
+    /**
+     * A constraint which is validated by a worker thread, its result is reported after all previously visited rules have been reported.
+     */
+    @RequiredArgsConstructor
+    private static class PendingConstraint {
+        private final Constraint constraint;
+        private final Severity effectiveSeverity;
+        private final Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults;
+        private final Future<DetachedResult<Constraint>> detachedResult;
+    }
 
     /**
      * Constructor.
@@ -59,8 +92,10 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
         this.ruleInterpreterPlugins = ruleInterpreterPlugins;
         this.reportPlugin = reportPlugin;
         this.store = analyzerContext.getStore();
+        this.meterRegistry = store.getMeterRegistry();
         this.ruleRepository = store.getXOManager()
             .getRepository(RuleRepository.class);
+        this.indexAdvisor = new IndexAdvisor(configuration.index(), store);
     }
 
     @Override
@@ -70,6 +105,19 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
 
     @Override
     public void beforeRules() throws RuleException {
+        Parallel parallel = configuration.parallel();
+        if (parallel.enabled()) {
+            int threads = parallel.threads()
+                .orElse(Runtime.getRuntime()
+                    .availableProcessors());
+            AtomicInteger threadCount = new AtomicInteger();
+            executorService = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "jqassistant-analyze-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            log.info("Validating constraints using {} thread(s).", threads);
+        }
         store.requireTransaction(() -> {
             AnalyzeTaskDescriptor analyzeTaskDescriptor = store.create(AnalyzeTaskDescriptor.class);
             analyzeTaskDescriptor.setTimestamp(now());
@@ -80,6 +128,14 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
 
     @Override
     public void afterRules() throws RuleException {
+        try {
+            reportPendingConstraints();
+        } finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+                executorService = null;
+            }
+        }
         store.requireTransaction(reportPlugin::end);
         ruleGroups.pop();
     }
@@ -87,10 +143,13 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
     @Override
     public Result.Status visitConcept(Concept concept, Severity effectiveSeverity, Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults,
         Map<Concept, Result.Status> providingConceptResults) throws RuleException {
+        // concepts may modify the graph, i.e. pending constraints must be completed before
+        reportPendingConstraints();
         ConceptDescriptor conceptDescriptor = findConcept(concept);
         if (conceptDescriptor == null || configuration.executeAppliedConcepts()) {
             log.info("Applying concept '{}' with severity: '{}'.", concept.getId(), effectiveSeverity.getInfo(concept.getSeverity()));
             store.requireTransaction(() -> reportPlugin.beginConcept(concept, requiredConceptResults, providingConceptResults));
+            indexAdvisor.apply(concept);
             Result<Concept> result = execute(concept, effectiveSeverity);
             store.requireTransaction(() -> reportPlugin.setResult(result));
             store.requireTransaction(reportPlugin::endConcept);
@@ -116,6 +175,7 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
     @Override
     public void skipConcept(Concept concept, Severity effectiveSeverity, Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults)
         throws RuleException {
+        reportPendingConstraints();
         store.requireTransaction(() -> reportPlugin.beginConcept(concept, requiredConceptResults, emptyMap()));
         Result<Concept> result = Result.<Concept>builder()
             .rule(concept)
@@ -130,8 +190,59 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
     public Result.Status visitConstraint(Constraint constraint, Severity effectiveSeverity,
         Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults) throws RuleException {
         log.info("Validating constraint '{}' with severity: '{}'.", constraint.getId(), effectiveSeverity.getInfo(constraint.getSeverity()));
-        store.requireTransaction(() -> reportPlugin.beginConstraint(constraint, requiredConceptResults));
+        indexAdvisor.apply(constraint);
+        if (executorService != null) {
+            // the status of a constraint is not evaluated by the executor, it is reported after the validation has been completed
+            Future<DetachedResult<Constraint>> detachedResult = executorService.submit(() -> store.requireSession(() -> {
+                Result<Constraint> result = execute(constraint, effectiveSeverity);
+                return store.requireTransaction(() -> DetachedResult.detach(result));
+            }));
+            pendingConstraints.add(new PendingConstraint(constraint, effectiveSeverity, requiredConceptResults, detachedResult));
+            return null;
+        }
         Result<Constraint> result = execute(constraint, effectiveSeverity);
+        return reportConstraint(constraint, effectiveSeverity, requiredConceptResults, result);
+    }
+
+    /**
+     * Report the results of all pending constraints in the order they have been visited.
+     *
+     * @throws RuleException
+     *     If a constraint could not be validated.
+     */
+    private void reportPendingConstraints() throws RuleException {
+        while (!pendingConstraints.isEmpty()) {
+            PendingConstraint pendingConstraint = pendingConstraints.poll();
+            try {
+                DetachedResult<Constraint> detachedResult = pendingConstraint.detachedResult.get();
+                Result<Constraint> result = store.requireTransaction(() -> detachedResult.attach(store));
+                reportConstraint(pendingConstraint.constraint, pendingConstraint.effectiveSeverity, pendingConstraint.requiredConceptResults, result);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+                cancelPendingConstraints();
+                throw new RuleException("Interrupted while validating constraint " + pendingConstraint.constraint, e);
+            } catch (ExecutionException e) {
+                cancelPendingConstraints();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuleException) {
+                    throw (RuleException) cause;
+                }
+                throw new RuleException("Cannot validate constraint " + pendingConstraint.constraint, cause);
+            }
+        }
+    }
+
+    private void cancelPendingConstraints() {
+        for (PendingConstraint pendingConstraint : pendingConstraints) {
+            pendingConstraint.detachedResult.cancel(true);
+        }
+        pendingConstraints.clear();
+    }
+
+    private Result.Status reportConstraint(Constraint constraint, Severity effectiveSeverity,
+        Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults, Result<Constraint> result) throws RuleException {
+        store.requireTransaction(() -> reportPlugin.beginConstraint(constraint, requiredConceptResults));
         store.requireTransaction(() -> reportPlugin.setResult(result));
         store.requireTransaction(reportPlugin::endConstraint);
         Result.Status status = result.getStatus();
@@ -142,6 +253,7 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
     @Override
     public void skipConstraint(Constraint constraint, Severity effectiveSeverity, Map<Map.Entry<Concept, Boolean>, Result.Status> requiredConceptResults)
         throws RuleException {
+        reportPendingConstraints();
         store.requireTransaction(() -> reportPlugin.beginConstraint(constraint, requiredConceptResults));
         Result<Constraint> result = Result.<Constraint>builder()
             .rule(constraint)
@@ -154,6 +266,7 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
 
     @Override
     public void beforeGroup(Group group, Severity effectiveSeverity) throws RuleException {
+        reportPendingConstraints();
         log.info("Executing group '{}'", group.getId());
         store.requireTransaction(() -> reportPlugin.beginGroup(group));
         updateGroup(group, effectiveSeverity);
@@ -162,6 +275,7 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
 
     @Override
     public void afterGroup(Group group) throws RuleException {
+        reportPendingConstraints();
         store.requireTransaction(reportPlugin::endGroup);
         ruleGroups.pop();
     }
@@ -197,9 +311,15 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor<Result.Status> {
     private <T extends ExecutableRule<?>> Result<T> execute(T executableRule, Severity severity, Map<String, Object> ruleParameters,
         RuleInterpreterPlugin languagePlugin) throws RuleException {
         StopWatch stopWatch = StopWatch.createStarted();
+        long start = meterRegistry.start();
         try {
-            return languagePlugin.execute(executableRule, ruleParameters, severity, analyzerContext);
+            Result<T> result = languagePlugin.execute(executableRule, ruleParameters, severity, analyzerContext);
+            meterRegistry.increment(METER_RULE_ROWS, executableRule.getId(), result.getRows()
+                .size());
+            // the execution time is reported as the duration, as constraints may be reported after they have been validated in parallel
+            return result.withDuration(stopWatch.getTime());
         } finally {
+            meterRegistry.stop(METER_RULE, executableRule.getId(), start);
             stopWatch.stop();
             long ruleExecutionTime = stopWatch.getTime(TimeUnit.SECONDS);
             if (ruleExecutionTime > configuration.warnOnExecutionTimeSeconds()) {
@@ -0,0 +1,187 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.util.*;
+
+import com.buschmais.jqassistant.core.report.api.model.Column;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.CompositeObject;
+import com.buschmais.xo.api.Query;
+import com.buschmais.xo.neo4j.api.model.Neo4jRelationship;
+
+import lombok.RequiredArgsConstructor;
+
+import static com.buschmais.jqassistant.core.report.api.ReportHelper.getRowKey;
+import static java.util.Collections.singletonMap;
+
+/**
+ * A {@link Result} which has been created using a separate session of the {@link Store} (see {@link Store#requireSession}).
+ * <p>
+ * Nodes and relationships contained in the columns of the rows are replaced by references holding their ids, these are resolved by
+ * {@link #attach(Store)} using the session of the calling thread.
+ *
+ * @param <T>
+ *     The rule type.
+ */
+@RequiredArgsConstructor
+class DetachedResult<T extends ExecutableRule> {
+
+    private static final String PARAMETER_IDS = "ids";
+
+    private static final String ID = "valueId";
+
+    private static final String VALUE = "value";
+
+    static final String MATCH_NODE = "MATCH (value) WHERE id(value)=valueId";
+
+    static final String MATCH_RELATIONSHIP = "MATCH ()-[value]->() WHERE id(value)=valueId";
+
+    private final Result<T> result;
+
+    private final Set<Object> nodeIds;
+
+    private final Set<Object> relationshipIds;
+
+    /**
+     * A detached node or relationship.
+     */
+    @RequiredArgsConstructor
+    private static class Reference {
+
+        private final Object id;
+
+        private final boolean relationship;
+
+    }
+
+    /**
+     * Detach a {@link Result}.
+     *
+     * @param result
+     *     The {@link Result}.
+     * @param <T>
+     *     The rule type.
+     * @return The {@link DetachedResult}.
+     */
+    static <T extends ExecutableRule> DetachedResult<T> detach(Result<T> result) {
+        Set<Object> nodeIds = new HashSet<>();
+        Set<Object> relationshipIds = new HashSet<>();
+        List<Row> rows = convertRows(result, value -> {
+            if (value instanceof CompositeObject) {
+                CompositeObject compositeObject = (CompositeObject) value;
+                Object id = compositeObject.getId();
+                boolean relationship = compositeObject.getDelegate() instanceof Neo4jRelationship;
+                (relationship ? relationshipIds : nodeIds).add(id);
+                return new Reference(id, relationship);
+            }
+            return value;
+        });
+        return new DetachedResult<>(copy(result, rows), nodeIds, relationshipIds);
+    }
+
+    /**
+     * Attach the {@link Result} to the session of the current thread, i.e. the references are replaced by nodes and relationships loaded from the
+     * {@link Store}. This method must be called within a transaction.
+     *
+     * @param store
+     *     The {@link Store}.
+     * @return The {@link Result}.
+     */
+    Result<T> attach(Store store) {
+        if (nodeIds.isEmpty() && relationshipIds.isEmpty()) {
+            return result;
+        }
+        Map<Object, Object> nodes = load(store, MATCH_NODE, nodeIds);
+        Map<Object, Object> relationships = load(store, MATCH_RELATIONSHIP, relationshipIds);
+        return copy(result, convertRows(result, value -> {
+            if (value instanceof Reference) {
+                Reference reference = (Reference) value;
+                return (reference.relationship ? relationships : nodes).get(reference.id);
+            }
+            return value;
+        }));
+    }
+
+    /**
+     * Load nodes or relationships by their ids.
+     *
+     * @param store
+     *     The {@link Store}.
+     * @param match
+     *     The match clause, i.e. {@link #MATCH_NODE} or {@link #MATCH_RELATIONSHIP}.
+     * @param ids
+     *     The ids.
+     * @return The loaded nodes or relationships by their ids.
+     */
+    static Map<Object, Object> load(Store store, String match, Set<Object> ids) {
+        Map<Object, Object> values = new HashMap<>();
+        if (!ids.isEmpty()) {
+            String query = "UNWIND $" + PARAMETER_IDS + " as " + ID + " " + match + " RETURN " + ID + ", " + VALUE;
+            try (Query.Result<Query.Result.CompositeRowObject> rows = store.executeQuery(query, singletonMap(PARAMETER_IDS, new ArrayList<>(ids)))) {
+                for (Query.Result.CompositeRowObject row : rows) {
+                    values.put(row.get(ID, Object.class), row.get(VALUE, Object.class));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static <T extends ExecutableRule> List<Row> convertRows(Result<T> result, ValueConverter converter) {
+        List<Row> resultRows = result.getRows();
+        if (resultRows instanceof SpillingRowList) {
+            // spilled rows are not bound to a session, only the rows held in memory (including the pinned rows) need to be converted
+            SpillingRowList spillingRowList = (SpillingRowList) resultRows;
+            return spillingRowList.withRowsInMemory(convertRows(result.getRule(), spillingRowList.getRowsInMemory(), converter),
+                convertRows(result.getRule(), spillingRowList.getPinnedRows(), converter));
+        }
+        return convertRows(result.getRule(), resultRows, converter);
+    }
+
+    /**
+     * Convert the values of the given rows, labels and keys which have not been computed yet stay lazy, i.e. they are computed from the converted
+     * values on first access.
+     */
+    private static List<Row> convertRows(ExecutableRule<?> rule, List<Row> resultRows, ValueConverter converter) {
+        List<Row> rows = new ArrayList<>(resultRows.size());
+        for (Row row : resultRows) {
+            Map<String, Column<?>> columns = new LinkedHashMap<>();
+            for (Map.Entry<String, Column<?>> entry : row.getColumns()
+                .entrySet()) {
+                Column<?> column = entry.getValue();
+                columns.put(entry.getKey(), column.withValue(convert(column.getValue(), converter)));
+            }
+            rows.add(row.withColumns(columns, () -> getRowKey(rule, columns)));
+        }
+        return rows;
+    }
+
+    private static Object convert(Object value, ValueConverter converter) {
+        if (value instanceof Collection<?>) {
+            List<Object> values = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                values.add(convert(element, converter));
+            }
+            return values;
+        } else if (value instanceof Map<?, ?>) {
+            Map<Object, Object> values = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                values.put(entry.getKey(), convert(entry.getValue(), converter));
+            }
+            return values;
+        }
+        return converter.convert(value);
+    }
+
+    private static <T extends ExecutableRule> Result<T> copy(Result<T> result, List<Row> rows) {
+        return new Result<>(result.getRule(), result.getStatus(), result.getSeverity(), result.getColumnNames(), rows, result.getDuration());
+    }
+
+    @FunctionalInterface
+    private interface ValueConverter {
+
+        Object convert(Object value);
+
+    }
+}
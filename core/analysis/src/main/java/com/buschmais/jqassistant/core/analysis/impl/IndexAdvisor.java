@@ -0,0 +1,214 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.buschmais.jqassistant.core.analysis.api.configuration.Index;
+import com.buschmais.jqassistant.core.rule.api.model.CypherExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.Executable;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
+import com.buschmais.xo.api.XOException;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Collections.singletonMap;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.DOTALL;
+
+/**
+ * Determines the node properties which are used for lookups and joins by the Cypher queries of rules and reports or creates missing schema indexes.
+ * <p>
+ * The queries are inspected using patterns, i.e. a property is considered if it is compared by equality, <code>IN</code> or <code>STARTS WITH</code>
+ * or used in an inline property map and the labels of its variable are declared in a node pattern of the same query. The index is advised for the last
+ * declared label which is by convention the most specific one (e.g. <code>Type</code> for <code>(t:Java:Type)</code>).
+ * <p>
+ * The rules are inspected while they are executed, i.e. the existing indexes are determined once and each missing index is reported or created once.
+ */
+@Slf4j
+class IndexAdvisor {
+
+    private static final Pattern LITERALS_AND_COMMENTS = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"|//[^\\n]*|/\\*.*?\\*/", DOTALL);
+
+    private static final Pattern SET_CLAUSE = Pattern.compile(
+        "\\bSET\\b.*?(?=\\b(?:MATCH|OPTIONAL|WITH|RETURN|MERGE|CREATE|DELETE|DETACH|REMOVE|CALL|UNWIND|FOREACH|ON|WHERE)\\b|}|$)", DOTALL | CASE_INSENSITIVE);
+
+    private static final Pattern NODE = Pattern.compile("\\(\\s*(\\w*)\\s*((?::\\s*`?\\w+`?\\s*)+)(?:\\{([^}]*)})?");
+
+    private static final Pattern LABEL = Pattern.compile(":\\s*`?(\\w+)`?");
+
+    private static final Pattern MAP_KEY = Pattern.compile("(\\w+)\\s*:");
+
+    private static final Pattern PROPERTY_LEFT = Pattern.compile("\\b(\\w+)\\.(\\w+)\\s*(?:(?<![<>!=])=(?![=~])|\\bIN\\b|\\bSTARTS\\s+WITH\\b)",
+        CASE_INSENSITIVE);
+
+    private static final Pattern PROPERTY_RIGHT = Pattern.compile("(?<![<>!=])=\\s*(\\w+)\\.(\\w+)\\b");
+
+    private static final Set<String> INDEX_TYPES = Set.of("RANGE", "BTREE", "TEXT");
+
+    private final Index configuration;
+
+    private final Store store;
+
+    /**
+     * The existing and already advised indexes, loaded on first access.
+     */
+    private Set<IndexDefinition> knownIndexes = null;
+
+    /**
+     * Set if the existing indexes cannot be determined, i.e. no indexes are advised.
+     */
+    private boolean disabled = false;
+
+    IndexAdvisor(Index configuration, Store store) {
+        this.configuration = configuration;
+        this.store = store;
+    }
+
+    /**
+     * Report or create the missing indexes for a rule before it is executed and wait until the indexes are online.
+     *
+     * @param rule
+     *     The rule to be executed.
+     */
+    void apply(ExecutableRule<?> rule) {
+        Executable<?> executable = rule.getExecutable();
+        if (disabled || !(executable instanceof CypherExecutable)) {
+            return;
+        }
+        Set<IndexDefinition> indexes = getIndexes(((CypherExecutable) executable).getSource());
+        if (indexes.isEmpty()) {
+            return;
+        }
+        if (knownIndexes == null) {
+            try {
+                knownIndexes = getExistingIndexes();
+            } catch (XOException e) {
+                log.warn("Cannot determine the existing indexes, skipping advice of indexes for the executed rules.", e);
+                disabled = true;
+                return;
+            }
+            // e.g. indexes declared by the descriptor model
+            awaitIndexes();
+        }
+        indexes.removeAll(knownIndexes);
+        if (!indexes.isEmpty()) {
+            knownIndexes.addAll(indexes);
+            if (configuration.create()) {
+                for (IndexDefinition index : indexes) {
+                    log.info("Creating index {} for rule '{}'.", index, rule.getId());
+                    store.requireTransaction(() -> store.executeQuery(
+                            "CREATE INDEX IF NOT EXISTS FOR (n:`" + index.getLabel() + "`) ON (n.`" + index.getProperty() + "`)")
+                        .close());
+                }
+                awaitIndexes();
+            } else {
+                log.info("Rule '{}' uses properties without index: {} (set '{}' to 'true' for creating them).", rule.getId(), indexes,
+                    "jqassistant.analyze.index." + Index.CREATE);
+            }
+        }
+    }
+
+    /**
+     * Determine the indexes which may be used by a Cypher query.
+     *
+     * @param cypher
+     *     The Cypher query.
+     * @return The {@link IndexDefinition}s.
+     */
+    static Set<IndexDefinition> getIndexes(String cypher) {
+        String query = SET_CLAUSE.matcher(LITERALS_AND_COMMENTS.matcher(cypher)
+                .replaceAll(" "))
+            .replaceAll(" ");
+        Map<String, String> labels = new HashMap<>();
+        Set<IndexDefinition> indexes = new TreeSet<>();
+        Matcher nodeMatcher = NODE.matcher(query);
+        while (nodeMatcher.find()) {
+            String label = null;
+            Matcher labelMatcher = LABEL.matcher(nodeMatcher.group(2));
+            while (labelMatcher.find()) {
+                label = labelMatcher.group(1);
+            }
+            String variable = nodeMatcher.group(1);
+            if (!variable.isEmpty()) {
+                labels.putIfAbsent(variable, label);
+            }
+            String properties = nodeMatcher.group(3);
+            if (properties != null) {
+                Matcher keyMatcher = MAP_KEY.matcher(properties);
+                while (keyMatcher.find()) {
+                    indexes.add(new IndexDefinition(label, keyMatcher.group(1)));
+                }
+            }
+        }
+        for (Pattern pattern : List.of(PROPERTY_LEFT, PROPERTY_RIGHT)) {
+            Matcher propertyMatcher = pattern.matcher(query);
+            while (propertyMatcher.find()) {
+                String label = labels.get(propertyMatcher.group(1));
+                if (label != null) {
+                    indexes.add(new IndexDefinition(label, propertyMatcher.group(2)));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private Set<IndexDefinition> getExistingIndexes() {
+        Set<IndexDefinition> existingIndexes = new HashSet<>();
+        store.requireTransaction(() -> {
+            try (Result<CompositeRowObject> result = store.executeQuery(
+                "SHOW INDEXES YIELD type, entityType, labelsOrTypes, properties WHERE entityType = 'NODE' RETURN type, labelsOrTypes, properties")) {
+                for (CompositeRowObject row : result) {
+                    List<String> labels = row.get("labelsOrTypes", List.class);
+                    List<String> properties = row.get("properties", List.class);
+                    // composite indexes are used for lookups by their first property
+                    if (INDEX_TYPES.contains(row.get("type", String.class)) && labels != null && properties != null && !properties.isEmpty()) {
+                        for (String label : labels) {
+                            existingIndexes.add(new IndexDefinition(label, properties.get(0)));
+                        }
+                    }
+                }
+            }
+        });
+        return existingIndexes;
+    }
+
+    private void awaitIndexes() {
+        try {
+            store.requireTransaction(() -> store.executeQuery("CALL db.awaitIndexes($seconds)", singletonMap("seconds", (long) configuration.awaitSeconds()))
+                .close());
+        } catch (XOException e) {
+            log.warn("Indexes are not online after {}s, continuing analysis.", configuration.awaitSeconds(), e);
+        }
+    }
+
+    /**
+     * The label and property of a node index.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    static final class IndexDefinition implements Comparable<IndexDefinition> {
+
+        private final String label;
+
+        private final String property;
+
+        @Override
+        public int compareTo(IndexDefinition other) {
+            int result = label.compareTo(other.label);
+            return result != 0 ? result : property.compareTo(other.property);
+        }
+
+        @Override
+        public String toString() {
+            return ":" + label + "(" + property + ")";
+        }
+    }
+}
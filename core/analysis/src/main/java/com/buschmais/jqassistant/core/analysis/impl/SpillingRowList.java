@@ -0,0 +1,635 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.file.Files;
+import java.util.*;
+
+import com.buschmais.jqassistant.core.report.api.ReportHelper;
+import com.buschmais.jqassistant.core.report.api.model.Column;
+import com.buschmais.jqassistant.core.report.api.model.Row;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.CompositeObject;
+import com.buschmais.xo.neo4j.api.model.Neo4jRelationship;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A list of result {@link Row}s which keeps a limited number of rows in memory.
+ * <p>
+ * Further rows are spilled in chunks to a temporary file: nodes and relationships contained in their columns are written as ids and loaded from
+ * the {@link Store} while iterating over the list, which therefore requires an active transaction. Besides nodes and relationships only strings,
+ * integer and floating point numbers, booleans, arrays (including arrays of primitives, e.g. <code>long[]</code>), lists and maps are supported as values
+ * of spilled rows. A row containing any other value (e.g. a temporal value, a path or an array of nodes) is kept in memory, the spill file only holds
+ * its position.
+ * <p>
+ * The temporary file is deleted by {@link #close()}, i.e. after the rows have been reported.
+ */
+@Slf4j
+class SpillingRowList extends AbstractList<Row> implements Closeable {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte LIST = 5;
+    private static final byte MAP = 6;
+    private static final byte NODE = 7;
+    private static final byte RELATIONSHIP = 8;
+    private static final byte INTEGER = 9;
+    private static final byte FLOAT = 10;
+    private static final byte ARRAY = 11;
+    private static final byte PRIMITIVE_ARRAY = 12;
+
+    /**
+     * Written instead of the column count for a row which is kept in memory, followed by its index in {@link #pinnedRows}.
+     */
+    private static final int PINNED_ROW = -1;
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Map.of("boolean", boolean.class, "byte", byte.class, "char", char.class, "short",
+        short.class, "int", int.class, "long", long.class, "float", float.class, "double", double.class);
+
+    private final ExecutableRule<?> rule;
+
+    private final Store store;
+
+    private final int maxRowsInMemory;
+
+    private final List<Row> rows;
+
+    /**
+     * The rows which have been added after the maximum number of rows in memory had been reached but which cannot be spilled.
+     */
+    private final List<Row> pinnedRows;
+
+    private final Spill spill;
+
+    /**
+     * The last chunk which has been read, i.e. subsequent calls of {@link #get(int)} within the same chunk do not read it again.
+     */
+    private Chunk cachedChunk;
+
+    private List<Row> cachedChunkRows;
+
+    /**
+     * The chunks which have been written to the spill file.
+     */
+    private static class Spill {
+
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private File file;
+
+        private long length = 0;
+
+        private int rows = 0;
+
+        private ByteArrayOutputStream buffer;
+
+        private DataOutputStream output;
+
+        private int bufferedRows = 0;
+
+        private boolean closed = false;
+
+    }
+
+    /**
+     * A chunk of spilled rows.
+     */
+    @RequiredArgsConstructor
+    private static class Chunk {
+
+        private final long offset;
+
+        private final int length;
+
+        private final int rows;
+
+    }
+
+    /**
+     * A detached node or relationship of a spilled row.
+     */
+    @RequiredArgsConstructor
+    private static class Reference {
+
+        private final long id;
+
+        private final boolean relationship;
+
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rule
+     *     The {@link ExecutableRule} providing the rows.
+     * @param store
+     *     The {@link Store}.
+     * @param maxRowsInMemory
+     *     The maximum number of rows to keep in memory.
+     */
+    SpillingRowList(ExecutableRule<?> rule, Store store, int maxRowsInMemory) {
+        this(rule, store, maxRowsInMemory, new ArrayList<>(), new ArrayList<>(), new Spill());
+    }
+
+    private SpillingRowList(ExecutableRule<?> rule, Store store, int maxRowsInMemory, List<Row> rows, List<Row> pinnedRows, Spill spill) {
+        this.rule = rule;
+        this.store = store;
+        this.maxRowsInMemory = maxRowsInMemory;
+        this.rows = rows;
+        this.pinnedRows = pinnedRows;
+        this.spill = spill;
+    }
+
+    /**
+     * Return the rows which are held in memory.
+     *
+     * @return The rows.
+     */
+    List<Row> getRowsInMemory() {
+        return unmodifiableList(rows);
+    }
+
+    /**
+     * Return the rows which could not be spilled and therefore are held in memory in addition to {@link #getRowsInMemory()}.
+     *
+     * @return The rows.
+     */
+    List<Row> getPinnedRows() {
+        return unmodifiableList(pinnedRows);
+    }
+
+    /**
+     * Return the file holding the spilled rows.
+     *
+     * @return The file or <code>null</code> if no rows have been spilled.
+     */
+    File getSpillFile() {
+        return spill.file;
+    }
+
+    /**
+     * Create a new {@link SpillingRowList} sharing the spilled rows of this instance but using the given rows in memory.
+     *
+     * @param rowsInMemory
+     *     The rows in memory, replacing {@link #getRowsInMemory()}.
+     * @param pinnedRows
+     *     The rows which could not be spilled, replacing {@link #getPinnedRows()}.
+     * @return The {@link SpillingRowList}.
+     */
+    SpillingRowList withRowsInMemory(List<Row> rowsInMemory, List<Row> pinnedRows) {
+        if (pinnedRows.size() != this.pinnedRows.size()) {
+            throw new IllegalArgumentException("Expecting " + this.pinnedRows.size() + " pinned rows but got " + pinnedRows.size());
+        }
+        flush();
+        return new SpillingRowList(rule, store, maxRowsInMemory, new ArrayList<>(rowsInMemory), new ArrayList<>(pinnedRows), spill);
+    }
+
+    @Override
+    public boolean add(Row row) {
+        if (spill.rows == 0 && rows.size() < maxRowsInMemory) {
+            rows.add(row);
+        } else {
+            write(row);
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return rows.size() + spill.rows;
+    }
+
+    @Override
+    public Row get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index < rows.size()) {
+            return rows.get(index);
+        }
+        flush();
+        int chunkIndex = index - rows.size();
+        for (Chunk chunk : spill.chunks) {
+            if (chunkIndex < chunk.rows) {
+                if (chunk != cachedChunk) {
+                    cachedChunkRows = read(chunk);
+                    cachedChunk = chunk;
+                }
+                return cachedChunkRows.get(chunkIndex);
+            }
+            chunkIndex -= chunk.rows;
+        }
+        throw new IllegalStateException("Cannot find spilled row " + index);
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        flush();
+        Iterator<Chunk> chunks = new ArrayList<>(spill.chunks).iterator();
+        return new Iterator<>() {
+
+            private Iterator<Row> current = getRowsInMemory().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && chunks.hasNext()) {
+                    current = read(chunks.next()).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Row next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Delete the spill file, the spilled rows cannot be accessed afterward.
+     * <p>
+     * The spill file is shared with the instances created by {@link #withRowsInMemory(List, List)}.
+     */
+    @Override
+    public void close() {
+        if (spill.file != null && !spill.closed) {
+            try {
+                Files.deleteIfExists(spill.file.toPath());
+            } catch (IOException e) {
+                log.warn("Cannot delete spilled result rows of '{}' in '{}'.", rule, spill.file, e);
+            }
+        }
+        spill.closed = true;
+        spill.buffer = null;
+        spill.output = null;
+        spill.bufferedRows = 0;
+        pinnedRows.clear();
+        cachedChunk = null;
+        cachedChunkRows = null;
+    }
+
+    private void write(Row row) {
+        if (spill.closed) {
+            throw new IllegalStateException("Cannot add result row to closed rows of " + rule);
+        }
+        try {
+            if (spill.output == null) {
+                if (spill.file == null) {
+                    spill.file = File.createTempFile("jqassistant-result-", ".rows");
+                    spill.file.deleteOnExit();
+                    log.debug("Spilling result rows of '{}' to '{}'.", rule, spill.file);
+                }
+                spill.buffer = new ByteArrayOutputStream();
+                spill.output = new DataOutputStream(spill.buffer);
+            }
+            Map<String, Column<?>> columns = row.getColumns();
+            if (columns.values()
+                .stream()
+                .allMatch(column -> isSupported(column.getValue()))) {
+                spill.output.writeInt(columns.size());
+                for (Map.Entry<String, Column<?>> entry : columns.entrySet()) {
+                    spill.output.writeUTF(entry.getKey());
+                    writeValue(entry.getValue()
+                        .getValue(), spill.output);
+                }
+            } else {
+                if (pinnedRows.isEmpty()) {
+                    log.debug("Keeping result rows of '{}' in memory which contain values that cannot be spilled.", rule);
+                }
+                spill.output.writeInt(PINNED_ROW);
+                spill.output.writeInt(pinnedRows.size());
+                pinnedRows.add(row);
+            }
+            spill.bufferedRows++;
+            spill.rows++;
+            if (spill.bufferedRows == CHUNK_SIZE) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot spill result row of " + rule, e);
+        }
+    }
+
+    /**
+     * Determine if a value can be spilled.
+     */
+    private static boolean isSupported(Object value) {
+        if (isScalar(value)) {
+            return true;
+        } else if (value instanceof CompositeObject) {
+            return ((CompositeObject) value).getId() instanceof Long;
+        } else if (value instanceof Object[]) {
+            // arrays of property values, e.g. String[]
+            return value.getClass()
+                .getComponentType()
+                .getClassLoader() == null && Arrays.stream((Object[]) value)
+                .allMatch(SpillingRowList::isScalar);
+        } else if (value.getClass()
+            .isArray()) {
+            // arrays of primitive property values, e.g. long[]
+            return true;
+        } else if (value instanceof Collection<?>) {
+            return ((Collection<?>) value).stream()
+                .allMatch(SpillingRowList::isSupported);
+        } else if (value instanceof Map<?, ?>) {
+            return ((Map<?, ?>) value).values()
+                .stream()
+                .allMatch(SpillingRowList::isSupported);
+        }
+        return false;
+    }
+
+    private static boolean isScalar(Object value) {
+        return value == null || value instanceof String || value instanceof Long || value instanceof Integer || value instanceof Double || value instanceof Float
+            || value instanceof Boolean;
+    }
+
+    private void writeValue(Object value, DataOutput output) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof CompositeObject) {
+            CompositeObject compositeObject = (CompositeObject) value;
+            output.writeByte(compositeObject.getDelegate() instanceof Neo4jRelationship ? RELATIONSHIP : NODE);
+            output.writeLong(compositeObject.<Long>getId());
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString((String) value, output);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            output.writeByte(ARRAY);
+            writeString(values.getClass()
+                .getComponentType()
+                .getName(), output);
+            output.writeInt(values.length);
+            for (Object element : values) {
+                writeValue(element, output);
+            }
+        } else if (value.getClass()
+            .isArray()) {
+            Class<?> componentType = value.getClass()
+                .getComponentType();
+            int length = Array.getLength(value);
+            output.writeByte(PRIMITIVE_ARRAY);
+            writeString(componentType.getName(), output);
+            output.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                writePrimitive(componentType, Array.get(value, i), output);
+            }
+        } else if (value instanceof Collection<?>) {
+            Collection<?> values = (Collection<?>) value;
+            output.writeByte(LIST);
+            output.writeInt(values.size());
+            for (Object element : values) {
+                writeValue(element, output);
+            }
+        } else {
+            Map<?, ?> values = (Map<?, ?>) value;
+            output.writeByte(MAP);
+            output.writeInt(values.size());
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                writeString(String.valueOf(entry.getKey()), output);
+                writeValue(entry.getValue(), output);
+            }
+        }
+    }
+
+    /**
+     * Write the buffered rows as a chunk to the spill file.
+     */
+    private void flush() {
+        if (spill.bufferedRows == 0) {
+            return;
+        }
+        try (FileOutputStream outputStream = new FileOutputStream(spill.file, true)) {
+            spill.output.flush();
+            spill.buffer.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot spill result rows of " + rule + " to " + spill.file, e);
+        }
+        spill.chunks.add(new Chunk(spill.length, spill.buffer.size(), spill.bufferedRows));
+        spill.length += spill.buffer.size();
+        spill.buffer = null;
+        spill.output = null;
+        spill.bufferedRows = 0;
+    }
+
+    /**
+     * Read the rows of a chunk from the spill file, the nodes and relationships are loaded from the {@link Store}.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Row> read(Chunk chunk) {
+        if (spill.closed) {
+            throw new IllegalStateException("Cannot read spilled result rows of " + rule + " as these have been closed.");
+        }
+        byte[] bytes = new byte[chunk.length];
+        try (RandomAccessFile file = new RandomAccessFile(spill.file, "r")) {
+            file.seek(chunk.offset);
+            file.readFully(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read spilled result rows of " + rule + " from " + spill.file, e);
+        }
+        // the values of the spilled rows or the pinned rows
+        List<Object> values = new ArrayList<>(chunk.rows);
+        Set<Object> nodeIds = new HashSet<>();
+        Set<Object> relationshipIds = new HashSet<>();
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < chunk.rows; i++) {
+                int columnCount = input.readInt();
+                if (columnCount == PINNED_ROW) {
+                    values.add(pinnedRows.get(input.readInt()));
+                    continue;
+                }
+                Map<String, Object> columnValues = new LinkedHashMap<>();
+                for (int j = 0; j < columnCount; j++) {
+                    columnValues.put(input.readUTF(), readValue(input, nodeIds, relationshipIds));
+                }
+                values.add(columnValues);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read spilled result rows of " + rule + " from " + spill.file, e);
+        }
+        Map<Object, Object> nodes = DetachedResult.load(store, DetachedResult.MATCH_NODE, nodeIds);
+        Map<Object, Object> relationships = DetachedResult.load(store, DetachedResult.MATCH_RELATIONSHIP, relationshipIds);
+        List<Row> chunkRows = new ArrayList<>(chunk.rows);
+        for (Object value : values) {
+            if (value instanceof Row) {
+                chunkRows.add((Row) value);
+                continue;
+            }
+            Map<String, Column<?>> columns = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                columns.put(entry.getKey(), ReportHelper.toColumn(resolve(entry.getValue(), nodes, relationships)));
+            }
+            chunkRows.add(ReportHelper.toRow(rule, columns));
+        }
+        return chunkRows;
+    }
+
+    private static Object readValue(DataInput input, Set<Object> nodeIds, Set<Object> relationshipIds) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case NODE:
+        case RELATIONSHIP:
+            Reference reference = new Reference(input.readLong(), type == RELATIONSHIP);
+            (reference.relationship ? relationshipIds : nodeIds).add(reference.id);
+            return reference;
+        case STRING:
+            return readString(input);
+        case LONG:
+            return input.readLong();
+        case INTEGER:
+            return input.readInt();
+        case DOUBLE:
+            return input.readDouble();
+        case FLOAT:
+            return input.readFloat();
+        case BOOLEAN:
+            return input.readBoolean();
+        case ARRAY:
+            Class<?> componentType;
+            try {
+                componentType = Class.forName(readString(input));
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot load array component type", e);
+            }
+            int length = input.readInt();
+            Object[] array = (Object[]) Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                array[i] = readValue(input, nodeIds, relationshipIds);
+            }
+            return array;
+        case PRIMITIVE_ARRAY:
+            Class<?> primitiveType = PRIMITIVE_TYPES.get(readString(input));
+            if (primitiveType == null) {
+                throw new IOException("Unknown primitive array component type");
+            }
+            int primitiveLength = input.readInt();
+            Object primitiveArray = Array.newInstance(primitiveType, primitiveLength);
+            for (int i = 0; i < primitiveLength; i++) {
+                Array.set(primitiveArray, i, readPrimitive(primitiveType, input));
+            }
+            return primitiveArray;
+        case LIST:
+            int size = input.readInt();
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readValue(input, nodeIds, relationshipIds));
+            }
+            return values;
+        case MAP:
+            int entries = input.readInt();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < entries; i++) {
+                map.put(readString(input), readValue(input, nodeIds, relationshipIds));
+            }
+            return map;
+        default:
+            throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static void writePrimitive(Class<?> type, Object value, DataOutput output) throws IOException {
+        if (type == boolean.class) {
+            output.writeBoolean((Boolean) value);
+        } else if (type == byte.class) {
+            output.writeByte((Byte) value);
+        } else if (type == char.class) {
+            output.writeChar((Character) value);
+        } else if (type == short.class) {
+            output.writeShort((Short) value);
+        } else if (type == int.class) {
+            output.writeInt((Integer) value);
+        } else if (type == long.class) {
+            output.writeLong((Long) value);
+        } else if (type == float.class) {
+            output.writeFloat((Float) value);
+        } else {
+            output.writeDouble((Double) value);
+        }
+    }
+
+    private static Object readPrimitive(Class<?> type, DataInput input) throws IOException {
+        if (type == boolean.class) {
+            return input.readBoolean();
+        } else if (type == byte.class) {
+            return input.readByte();
+        } else if (type == char.class) {
+            return input.readChar();
+        } else if (type == short.class) {
+            return input.readShort();
+        } else if (type == int.class) {
+            return input.readInt();
+        } else if (type == long.class) {
+            return input.readLong();
+        } else if (type == float.class) {
+            return input.readFloat();
+        }
+        return input.readDouble();
+    }
+
+    private static Object resolve(Object value, Map<Object, Object> nodes, Map<Object, Object> relationships) {
+        if (value instanceof Reference) {
+            Reference reference = (Reference) value;
+            return (reference.relationship ? relationships : nodes).get(reference.id);
+        } else if (value instanceof List<?>) {
+            List<Object> values = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                values.add(resolve(element, nodes, relationships));
+            }
+            return values;
+        } else if (value instanceof Map<?, ?>) {
+            Map<Object, Object> values = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                values.put(entry.getKey(), resolve(entry.getValue(), nodes, relationships));
+            }
+            return values;
+        }
+        return value;
+    }
+
+    /**
+     * Write a string, in contrast to {@link DataOutput#writeUTF(String)} its length is not limited.
+     */
+    private static void writeString(String value, DataOutput output) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.*;
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
 import com.buschmais.jqassistant.core.analysis.api.configuration.Analyze;
+import com.buschmais.jqassistant.core.analysis.api.configuration.Parallel;
 import com.buschmais.jqassistant.core.analysis.api.model.AnalyzeTaskDescriptor;
 import com.buschmais.jqassistant.core.analysis.api.model.ConceptDescriptor;
 import com.buschmais.jqassistant.core.analysis.api.model.ConstraintDescriptor;
@@ -20,6 +21,8 @@ import com.buschmais.jqassistant.core.report.api.model.Row;
 import com.buschmais.jqassistant.core.rule.api.model.*;
 import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
 import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
+import com.buschmais.jqassistant.core.shared.metrics.Meter;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.core.shared.transaction.Transactional;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.xo.api.Query;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -46,6 +50,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Map.entry;
 import static java.util.Map.ofEntries;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
@@ -68,6 +73,8 @@ class AnalyzerRuleVisitorTest {
     @Mock
     private Store store;
 
+    private final MeterRegistry meterRegistry = new MeterRegistry(true, emptyList());
+
     @Mock
     private XOManager xoManager;
 
@@ -80,6 +87,9 @@ class AnalyzerRuleVisitorTest {
     @Mock
     private Analyze configuration;
 
+    @Mock
+    private Parallel parallel;
+
     @Mock
     private AnalyzerContext analyzerContext;
 
@@ -104,12 +114,16 @@ class AnalyzerRuleVisitorTest {
         ruleParameters.put(PARAMETER_WITHOUT_DEFAULT, "value");
         doReturn(ruleParameters).when(configuration)
             .ruleParameters();
+        doReturn(parallel).when(configuration)
+            .parallel();
 
         doReturn(createResult(columnNames)).when(store)
             .executeQuery(eq(STATEMENT), anyMap());
 
         doReturn(store).when(analyzerContext)
             .getStore();
+        doReturn(meterRegistry).when(store)
+            .getMeterRegistry();
         doAnswer(invocation -> {
             ((Transactional.TransactionalAction<?>) invocation.getArgument(0)).execute();
             return null;
@@ -215,6 +229,8 @@ class AnalyzerRuleVisitorTest {
 
         ArgumentCaptor<Map<String, Object>> argumentCaptor = ArgumentCaptor.forClass(Map.class);
         verify(store).executeQuery(eq(STATEMENT), argumentCaptor.capture());
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getName, Meter::getTag, Meter::getCount)
+            .containsExactly(tuple(AnalyzerRuleVisitor.METER_RULE, concept.getId(), 1L), tuple(AnalyzerRuleVisitor.METER_RULE_ROWS, concept.getId(), 1L));
         Map<String, Object> parameters = argumentCaptor.getValue();
         assertThat(parameters).containsEntry(PARAMETER_WITHOUT_DEFAULT, "value")
             .containsEntry(PARAMETER_WITH_DEFAULT, "defaultValue");
@@ -288,7 +304,8 @@ class AnalyzerRuleVisitorTest {
         assertThat(parameters).containsEntry(PARAMETER_WITHOUT_DEFAULT, "value")
             .containsEntry(PARAMETER_WITH_DEFAULT, "defaultValue");
         verify(reportWriter).beginConstraint(constraint, emptyMap());
-        verifyConstraintResult(Result.Status.FAILURE, BLOCKER);
+        Result<?> result = verifyConstraintResult(Result.Status.FAILURE, BLOCKER);
+        assertThat(result.getDuration()).isNotNull();
         verify(ruleRepository).mergeConstraint(constraint.getId());
     }
 
@@ -430,6 +447,62 @@ class AnalyzerRuleVisitorTest {
             .getId()).isEqualTo("childConstraint");
     }
 
+    @Test
+    void parallelConstraints() throws RuleException {
+        doReturn(true).when(parallel)
+            .enabled();
+        doReturn(Optional.of(2)).when(parallel)
+            .threads();
+        doAnswer(invocation -> ((Transactional.TransactionalSupplier<?, ?>) invocation.getArgument(0)).execute()).when(store)
+            .requireSession(any(Transactional.TransactionalSupplier.class));
+        doReturn(FAILURE).when(analyzerContext)
+            .verify(eq(constraint), eq(BLOCKER), anyList(), anyList());
+        Constraint abstractConstraint = Constraint.builder()
+            .id("abstractConstraint")
+            .build();
+        Group group = Group.builder()
+            .id("group")
+            .build();
+        AnalyzeTaskDescriptor analyzeTaskDescriptor = mock(AnalyzeTaskDescriptor.class);
+        doReturn(analyzeTaskDescriptor).when(store)
+            .create(AnalyzeTaskDescriptor.class);
+        doReturn(new ArrayList<>()).when(analyzeTaskDescriptor)
+            .getIncludesGroups();
+
+        analyzerRuleVisitor.beforeRules();
+        analyzerRuleVisitor.beforeGroup(group, MAJOR);
+        analyzerRuleVisitor.visitConstraint(constraint, BLOCKER, emptyMap());
+        analyzerRuleVisitor.visitConstraint(abstractConstraint, MAJOR, emptyMap());
+        analyzerRuleVisitor.afterGroup(group);
+        analyzerRuleVisitor.afterRules();
+
+        verify(store, times(2)).requireSession(any(Transactional.TransactionalSupplier.class));
+        InOrder inOrder = inOrder(reportWriter);
+        inOrder.verify(reportWriter)
+            .beginGroup(group);
+        inOrder.verify(reportWriter)
+            .beginConstraint(constraint, emptyMap());
+        inOrder.verify(reportWriter)
+            .setResult(argThat(result -> FAILURE.equals(result.getStatus()) && result.getDuration() != null));
+        inOrder.verify(reportWriter)
+            .endConstraint();
+        inOrder.verify(reportWriter)
+            .beginConstraint(abstractConstraint, emptyMap());
+        inOrder.verify(reportWriter)
+            .setResult(argThat(result -> SUCCESS.equals(result.getStatus())));
+        inOrder.verify(reportWriter)
+            .endConstraint();
+        inOrder.verify(reportWriter)
+            .endGroup();
+        List<ConstraintDescriptor> includesConstraints = groupDescriptors.get(group.getId())
+            .getIncludesConstraints();
+        assertThat(includesConstraints).hasSize(2);
+        assertThat(includesConstraints.get(0)
+            .getId()).isEqualTo(constraint.getId());
+        assertThat(includesConstraints.get(1)
+            .getId()).isEqualTo(abstractConstraint.getId());
+    }
+
     @Test
     void missingParameter() {
         doReturn(emptyMap()).when(configuration)
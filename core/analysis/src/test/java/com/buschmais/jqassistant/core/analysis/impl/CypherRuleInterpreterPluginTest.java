@@ -57,6 +57,8 @@ class CypherRuleInterpreterPluginTest {
             .toRow(any(), anyMap());
         doAnswer(invocation -> ReportHelper.toColumn(invocation.getArgument(0))).when(analyzerContext)
             .toColumn(any());
+        doAnswer(invocation -> new ArrayList<>()).when(analyzerContext)
+            .createRows(any());
     }
 
     @Test
@@ -0,0 +1,120 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import com.buschmais.jqassistant.core.analysis.api.configuration.Index;
+import com.buschmais.jqassistant.core.rule.api.model.CypherExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.shared.transaction.Transactional;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.ResultIterator;
+import com.buschmais.xo.api.XOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexAdvisorTest {
+
+    private static final String SHOW_INDEXES = "SHOW INDEXES";
+
+    @Mock
+    private Index configuration;
+
+    @Mock
+    private Store store;
+
+    @Mock
+    private Result<Result.CompositeRowObject> result;
+
+    @Test
+    void createMissingIndexesOnce() {
+        executeTransactions();
+        doReturn(true).when(configuration)
+            .create();
+        doReturn(mock(ResultIterator.class)).when(result)
+            .iterator();
+        doReturn(result).when(store)
+            .executeQuery(anyString());
+        doReturn(result).when(store)
+            .executeQuery(anyString(), anyMap());
+        IndexAdvisor indexAdvisor = new IndexAdvisor(configuration, store);
+
+        indexAdvisor.apply(rule("MATCH (t:Type) WHERE t.fqn = $fqn RETURN t"));
+        indexAdvisor.apply(rule("MATCH (t:Java:Type {fqn: $fqn}) RETURN t"));
+        indexAdvisor.apply(rule("MATCH (n) RETURN n"));
+
+        verify(store).executeQuery(startsWith(SHOW_INDEXES));
+        verify(store).executeQuery("CREATE INDEX IF NOT EXISTS FOR (n:`Type`) ON (n.`fqn`)");
+    }
+
+    @Test
+    void skipIfIndexesCannotBeDetermined() {
+        executeTransactions();
+        doThrow(new XOException("SHOW INDEXES is not supported")).when(store)
+            .executeQuery(startsWith(SHOW_INDEXES));
+        IndexAdvisor indexAdvisor = new IndexAdvisor(configuration, store);
+
+        indexAdvisor.apply(rule("MATCH (t:Type) WHERE t.fqn = $fqn RETURN t"));
+        indexAdvisor.apply(rule("MATCH (m:Method) WHERE m.signature = $signature RETURN m"));
+
+        verify(store).executeQuery(startsWith(SHOW_INDEXES));
+        verify(store, never()).executeQuery(anyString(), anyMap());
+        verify(configuration, never()).create();
+    }
+
+    @Test
+    void join() {
+        String cypher = "MATCH (a1:Artifact)-[:REQUIRES]->(t1:Java:Type) " + //
+            "WITH a1, t1, t1.fqn AS fqn " + //
+            "MATCH (a2:Artifact)-[:CONTAINS]->(t2:Java:Type) " + //
+            "WHERE t2.fqn = t1.fqn " + //
+            "RETURN count(*)";
+
+        assertThat(IndexAdvisor.getIndexes(cypher)).extracting(IndexAdvisor.IndexDefinition::toString)
+            .containsExactly(":Type(fqn)");
+    }
+
+    @Test
+    void lookups() {
+        String cypher = "MATCH (t:Java:Type {fqn: $fqn})-[:DECLARES]->(m:Method), (f:File) " + //
+            "WHERE m.signature IN $signatures AND f.fileName STARTS WITH '/META-INF' AND m.lineNumber >= 10 " + //
+            "RETURN m.name";
+
+        assertThat(IndexAdvisor.getIndexes(cypher)).extracting(IndexAdvisor.IndexDefinition::toString)
+            .containsExactly(":File(fileName)", ":Method(signature)", ":Type(fqn)");
+    }
+
+    @Test
+    void ignoredProperties() {
+        String cypher = "MATCH (t:Type)-[:DECLARES]->(m) " + //
+            "WHERE m.signature = 'void <init>()' AND t.name <> 'a.b = c.d' " + //
+            "// t.visibility = 'public'\n" + //
+            "SET t.abstract = true, t.kind = 'x' " + //
+            "RETURN t";
+
+        assertThat(IndexAdvisor.getIndexes(cypher)).isEmpty();
+    }
+
+    private static ExecutableRule<?> rule(String cypher) {
+        ExecutableRule<?> rule = mock(ExecutableRule.class);
+        doReturn(new CypherExecutable(cypher)).when(rule)
+            .getExecutable();
+        lenient().doReturn("test:Rule").when(rule)
+            .getId();
+        return rule;
+    }
+
+    private void executeTransactions() {
+        doAnswer(invocation -> {
+            ((Transactional.TransactionalAction<?>) invocation.getArgument(0)).execute();
+            return null;
+        }).when(store)
+            .requireTransaction(any(Transactional.TransactionalAction.class));
+    }
+}
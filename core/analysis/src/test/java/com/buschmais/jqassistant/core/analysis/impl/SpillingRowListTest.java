@@ -0,0 +1,196 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.report.api.ReportHelper;
+import com.buschmais.jqassistant.core.report.api.model.Column;
+import com.buschmais.jqassistant.core.report.api.model.Row;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Path;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SpillingRowListTest {
+
+    private static final int ROWS = 2500;
+
+    private final Constraint constraint = Constraint.builder()
+        .id("test:Constraint")
+        .build();
+
+    @Mock
+    private Store store;
+
+    @Mock
+    private Node node;
+
+    @Mock
+    private Path path;
+
+    @Test
+    void inMemory() {
+        SpillingRowList rows = createRows(ROWS);
+
+        assertThat(rows).hasSize(ROWS);
+        assertThat(rows.getRowsInMemory()).hasSize(ROWS);
+        verifyRows(rows);
+    }
+
+    @Test
+    void spilled() {
+        SpillingRowList rows = createRows(10);
+
+        assertThat(rows).hasSize(ROWS);
+        assertThat(rows.getRowsInMemory()).hasSize(10);
+        verifyRows(rows);
+        assertThat(rows.get(1500)
+            .getColumns()
+            .get("index")
+            .getValue()).isEqualTo(1500L);
+        assertThat(rows.get(1500)
+            .getKey()).isEqualTo(createRow(1500).getKey());
+        assertThat(rows.get(1501)).isSameAs(rows.get(1501));
+        verifyZeroInteractions(store);
+        rows.close();
+    }
+
+    @Test
+    void close() {
+        SpillingRowList rows = createRows(10);
+        File spillFile = rows.getSpillFile();
+        assertThat(spillFile).exists();
+
+        rows.close();
+
+        assertThat(spillFile).doesNotExist();
+        assertThat(rows.get(9)).isNotNull();
+        assertThatThrownBy(() -> rows.get(10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void supportedValues() {
+        SpillingRowList rows = new SpillingRowList(constraint, store, 0);
+        Map<String, Column<?>> columns = new LinkedHashMap<>();
+        columns.put("integer", ReportHelper.toColumn(42));
+        columns.put("float", ReportHelper.toColumn(1.5f));
+        columns.put("array", ReportHelper.toColumn(new String[] { "a", "b" }));
+        columns.put("longs", ReportHelper.toColumn(new long[] { 1L, 2L }));
+        columns.put("bytes", ReportHelper.toColumn(new byte[] { 1, 2, 3 }));
+
+        rows.add(ReportHelper.toRow(constraint, columns));
+
+        Map<String, Column<?>> spilledColumns = rows.get(0)
+            .getColumns();
+        assertThat(spilledColumns.get("integer")
+            .getValue()).isEqualTo(42);
+        assertThat(spilledColumns.get("float")
+            .getValue()).isEqualTo(1.5f);
+        assertThat(spilledColumns.get("array")
+            .getValue()).isEqualTo(new String[] { "a", "b" });
+        assertThat(spilledColumns.get("longs")
+            .getValue()).isEqualTo(new long[] { 1L, 2L });
+        assertThat(spilledColumns.get("bytes")
+            .getValue()).isEqualTo(new byte[] { 1, 2, 3 });
+        rows.close();
+    }
+
+    @Test
+    void pinnedRows() {
+        SpillingRowList rows = new SpillingRowList(constraint, store, 0);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        Node[] nodes = { node, node };
+        Map<String, Column<?>> columns = new LinkedHashMap<>();
+        columns.put("date", ReportHelper.toColumn(date));
+        columns.put("path", ReportHelper.toColumn(path));
+        columns.put("nodes", ReportHelper.toColumn(nodes));
+
+        rows.add(createRow(0));
+        rows.add(ReportHelper.toRow(constraint, columns));
+        rows.add(createRow(1));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.getPinnedRows()).hasSize(1);
+        assertThat(rows.get(0)
+            .getColumns()
+            .get("index")
+            .getValue()).isEqualTo(0L);
+        Map<String, Column<?>> pinnedColumns = rows.get(1)
+            .getColumns();
+        assertThat(pinnedColumns.get("date")
+            .getValue()).isEqualTo(date);
+        assertThat(pinnedColumns.get("path")
+            .getValue()).isSameAs(path);
+        assertThat(pinnedColumns.get("nodes")
+            .getValue()).isSameAs(nodes);
+        assertThat(rows.get(2)
+            .getColumns()
+            .get("index")
+            .getValue()).isEqualTo(1L);
+        rows.close();
+        assertThat(rows.getPinnedRows()).isEmpty();
+    }
+
+    @Test
+    void withRowsInMemory() {
+        SpillingRowList rows = createRows(10);
+
+        SpillingRowList copy = rows.withRowsInMemory(rows.getRowsInMemory(), rows.getPinnedRows());
+
+        assertThat(copy).hasSize(ROWS);
+        verifyRows(copy);
+        copy.close();
+        assertThat(rows.getSpillFile()).doesNotExist();
+    }
+
+    private SpillingRowList createRows(int maxRowsInMemory) {
+        SpillingRowList rows = new SpillingRowList(constraint, store, maxRowsInMemory);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(createRow(i));
+        }
+        return rows;
+    }
+
+    private Row createRow(long index) {
+        Map<String, Column<?>> columns = new LinkedHashMap<>();
+        columns.put("index", ReportHelper.toColumn(index));
+        columns.put("name", ReportHelper.toColumn("Row " + index));
+        columns.put("values", ReportHelper.toColumn(asList(index / 2.0, index % 2 == 0, null)));
+        columns.put("map", ReportHelper.toColumn(Map.of("key", "value")));
+        return ReportHelper.toRow(constraint, columns);
+    }
+
+    private void verifyRows(List<Row> rows) {
+        List<Object> indexes = new ArrayList<>();
+        long index = 0;
+        for (Row row : rows) {
+            Map<String, Column<?>> columns = row.getColumns();
+            indexes.add(columns.get("index")
+                .getValue());
+            assertThat(columns.get("name")
+                .getLabel()).isEqualTo("Row " + index);
+            assertThat(columns.get("values")
+                .getValue()).isEqualTo(asList(index / 2.0, index % 2 == 0, null));
+            assertThat(columns.get("map")
+                .getValue()).isEqualTo(Map.of("key", "value"));
+            index++;
+        }
+        assertThat(indexes).hasSize(ROWS);
+        assertThat(indexes.get(ROWS - 1)).isEqualTo(ROWS - 1L);
+    }
+}
@@ -1,6 +1,8 @@
 package com.buschmais.jqassistant.neo4j.embedded;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.List;
 
 import com.buschmais.xo.neo4j.embedded.impl.datastore.EmbeddedDatastore;
 
@@ -14,6 +16,20 @@ public interface EmbeddedNeo4jServer {
     void initialize(EmbeddedDatastore embeddedDatastore, String listenAddress, Integer httpPort, Integer boltPort, ClassLoader classLoader,
         Collection<Class<?>> procedureTypes, Collection<Class<?>> functionTypes);
 
+    /**
+     * Return the directories containing the store files and transaction logs of the database.
+     *
+     * @return The directories.
+     */
+    List<File> getDatabaseDirectories();
+
+    /**
+     * Return the home directory of the database, it contains the database directories.
+     *
+     * @return The home directory.
+     */
+    File getHomeDirectory();
+
     void start();
 
     void stop();
@@ -6,7 +6,7 @@ import java.util.Properties;
 
 public interface EmbeddedNeo4jServerFactory {
 
-    Properties getProperties(boolean connectorEnabled, String listenAddress, Integer boltPort, Optional<File> pluginDirectory);
+    Properties getProperties(boolean connectorEnabled, String listenAddress, Integer boltPort, Optional<File> pluginDirectory, boolean maximizeWriteThroughput);
 
     EmbeddedNeo4jServer getServer();
 
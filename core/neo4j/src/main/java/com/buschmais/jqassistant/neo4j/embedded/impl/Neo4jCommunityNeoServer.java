@@ -1,7 +1,9 @@
 package com.buschmais.jqassistant.neo4j.embedded.impl;
 
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.List;
 
 import com.buschmais.jqassistant.neo4j.embedded.EmbeddedNeo4jServer;
 import com.buschmais.xo.neo4j.embedded.impl.datastore.EmbeddedDatastore;
@@ -15,6 +17,7 @@ import org.neo4j.common.DependencyResolver;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.kernel.api.procedure.GlobalProcedures;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.slf4j.Logger;
@@ -44,6 +47,26 @@ class Neo4jCommunityNeoServer implements EmbeddedNeo4jServer {
         registerProceduresAndFunctions(procedureTypes, functionTypes);
     }
 
+    @Override
+    public List<File> getDatabaseDirectories() {
+        DatabaseLayout databaseLayout = getDatabaseLayout();
+        return List.of(databaseLayout.databaseDirectory()
+            .toFile(), databaseLayout.getTransactionLogsDirectory()
+            .toFile());
+    }
+
+    @Override
+    public File getHomeDirectory() {
+        return getDatabaseLayout().getNeo4jLayout()
+            .homeDirectory()
+            .toFile();
+    }
+
+    private DatabaseLayout getDatabaseLayout() {
+        return ((GraphDatabaseAPI) embeddedDatastore.getManagementService()
+            .database(GraphDatabaseSettings.DEFAULT_DATABASE_NAME)).databaseLayout();
+    }
+
     @Override
     public void start() {
         this.server = new Server(new InetSocketAddress(listenAddress, httpPort));
@@ -8,6 +8,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -30,13 +31,15 @@ import static java.lang.Boolean.FALSE;
 
 public class Neo4jCommunityServerFactory implements EmbeddedNeo4jServerFactory {
 
+    private static final long WRITE_THROUGHPUT_LOG_ROTATION_MEBIBYTES = 256L;
+
     @Override
     public EmbeddedNeo4jServer getServer() {
         return new Neo4jCommunityNeoServer();
     }
 
     @Override
-    public Properties getProperties(boolean connectorEnabled, String listenAddress, Integer boltPort, Optional<File> pluginDirectory) {
+    public Properties getProperties(boolean connectorEnabled, String listenAddress, Integer boltPort, Optional<File> pluginDirectory, boolean maximizeWriteThroughput) {
         EmbeddedNeo4jXOProvider.PropertiesBuilder propertiesBuilder = EmbeddedNeo4jXOProvider.propertiesBuilder()
             .property(GraphDatabaseSettings.procedure_unrestricted, List.of("*"))
             // keep disk footprint small (TX logs)
@@ -55,6 +58,16 @@ public class Neo4jCommunityServerFactory implements EmbeddedNeo4jServerFactory {
             propertiesBuilder.property(BoltConnector.enabled, true);
             propertiesBuilder.property(BoltConnector.listen_address, new SocketAddress(listenAddress, boltPort));
         }
+        if (maximizeWriteThroughput) {
+            // large graphs written by few big transactions: rotate TX logs less often and don't interrupt writing by frequent, throttled checkpoints
+            propertiesBuilder.property(GraphDatabaseSettings.logical_log_rotation_threshold, ByteUnit.mebiBytes(WRITE_THROUGHPUT_LOG_ROTATION_MEBIBYTES))
+                .property(GraphDatabaseSettings.preallocate_logical_logs, false)
+                .property(GraphDatabaseSettings.check_point_interval_time, Duration.ofHours(1))
+                .property(GraphDatabaseSettings.check_point_interval_tx, Integer.MAX_VALUE)
+                // checkpoint after writing 1GiB of TX logs
+                .property(GraphDatabaseSettings.check_point_interval_volume, ByteUnit.mebiBytes(WRITE_THROUGHPUT_LOG_ROTATION_MEBIBYTES * 4))
+                .property(GraphDatabaseSettings.check_point_iops_limit, -1);
+        }
         Properties properties = propertiesBuilder.build();
         // set string properties which are not available for Neo4j v4
         // deactivate internal debug logs
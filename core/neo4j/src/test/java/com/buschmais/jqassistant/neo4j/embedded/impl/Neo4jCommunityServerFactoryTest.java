@@ -0,0 +1,33 @@
+package com.buschmais.jqassistant.neo4j.embedded.impl;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.GraphDatabaseSettings;
+
+import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Neo4jCommunityServerFactoryTest {
+
+    private final Neo4jCommunityServerFactory serverFactory = new Neo4jCommunityServerFactory();
+
+    @Test
+    void maximizeWriteThroughput() {
+        Properties properties = serverFactory.getProperties(false, "localhost", 7687, empty(), true);
+
+        assertThat(properties.stringPropertyNames()).contains(GraphDatabaseSettings.check_point_interval_time.name(),
+            GraphDatabaseSettings.check_point_interval_tx.name(), GraphDatabaseSettings.check_point_interval_volume.name(),
+            GraphDatabaseSettings.check_point_iops_limit.name(), GraphDatabaseSettings.preallocate_logical_logs.name());
+    }
+
+    @Test
+    void defaultWriteThroughput() {
+        Properties properties = serverFactory.getProperties(false, "localhost", 7687, empty(), false);
+
+        assertThat(properties.stringPropertyNames()).contains(GraphDatabaseSettings.logical_log_rotation_threshold.name())
+            .doesNotContain(GraphDatabaseSettings.check_point_interval_time.name(), GraphDatabaseSettings.check_point_interval_tx.name(),
+                GraphDatabaseSettings.check_point_interval_volume.name(), GraphDatabaseSettings.check_point_iops_limit.name(),
+                GraphDatabaseSettings.preallocate_logical_logs.name());
+    }
+}
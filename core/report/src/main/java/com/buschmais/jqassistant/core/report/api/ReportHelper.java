@@ -88,21 +88,47 @@ public final class ReportHelper {
             null;
     }
 
+    /**
+     * Create a {@link Column} for the given value, the label is computed on first access.
+     *
+     * @param value
+     *     The value.
+     * @param <T>
+     *     The value type.
+     * @return The {@link Column}.
+     */
     public static <T> Column<T> toColumn(T value) {
         return Column.<T>builder()
             .value(value)
-            .label(getLabel(value))
             .build();
     }
 
+    /**
+     * Create a {@link Row} for the given columns, the key is computed on first access.
+     *
+     * @param rule
+     *     The {@link ExecutableRule}.
+     * @param columns
+     *     The columns.
+     * @return The {@link Row}.
+     */
     public static Row toRow(ExecutableRule<?> rule, Map<String, Column<?>> columns) {
         return Row.builder()
-            .key(getRowKey(rule, columns))
+            .keySupplier(() -> getRowKey(rule, columns))
             .columns(columns)
             .build();
     }
 
-    private static String getRowKey(ExecutableRule<?> rule, Map<String, Column<?>> columns) {
+    /**
+     * Compute the key of a {@link Row} from the labels of its columns.
+     *
+     * @param rule
+     *     The {@link ExecutableRule}.
+     * @param columns
+     *     The columns.
+     * @return The key.
+     */
+    public static String getRowKey(ExecutableRule<?> rule, Map<String, Column<?>> columns) {
         StringBuilder id = new StringBuilder(rule.getClass()
             .getName()).append("|")
             .append(rule.getId())
@@ -1,16 +1,45 @@
 package com.buschmais.jqassistant.core.report.api.model;
 
+import com.buschmais.jqassistant.core.report.api.ReportHelper;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 
-@Getter
+/**
+ * A column of a {@link Row}.
+ * <p>
+ * If no label is provided it is computed from the value on first access (see {@link ReportHelper#getLabel(Object)}).
+ *
+ * @param <V>
+ *     The value type.
+ */
 @Builder
 @ToString
 public class Column<V> {
 
+    @Getter
     private V value;
 
     private String label;
 
+    public String getLabel() {
+        if (label == null) {
+            label = ReportHelper.getLabel(value);
+        }
+        return label;
+    }
+
+    /**
+     * Create a copy of this column holding the given value, a label which has already been provided or computed is kept.
+     *
+     * @param value
+     *     The value.
+     * @param <W>
+     *     The value type.
+     * @return The {@link Column}.
+     */
+    public <W> Column<W> withValue(W value) {
+        return new Column<>(value, label);
+    }
 }
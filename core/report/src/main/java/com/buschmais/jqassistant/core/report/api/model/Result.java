@@ -52,6 +52,12 @@ public class Result<T extends ExecutableRule> {
     @Singular
     private final List<Row> rows;
 
+    /**
+     * The execution time of the rule in milliseconds, <code>null</code> if it has not been measured.
+     */
+    @With
+    private final Long duration;
+
     public boolean isEmpty() {
         return rows.isEmpty();
     }
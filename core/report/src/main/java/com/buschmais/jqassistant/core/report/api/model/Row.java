@@ -1,19 +1,62 @@
 package com.buschmais.jqassistant.core.report.api.model;
 
 import java.util.Map;
+import java.util.function.Supplier;
 
 import lombok.*;
 
-@Builder
-@Getter
+/**
+ * A row of a {@link Result}.
+ * <p>
+ * The key of the row may be provided by a {@link Supplier}, it is computed on first access.
+ */
 @ToString
-@RequiredArgsConstructor
 public class Row {
 
-    @NonNull
-    private final String key;
+    private String key;
+
+    @ToString.Exclude
+    private Supplier<String> keySupplier;
 
+    @Getter
     @NonNull
     private final Map<String, Column<?>> columns;
 
+    public Row(@NonNull String key, @NonNull Map<String, Column<?>> columns) {
+        this.key = key;
+        this.columns = columns;
+    }
+
+    @Builder
+    private Row(String key, Supplier<String> keySupplier, @NonNull Map<String, Column<?>> columns) {
+        if (key == null && keySupplier == null) {
+            throw new NullPointerException("key is marked non-null but is null");
+        }
+        this.key = key;
+        this.keySupplier = keySupplier;
+        this.columns = columns;
+    }
+
+    public String getKey() {
+        if (key == null) {
+            key = keySupplier.get();
+            keySupplier = null;
+        }
+        return key;
+    }
+
+    /**
+     * Create a copy of this row holding the given columns.
+     * <p>
+     * A key which has already been provided or computed is kept, otherwise it is computed on first access by the given {@link Supplier}.
+     *
+     * @param columns
+     *     The columns.
+     * @param keySupplier
+     *     The {@link Supplier} for the key.
+     * @return The {@link Row}.
+     */
+    public Row withColumns(@NonNull Map<String, Column<?>> columns, @NonNull Supplier<String> keySupplier) {
+        return new Row(key, key == null ? keySupplier : null, columns);
+    }
 }
@@ -1,19 +1,26 @@
 package com.buschmais.jqassistant.core.report.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import com.buschmais.jqassistant.core.report.api.ReportException;
 import com.buschmais.jqassistant.core.report.api.ReportPlugin;
 import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
 import com.buschmais.jqassistant.core.rule.api.model.*;
 
 /**
  * A {@link ReportPlugin}
  * implementation collection the concept results and constraint violations
  * in-memory.
+ * <p>
+ * The collected results must be released using {@link #close()} after they have been verified.
  */
-public class InMemoryReportPlugin implements ReportPlugin {
+public class InMemoryReportPlugin implements ReportPlugin, AutoCloseable {
 
     private ReportPlugin delegate;
 
@@ -93,6 +100,30 @@ public class InMemoryReportPlugin implements ReportPlugin {
         return this.constraintResults;
     }
 
+    /**
+     * Release the rows of the collected results, e.g. temporary files holding rows which exceeded the maximum number of rows in memory.
+     */
+    @Override
+    public void close() {
+        Stream.concat(conceptResults.values()
+                .stream(), constraintResults.values()
+                .stream())
+            .map(Result::getRows)
+            .forEach(InMemoryReportPlugin::close);
+        conceptResults.clear();
+        constraintResults.clear();
+    }
+
+    private static void close(List<Row> rows) {
+        if (rows instanceof Closeable) {
+            try {
+                ((Closeable) rows).close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot release result rows.", e);
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends ExecutableRule> void addResult(Map<String, Result<T>> results) {
         if (currentResult != null) {
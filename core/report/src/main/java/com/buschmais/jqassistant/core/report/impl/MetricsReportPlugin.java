@@ -0,0 +1,89 @@
+package com.buschmais.jqassistant.core.report.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.report.api.ReportContext;
+import com.buschmais.jqassistant.core.report.api.ReportException;
+import com.buschmais.jqassistant.core.report.api.ReportPlugin;
+import com.buschmais.jqassistant.core.shared.metrics.Meter;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Implementation of {@link ReportPlugin} which writes the {@link Meter}s recorded by the {@link MeterRegistry} of the store as JSON summary to
+ * the file {@value #METRICS_FILE} in the report directory {@value #METRICS_DIRECTORY}.
+ * <p>
+ * The file is only written if metrics are enabled (see <code>jqassistant.metrics.enabled</code>).
+ */
+@Slf4j
+public class MetricsReportPlugin implements ReportPlugin {
+
+    static final String METRICS_DIRECTORY = "metrics";
+
+    static final String METRICS_FILE = "jqassistant-metrics.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ReportContext reportContext;
+
+    @Override
+    public void configure(ReportContext reportContext, Map<String, Object> properties) {
+        this.reportContext = reportContext;
+    }
+
+    @Override
+    public void end() throws ReportException {
+        writeMetrics(reportContext);
+    }
+
+    /**
+     * Write the {@link Meter}s recorded by the {@link MeterRegistry} of the store to the report directory of the given {@link ReportContext}.
+     * <p>
+     * This allows tasks which do not execute report plugins (e.g. scan) to provide the metrics summary.
+     *
+     * @param reportContext
+     *     The {@link ReportContext}.
+     * @throws ReportException
+     *     If the metrics cannot be written.
+     */
+    public static void writeMetrics(ReportContext reportContext) throws ReportException {
+        MeterRegistry meterRegistry = reportContext.getStore()
+            .getMeterRegistry();
+        if (meterRegistry.isEnabled()) {
+            File metricsFile = new File(reportContext.getReportDirectory(METRICS_DIRECTORY), METRICS_FILE);
+            try {
+                OBJECT_MAPPER.writeValue(metricsFile, singletonMap("meters", meterRegistry.getMeters()
+                    .stream()
+                    .map(MetricsReportPlugin::toMap)
+                    .collect(toList())));
+            } catch (IOException e) {
+                throw new ReportException("Cannot write metrics to " + metricsFile, e);
+            }
+            log.info("Metrics have been written to '{}'.", metricsFile.getAbsolutePath());
+        }
+    }
+
+    private static Map<String, Object> toMap(Meter meter) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("type", meter.getType()
+            .name());
+        values.put("name", meter.getName());
+        values.put("tag", meter.getTag());
+        values.put("count", meter.getCount());
+        values.put("total", meter.getTotal());
+        values.put("max", meter.getMax());
+        if (meter.getType() == Meter.Type.TIMER) {
+            values.put("unit", "ns");
+        }
+        return values;
+    }
+}
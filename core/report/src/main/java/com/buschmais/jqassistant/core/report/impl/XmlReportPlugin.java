@@ -177,7 +177,11 @@ public class XmlReportPlugin implements ReportPlugin {
                 writeReports(rule);
                 writeStatus(result.getStatus()); // status
                 writeSeverity(result.getSeverity()); // severity
-                writeDuration(ruleBeginTime);
+                if (result.getDuration() != null) {
+                    writeElementWithCharacters("duration", Long.toString(result.getDuration())); // measured execution time
+                } else {
+                    writeDuration(ruleBeginTime);
+                }
                 writeRequiredConceptResults(); // required-concept
                 writeProvidingConceptResults(); // providing-concept
                 xmlStreamWriter.writeEndElement(); // concept|constraint
@@ -0,0 +1,87 @@
+package com.buschmais.jqassistant.core.report.impl;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.buschmais.jqassistant.core.report.api.ReportContext;
+import com.buschmais.jqassistant.core.report.api.ReportException;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class MetricsReportPluginTest {
+
+    private final File reportDirectory = new File("target/metrics-report");
+
+    @Test
+    void writeMetrics() throws ReportException, IOException {
+        // given
+        MeterRegistry meterRegistry = new MeterRegistry(true, emptyList());
+        meterRegistry.increment("jqassistant.analyze.rule.rows", "test:\"Concept\"", 42);
+        meterRegistry.stop("jqassistant.analyze.rule", "test:\"Concept\"", meterRegistry.start());
+        MetricsReportPlugin metricsReportPlugin = configure(meterRegistry);
+
+        // when
+        metricsReportPlugin.end();
+
+        // then
+        File metricsFile = new File(reportDirectory, "metrics/jqassistant-metrics.json");
+        JsonNode meters = new ObjectMapper().readTree(metricsFile)
+            .get("meters");
+        assertThat(meters).hasSize(2);
+        JsonNode timer = meters.get(0);
+        assertThat(timer.get("type")
+            .asText()).isEqualTo("TIMER");
+        assertThat(timer.get("name")
+            .asText()).isEqualTo("jqassistant.analyze.rule");
+        assertThat(timer.get("tag")
+            .asText()).isEqualTo("test:\"Concept\"");
+        assertThat(timer.get("count")
+            .asLong()).isEqualTo(1);
+        assertThat(timer.get("unit")
+            .asText()).isEqualTo("ns");
+        JsonNode counter = meters.get(1);
+        assertThat(counter.get("type")
+            .asText()).isEqualTo("COUNTER");
+        assertThat(counter.get("name")
+            .asText()).isEqualTo("jqassistant.analyze.rule.rows");
+        assertThat(counter.get("total")
+            .asLong()).isEqualTo(42);
+        assertThat(counter.get("max")
+            .asLong()).isEqualTo(42);
+        assertThat(counter.has("unit")).isFalse();
+    }
+
+    @Test
+    void metricsDisabled() throws ReportException {
+        // given
+        MetricsReportPlugin metricsReportPlugin = configure(MeterRegistry.DISABLED);
+        File metricsFile = new File(reportDirectory, "metrics/jqassistant-metrics.json");
+        metricsFile.delete();
+
+        // when
+        metricsReportPlugin.end();
+
+        // then
+        assertThat(metricsFile).doesNotExist();
+    }
+
+    private MetricsReportPlugin configure(MeterRegistry meterRegistry) {
+        Store store = mock(Store.class);
+        doReturn(meterRegistry).when(store)
+            .getMeterRegistry();
+        ReportContext reportContext = new ReportContextImpl(MetricsReportPluginTest.class.getClassLoader(), store, reportDirectory, reportDirectory);
+        MetricsReportPlugin metricsReportPlugin = new MetricsReportPlugin();
+        metricsReportPlugin.configure(reportContext, emptyMap());
+        return metricsReportPlugin;
+    }
+}
@@ -1,5 +1,6 @@
 package com.buschmais.jqassistant.core.rule.api.configuration;
 
+import java.io.File;
 import java.util.Optional;
 
 import com.buschmais.jqassistant.core.rule.api.model.Severity;
@@ -37,4 +38,15 @@ public interface Rule {
     @WithDefault("true")
     boolean requiredConceptsAreOptionalByDefault();
 
+    String CACHE = "cache";
+
+    @Description("The directory for caching the rules parsed from unchanged rule sources, defaults to '~/.jqassistant/rule-cache' for the command line and 'target/jqassistant/rule-cache' for Maven.")
+    Optional<File> cache();
+
+    String CACHE_ENABLED = "cache-enabled";
+
+    @Description("Specifies if parsed rules are cached.")
+    @WithDefault("true")
+    boolean cacheEnabled();
+
 }
@@ -1,13 +1,12 @@
 package com.buschmais.jqassistant.core.rule.api.model;
 
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import lombok.Getter;
 import lombok.ToString;
 
+import static java.util.Collections.unmodifiableList;
+
 /**
  * A rule set builder.
  */
@@ -15,6 +14,8 @@ public class RuleSetBuilder {
 
     private final DefaultRuleSet ruleSet = new DefaultRuleSet();
 
+    private final List<AbstractRule> rules = new ArrayList<>();
+
     /**
      * Private constructor.
      */
@@ -27,6 +28,7 @@ public class RuleSetBuilder {
 
     public RuleSetBuilder addConcept(Concept concept) throws RuleException {
         ruleSet.conceptBucket.add(concept);
+        rules.add(concept);
         String providingConceptId = concept.getId();
         for (String providedConceptId : concept.getProvidedConcepts()) {
             updateProvidedConcepts(providedConceptId, providingConceptId);
@@ -36,11 +38,13 @@ public class RuleSetBuilder {
 
     public RuleSetBuilder addConstraint(Constraint constraint) throws RuleException {
         ruleSet.constraintBucket.add(constraint);
+        rules.add(constraint);
         return this;
     }
 
     public RuleSetBuilder addGroup(Group group) throws RuleException {
         ruleSet.groupsBucket.add(group);
+        rules.add(group);
         for (Map.Entry<String, Set<String>> entry : group.getProvidedConcepts()
             .entrySet()) {
             String providedConceptId = entry.getKey();
@@ -62,6 +66,15 @@ public class RuleSetBuilder {
         return ruleSet;
     }
 
+    /**
+     * Return the added {@link Concept}s, {@link Constraint}s and {@link Group}s in the order of their addition.
+     *
+     * @return The rules.
+     */
+    public List<AbstractRule> getRules() {
+        return unmodifiableList(rules);
+    }
+
     /**
      * Defines a set of rules containing all resolved {@link Concept} s, {@link Constraint}s and {@link Group}s.
      */
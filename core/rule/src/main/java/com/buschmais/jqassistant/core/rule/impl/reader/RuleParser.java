@@ -2,10 +2,9 @@ package com.buschmais.jqassistant.core.rule.impl.reader;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import com.buschmais.jqassistant.core.rule.api.model.RuleException;
-import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
-import com.buschmais.jqassistant.core.rule.api.model.RuleSetBuilder;
+import com.buschmais.jqassistant.core.rule.api.model.*;
 import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
 import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 
@@ -20,8 +19,23 @@ public class RuleParser {
 
     private Collection<? extends RuleParserPlugin> ruleParserPlugins;
 
+    private final RuleSetCache ruleSetCache;
+
     public RuleParser(Collection<RuleParserPlugin> ruleParserPlugins) {
+        this(ruleParserPlugins, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ruleParserPlugins
+     *     The {@link RuleParserPlugin}s.
+     * @param ruleSetCache
+     *     The {@link RuleSetCache} providing the rules of unchanged sources without parsing them, may be <code>null</code>.
+     */
+    public RuleParser(Collection<RuleParserPlugin> ruleParserPlugins, RuleSetCache ruleSetCache) {
         this.ruleParserPlugins = ruleParserPlugins;
+        this.ruleSetCache = ruleSetCache;
     }
 
     public RuleSet parse(List<? extends RuleSource> sources) throws RuleException {
@@ -29,17 +43,53 @@ public class RuleParser {
         for (RuleSource source : sources) {
             parse(source, ruleSetBuilder);
         }
+        if (ruleSetCache != null) {
+            ruleSetCache.prune();
+        }
         return ruleSetBuilder.getRuleSet();
     }
 
     private void parse(RuleSource source, RuleSetBuilder ruleSetBuilder) throws RuleException {
+        String key = ruleSetCache != null ? ruleSetCache.getKey(source) : null;
+        if (key == null) {
+            parseSource(source, ruleSetBuilder);
+            return;
+        }
+        Optional<List<AbstractRule>> cachedRules = ruleSetCache.read(key, source);
+        if (cachedRules.isPresent()) {
+            logger.debug("Using cached rules for rule source with id '{}'.", source.getId());
+            add(cachedRules.get(), ruleSetBuilder);
+        } else {
+            RuleSetBuilder sourceRuleSetBuilder = RuleSetBuilder.newInstance();
+            if (parseSource(source, sourceRuleSetBuilder)) {
+                List<AbstractRule> rules = sourceRuleSetBuilder.getRules();
+                ruleSetCache.write(key, rules);
+                add(rules, ruleSetBuilder);
+            }
+        }
+    }
+
+    private boolean parseSource(RuleSource source, RuleSetBuilder ruleSetBuilder) throws RuleException {
         for (RuleParserPlugin ruleParserPlugin : ruleParserPlugins) {
             if (ruleParserPlugin.accepts(source)) {
                 logger.debug("Parsing rule source with id '{}' using '{}'.", source.getId(), ruleParserPlugin);
                 ruleParserPlugin.parse(source, ruleSetBuilder);
-                return;
+                return true;
             }
         }
         logger.debug("Rule source with id '{}' has not been accepted by any rule parser.", source.getId());
+        return false;
+    }
+
+    private void add(List<AbstractRule> rules, RuleSetBuilder ruleSetBuilder) throws RuleException {
+        for (AbstractRule rule : rules) {
+            if (rule instanceof Concept) {
+                ruleSetBuilder.addConcept((Concept) rule);
+            } else if (rule instanceof Constraint) {
+                ruleSetBuilder.addConstraint((Constraint) rule);
+            } else {
+                ruleSetBuilder.addGroup((Group) rule);
+            }
+        }
     }
 }
@@ -0,0 +1,603 @@
+package com.buschmais.jqassistant.core.rule.impl.reader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+
+import com.buschmais.jqassistant.core.rule.api.configuration.Rule;
+import com.buschmais.jqassistant.core.rule.api.model.*;
+import com.buschmais.jqassistant.core.rule.api.reader.AggregationVerification;
+import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
+import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
+import com.buschmais.jqassistant.core.rule.impl.SourceExecutable;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A persistent cache of the rules parsed from {@link RuleSource}s.
+ * <p>
+ * The rules of a source are stored in a compact binary file within the cache directory. Its name is the SHA-256 hash of the jQAssistant version, the
+ * id and the content of the source and the configured default severities, i.e. modified sources are parsed again and entries are never updated.
+ * Entries which cannot be read (e.g. written by a different format version) are ignored. Entries which have not been used within
+ * {@link #RETENTION} are deleted by {@link #prune()}.
+ */
+@Slf4j
+public class RuleSetCache {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static final String FILE_EXTENSION = ".rules";
+
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    static final Duration RETENTION = Duration.ofDays(30);
+
+    private static final String VERSION = loadVersion();
+
+    private static final byte NULL = 0;
+    private static final byte CONCEPT = 1;
+    private static final byte CONSTRAINT = 2;
+    private static final byte GROUP = 3;
+    private static final byte CYPHER_EXECUTABLE = 1;
+    private static final byte SCRIPT_EXECUTABLE = 2;
+    private static final byte SOURCE_EXECUTABLE = 3;
+    private static final byte ROW_COUNT_VERIFICATION = 1;
+    private static final byte AGGREGATION_VERIFICATION = 2;
+    private static final byte STRING_VALUE = 1;
+    private static final byte INTEGER_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte DOUBLE_VALUE = 4;
+    private static final byte BOOLEAN_VALUE = 5;
+    private static final byte CHARACTER_VALUE = 6;
+    private static final byte BYTE_VALUE = 7;
+    private static final byte SHORT_VALUE = 8;
+    private static final byte FLOAT_VALUE = 9;
+
+    private final File directory;
+
+    private final Rule rule;
+
+    private final String version;
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *     The directory holding the cache entries.
+     * @param rule
+     *     The {@link Rule} configuration used by the parsers.
+     */
+    public RuleSetCache(File directory, Rule rule) {
+        this(directory, rule, VERSION);
+    }
+
+    RuleSetCache(File directory, Rule rule, String version) {
+        this.directory = directory;
+        this.rule = rule;
+        this.version = version;
+    }
+
+    /**
+     * Determine the key of a {@link RuleSource}.
+     *
+     * @param ruleSource
+     *     The {@link RuleSource}.
+     * @return The key or <code>null</code> if the content of the source cannot be read.
+     */
+    String getKey(RuleSource ruleSource) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        update(digest, Integer.toString(FORMAT_VERSION));
+        update(digest, version);
+        update(digest, ruleSource.getId());
+        update(digest, String.valueOf(rule.defaultConceptSeverity()
+            .orElse(null)));
+        update(digest, String.valueOf(rule.defaultConstraintSeverity()
+            .orElse(null)));
+        update(digest, String.valueOf(rule.defaultGroupSeverity()
+            .orElse(null)));
+        try (InputStream inputStream = ruleSource.getInputStream()) {
+            DigestUtils.updateDigest(digest, inputStream);
+        } catch (IOException e) {
+            log.debug("Cannot read rule source '{}' for determining its cache key.", ruleSource.getId(), e);
+            return null;
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Read the cached rules of a {@link RuleSource}.
+     *
+     * @param key
+     *     The key of the {@link RuleSource}.
+     * @param ruleSource
+     *     The {@link RuleSource} which is set for the rules.
+     * @return The rules in the order they have been parsed or {@link Optional#empty()} if there is no readable entry.
+     */
+    Optional<List<AbstractRule>> read(String key, RuleSource ruleSource) {
+        File file = getFile(key);
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            int size = input.readInt();
+            List<AbstractRule> rules = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte type = input.readByte();
+                switch (type) {
+                case CONCEPT:
+                    Concept.ConceptBuilder conceptBuilder = readExecutableRule(input, Concept.builder(), ruleSource);
+                    rules.add(conceptBuilder.providedConcepts(readSet(input))
+                        .build());
+                    break;
+                case CONSTRAINT:
+                    rules.add(readExecutableRule(input, Constraint.builder(), ruleSource).build());
+                    break;
+                case GROUP:
+                    rules.add(readGroup(input, ruleSource));
+                    break;
+                default:
+                    throw new IOException("Unknown rule type " + type);
+                }
+            }
+            // mark the entry as used for pruning
+            file.setLastModified(System.currentTimeMillis());
+            return Optional.of(rules);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Cannot read cached rules of '{}' from '{}'.", ruleSource.getId(), file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write the rules parsed from a {@link RuleSource} to the cache.
+     *
+     * @param key
+     *     The key of the {@link RuleSource}.
+     * @param rules
+     *     The rules of the {@link RuleSource} in the order they have been parsed.
+     */
+    void write(String key, List<AbstractRule> rules) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(rules.size());
+            for (AbstractRule rule : rules) {
+                if (rule instanceof Concept) {
+                    Concept concept = (Concept) rule;
+                    output.writeByte(CONCEPT);
+                    writeExecutableRule(output, concept);
+                    writeSet(output, concept.getProvidedConcepts());
+                } else if (rule instanceof Constraint) {
+                    output.writeByte(CONSTRAINT);
+                    writeExecutableRule(output, (Constraint) rule);
+                } else if (rule instanceof Group) {
+                    output.writeByte(GROUP);
+                    writeGroup(output, (Group) rule);
+                } else {
+                    throw new IllegalArgumentException("Unsupported rule " + rule);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Cannot write rules to cache.", e);
+            return;
+        }
+        try {
+            Files.createDirectories(directory.toPath());
+            Path tempFile = Files.createTempFile(directory.toPath(), key, TEMP_FILE_EXTENSION);
+            Files.write(tempFile, bytes.toByteArray());
+            Files.move(tempFile, getFile(key).toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Cannot write rule cache entry to '{}': {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete the entries which have not been used within {@link #RETENTION} and left over temporary files.
+     */
+    void prune() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION) || name.endsWith(TEMP_FILE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - RETENTION.toMillis();
+        for (File file : files) {
+            if (file.lastModified() < threshold && !file.delete()) {
+                log.debug("Cannot delete unused rule cache entry '{}'.", file);
+            }
+        }
+    }
+
+    private static String loadVersion() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = RuleSetCache.class.getResourceAsStream("RuleSetCache.properties")) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            log.debug("Cannot determine version for rule cache keys.", e);
+        }
+        return properties.getProperty("version", "unknown");
+    }
+
+    private File getFile(String key) {
+        return new File(directory, key + FILE_EXTENSION);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void writeRule(DataOutputStream output, AbstractSeverityRule rule) throws IOException {
+        output.writeUTF(rule.getId());
+        writeString(output, rule.getDescription());
+        writeString(output, rule.getDeprecation());
+        writeSeverity(output, rule.getSeverity());
+    }
+
+    private static void writeGroup(DataOutputStream output, Group group) throws IOException {
+        writeRule(output, group);
+        writeSeverities(output, group.getConcepts());
+        writeSeverities(output, group.getConstraints());
+        writeSeverities(output, group.getGroups());
+        output.writeInt(group.getProvidedConcepts()
+            .size());
+        for (Map.Entry<String, Set<String>> entry : group.getProvidedConcepts()
+            .entrySet()) {
+            output.writeUTF(entry.getKey());
+            writeSet(output, entry.getValue());
+        }
+    }
+
+    private static Group readGroup(DataInputStream input, RuleSource ruleSource) throws IOException {
+        Group.GroupBuilder builder = Group.builder()
+            .id(input.readUTF())
+            .description(readString(input))
+            .deprecation(readString(input))
+            .severity(readSeverity(input))
+            .ruleSource(ruleSource)
+            .concepts(readSeverities(input))
+            .constraints(readSeverities(input))
+            .groups(readSeverities(input));
+        Map<String, Set<String>> providedConcepts = new HashMap<>();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            providedConcepts.put(input.readUTF(), readSet(input));
+        }
+        return builder.providedConcepts(providedConcepts)
+            .build();
+    }
+
+    private static void writeExecutableRule(DataOutputStream output, AbstractExecutableRule rule) throws IOException {
+        writeRule(output, rule);
+        writeExecutable(output, rule.getExecutable());
+        Map<String, Parameter> parameters = rule.getParameters();
+        output.writeInt(parameters.size());
+        for (Map.Entry<String, Parameter> entry : parameters.entrySet()) {
+            Parameter parameter = entry.getValue();
+            output.writeUTF(entry.getKey());
+            output.writeUTF(parameter.getName());
+            output.writeUTF(parameter.getType()
+                .name());
+            Object defaultValue = parameter.getDefaultValue();
+            output.writeBoolean(defaultValue != null);
+            if (defaultValue != null) {
+                writeValue(output, defaultValue);
+            }
+        }
+        Map<String, Boolean> requiresConcepts = rule.getRequiresConcepts();
+        output.writeInt(requiresConcepts.size());
+        for (Map.Entry<String, Boolean> entry : requiresConcepts.entrySet()) {
+            output.writeUTF(entry.getKey());
+            Boolean optional = entry.getValue();
+            output.writeByte(optional == null ? NULL : optional ? 1 : 2);
+        }
+        writeVerification(output, rule.getVerification());
+        writeReport(output, rule.getReport());
+    }
+
+    private static <B extends AbstractExecutableRule.Builder<B, ?>> B readExecutableRule(DataInputStream input, B builder, RuleSource ruleSource)
+        throws IOException {
+        builder.id(input.readUTF())
+            .description(readString(input))
+            .deprecation(readString(input))
+            .severity(readSeverity(input))
+            .ruleSource(ruleSource)
+            .executable(readExecutable(input));
+        Map<String, Parameter> parameters = new HashMap<>();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = input.readUTF();
+            String name = input.readUTF();
+            Parameter.Type type = Parameter.Type.valueOf(input.readUTF());
+            parameters.put(key, new Parameter(name, type, input.readBoolean() ? readValue(input) : null));
+        }
+        Map<String, Boolean> requiresConcepts = new HashMap<>();
+        size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String conceptId = input.readUTF();
+            byte optional = input.readByte();
+            requiresConcepts.put(conceptId, optional == NULL ? null : optional == 1);
+        }
+        return builder.parameters(parameters)
+            .requiresConcepts(requiresConcepts)
+            .verification(readVerification(input))
+            .report(readReport(input));
+    }
+
+    private static void writeExecutable(DataOutputStream output, Executable<?> executable) throws IOException {
+        if (executable == null) {
+            output.writeByte(NULL);
+            return;
+        }
+        Class<?> type = executable.getClass();
+        if (type == CypherExecutable.class) {
+            output.writeByte(CYPHER_EXECUTABLE);
+        } else if (type == ScriptExecutable.class) {
+            output.writeByte(SCRIPT_EXECUTABLE);
+            output.writeUTF(executable.getLanguage());
+        } else if (type == SourceExecutable.class && executable.getType() == String.class) {
+            output.writeByte(SOURCE_EXECUTABLE);
+            output.writeUTF(executable.getLanguage());
+        } else {
+            throw new IllegalArgumentException("Unsupported executable " + type.getName());
+        }
+        writeLongString(output, (String) executable.getSource());
+    }
+
+    private static Executable<?> readExecutable(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case CYPHER_EXECUTABLE:
+            return new CypherExecutable(readLongString(input));
+        case SCRIPT_EXECUTABLE:
+            String scriptLanguage = input.readUTF();
+            return new ScriptExecutable(scriptLanguage, readLongString(input));
+        case SOURCE_EXECUTABLE:
+            String language = input.readUTF();
+            return new SourceExecutable<>(language, readLongString(input), String.class);
+        default:
+            throw new IOException("Unknown executable type " + type);
+        }
+    }
+
+    private static void writeVerification(DataOutputStream output, Verification verification) throws IOException {
+        if (verification == null) {
+            output.writeByte(NULL);
+        } else if (verification instanceof RowCountVerification) {
+            RowCountVerification rowCountVerification = (RowCountVerification) verification;
+            output.writeByte(ROW_COUNT_VERIFICATION);
+            writeInteger(output, rowCountVerification.getMin());
+            writeInteger(output, rowCountVerification.getMax());
+        } else if (verification instanceof AggregationVerification) {
+            AggregationVerification aggregationVerification = (AggregationVerification) verification;
+            output.writeByte(AGGREGATION_VERIFICATION);
+            writeString(output, aggregationVerification.getColumn());
+            writeInteger(output, aggregationVerification.getMin());
+            writeInteger(output, aggregationVerification.getMax());
+        } else {
+            throw new IllegalArgumentException("Unsupported verification " + verification.getClass()
+                .getName());
+        }
+    }
+
+    private static Verification readVerification(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case ROW_COUNT_VERIFICATION:
+            return RowCountVerification.builder()
+                .min(readInteger(input))
+                .max(readInteger(input))
+                .build();
+        case AGGREGATION_VERIFICATION:
+            return AggregationVerification.builder()
+                .column(readString(input))
+                .min(readInteger(input))
+                .max(readInteger(input))
+                .build();
+        default:
+            throw new IOException("Unknown verification type " + type);
+        }
+    }
+
+    private static void writeReport(DataOutputStream output, Report report) throws IOException {
+        if (report == null) {
+            output.writeBoolean(false);
+            return;
+        }
+        output.writeBoolean(true);
+        Set<String> selectedTypes = report.getSelectedTypes();
+        output.writeBoolean(selectedTypes != null);
+        if (selectedTypes != null) {
+            writeSet(output, selectedTypes);
+        }
+        writeString(output, report.getPrimaryColumn());
+        Properties properties = report.getProperties();
+        output.writeInt(properties != null ? properties.size() : -1);
+        if (properties != null) {
+            for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+                if (!(entry.getKey() instanceof String)) {
+                    throw new IllegalArgumentException("Unsupported report property " + entry.getKey());
+                }
+                output.writeUTF((String) entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        }
+    }
+
+    private static Report readReport(DataInputStream input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        Set<String> selectedTypes = input.readBoolean() ? new TreeSet<>(readSet(input)) : null;
+        String primaryColumn = readString(input);
+        int size = input.readInt();
+        Properties properties = size >= 0 ? new Properties() : null;
+        for (int i = 0; i < size; i++) {
+            String name = input.readUTF();
+            properties.put(name, readValue(input));
+        }
+        return Report.builder()
+            .selectedTypes(selectedTypes)
+            .primaryColumn(primaryColumn)
+            .properties(properties)
+            .build();
+    }
+
+    /**
+     * Write a scalar value, e.g. of a report property or the default value of a parameter.
+     */
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value instanceof String) {
+            output.writeByte(STRING_VALUE);
+            writeLongString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER_VALUE);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG_VALUE);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE_VALUE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN_VALUE);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            output.writeByte(CHARACTER_VALUE);
+            output.writeChar((Character) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE_VALUE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT_VALUE);
+            output.writeShort((Short) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT_VALUE);
+            output.writeFloat((Float) value);
+        } else {
+            throw new IllegalArgumentException("Unsupported value " + value);
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case STRING_VALUE:
+            return readLongString(input);
+        case INTEGER_VALUE:
+            return input.readInt();
+        case LONG_VALUE:
+            return input.readLong();
+        case DOUBLE_VALUE:
+            return input.readDouble();
+        case BOOLEAN_VALUE:
+            return input.readBoolean();
+        case CHARACTER_VALUE:
+            return input.readChar();
+        case BYTE_VALUE:
+            return input.readByte();
+        case SHORT_VALUE:
+            return input.readShort();
+        case FLOAT_VALUE:
+            return input.readFloat();
+        default:
+            throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private static void writeSeverities(DataOutputStream output, Map<String, Severity> severities) throws IOException {
+        output.writeInt(severities.size());
+        for (Map.Entry<String, Severity> entry : severities.entrySet()) {
+            output.writeUTF(entry.getKey());
+            writeSeverity(output, entry.getValue());
+        }
+    }
+
+    private static Map<String, Severity> readSeverities(DataInputStream input) throws IOException {
+        Map<String, Severity> severities = new LinkedHashMap<>();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            severities.put(input.readUTF(), readSeverity(input));
+        }
+        return severities;
+    }
+
+    private static void writeSeverity(DataOutputStream output, Severity severity) throws IOException {
+        writeString(output, severity != null ? severity.name() : null);
+    }
+
+    private static Severity readSeverity(DataInputStream input) throws IOException {
+        String severity = readString(input);
+        return severity != null ? Severity.valueOf(severity) : null;
+    }
+
+    private static void writeSet(DataOutputStream output, Set<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static Set<String> readSet(DataInputStream input) throws IOException {
+        Set<String> values = new LinkedHashSet<>();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            values.add(input.readUTF());
+        }
+        return values;
+    }
+
+    private static void writeInteger(DataOutputStream output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readInt() : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeLongString(output, value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? readLongString(input) : null;
+    }
+
+    /**
+     * Write a string which may exceed the limit of 64k bytes of {@link DataOutputStream#writeUTF(String)}, e.g. a Cypher query or description.
+     */
+    private static void writeLongString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readLongString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package com.buschmais.jqassistant.core.rule.impl.reader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.buschmais.jqassistant.core.rule.api.configuration.Rule;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
+import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.buschmais.jqassistant.core.rule.api.model.RuleSetTestHelper.getDefaultRuleParserPlugins;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RuleSetCacheTest {
+
+    @Mock
+    private Rule rule;
+
+    @TempDir
+    private File directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "rule-cache/rules.xml", "rule-cache/rules.yaml" })
+    void cachedRulesEqualParsedRules(String resource) throws Exception {
+        RuleSource ruleSource = new FileRuleSource(getClassesDirectory(), resource);
+        RuleSet parsedRuleSet = new RuleParser(getDefaultRuleParserPlugins(rule)).parse(singletonList(ruleSource));
+        RuleSetCache ruleSetCache = new RuleSetCache(directory, rule);
+        new RuleParser(getDefaultRuleParserPlugins(rule), ruleSetCache).parse(singletonList(ruleSource));
+        RuleParserPlugin ruleParserPlugin = mock(RuleParserPlugin.class);
+
+        RuleSet cachedRuleSet = new RuleParser(singletonList(ruleParserPlugin), ruleSetCache).parse(singletonList(ruleSource));
+
+        verify(ruleParserPlugin, never()).parse(any(RuleSource.class), any());
+        assertThat(cachedRuleSet).usingRecursiveComparison()
+            .isEqualTo(parsedRuleSet);
+    }
+
+    @Test
+    void modifiedSourceIsParsed() throws Exception {
+        File ruleFile = new File(directory, "rules.yaml");
+        RuleSetCache ruleSetCache = new RuleSetCache(new File(directory, "cache"), rule);
+        RuleParser ruleParser = new RuleParser(getDefaultRuleParserPlugins(rule), ruleSetCache);
+        List<RuleSource> ruleSources = singletonList(new FileRuleSource(directory, "rules.yaml"));
+
+        writeConcept(ruleFile, "test:Concept1");
+        assertThat(ruleParser.parse(ruleSources)
+            .getConceptBucket()
+            .getIds()).containsExactly("test:Concept1");
+        writeConcept(ruleFile, "test:Concept2");
+        assertThat(ruleParser.parse(ruleSources)
+            .getConceptBucket()
+            .getIds()).containsExactly("test:Concept2");
+        writeConcept(ruleFile, "test:Concept1");
+        assertThat(ruleParser.parse(ruleSources)
+            .getConceptBucket()
+            .getIds()).containsExactly("test:Concept1");
+
+        assertThat(new File(directory, "cache").list()).hasSize(2);
+    }
+
+    @Test
+    void corruptEntryIsParsedAgain() throws Exception {
+        File ruleFile = new File(directory, "rules.yaml");
+        File cacheDirectory = new File(directory, "cache");
+        RuleSetCache ruleSetCache = new RuleSetCache(cacheDirectory, rule);
+        RuleParser ruleParser = new RuleParser(getDefaultRuleParserPlugins(rule), ruleSetCache);
+        List<RuleSource> ruleSources = singletonList(new FileRuleSource(directory, "rules.yaml"));
+        writeConcept(ruleFile, "test:Concept");
+        ruleParser.parse(ruleSources);
+        File[] entries = cacheDirectory.listFiles();
+        assertThat(entries).hasSize(1);
+        Files.write(entries[0].toPath(), new byte[] { 0, 0, 0, 1, 0, 0, 0, 1, 42 });
+
+        RuleSet ruleSet = ruleParser.parse(ruleSources);
+
+        assertThat(ruleSet.getConceptBucket()
+            .getIds()).containsExactly("test:Concept");
+        assertThat(ruleSetCache.read(ruleSetCache.getKey(ruleSources.get(0)), ruleSources.get(0))).isPresent();
+    }
+
+    @Test
+    void keyContainsVersion() throws Exception {
+        File ruleFile = new File(directory, "rules.yaml");
+        writeConcept(ruleFile, "test:Concept");
+        RuleSource ruleSource = new FileRuleSource(directory, "rules.yaml");
+
+        String key = new RuleSetCache(directory, rule, "1.0.0").getKey(ruleSource);
+
+        assertThat(key).isEqualTo(new RuleSetCache(directory, rule, "1.0.0").getKey(ruleSource))
+            .isNotEqualTo(new RuleSetCache(directory, rule, "1.0.1").getKey(ruleSource));
+    }
+
+    @Test
+    void unusedEntriesArePruned() throws Exception {
+        File cacheDirectory = new File(directory, "cache");
+        RuleSetCache ruleSetCache = new RuleSetCache(cacheDirectory, rule);
+        RuleParser ruleParser = new RuleParser(getDefaultRuleParserPlugins(rule), ruleSetCache);
+        writeConcept(new File(directory, "used.yaml"), "test:UsedConcept");
+        writeConcept(new File(directory, "unused.yaml"), "test:UnusedConcept");
+        RuleSource usedRuleSource = new FileRuleSource(directory, "used.yaml");
+        RuleSource unusedRuleSource = new FileRuleSource(directory, "unused.yaml");
+        ruleParser.parse(List.of(usedRuleSource, unusedRuleSource));
+        long expired = System.currentTimeMillis() - RuleSetCache.RETENTION.toMillis() - 1000;
+        for (File entry : cacheDirectory.listFiles()) {
+            assertThat(entry.setLastModified(expired)).isTrue();
+        }
+
+        ruleParser.parse(singletonList(usedRuleSource));
+
+        assertThat(cacheDirectory.list()).containsExactly(ruleSetCache.getKey(usedRuleSource) + ".rules");
+    }
+
+    private static void writeConcept(File ruleFile, String id) throws IOException {
+        Files.write(ruleFile.toPath(), ("concepts:\n" + //
+            "  - id: " + id + "\n" + //
+            "    description: A concept.\n" + //
+            "    source: MATCH (n) RETURN n\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static File getClassesDirectory() throws URISyntaxException {
+        return Paths.get(RuleSetCacheTest.class.getResource("/")
+                .toURI())
+            .toFile();
+    }
+}
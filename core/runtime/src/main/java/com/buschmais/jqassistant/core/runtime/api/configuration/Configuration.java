@@ -5,6 +5,7 @@ import java.util.List;
 import com.buschmais.jqassistant.core.analysis.api.configuration.Analyze;
 import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.shared.annotation.Description;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.shared.configuration.Plugin;
 import com.buschmais.jqassistant.core.store.api.configuration.Store;
 
@@ -46,6 +47,13 @@ public interface Configuration {
      */
     Store store();
 
+    /**
+     * The {@link Metrics} configuration.
+     *
+     * @return The {@link Metrics} configuration.
+     */
+    Metrics metrics();
+
     /**
      * The {@link Scan} configuration.
      *
@@ -66,4 +74,11 @@ public interface Configuration {
      * @return The {@link Server} configuration.
      */
     Server server();
+
+    /**
+     * The {@link StartupIndex} configuration.
+     *
+     * @return The {@link StartupIndex} configuration.
+     */
+    StartupIndex startupIndex();
 }
@@ -0,0 +1,28 @@
+package com.buschmais.jqassistant.core.runtime.api.configuration;
+
+import java.io.File;
+import java.util.Optional;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.startup-index")
+@Description("The index holding the resolved plugin classpath and the validated plugin descriptors for speeding up subsequent starts.")
+public interface StartupIndex {
+
+    String DEFAULT_DIRECTORY = ".jqassistant/startup-index";
+
+    String ENABLED = "enabled";
+
+    @Description("Enables the startup index.")
+    @WithDefault("true")
+    boolean enabled();
+
+    String DIRECTORY = "directory";
+
+    @Description("The directory of the startup index, defaults to '~/.jqassistant/startup-index'.")
+    Optional<File> directory();
+
+}
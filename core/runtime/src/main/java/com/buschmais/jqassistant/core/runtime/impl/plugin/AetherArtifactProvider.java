@@ -20,6 +20,7 @@ import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
@@ -46,6 +47,27 @@ public class AetherArtifactProvider implements ArtifactProvider {
         return asFiles(dependencyResult);
     }
 
+    /**
+     * Describe the local and remote repositories used for resolving artifacts, e.g. as context of a {@link CachingArtifactProvider}.
+     *
+     * @return The description.
+     */
+    public String getRepositoryDescription() {
+        StringBuilder builder = new StringBuilder();
+        LocalRepository localRepository = repositorySystemSession.getLocalRepository();
+        if (localRepository != null) {
+            builder.append(localRepository.getBasedir()
+                .getAbsolutePath());
+        }
+        for (RemoteRepository repository : repositories) {
+            builder.append(';')
+                .append(repository.getId())
+                .append('=')
+                .append(repository.getUrl());
+        }
+        return builder.toString();
+    }
+
     private List<Dependency> getDependencies(List<Plugin> plugins) {
         return plugins.stream()
             .flatMap(plugin -> getPluginDependencies(plugin).stream())
@@ -0,0 +1,173 @@
+package com.buschmais.jqassistant.core.runtime.impl.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Exclusion;
+import com.buschmais.jqassistant.core.shared.configuration.Plugin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * An {@link ArtifactProvider} caching the files resolved by a delegate in the startup index directory.
+ * <p>
+ * An entry is keyed by the SHA-256 hash of the plugin coordinates (including exclusions) and a context describing the repositories. It is only used
+ * if all listed files still exist with unchanged size and modification time, otherwise the plugins are resolved again. Plugins with snapshot, range
+ * or meta versions (e.g. <code>LATEST</code>) are always resolved by the delegate.
+ */
+@Slf4j
+public class CachingArtifactProvider implements ArtifactProvider {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_PREFIX = "classpath-";
+    private static final String FILE_EXTENSION = ".idx";
+    private static final String SEPARATOR = "\t";
+
+    private final ArtifactProvider delegate;
+
+    private final File directory;
+
+    private final String context;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *     The {@link ArtifactProvider} to delegate to.
+     * @param directory
+     *     The directory holding the cache entries.
+     * @param context
+     *     The context of the resolution which is part of the key, e.g. the local and remote repositories.
+     */
+    public CachingArtifactProvider(ArtifactProvider delegate, File directory, String context) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.context = context;
+    }
+
+    @Override
+    public Optional<File> getCacheDirectory() {
+        return Optional.of(directory);
+    }
+
+    @Override
+    public List<File> resolve(List<Plugin> plugins) {
+        if (plugins.isEmpty() || plugins.stream()
+            .anyMatch(plugin -> !isFixedVersion(plugin.version()))) {
+            return delegate.resolve(plugins);
+        }
+        File file = new File(directory, FILE_PREFIX + getKey(plugins) + FILE_EXTENSION);
+        Optional<List<File>> cachedFiles = read(file);
+        if (cachedFiles.isPresent()) {
+            log.debug("Using {} cached artifact(s) from '{}'.", cachedFiles.get()
+                .size(), file);
+            return cachedFiles.get();
+        }
+        List<File> files = delegate.resolve(plugins);
+        write(file, files);
+        return files;
+    }
+
+    /**
+     * Determine if a version always resolves to the same artifacts.
+     *
+     * @param version
+     *     The version.
+     * @return <code>true</code> if the version is fixed.
+     */
+    static boolean isFixedVersion(String version) {
+        return version != null && !version.endsWith("SNAPSHOT") && !"LATEST".equals(version) && !"RELEASE".equals(version) && version.chars()
+            .noneMatch(c -> c == '[' || c == '(' || c == ',');
+    }
+
+    private String getKey(List<Plugin> plugins) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(FORMAT_VERSION)
+            .append('\n')
+            .append(context)
+            .append('\n');
+        for (Plugin plugin : plugins) {
+            builder.append(plugin.groupId())
+                .append(':')
+                .append(plugin.artifactId())
+                .append(':')
+                .append(plugin.type())
+                .append(':')
+                .append(plugin.classifier()
+                    .orElse(""))
+                .append(':')
+                .append(plugin.version());
+            for (Exclusion exclusion : plugin.exclusions()) {
+                builder.append(";")
+                    .append(exclusion.groupId())
+                    .append(':')
+                    .append(exclusion.artifactId())
+                    .append(':')
+                    .append(exclusion.type())
+                    .append(':')
+                    .append(exclusion.classifier()
+                        .orElse(""));
+            }
+            builder.append('\n');
+        }
+        return DigestUtils.sha256Hex(builder.toString());
+    }
+
+    private Optional<List<File>> read(File file) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !Integer.toString(FORMAT_VERSION)
+                .equals(lines.get(0))) {
+                return Optional.empty();
+            }
+            List<File> files = new ArrayList<>(lines.size() - 1);
+            for (String line : lines.subList(1, lines.size())) {
+                String[] values = line.split(SEPARATOR, 3);
+                File artifact = new File(values[2]);
+                if (!artifact.isFile() || artifact.length() != Long.parseLong(values[0]) || artifact.lastModified() != Long.parseLong(values[1])) {
+                    log.debug("Artifact '{}' has been modified, resolving plugins.", artifact);
+                    return Optional.empty();
+                }
+                files.add(artifact);
+            }
+            return Optional.of(files);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Cannot read startup index entry '{}'.", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private void write(File file, List<File> files) {
+        List<String> lines = new ArrayList<>(files.size() + 1);
+        lines.add(Integer.toString(FORMAT_VERSION));
+        for (File artifact : files) {
+            if (artifact == null || !artifact.isFile()) {
+                return;
+            }
+            lines.add(artifact.length() + SEPARATOR + artifact.lastModified() + SEPARATOR + artifact.getAbsolutePath());
+        }
+        try {
+            Files.createDirectories(directory.toPath());
+            Path tempFile = Files.createTempFile(directory.toPath(), FILE_PREFIX, ".tmp");
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Cannot write startup index entry to '{}': {}", directory, e.getMessage());
+        }
+    }
+}
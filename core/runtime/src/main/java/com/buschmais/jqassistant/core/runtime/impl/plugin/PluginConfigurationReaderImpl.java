@@ -1,13 +1,14 @@
 package com.buschmais.jqassistant.core.runtime.impl.plugin;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.List;
-import java.util.TreeSet;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 
 import javax.xml.validation.Schema;
 
@@ -16,22 +17,37 @@ import com.buschmais.jqassistant.core.runtime.api.plugin.PluginConfigurationRead
 import com.buschmais.jqassistant.core.shared.xml.JAXBUnmarshaller;
 import com.buschmais.jqassistant.core.shared.xml.XmlHelper;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.jqassistant.schema.plugin.v2.JqassistantPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 /**
  * Plugin reader implementation.
+ * <p>
+ * If a startup index directory is provided the SHA-256 hashes of all descriptors which have been validated against the plugin schema are recorded
+ * in this directory, unchanged descriptors are unmarshalled without validation by subsequent instances.
  */
 public class PluginConfigurationReaderImpl implements PluginConfigurationReader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PluginConfigurationReaderImpl.class);
 
-    private static final Schema SCHEMA = XmlHelper.getSchema(PLUGIN_SCHEMA_RESOURCE);
+    private static final String INDEX_FILE = "plugin-descriptors.idx";
+
+    private static Schema schema;
 
     private final ClassLoader pluginClassLoader;
 
-    private final JAXBUnmarshaller<JqassistantPlugin> jaxbUnmarshaller;
+    private final File startupIndexDirectory;
+
+    private final Set<String> validatedDescriptors = new HashSet<>();
+
+    private JAXBUnmarshaller<JqassistantPlugin> validatingUnmarshaller;
+
+    private JAXBUnmarshaller<JqassistantPlugin> unmarshaller;
 
     private List<JqassistantPlugin> plugins = null;
 
@@ -42,8 +58,20 @@ public class PluginConfigurationReaderImpl implements PluginConfigurationReader
      *     The class loader to use for detecting plugins.
      */
     public PluginConfigurationReaderImpl(PluginClassLoader pluginClassLoader) {
+        this(pluginClassLoader, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param pluginClassLoader
+     *     The class loader to use for detecting plugins.
+     * @param startupIndexDirectory
+     *     The startup index directory recording the validated descriptors, may be <code>null</code>.
+     */
+    public PluginConfigurationReaderImpl(PluginClassLoader pluginClassLoader, File startupIndexDirectory) {
         this.pluginClassLoader = pluginClassLoader;
-        this.jaxbUnmarshaller = new JAXBUnmarshaller<>(JqassistantPlugin.class, SCHEMA, NAMESPACE);
+        this.startupIndexDirectory = startupIndexDirectory;
     }
 
     @Override
@@ -59,8 +87,15 @@ public class PluginConfigurationReaderImpl implements PluginConfigurationReader
      * @return The {@link JqassistantPlugin}.
      */
     protected JqassistantPlugin readPlugin(URL pluginUrl) {
-        try (InputStream inputStream = new BufferedInputStream(pluginUrl.openStream())) {
-            return jaxbUnmarshaller.unmarshal(inputStream);
+        try (InputStream inputStream = pluginUrl.openStream()) {
+            byte[] descriptor = inputStream.readAllBytes();
+            String hash = getHash(descriptor);
+            if (validatedDescriptors.contains(hash)) {
+                return getUnmarshaller().unmarshal(new ByteArrayInputStream(descriptor));
+            }
+            JqassistantPlugin plugin = getValidatingUnmarshaller().unmarshal(new ByteArrayInputStream(descriptor));
+            validatedDescriptors.add(hash);
+            return plugin;
         } catch (IOException e) {
             throw new IllegalStateException("Cannot read plugin from " + pluginUrl.toString(), e);
         }
@@ -76,6 +111,7 @@ public class PluginConfigurationReaderImpl implements PluginConfigurationReader
     public List<JqassistantPlugin> getPlugins() {
         if (this.plugins == null) {
             LOGGER.info("Scanning for jQAssistant plugins...");
+            Set<String> indexedDescriptors = readIndex();
 
             PluginIdGenerator idGenerator = new PluginIdGenerator();
             TreeSet<String> ids = new TreeSet<>();
@@ -99,6 +135,9 @@ public class PluginConfigurationReaderImpl implements PluginConfigurationReader
                         loadedPlugin.getName());
                 }
             }
+            if (startupIndexDirectory != null && !indexedDescriptors.containsAll(validatedDescriptors)) {
+                writeIndex();
+            }
         }
         return plugins;
     }
@@ -110,4 +149,73 @@ public class PluginConfigurationReaderImpl implements PluginConfigurationReader
             throw new IllegalStateException("Cannot get plugin resources.", e);
         }
     }
+
+    private JAXBUnmarshaller<JqassistantPlugin> getValidatingUnmarshaller() {
+        if (validatingUnmarshaller == null) {
+            validatingUnmarshaller = new JAXBUnmarshaller<>(JqassistantPlugin.class, getSchema(), NAMESPACE);
+        }
+        return validatingUnmarshaller;
+    }
+
+    private JAXBUnmarshaller<JqassistantPlugin> getUnmarshaller() {
+        if (unmarshaller == null) {
+            unmarshaller = new JAXBUnmarshaller<>(JqassistantPlugin.class, null, NAMESPACE);
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Returns the plugin schema which is only created if a descriptor needs to be validated.
+     *
+     * @return The plugin {@link Schema}.
+     */
+    private static synchronized Schema getSchema() {
+        if (schema == null) {
+            schema = XmlHelper.getSchema(PLUGIN_SCHEMA_RESOURCE);
+        }
+        return schema;
+    }
+
+    /**
+     * Read the hashes of the validated descriptors from the startup index.
+     *
+     * @return The hashes which have been read.
+     */
+    private Set<String> readIndex() {
+        if (startupIndexDirectory == null) {
+            return Collections.emptySet();
+        }
+        Path indexFile = startupIndexDirectory.toPath()
+            .resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) {
+            return Collections.emptySet();
+        }
+        try {
+            Set<String> indexedDescriptors = new HashSet<>(Files.readAllLines(indexFile, StandardCharsets.UTF_8));
+            validatedDescriptors.addAll(indexedDescriptors);
+            return indexedDescriptors;
+        } catch (IOException e) {
+            LOGGER.debug("Cannot read plugin descriptor index '{}'.", indexFile, e);
+            return Collections.emptySet();
+        }
+    }
+
+    private void writeIndex() {
+        if (startupIndexDirectory == null) {
+            return;
+        }
+        Path directory = startupIndexDirectory.toPath();
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+            Files.write(tempFile, new TreeSet<>(validatedDescriptors), StandardCharsets.UTF_8);
+            Files.move(tempFile, directory.resolve(INDEX_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write plugin descriptor index to '{}': {}", directory, e.getMessage());
+        }
+    }
+
+    private static String getHash(byte[] descriptor) {
+        return DigestUtils.sha256Hex(descriptor);
+    }
 }
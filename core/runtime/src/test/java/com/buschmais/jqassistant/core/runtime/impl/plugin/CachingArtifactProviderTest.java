@@ -0,0 +1,130 @@
+package com.buschmais.jqassistant.core.runtime.impl.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Plugin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingArtifactProviderTest {
+
+    @Mock
+    private ArtifactProvider delegate;
+
+    @Mock
+    private Plugin plugin;
+
+    @TempDir
+    private File directory;
+
+    private File indexDirectory;
+
+    private List<File> artifacts;
+
+    @BeforeEach
+    void createArtifacts() throws IOException {
+        indexDirectory = new File(directory, "startup-index");
+        artifacts = asList(createArtifact("plugin.jar"), createArtifact("dependency.jar"));
+    }
+
+    @Test
+    void resolvedArtifactsAreCached() {
+        stubPlugin("1.0.0");
+        doReturn(artifacts).when(delegate)
+            .resolve(singletonList(plugin));
+
+        assertThat(new CachingArtifactProvider(delegate, indexDirectory, "repositories").resolve(singletonList(plugin))).isEqualTo(artifacts);
+        assertThat(new CachingArtifactProvider(delegate, indexDirectory, "repositories").resolve(singletonList(plugin))).isEqualTo(artifacts);
+
+        verify(delegate, times(1)).resolve(singletonList(plugin));
+    }
+
+    @Test
+    void modifiedArtifactIsResolved() throws IOException {
+        stubPlugin("1.0.0");
+        doReturn(artifacts).when(delegate)
+            .resolve(singletonList(plugin));
+        CachingArtifactProvider cachingArtifactProvider = new CachingArtifactProvider(delegate, indexDirectory, "repositories");
+        cachingArtifactProvider.resolve(singletonList(plugin));
+
+        Files.write(artifacts.get(1)
+            .toPath(), "modified".getBytes());
+
+        assertThat(cachingArtifactProvider.resolve(singletonList(plugin))).isEqualTo(artifacts);
+        verify(delegate, times(2)).resolve(singletonList(plugin));
+    }
+
+    @Test
+    void differentContextIsResolved() {
+        stubPlugin("1.0.0");
+        doReturn(artifacts).when(delegate)
+            .resolve(singletonList(plugin));
+
+        new CachingArtifactProvider(delegate, indexDirectory, "repositories").resolve(singletonList(plugin));
+        new CachingArtifactProvider(delegate, indexDirectory, "other repositories").resolve(singletonList(plugin));
+
+        verify(delegate, times(2)).resolve(singletonList(plugin));
+    }
+
+    @Test
+    void snapshotIsAlwaysResolved() {
+        doReturn("1.0.0-SNAPSHOT").when(plugin)
+            .version();
+        doReturn(artifacts).when(delegate)
+            .resolve(singletonList(plugin));
+        CachingArtifactProvider cachingArtifactProvider = new CachingArtifactProvider(delegate, indexDirectory, "repositories");
+
+        cachingArtifactProvider.resolve(singletonList(plugin));
+        cachingArtifactProvider.resolve(singletonList(plugin));
+
+        verify(delegate, times(2)).resolve(singletonList(plugin));
+        assertThat(indexDirectory).doesNotExist();
+    }
+
+    @Test
+    void fixedVersions() {
+        assertThat(CachingArtifactProvider.isFixedVersion("2.4.0")).isTrue();
+        assertThat(CachingArtifactProvider.isFixedVersion("2.4.0-SNAPSHOT")).isFalse();
+        assertThat(CachingArtifactProvider.isFixedVersion("[2.3,2.4)")).isFalse();
+        assertThat(CachingArtifactProvider.isFixedVersion("LATEST")).isFalse();
+        assertThat(CachingArtifactProvider.isFixedVersion("RELEASE")).isFalse();
+    }
+
+    private void stubPlugin(String version) {
+        doReturn(version).when(plugin)
+            .version();
+        doReturn("org.jqassistant.plugin").when(plugin)
+            .groupId();
+        doReturn(singletonList("jqassistant-test-plugin")).when(plugin)
+            .artifactId();
+        doReturn(empty()).when(plugin)
+            .classifier();
+        doReturn("jar").when(plugin)
+            .type();
+        doReturn(emptyList()).when(plugin)
+            .exclusions();
+    }
+
+    private File createArtifact(String name) throws IOException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), name.getBytes());
+        return file;
+    }
+}
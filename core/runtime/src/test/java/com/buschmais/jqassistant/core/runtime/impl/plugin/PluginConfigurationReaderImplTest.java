@@ -1,13 +1,17 @@
 package com.buschmais.jqassistant.core.runtime.impl.plugin;
 
+import java.io.File;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 
+import com.buschmais.jqassistant.core.runtime.api.plugin.PluginClassLoader;
+
 import com.google.common.collect.Iterators;
 import org.jqassistant.schema.plugin.v2.JqassistantPlugin;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,4 +62,20 @@ class PluginConfigurationReaderImplTest {
         assertThat(reader.getPlugins()).hasSize(2)
                   .containsAnyOf(plugin1, plugin2);
     }
+
+    @Test
+    void validatedPluginDescriptorsAreIndexed(@TempDir File startupIndexDirectory) {
+        PluginClassLoader pluginClassLoader = new PluginClassLoader(PluginConfigurationReaderImplTest.class.getClassLoader());
+
+        List<JqassistantPlugin> plugins = new PluginConfigurationReaderImpl(pluginClassLoader, startupIndexDirectory).getPlugins();
+        File index = new File(startupIndexDirectory, "plugin-descriptors.idx");
+        long lastModified = index.lastModified();
+        List<JqassistantPlugin> indexedPlugins = new PluginConfigurationReaderImpl(pluginClassLoader, startupIndexDirectory).getPlugins();
+
+        assertThat(plugins).isNotEmpty();
+        assertThat(index).exists();
+        assertThat(index.lastModified()).isEqualTo(lastModified);
+        assertThat(indexedPlugins).usingRecursiveComparison()
+            .isEqualTo(plugins);
+    }
 }
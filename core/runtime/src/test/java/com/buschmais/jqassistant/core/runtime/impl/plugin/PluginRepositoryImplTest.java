@@ -82,10 +82,11 @@ class PluginRepositoryImplTest {
         ReportContext reportContext = mock(ReportContext.class);
         Map<String, ReportPlugin> reportPlugins = pluginRepository.getAnalyzerPluginRepository()
             .getReportPlugins(report, reportContext);
-        assertThat(reportPlugins).hasSize(3);
+        assertThat(reportPlugins).hasSize(4);
         assertThat(reportPlugins.get(TestReportPlugin.class.getSimpleName())).isNotNull();
         assertThat(reportPlugins.get("testReport")).isNotNull();
         assertThat(reportPlugins.get("xml")).isNotNull();
+        assertThat(reportPlugins.get("metrics")).isNotNull();
         pluginRepository.destroy();
     }
 
@@ -0,0 +1,112 @@
+package com.buschmais.jqassistant.core.scanner.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.buschmais.jqassistant.core.shared.xml.XmlHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+/**
+ * Provides the leading bytes and the XML root element of the content of an item.
+ * <p>
+ * Both values are read lazily on first access and are cached afterwards, i.e. the content is read at most twice: once for the leading bytes and
+ * once for parsing the root element.
+ */
+@Slf4j
+public final class ContentHeader {
+
+    /**
+     * The maximum number of leading bytes which are read.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private final ContentProvider contentProvider;
+
+    private byte[] bytes;
+
+    private Optional<QName> xmlRootElement;
+
+    /**
+     * Constructor.
+     *
+     * @param contentProvider
+     *     The {@link ContentProvider}.
+     */
+    public ContentHeader(ContentProvider contentProvider) {
+        this.contentProvider = contentProvider;
+    }
+
+    /**
+     * Determine if the content starts with the given bytes.
+     *
+     * @param magicBytes
+     *     The bytes, must not be longer than {@link #MAX_LENGTH}.
+     * @return <code>true</code> if the content starts with the given bytes.
+     * @throws IOException
+     *     If the content cannot be read.
+     */
+    public boolean startsWith(byte[] magicBytes) throws IOException {
+        byte[] header = getBytes();
+        if (header.length < magicBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < magicBytes.length; i++) {
+            if (header[i] != magicBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the qualified name of the root element if the content is an XML document.
+     *
+     * @return The qualified name of the root element or {@link Optional#empty()} if the content cannot be parsed as XML.
+     * @throws IOException
+     *     If the content cannot be read.
+     */
+    public Optional<QName> getXmlRootElement() throws IOException {
+        if (xmlRootElement == null) {
+            xmlRootElement = readXmlRootElement();
+        }
+        return xmlRootElement;
+    }
+
+    private byte[] getBytes() throws IOException {
+        if (bytes == null) {
+            try (InputStream stream = contentProvider.createStream()) {
+                bytes = stream.readNBytes(MAX_LENGTH);
+            }
+        }
+        return bytes;
+    }
+
+    private Optional<QName> readXmlRootElement() throws IOException {
+        try (InputStream stream = contentProvider.createStream()) {
+            XMLStreamReader reader = XmlHelper.getXMLInputFactory()
+                .createXMLStreamReader(stream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        return of(reader.getName());
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            log.debug("Cannot parse content of {} as XML.", contentProvider, e);
+        }
+        return empty();
+    }
+}
@@ -0,0 +1,22 @@
+package com.buschmais.jqassistant.core.scanner.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An item providing its content as stream, e.g. a file resource.
+ * <p>
+ * The scanner reads the header of such items at most once to evaluate the content criteria of {@link ScannerPlugin.Matches} declarations.
+ */
+public interface ContentProvider {
+
+    /**
+     * Create a new stream providing the content.
+     *
+     * @return The {@link InputStream}, must be closed by the caller.
+     * @throws IOException
+     *     If the stream cannot be created.
+     */
+    InputStream createStream() throws IOException;
+
+}
@@ -42,6 +42,60 @@ public interface ScannerPlugin<I, D extends Descriptor> extends ContextualConfig
         Class<? extends Descriptor>[] value();
     }
 
+    /**
+     * Declares the items a plugin may accept, the scanner calls {@link #accepts(Object, String, Scope)} only if a declaration matches.
+     * <p>
+     * A declaration matches if its path criteria ({@link #extensions()} or {@link #patterns()}) and its content criteria ({@link #magicBytes()}
+     * or {@link #xmlRootElements()}) are satisfied, criteria which are not specified are ignored. The content is only evaluated for items
+     * implementing {@link ContentProvider} and read at most once for all plugins. Multiple declarations are combined by "or".
+     *
+     * [source,java]
+     * ----
+     * @Matches(extensions = ".pom")
+     * @Matches(extensions = ".xml", xmlRootElements = "{http://maven.apache.org/POM/4.0.0}project")
+     * public class MyPlugin implements ScannerPlugin&lt;FileResource, MyDescriptor&gt; {
+     * }
+     * ----
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @Inherited
+    @Repeatable(Matches.List.class)
+    @interface Matches {
+
+        /**
+         * @return The file extensions (e.g. <code>.xml</code>), compared case-insensitive with the end of the path.
+         */
+        String[] extensions() default {};
+
+        /**
+         * @return Patterns for the path supporting the wildcards "?" and "*" (e.g. <code>/META-INF/services/*</code>).
+         */
+        String[] patterns() default {};
+
+        /**
+         * @return The leading bytes of the content as hex strings (e.g. <code>CAFEBABE</code>).
+         */
+        String[] magicBytes() default {};
+
+        /**
+         * @return The names of the root element of XML documents, either as local name (e.g. <code>project</code>) or including the namespace
+         * (e.g. <code>{http://maven.apache.org/POM/4.0.0}project</code>).
+         */
+        String[] xmlRootElements() default {};
+
+        /**
+         * Container for repeated {@link Matches} declarations.
+         */
+        @Retention(RetentionPolicy.RUNTIME)
+        @Target(ElementType.TYPE)
+        @Inherited
+        @interface List {
+
+            Matches[] value();
+        }
+    }
+
     @Override
     default void initialize() {
     }
@@ -0,0 +1,18 @@
+package com.buschmais.jqassistant.core.scanner.api.configuration;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.scan.archive")
+@Description("The settings for reading archives, e.g. JAR files nested in WAR or Spring Boot JAR files.")
+public interface Archive {
+
+    String MAX_IN_MEMORY_BYTES = "max-in-memory-bytes";
+
+    @Description("The maximum size in bytes of a compressed archive entry which is inflated into memory if it is read as nested archive, larger entries are extracted to temporary files. Uncompressed entries are always read in place.")
+    @WithDefault("33554432")
+    long maxInMemoryBytes();
+
+}
@@ -22,11 +22,22 @@ public interface Scan {
     @WithDefault("false")
     boolean continueOnError();
 
+    String INCREMENTAL = "incremental";
+
+    @Description("Indicates whether only files which have been added or modified since the previous scan shall be scanned, the subgraphs of modified or deleted files are removed from the store. An incremental scan does not reset the store by default.")
+    @WithDefault("false")
+    boolean incremental();
+
     String INCLUDE = "include";
 
     @Description("The items to include for scanning.")
     Optional<Include> include();
 
+    String ARCHIVE = "archive";
+
+    @Description("The settings for reading archives.")
+    Archive archive();
+
     String PROPERTIES = "properties";
 
     @Description("The properties to configure scanner plugins. The supported properties are plugin specific.")
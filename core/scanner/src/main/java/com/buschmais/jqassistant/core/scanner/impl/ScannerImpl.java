@@ -7,6 +7,7 @@ import com.buschmais.jqassistant.core.scanner.api.*;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
 import com.buschmais.xo.spi.reflection.DependencyResolver;
@@ -23,18 +24,37 @@ public class ScannerImpl implements Scanner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScannerImpl.class);
 
+    /**
+     * Timer for the scan of items by scanner plugins, the durations include nested scans.
+     */
+    static final String METER_PLUGIN = "jqassistant.scan.plugin";
+
+    /**
+     * Timer for checking if scanner plugins accept items.
+     */
+    static final String METER_ACCEPTS = "jqassistant.scan.accepts";
+
     private final Scan configuration;
 
     private final ScannerContext scannerContext;
 
     private final ScannerPluginRepository scannerPluginRepository;
 
+    private final MeterRegistry meterRegistry;
+
     private final Set<ScannerPlugin<?, ?>> scannerPlugins;
 
     private final Map<Class<?>, List<ScannerPlugin<?, ?>>> scannerPluginsPerType = new HashMap<>();
 
+    private final Map<ScannerPlugin<?, ?>, ScannerPluginMatcher> scannerPluginMatchers = new HashMap<>();
+
     private final Map<Object, Set<ScannerPlugin<?, ?>>> pipelines = new IdentityHashMap<>();
 
+    /**
+     * The {@link ContentHeader}s of the items in the current pipelines, i.e. the content of an item is read at most once for all plugins.
+     */
+    private final Map<Object, ContentHeader> contentHeaders = new IdentityHashMap<>();
+
     /**
      * Constructor.
      *
@@ -49,6 +69,8 @@ public class ScannerImpl implements Scanner {
         this.configuration = configuration;
         this.scannerContext = scannerContext;
         this.scannerPluginRepository = scannerPluginRepository;
+        this.meterRegistry = scannerContext.getStore()
+            .getMeterRegistry();
         this.scannerPlugins = scannerPluginRepository.getScannerPlugins(configuration, scannerContext);
         this.scannerContext.push(Scope.class, null);
     }
@@ -107,6 +129,7 @@ public class ScannerImpl implements Scanner {
         } finally {
             if (pipelineCreated) {
                 pipelines.remove(item);
+                contentHeaders.remove(item);
             }
         }
         return descriptor;
@@ -117,15 +140,19 @@ public class ScannerImpl implements Scanner {
         Class<D> type = null;
         for (ScannerPlugin<?, ?> scannerPlugin : getScannerPluginsForType(itemClass)) {
             ScannerPlugin<I, D> selectedPlugin = (ScannerPlugin<I, D>) scannerPlugin;
-            if (!pipeline.contains(selectedPlugin) && accepts(selectedPlugin, item, path, scope) && satisfies(selectedPlugin, descriptor)) {
+            if (!pipeline.contains(selectedPlugin) && matches(selectedPlugin, item, path) && accepts(selectedPlugin, item, path, scope) && satisfies(
+                selectedPlugin, descriptor)) {
                 pipeline.add(selectedPlugin);
                 pushDesriptor(type, descriptor);
                 D newDescriptor = null;
+                long start = meterRegistry.start();
                 try {
                     newDescriptor = selectedPlugin.scan(item, path, scope, this);
                 } catch (IOException e) {
                     LOGGER.warn("Cannot scan item " + path, e);
                 } finally {
+                    meterRegistry.stop(METER_PLUGIN, selectedPlugin.getClass()
+                        .getName(), start);
                     popDescriptor(type, descriptor);
                     descriptor = newDescriptor;
                     type = selectedPlugin.getDescriptorType();
@@ -153,6 +180,29 @@ public class ScannerImpl implements Scanner {
             .isAnnotationPresent(Requires.class) && descriptor == null);
     }
 
+    /**
+     * Checks whether the {@link ScannerPlugin.Matches} declarations of a plugin match an item.
+     *
+     * @param selectedPlugin
+     *     The plugin.
+     * @param item
+     *     The item.
+     * @param path
+     *     The path.
+     * @return <code>true</code> if the plugin shall be asked if it accepts the item.
+     */
+    private boolean matches(ScannerPlugin<?, ?> selectedPlugin, Object item, String path) {
+        ScannerPluginMatcher matcher = scannerPluginMatchers.getOrDefault(selectedPlugin, ScannerPluginMatcher.ANY);
+        try {
+            return matcher.matches(path, () -> item instanceof ContentProvider ?
+                contentHeaders.computeIfAbsent(item, key -> new ContentHeader((ContentProvider) key)) :
+                null);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot read content of item " + path + " for plugin " + selectedPlugin + ".", e);
+            return false;
+        }
+    }
+
     /**
      * Checks whether a plugin accepts an item.
      *
@@ -170,11 +220,14 @@ public class ScannerImpl implements Scanner {
      */
     protected <I> boolean accepts(ScannerPlugin<I, ?> selectedPlugin, I item, String path, Scope scope) {
         boolean accepted = false;
-
+        long start = meterRegistry.start();
         try {
             accepted = selectedPlugin.accepts(item, path, scope);
         } catch (IOException e) {
             LOGGER.error("Plugin " + selectedPlugin + " failed to check whether it can accept item " + path, e);
+        } finally {
+            meterRegistry.stop(METER_ACCEPTS, selectedPlugin.getClass()
+                .getName(), start);
         }
 
         return accepted;
@@ -251,6 +304,7 @@ public class ScannerImpl implements Scanner {
                     Set<ScannerPlugin<?, ?>> pluginsForDescriptorType = pluginsByDescriptor.computeIfAbsent(descriptorType, k -> new HashSet<>());
                     pluginsForDescriptorType.add(scannerPlugin);
                     candidates.add(scannerPlugin);
+                    scannerPluginMatchers.computeIfAbsent(scannerPlugin, ScannerPluginMatcher::of);
                 }
             }
             // Order plugins by the values of their optional @Requires
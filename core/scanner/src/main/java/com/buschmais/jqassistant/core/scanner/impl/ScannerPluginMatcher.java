@@ -0,0 +1,172 @@
+package com.buschmais.jqassistant.core.scanner.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.xml.namespace.QName;
+
+import com.buschmais.jqassistant.core.scanner.api.ContentHeader;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
+import com.buschmais.jqassistant.core.scanner.api.Scope;
+
+import org.apache.commons.io.FilenameUtils;
+
+import static java.util.Locale.ENGLISH;
+
+/**
+ * Evaluates the {@link Matches} declarations of a {@link ScannerPlugin}.
+ */
+final class ScannerPluginMatcher {
+
+    /**
+     * Matcher for plugins without declarations, i.e. their {@link ScannerPlugin#accepts(Object, String, Scope)} method is always called.
+     */
+    static final ScannerPluginMatcher ANY = new ScannerPluginMatcher(List.of());
+
+    private final List<Declaration> declarations;
+
+    private ScannerPluginMatcher(List<Declaration> declarations) {
+        this.declarations = declarations;
+    }
+
+    /**
+     * Create the matcher for a {@link ScannerPlugin}.
+     *
+     * @param scannerPlugin
+     *     The {@link ScannerPlugin}.
+     * @return The {@link ScannerPluginMatcher}.
+     */
+    static ScannerPluginMatcher of(ScannerPlugin<?, ?> scannerPlugin) {
+        Matches[] matches = scannerPlugin.getClass()
+            .getAnnotationsByType(Matches.class);
+        if (matches.length == 0) {
+            return ANY;
+        }
+        List<Declaration> declarations = new ArrayList<>(matches.length);
+        for (Matches match : matches) {
+            declarations.add(new Declaration(match));
+        }
+        return new ScannerPluginMatcher(declarations);
+    }
+
+    /**
+     * Determine if a declaration of the plugin matches the item.
+     *
+     * @param path
+     *     The path of the item.
+     * @param contentHeader
+     *     Supplies the {@link ContentHeader} of the item, returns <code>null</code> if the item does not provide content.
+     * @return <code>true</code> if the plugin shall be asked if it accepts the item.
+     * @throws IOException
+     *     If the content of the item cannot be read.
+     */
+    boolean matches(String path, Supplier<ContentHeader> contentHeader) throws IOException {
+        if (declarations.isEmpty()) {
+            return true;
+        }
+        String lowerCasePath = path.toLowerCase(ENGLISH);
+        for (Declaration declaration : declarations) {
+            if (declaration.matchesPath(path, lowerCasePath) && declaration.matchesContent(contentHeader)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Declaration {
+
+        private final String[] extensions;
+
+        private final String[] patterns;
+
+        private final byte[][] magicBytes;
+
+        private final QName[] xmlRootElements;
+
+        private Declaration(Matches matches) {
+            this.extensions = new String[matches.extensions().length];
+            for (int i = 0; i < extensions.length; i++) {
+                extensions[i] = matches.extensions()[i].toLowerCase(ENGLISH);
+            }
+            this.patterns = matches.patterns();
+            this.magicBytes = new byte[matches.magicBytes().length][];
+            for (int i = 0; i < magicBytes.length; i++) {
+                magicBytes[i] = toBytes(matches.magicBytes()[i]);
+            }
+            this.xmlRootElements = new QName[matches.xmlRootElements().length];
+            for (int i = 0; i < xmlRootElements.length; i++) {
+                xmlRootElements[i] = QName.valueOf(matches.xmlRootElements()[i]);
+            }
+        }
+
+        private boolean matchesPath(String path, String lowerCasePath) {
+            if (extensions.length == 0 && patterns.length == 0) {
+                return true;
+            }
+            for (String extension : extensions) {
+                if (lowerCasePath.endsWith(extension)) {
+                    return true;
+                }
+            }
+            for (String pattern : patterns) {
+                if (FilenameUtils.wildcardMatch(path, pattern)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesContent(Supplier<ContentHeader> contentHeaderSupplier) throws IOException {
+            if (magicBytes.length == 0 && xmlRootElements.length == 0) {
+                return true;
+            }
+            ContentHeader contentHeader = contentHeaderSupplier.get();
+            if (contentHeader == null) {
+                // the content cannot be evaluated, leave the decision to the plugin
+                return true;
+            }
+            for (byte[] bytes : magicBytes) {
+                if (contentHeader.startsWith(bytes)) {
+                    return true;
+                }
+            }
+            if (xmlRootElements.length > 0) {
+                Optional<QName> xmlRootElement = contentHeader.getXmlRootElement();
+                if (xmlRootElement.isPresent()) {
+                    for (QName expectedRootElement : xmlRootElements) {
+                        if (matches(expectedRootElement, xmlRootElement.get())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static boolean matches(QName expected, QName actual) {
+            if (expected.getNamespaceURI()
+                .isEmpty()) {
+                // a local name matches any namespace
+                return expected.getLocalPart()
+                    .equals(actual.getLocalPart());
+            }
+            return expected.equals(actual);
+        }
+
+        private static byte[] toBytes(String hex) {
+            if (hex.length() % 2 != 0 || hex.length() / 2 > ContentHeader.MAX_LENGTH) {
+                throw new IllegalArgumentException("Invalid magic bytes '" + hex + "', expecting an even number of up to " + 2 * ContentHeader.MAX_LENGTH
+                    + " hex digits.");
+            }
+            byte[] bytes = new byte[hex.length() / 2];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+            }
+            return bytes;
+        }
+    }
+}
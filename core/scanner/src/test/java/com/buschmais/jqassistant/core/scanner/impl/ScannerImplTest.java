@@ -8,6 +8,8 @@ import java.util.Set;
 import com.buschmais.jqassistant.core.scanner.api.*;
 import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.shared.metrics.Meter;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
 
@@ -21,7 +23,9 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.stubbing.Answer;
 
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
@@ -64,6 +68,8 @@ class ScannerImplTest {
         }).when(scannerPlugin)
             .scan(anyString(), anyString(), any(Scope.class), any(Scanner.class));
         // Store
+        doReturn(MeterRegistry.DISABLED).when(store)
+            .getMeterRegistry();
         doAnswer(invocation -> transaction).when(store)
             .hasActiveTransaction();
         doAnswer(invocation -> {
@@ -180,6 +186,22 @@ class ScannerImplTest {
         verify(store, times(2)).rollbackTransaction();
     }
 
+    @Test
+    void meters() {
+        MeterRegistry meterRegistry = new MeterRegistry(true, emptyList());
+        doReturn(meterRegistry).when(store)
+            .getMeterRegistry();
+        Scanner scanner = new ScannerImpl(configuration, context, scannerPluginRepository);
+
+        scanner.scan("test1", "test1", scope);
+        scanner.scan("test2", "test2", scope);
+
+        String pluginClass = scannerPlugin.getClass()
+            .getName();
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getName, Meter::getTag, Meter::getCount)
+            .containsExactly(tuple(ScannerImpl.METER_ACCEPTS, pluginClass, 2L), tuple(ScannerImpl.METER_PLUGIN, pluginClass, 2L));
+    }
+
     /**
      * Verifies correct execution of the pipeline for dependent and nested scanner
      * plugins:
@@ -197,6 +219,8 @@ class ScannerImplTest {
     @Test
     void pluginPipeline() {
         Store store = mock(Store.class);
+        doReturn(MeterRegistry.DISABLED).when(store)
+            .getMeterRegistry();
         ScannerContext scannerContext = new ScannerContextImpl(ScannerImplTest.class.getClassLoader(), store, WORKING_DIRECTORY, OUTPUT_DIRECTORY);
         when(store.create(any(Class.class))).thenAnswer((Answer<Descriptor>) invocation -> {
             Class<? extends Descriptor> descriptorType = (Class<? extends Descriptor>) invocation.getArguments()[0];
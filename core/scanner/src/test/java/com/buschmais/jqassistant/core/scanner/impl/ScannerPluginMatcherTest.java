@@ -0,0 +1,112 @@
+package com.buschmais.jqassistant.core.scanner.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.buschmais.jqassistant.core.scanner.api.ContentHeader;
+import com.buschmais.jqassistant.core.scanner.api.ContentProvider;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScannerPluginMatcherTest {
+
+    private static final String POM = "<?xml version=\"1.0\"?>\n<!-- license -->\n<project xmlns=\"http://maven.apache.org/POM/4.0.0\"/>";
+
+    private static final String PROPERTIES = "<properties/>";
+
+    private static final byte[] CLASS = new byte[] { -54, -2, -70, -66, 0, 0, 0, 55 };
+
+    @Test
+    void withoutDeclaration() throws IOException {
+        ScannerPluginMatcher matcher = ScannerPluginMatcher.of(new TestItemScannerPlugin());
+
+        assertThat(matcher).isSameAs(ScannerPluginMatcher.ANY);
+        assertThat(matcher.matches("/test.txt", () -> null)).isTrue();
+    }
+
+    @Test
+    void extensionsAndPatterns() throws IOException {
+        ScannerPluginMatcher matcher = ScannerPluginMatcher.of(new PathPlugin());
+
+        assertThat(matcher.matches("/test.PROPERTIES", () -> null)).isTrue();
+        assertThat(matcher.matches("/META-INF/services/com.example.Service", () -> null)).isTrue();
+        assertThat(matcher.matches("/test.xml", () -> null)).isFalse();
+        assertThat(matcher.matches("/meta-inf/services/com.example.Service", () -> null)).isFalse();
+    }
+
+    @Test
+    void magicBytes() throws IOException {
+        ScannerPluginMatcher matcher = ScannerPluginMatcher.of(new ClassPlugin());
+
+        assertThat(matcher.matches("/Test.class", header(CLASS))).isTrue();
+        assertThat(matcher.matches("/Test.class", header("Hello World".getBytes(UTF_8)))).isFalse();
+        assertThat(matcher.matches("/Test.class", header(new byte[0]))).isFalse();
+        assertThat(matcher.matches("/Test.txt", header(CLASS))).isFalse();
+        // items without content are left to the plugin
+        assertThat(matcher.matches("/Test.class", () -> null)).isTrue();
+    }
+
+    @Test
+    void xmlRootElements() throws IOException {
+        ScannerPluginMatcher pomMatcher = ScannerPluginMatcher.of(new PomPlugin());
+        ScannerPluginMatcher propertiesMatcher = ScannerPluginMatcher.of(new PropertiesPlugin());
+
+        assertThat(pomMatcher.matches("/test.pom", () -> null)).isTrue();
+        assertThat(pomMatcher.matches("/test.xml", header(POM.getBytes(UTF_8)))).isTrue();
+        assertThat(pomMatcher.matches("/test.xml", header(PROPERTIES.getBytes(UTF_8)))).isFalse();
+        assertThat(pomMatcher.matches("/test.xml", header("<project/>".getBytes(UTF_8)))).isFalse();
+        assertThat(pomMatcher.matches("/test.xml", header(CLASS))).isFalse();
+        assertThat(propertiesMatcher.matches("/test.xml", header(PROPERTIES.getBytes(UTF_8)))).isTrue();
+        assertThat(propertiesMatcher.matches("/test.xml", header(POM.getBytes(UTF_8)))).isFalse();
+    }
+
+    @Test
+    void contentIsReadOnce() throws IOException {
+        AtomicInteger streams = new AtomicInteger();
+        ContentHeader contentHeader = new ContentHeader(() -> {
+            streams.incrementAndGet();
+            return new ByteArrayInputStream(POM.getBytes(UTF_8));
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(ScannerPluginMatcher.of(new ClassPlugin())
+                .matches("/Test.class", () -> contentHeader)).isFalse();
+            assertThat(ScannerPluginMatcher.of(new PomPlugin())
+                .matches("/test.xml", () -> contentHeader)).isTrue();
+            assertThat(ScannerPluginMatcher.of(new PropertiesPlugin())
+                .matches("/test.xml", () -> contentHeader)).isFalse();
+        }
+
+        // leading bytes and root element
+        assertThat(streams.get()).isEqualTo(2);
+    }
+
+    private static Supplier<ContentHeader> header(byte[] content) {
+        ContentProvider contentProvider = () -> new ByteArrayInputStream(content);
+        ContentHeader contentHeader = new ContentHeader(contentProvider);
+        return () -> contentHeader;
+    }
+
+    @Matches(extensions = ".properties", patterns = "/META-INF/services/*")
+    static class PathPlugin extends TestItemScannerPlugin {
+    }
+
+    @Matches(extensions = ".class", magicBytes = "CAFEBABE")
+    static class ClassPlugin extends TestItemScannerPlugin {
+    }
+
+    @Matches(extensions = { ".pom", "pom.xml" })
+    @Matches(extensions = ".xml", xmlRootElements = "{http://maven.apache.org/POM/4.0.0}project")
+    static class PomPlugin extends TestItemScannerPlugin {
+    }
+
+    @Matches(extensions = ".xml", xmlRootElements = "properties")
+    static class PropertiesPlugin extends TestItemScannerPlugin {
+    }
+}
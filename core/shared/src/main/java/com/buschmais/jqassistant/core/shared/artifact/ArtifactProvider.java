@@ -2,6 +2,7 @@ package com.buschmais.jqassistant.core.shared.artifact;
 
 import java.io.File;
 import java.util.List;
+import java.util.Optional;
 
 import com.buschmais.jqassistant.core.shared.configuration.Plugin;
 
@@ -9,4 +10,13 @@ public interface ArtifactProvider {
 
     List<File> resolve(List<Plugin> plugins);
 
+    /**
+     * Return the directory which may be used for caching files derived from the resolved artifacts, e.g. by the embedded store.
+     *
+     * @return The cache directory or {@link Optional#empty()} if caching is not supported.
+     */
+    default Optional<File> getCacheDirectory() {
+        return Optional.empty();
+    }
+
 }
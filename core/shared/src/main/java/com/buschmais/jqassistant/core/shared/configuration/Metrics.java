@@ -0,0 +1,24 @@
+package com.buschmais.jqassistant.core.shared.configuration;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.metrics")
+@Description("The settings for recording metrics of scan, store and analysis (e.g. durations of scanner plugins, commits and rules).")
+public interface Metrics {
+
+    String ENABLED = "enabled";
+
+    @Description("Enables recording of metrics, the summary is written after scan and by the report plugin 'metrics' after analysis to the file 'metrics/jqassistant-metrics.json' in the report directory.")
+    @WithDefault("false")
+    boolean enabled();
+
+    String JFR = "jfr";
+
+    @Description("Emits each recorded value as Java Flight Recorder event 'com.buschmais.jqassistant.Meter', requires metrics to be enabled.")
+    @WithDefault("false")
+    boolean jfr();
+
+}
@@ -0,0 +1,45 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link MeterListener} emitting each recorded value as Java Flight Recorder event.
+ */
+class JfrMeterListener implements MeterListener {
+
+    @Name("com.buschmais.jqassistant.Meter")
+    @Label("jQAssistant Meter")
+    @Category("jQAssistant")
+    @StackTrace(false)
+    static class MeterEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Name")
+        String name;
+
+        @Label("Tag")
+        String tag;
+
+        @Label("Value")
+        long value;
+    }
+
+    @Override
+    public void recorded(Meter meter, long value) {
+        MeterEvent event = new MeterEvent();
+        if (event.isEnabled()) {
+            event.type = meter.getType()
+                .name();
+            event.name = meter.getName();
+            event.tag = meter.getTag();
+            event.value = value;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A meter identified by its type, name and an optional tag (e.g. the class of a scanner plugin or the id of a rule).
+ * <p>
+ * A meter aggregates the recorded values: timers record durations in nanoseconds, counters record amounts.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public final class Meter {
+
+    /**
+     * The type of a {@link Meter}.
+     */
+    public enum Type {
+        /**
+         * Records durations in nanoseconds.
+         */
+        TIMER,
+        /**
+         * Records amounts.
+         */
+        COUNTER
+    }
+
+    private final Type type;
+
+    private final String name;
+
+    /**
+     * The tag, may be <code>null</code>.
+     */
+    private final String tag;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LongAdder count = new LongAdder();
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LongAdder total = new LongAdder();
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    void record(long value) {
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Return the number of recorded values.
+     *
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Return the sum of all recorded values.
+     *
+     * @return The sum of all recorded values.
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Return the maximum recorded value.
+     *
+     * @return The maximum recorded value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+}
@@ -0,0 +1,21 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+/**
+ * Listener which is notified about each value recorded by a {@link MeterRegistry}, e.g. for forwarding it to an external registry like Micrometer.
+ * <p>
+ * Implementations are discovered using the {@link java.util.ServiceLoader} of the plugin class loader, i.e. they are registered by a file
+ * <code>META-INF/services/com.buschmais.jqassistant.core.shared.metrics.MeterListener</code>. Notifications may happen concurrently.
+ */
+public interface MeterListener {
+
+    /**
+     * A value has been recorded.
+     *
+     * @param meter
+     *     The {@link Meter}.
+     * @param value
+     *     The value, i.e. a duration in nanoseconds for {@link Meter.Type#TIMER}s or an amount for {@link Meter.Type#COUNTER}s.
+     */
+    void recorded(Meter meter, long value);
+
+}
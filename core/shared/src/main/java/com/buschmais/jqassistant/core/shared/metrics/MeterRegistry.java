@@ -0,0 +1,163 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+/**
+ * Registry for {@link Meter}s recording metrics of scan, store and analysis.
+ * <p>
+ * The registry does not depend on Micrometer, values may be forwarded to external registries by {@link MeterListener}s.
+ * <p>
+ * A disabled registry does not record anything, callers should use {@link #start()} and {@link #stop(String, String, long)} for timers to avoid
+ * overhead in this case:
+ *
+ * <pre>
+ * long start = meterRegistry.start();
+ * ...
+ * meterRegistry.stop("jqassistant.scan.plugin", plugin.getClass().getName(), start);
+ * </pre>
+ */
+@Slf4j
+public class MeterRegistry {
+
+    /**
+     * The {@link MeterRegistry} which does not record anything.
+     */
+    public static final MeterRegistry DISABLED = new MeterRegistry(false, emptyList());
+
+    private static final String NO_TAG = "";
+
+    private static final Comparator<Meter> METER_COMPARATOR = comparing(Meter::getName).thenComparing(Meter::getTag, nullsFirst(naturalOrder()))
+        .thenComparing(Meter::getType);
+
+    private final boolean enabled;
+
+    private final List<MeterListener> meterListeners;
+
+    private final Map<Meter.Type, Map<String, Map<String, Meter>>> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param enabled
+     *     If <code>true</code> values are recorded.
+     * @param meterListeners
+     *     The {@link MeterListener}s to notify about recorded values.
+     */
+    public MeterRegistry(boolean enabled, List<MeterListener> meterListeners) {
+        this.enabled = enabled;
+        this.meterListeners = meterListeners;
+    }
+
+    /**
+     * Create a {@link MeterRegistry} according to the given configuration.
+     *
+     * @param configuration
+     *     The {@link Metrics} configuration.
+     * @param classLoader
+     *     The {@link ClassLoader} for discovering {@link MeterListener}s.
+     * @return The {@link MeterRegistry}.
+     */
+    public static MeterRegistry create(Metrics configuration, ClassLoader classLoader) {
+        if (!configuration.enabled()) {
+            return DISABLED;
+        }
+        List<MeterListener> meterListeners = new ArrayList<>();
+        if (configuration.jfr()) {
+            meterListeners.add(new JfrMeterListener());
+        }
+        for (MeterListener meterListener : ServiceLoader.load(MeterListener.class, classLoader)) {
+            log.info("Registering meter listener {}.", meterListener.getClass()
+                .getName());
+            meterListeners.add(meterListener);
+        }
+        return new MeterRegistry(true, meterListeners);
+    }
+
+    /**
+     * Determine if values are recorded.
+     *
+     * @return <code>true</code> if values are recorded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start a timer.
+     *
+     * @return The start time to pass to {@link #stop(String, String, long)}.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stop a timer and record its duration.
+     *
+     * @param name
+     *     The name of the timer.
+     * @param tag
+     *     The tag, may be <code>null</code>.
+     * @param start
+     *     The start time as returned by {@link #start()}.
+     */
+    public void stop(String name, String tag, long start) {
+        if (enabled) {
+            record(Meter.Type.TIMER, name, tag, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Increment a counter.
+     *
+     * @param name
+     *     The name of the counter.
+     * @param tag
+     *     The tag, may be <code>null</code>.
+     * @param amount
+     *     The amount.
+     */
+    public void increment(String name, String tag, long amount) {
+        if (enabled) {
+            record(Meter.Type.COUNTER, name, tag, amount);
+        }
+    }
+
+    private void record(Meter.Type type, String name, String tag, long value) {
+        Meter meter = meters.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(tag != null ? tag : NO_TAG, key -> new Meter(type, name, tag));
+        meter.record(value);
+        for (MeterListener meterListener : meterListeners) {
+            meterListener.recorded(meter, value);
+        }
+    }
+
+    /**
+     * Return all {@link Meter}s which have recorded values ordered by name and tag.
+     *
+     * @return The {@link Meter}s.
+     */
+    public List<Meter> getMeters() {
+        List<Meter> result = new ArrayList<>();
+        meters.values()
+            .forEach(metersByName -> metersByName.values()
+                .forEach(metersByTag -> result.addAll(metersByTag.values())));
+        result.sort(METER_COMPARATOR);
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MeterRegistryTest {
+
+    @Test
+    void aggregate() {
+        List<Long> recordedValues = new ArrayList<>();
+        MeterRegistry meterRegistry = new MeterRegistry(true, singletonList((meter, value) -> recordedValues.add(value)));
+
+        meterRegistry.increment("counter", "b", 2);
+        meterRegistry.increment("counter", "b", 5);
+        meterRegistry.increment("counter", "a", 1);
+        meterRegistry.increment("counter", null, 3);
+        meterRegistry.stop("timer", null, meterRegistry.start());
+
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getType, Meter::getName, Meter::getTag, Meter::getCount, Meter::getTotal,
+                Meter::getMax)
+            .containsExactly(tuple(Meter.Type.COUNTER, "counter", null, 1L, 3L, 3L), tuple(Meter.Type.COUNTER, "counter", "a", 1L, 1L, 1L),
+                tuple(Meter.Type.COUNTER, "counter", "b", 2L, 7L, 5L), tuple(Meter.Type.TIMER, "timer", null, 1L,
+                    meterRegistry.getMeters()
+                        .get(3)
+                        .getTotal(), meterRegistry.getMeters()
+                        .get(3)
+                        .getMax()));
+        assertThat(recordedValues).hasSize(5)
+            .startsWith(2L, 5L, 1L, 3L);
+    }
+
+    @Test
+    void disabled() {
+        MeterRegistry meterRegistry = MeterRegistry.DISABLED;
+
+        meterRegistry.increment("counter", null, 1);
+        meterRegistry.stop("timer", null, meterRegistry.start());
+
+        assertThat(meterRegistry.isEnabled()).isFalse();
+        assertThat(meterRegistry.start()).isZero();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,22 @@
+package com.buschmais.jqassistant.core.store.api;
+
+/**
+ * Listener which is notified if the caches of a {@link Store} are invalidated, e.g. for invalidating caches holding descriptors outside of the store.
+ *
+ * @see Store#addCacheListener(CacheListener)
+ */
+public interface CacheListener {
+
+    /**
+     * The cache for the given key has been invalidated, see {@link Store#invalidateCache(String)}.
+     *
+     * @param cacheKey
+     *            The cache key.
+     */
+    void invalidated(String cacheKey);
+
+    /**
+     * All caches of the store have been cleared, e.g. by a reset.
+     */
+    void cleared();
+}
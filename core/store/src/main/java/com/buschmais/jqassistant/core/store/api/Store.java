@@ -1,8 +1,10 @@
 package com.buschmais.jqassistant.core.store.api;
 
+import java.io.File;
 import java.util.Map;
 
 import com.buschmais.jqassistant.core.shared.annotation.ToBeRemovedInVersion;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.core.shared.transaction.Transactional;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
 import com.buschmais.jqassistant.core.store.api.model.FullQualifiedNameDescriptor;
@@ -46,6 +48,30 @@ public interface Store extends Transactional {
      */
     void reset();
 
+    /**
+     * Determine if the store supports {@link #snapshot(File)} and {@link #restore(File)}, i.e. it is an embedded store located in a directory.
+     *
+     * @return <code>true</code> if snapshots are supported.
+     */
+    boolean isSnapshotSupported();
+
+    /**
+     * Write a snapshot of the store to a compressed file, e.g. for analyzing the result of a scan by separate jobs. A file containing the SHA-256
+     * checksum of the snapshot is written next to it.
+     *
+     * @param file
+     *     The snapshot file.
+     */
+    void snapshot(File file);
+
+    /**
+     * Replace the content of the store by a snapshot which has been created by {@link #snapshot(File)}, its checksum is verified if available.
+     *
+     * @param file
+     *     The snapshot file.
+     */
+    void restore(File file);
+
     /**
      * Begin a transaction.
      *
@@ -73,6 +99,51 @@ public interface Store extends Transactional {
      */
     boolean hasActiveTransaction();
 
+    /**
+     * Notify the store about relations which have been created by a query (e.g. in bulk using <code>UNWIND</code>) instead of
+     * {@link #create(Descriptor, Class, Descriptor)}.
+     * <p>
+     * The relations are recorded as metrics and counted for automatically committed transactions.
+     *
+     * @param relationType
+     *     The relation type.
+     * @param count
+     *     The number of created relations.
+     */
+    void createdRelations(Class<?> relationType, int count);
+
+    /**
+     * Notify the store about relations which have been created by a query, see {@link #createdRelations(Class, int)}.
+     *
+     * @param relationType
+     *     The name of the relation type.
+     * @param count
+     *     The number of created relations.
+     */
+    void createdRelations(String relationType, int count);
+
+    /**
+     * Notify the store about nodes which have been created by a query (e.g. in bulk using <code>UNWIND</code>) instead of {@link #create(Class)}.
+     * <p>
+     * The nodes are recorded as metrics and counted for automatically committed transactions.
+     *
+     * @param type
+     *     The node type.
+     * @param count
+     *     The number of created nodes.
+     */
+    void createdNodes(Class<?> type, int count);
+
+    /**
+     * Notify the store about nodes which have been created by a query, see {@link #createdNodes(Class, int)}.
+     *
+     * @param type
+     *     The name of the node type, e.g. its labels.
+     * @param count
+     *     The number of created nodes.
+     */
+    void createdNodes(String type, int count);
+
     /**
      * Flush all pending data.
      *
@@ -91,6 +162,9 @@ public interface Store extends Transactional {
 
     /**
      * Creates a {@link Descriptor} of the given type.
+     * <p>
+     * The properties set on the example are applied with the creation of the node, this should be preferred over setting properties one by one
+     * on a newly created descriptor.
      *
      * @param type
      *            The type.
@@ -249,6 +323,25 @@ public interface Store extends Transactional {
      */
     <Q> Result<Q> executeQuery(Class<Q> query, Map<String, Object> parameters);
 
+    /**
+     * Executes a {@link TransactionalSupplier} using a separate session which is bound to the current thread.
+     * <p>
+     * While the supplier is executed all operations of this store invoked by the current thread (including transaction demarcation) use the separate
+     * session, this allows concurrent read access to the store from multiple threads. {@link Descriptor}s which are loaded by the supplier are only
+     * valid until this method returns.
+     *
+     * @param transactionalSupplier
+     *            The {@link TransactionalSupplier}.
+     * @param <T>
+     *            The return type of the {@link TransactionalSupplier}.
+     * @param <E>
+     *            The exception type of the {@link TransactionalSupplier}.
+     * @return The value provided by the {@link TransactionalSupplier}.
+     * @throws E
+     *            If the {@link TransactionalSupplier} fails.
+     */
+    <T, E extends Exception> T requireSession(TransactionalSupplier<T, E> transactionalSupplier) throws E;
+
     /**
      * Get or create a {@link Cache} for the given key.
      *
@@ -269,4 +362,27 @@ public interface Store extends Transactional {
      *            The cache key.
      */
     void invalidateCache(String cacheKey);
+
+    /**
+     * Add a {@link CacheListener} which is notified if caches of the store are invalidated or cleared.
+     *
+     * @param cacheListener
+     *            The {@link CacheListener}.
+     */
+    void addCacheListener(CacheListener cacheListener);
+
+    /**
+     * Remove a {@link CacheListener}.
+     *
+     * @param cacheListener
+     *            The {@link CacheListener}.
+     */
+    void removeCacheListener(CacheListener cacheListener);
+
+    /**
+     * Return the {@link MeterRegistry} for recording metrics of scan, store and analysis.
+     *
+     * @return The {@link MeterRegistry}.
+     */
+    MeterRegistry getMeterRegistry();
 }
@@ -5,6 +5,7 @@ import java.net.URI;
 import java.util.function.Supplier;
 
 import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.store.impl.EmbeddedGraphStore;
 import com.buschmais.jqassistant.core.store.impl.RemoteGraphStore;
 import com.buschmais.jqassistant.core.store.spi.StorePluginRepository;
@@ -25,7 +26,7 @@ public class StoreFactory {
 
     private final ArtifactProvider artifactProvider;
 
-    public Store getStore(com.buschmais.jqassistant.core.store.api.configuration.Store configuration, Supplier<File> storeDirectorySupplier) {
+    public Store getStore(com.buschmais.jqassistant.core.store.api.configuration.Store configuration, Metrics metrics, Supplier<File> storeDirectorySupplier) {
         URI uri = configuration.uri()
             .orElse(storeDirectorySupplier.get()
                 .toURI())
@@ -38,14 +39,14 @@ public class StoreFactory {
         switch (scheme.toLowerCase()) {
         case "file":
         case "memory":
-            return new EmbeddedGraphStore(uri, configuration, storePluginRepository, artifactProvider);
+            return new EmbeddedGraphStore(uri, configuration, metrics, storePluginRepository, artifactProvider);
         case "bolt":
         case "neo4j":
         case "neo4j+s":
             configuration.remote()
                 .username()
                 .ifPresent(username -> LOGGER.info("Authenticating with user '{}'", username));
-            return new RemoteGraphStore(uri, configuration, storePluginRepository);
+            return new RemoteGraphStore(uri, configuration, metrics, storePluginRepository);
         default:
             throw new IllegalArgumentException("Cannot determine store type from URI '" + uri + "'.");
         }
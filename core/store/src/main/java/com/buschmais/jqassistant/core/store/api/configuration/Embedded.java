@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.List;
 import java.util.Optional;
 
+import com.buschmais.jqassistant.core.shared.annotation.Description;
 import com.buschmais.jqassistant.core.shared.configuration.Plugin;
 
 import io.smallrye.config.ConfigMapping;
@@ -42,4 +43,20 @@ public interface Embedded {
 
     String NEO4J_PLUGIN_DIRECTORY = "neo4j-plugin-directory";
     Optional<File> neo4jPluginDirectory();
+
+    String MAXIMIZE_WRITE_THROUGHPUT = "maximize-write-throughput";
+
+    @Description("Tune the embedded store for scans into an empty database (i.e. 'jqassistant.scan.reset=true'): the maximum transaction size "
+        + "(see 'jqassistant.store.transaction.max-size') is used after a reset unless 'jqassistant.store.transaction.size' is configured and "
+        + "transaction logs are rotated and checkpointed less often. This is a tuning flag only, data is still written transactionally "
+        + "(there is no bulk or staged import).")
+    @WithDefault("false")
+    boolean maximizeWriteThroughput();
+
+    String RECREATE_THRESHOLD = "recreate-threshold";
+
+    @Description("The minimum number of nodes for resetting a file based database (i.e. 'jqassistant.scan.reset=true') by deleting its files "
+        + "instead of deleting all nodes using Cypher queries, a negative value always uses Cypher queries.")
+    @WithDefault("100000")
+    long recreateThreshold();
 }
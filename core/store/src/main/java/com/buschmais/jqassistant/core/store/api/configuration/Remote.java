@@ -42,4 +42,10 @@ public interface Remote {
     @Description("Additional properties to be passed to the store.")
     Map<String, String> properties();
 
+    String RESET_BATCH_SIZE = "reset-batch-size";
+
+    @Description("The number of nodes which are deleted per transaction while resetting the store.")
+    @WithDefault("1000")
+    int resetBatchSize();
+
 }
@@ -1,5 +1,6 @@
 package com.buschmais.jqassistant.core.store.api.configuration;
 
+import java.io.File;
 import java.net.URI;
 import java.util.Optional;
 
@@ -21,4 +22,14 @@ public interface Store {
     @Description("Configuration of the remote store.")
     Remote remote();
 
+    String TRANSACTION = "transaction";
+
+    @Description("Configuration of transactions which are automatically committed while writing to the store.")
+    Transaction transaction();
+
+    String SNAPSHOT = "snapshot";
+
+    @Description("The file to which a snapshot of the embedded store is written or from which it is restored, defaults to 'jqassistant/store-snapshot.zip' for the command line and 'target/jqassistant/store-snapshot.zip' for Maven.")
+    Optional<File> snapshot();
+
 }
@@ -0,0 +1,55 @@
+package com.buschmais.jqassistant.core.store.api.configuration;
+
+import java.util.Optional;
+
+import com.buschmais.jqassistant.core.shared.annotation.Description;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "jqassistant.store.transaction")
+@Description("The settings for automatically committing transactions while writing to the store, e.g. during scan.")
+public interface Transaction {
+
+    String SIZE = "size";
+
+    @Description("The number of created nodes after which a transaction is committed, defaults to 32678 for embedded and 1048 for remote stores. Created relationships are counted as well if the size is adapted.")
+    Optional<Integer> size();
+
+    String MAX_PROPERTY_BYTES = "max-property-bytes";
+
+    @Description("The estimated size in bytes of written properties after which a transaction is committed.")
+    @WithDefault("67108864")
+    long maxPropertyBytes();
+
+    String ADAPTIVE = "adaptive";
+
+    @Description("Adapt the size of transactions to the observed commit duration and the available heap.")
+    @WithDefault("false")
+    boolean adaptive();
+
+    String MIN_SIZE = "min-size";
+
+    @Description("The minimum number of created nodes and relationships per transaction if the size is adapted.")
+    @WithDefault("256")
+    int minSize();
+
+    String MAX_SIZE = "max-size";
+
+    @Description("The maximum number of created nodes and relationships per transaction if the size is adapted or the write throughput of the embedded store is maximized.")
+    @WithDefault("131072")
+    int maxSize();
+
+    String TARGET_COMMIT_MILLIS = "target-commit-millis";
+
+    @Description("The commit duration in milliseconds which shall not be exceeded if the size is adapted.")
+    @WithDefault("2000")
+    long targetCommitMillis();
+
+    String MIN_FREE_HEAP_PERCENT = "min-free-heap-percent";
+
+    @Description("The minimum percentage of free heap, if it is underrun the current transaction is committed and the size is reduced if it is adapted.")
+    @WithDefault("10")
+    int minFreeHeapPercent();
+
+}
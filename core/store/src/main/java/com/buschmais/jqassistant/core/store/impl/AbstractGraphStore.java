@@ -1,12 +1,18 @@
 package com.buschmais.jqassistant.core.store.impl;
 
+import java.io.File;
 import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
+import com.buschmais.jqassistant.core.store.api.CacheListener;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
 import com.buschmais.jqassistant.core.store.api.model.FullQualifiedNameDescriptor;
@@ -38,7 +44,17 @@ public abstract class AbstractGraphStore implements Store {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGraphStore.class);
 
-    private Map<String, Cache<?, ? extends Descriptor>> caches = new HashMap<>();
+    static final String METER_NODES_CREATED = "jqassistant.store.nodes.created";
+
+    static final String METER_RELATIONSHIPS_CREATED = "jqassistant.store.relationships.created";
+
+    static final String METER_COMMIT = "jqassistant.store.commit";
+
+    private static final int DEFAULT_RESET_BATCH_SIZE = 1000;
+
+    private Map<String, Cache<?, ? extends Descriptor>> caches = new ConcurrentHashMap<>();
+
+    private final List<CacheListener> cacheListeners = new CopyOnWriteArrayList<>();
 
     protected final URI uri;
 
@@ -46,13 +62,25 @@ public abstract class AbstractGraphStore implements Store {
 
     protected final StorePluginRepository storePluginRepository;
 
+    private final Metrics metrics;
+
+    private MeterRegistry meterRegistry = MeterRegistry.DISABLED;
+
+    private XOUnit xoUnit;
     private XOManagerFactory xoManagerFactory;
     private XOManager xoManager;
-    private int created;
+    private TransactionSizer transactionSizer;
 
-    protected AbstractGraphStore(URI uri, com.buschmais.jqassistant.core.store.api.configuration.Store configuration, StorePluginRepository storePluginRepository) {
+    /**
+     * The {@link XOManager} of a separate session bound to the current thread, see {@link #requireSession(TransactionalSupplier)}.
+     */
+    private final ThreadLocal<XOManager> sessionXOManager = new ThreadLocal<>();
+
+    protected AbstractGraphStore(URI uri, com.buschmais.jqassistant.core.store.api.configuration.Store configuration, Metrics metrics,
+        StorePluginRepository storePluginRepository) {
         this.uri = uri;
         this.configuration = configuration;
+        this.metrics = metrics;
         this.storePluginRepository = storePluginRepository;
     }
 
@@ -67,14 +95,25 @@ public abstract class AbstractGraphStore implements Store {
             .mappingConfiguration(XOUnit.MappingConfiguration.builder()
                 .strictValidation(true)
                 .build());
-        configure(builder);
-        xoManagerFactory = XO.createXOManagerFactory(builder.build());
-        initialize(xoManagerFactory);
-        xoManager = xoManagerFactory.createXOManager();
+        xoUnit = configure(builder);
+        open();
+        transactionSizer = new TransactionSizer(configuration.transaction(), getAutocommitThreshold());
+        meterRegistry = MeterRegistry.create(metrics, storePluginRepository.getClassLoader());
     }
 
     @Override
     public final void stop() {
+        close();
+        destroy();
+    }
+
+    private void open() {
+        xoManagerFactory = XO.createXOManagerFactory(xoUnit);
+        initialize(xoManagerFactory);
+        xoManager = xoManagerFactory.createXOManager();
+    }
+
+    private void close() {
         if (xoManager != null) {
             if (xoManager.currentTransaction()
                 .isActive()) {
@@ -87,46 +126,114 @@ public abstract class AbstractGraphStore implements Store {
         if (xoManagerFactory != null) {
             xoManagerFactory.close();
         }
-        destroy();
+    }
+
+    /**
+     * Closes the database and opens it again with the same configuration.
+     * <p>
+     * The database is opened again even if the action fails, i.e. the store remains usable.
+     *
+     * @param whileClosed
+     *     The action to execute while the database is closed, e.g. for deleting its files.
+     */
+    protected final void reopen(Runnable whileClosed) {
+        // descriptors of the closed database must not be used anymore
+        clearCaches();
+        close();
+        try {
+            whileClosed.run();
+        } finally {
+            open();
+        }
     }
 
     @Override
     public XOManager getXOManager() {
-        return xoManager;
+        XOManager session = sessionXOManager.get();
+        return session != null ? session : xoManager;
     }
 
     @Override
     public <T extends Descriptor> T create(Class<T> type) {
-        T descriptor = xoManager.create(type);
-        autoCommit();
+        T descriptor = getXOManager().create(type);
+        meterRegistry.increment(METER_NODES_CREATED, type.getName(), 1);
+        autoCommit(false);
         return descriptor;
     }
 
     @Override
     public <T extends Descriptor> T create(Class<T> type, Example<T> example) {
-        T descriptor = xoManager.create(type, example);
-        autoCommit();
+        T descriptor = getXOManager().create(type, example);
+        meterRegistry.increment(METER_NODES_CREATED, type.getName(), 1);
+        autoCommit(false);
         return descriptor;
     }
 
     @Override
     public <S extends Descriptor, R extends Descriptor, T extends Descriptor> R create(S source, Class<R> relationType, T target) {
-        return xoManager.create(source, relationType, target);
+        R descriptor = getXOManager().create(source, relationType, target);
+        meterRegistry.increment(METER_RELATIONSHIPS_CREATED, relationType.getName(), 1);
+        autoCommit(true);
+        return descriptor;
     }
 
     @Override
     public <S extends Descriptor, R extends Descriptor, T extends Descriptor> R create(S source, Class<R> relationType, T target, Example<R> example) {
-        return xoManager.create(source, relationType, target, example);
+        R descriptor = getXOManager().create(source, relationType, target, example);
+        meterRegistry.increment(METER_RELATIONSHIPS_CREATED, relationType.getName(), 1);
+        autoCommit(true);
+        return descriptor;
+    }
+
+    @Override
+    public void createdRelations(Class<?> relationType, int count) {
+        createdRelations(relationType.getName(), count);
+    }
+
+    @Override
+    public void createdRelations(String relationType, int count) {
+        meterRegistry.increment(METER_RELATIONSHIPS_CREATED, relationType, count);
+        autoCommit(true, count, 0);
+    }
+
+    @Override
+    public void createdNodes(Class<?> type, int count) {
+        createdNodes(type.getName(), count);
+    }
+
+    @Override
+    public void createdNodes(String type, int count) {
+        meterRegistry.increment(METER_NODES_CREATED, type, count);
+        autoCommit(false, count, 0);
+    }
+
+    private void autoCommit(boolean relationships) {
+        autoCommit(relationships, 1, 0);
     }
 
     /**
      * Verifies if the auto commit threshold has been reached. If yes the current
      * transaction is committed and a new one started.
+     *
+     * @param relationships
+     *     <code>true</code> if relationships have been created, <code>false</code> for nodes.
+     * @param count
+     *     The number of created nodes or relationships.
+     * @param estimatedPropertyBytes
+     *     The estimated size in bytes of properties written with the created nodes or relationships.
      */
-    private void autoCommit() {
-        created++;
-        if (created == getAutocommitThreshold()) {
-            flush();
+    private void autoCommit(boolean relationships, int count, long estimatedPropertyBytes) {
+        // separate sessions are used for read access, transactions are managed by their callers
+        if (sessionXOManager.get() != null) {
+            return;
+        }
+        boolean commit = relationships ? transactionSizer.createdRelationships(count, estimatedPropertyBytes) : transactionSizer.createdNodes(count,
+            estimatedPropertyBytes);
+        if (commit) {
+            Instant start = Instant.now();
+            commitTransaction();
+            transactionSizer.committed(Duration.between(start, Instant.now()));
+            beginTransaction();
         }
     }
 
@@ -138,79 +245,85 @@ public abstract class AbstractGraphStore implements Store {
 
     @Override
     public <T extends FullQualifiedNameDescriptor> T create(Class<T> type, String fullQualifiedName) {
-        T descriptor = create(type);
-        descriptor.setFullQualifiedName(fullQualifiedName);
+        T descriptor = getXOManager().create(type, example -> example.setFullQualifiedName(fullQualifiedName));
+        meterRegistry.increment(METER_NODES_CREATED, type.getName(), 1);
+        // strings are estimated with two bytes per character
+        autoCommit(false, 1, 2L * fullQualifiedName.length());
         return descriptor;
     }
 
     @Override
     public <T extends Descriptor> void delete(T descriptor) {
-        xoManager.delete(descriptor);
+        getXOManager().delete(descriptor);
     }
 
     @Override
     public <T extends Descriptor, N extends Descriptor> N addDescriptorType(T descriptor, Class<?> newDescriptorType, Class<N> as) {
-        return xoManager.migrate(descriptor)
+        return getXOManager().migrate(descriptor)
             .add(newDescriptorType)
             .as(as);
     }
 
     @Override
     public <T extends Descriptor, N extends Descriptor> N addDescriptorType(T descriptor, Class<N> newDescriptorType) {
-        return xoManager.migrate(descriptor)
+        return getXOManager().migrate(descriptor)
             .add(newDescriptorType)
             .as(newDescriptorType);
     }
 
     @Override
     public <T extends Descriptor, N extends Descriptor> N removeDescriptorType(T descriptor, Class<?> obsoleteDescriptorType, Class<N> as) {
-        return xoManager.migrate(descriptor)
+        return getXOManager().migrate(descriptor)
             .remove(obsoleteDescriptorType)
             .as(as);
     }
 
     @Override
     public <T extends Descriptor> T find(Class<T> type, String value) {
-        ResultIterable<T> result = xoManager.find(type, value);
+        ResultIterable<T> result = getXOManager().find(type, value);
         return result.hasResult() ? result.getSingleResult() : null;
     }
 
     @Override
     public Result<Result.CompositeRowObject> executeQuery(String query, Map<String, Object> parameters) {
-        return xoManager.createQuery(query)
+        return getXOManager().createQuery(query)
             .withParameters(parameters)
             .execute();
     }
 
     @Override
     public <Q> Result<Q> executeQuery(Class<Q> query, Map<String, Object> parameters) {
-        return xoManager.createQuery(query)
+        return getXOManager().createQuery(query)
             .withParameters(parameters)
             .execute();
     }
 
     @Override
     public Result<Result.CompositeRowObject> executeQuery(String query) {
-        return xoManager.createQuery(query)
+        return getXOManager().createQuery(query)
             .execute();
     }
 
     @Override
     public void beginTransaction() {
-        xoManager.currentTransaction()
+        getXOManager().currentTransaction()
             .begin();
-        created = 0;
+        if (sessionXOManager.get() == null) {
+            transactionSizer.reset();
+        }
     }
 
     @Override
     public void commitTransaction() {
-        xoManager.currentTransaction()
+        long start = meterRegistry.start();
+        getXOManager().currentTransaction()
             .commit();
+        meterRegistry.stop(METER_COMMIT, null, start);
     }
 
     @Override
     public void rollbackTransaction() {
-        xoManager.currentTransaction()
+        getXOManager().currentTransaction()
             .rollback();
     }
 
@@ -218,7 +331,7 @@ public abstract class AbstractGraphStore implements Store {
     public boolean hasActiveTransaction() {
         boolean activeTx = false;
 
-        if (xoManager.currentTransaction() != null && xoManager.currentTransaction()
+        if (getXOManager().currentTransaction() != null && getXOManager().currentTransaction()
             .isActive()) {
             activeTx = true;
         }
@@ -263,22 +376,78 @@ public abstract class AbstractGraphStore implements Store {
         }
     }
 
+    @Override
+    public <T, E extends Exception> T requireSession(TransactionalSupplier<T, E> transactionalSupplier) throws E {
+        if (sessionXOManager.get() != null) {
+            return transactionalSupplier.execute();
+        }
+        try (XOManager session = xoManagerFactory.createXOManager()) {
+            sessionXOManager.set(session);
+            return transactionalSupplier.execute();
+        } finally {
+            sessionXOManager.remove();
+        }
+    }
+
     @Override
     public void reset() {
         LOGGER.info("Resetting store.");
         // clear all caches assigned to that store
-        caches.clear();
+        clearCaches();
         Instant start = Instant.now();
+        long totalNodes = deleteAll();
+        Instant end = Instant.now();
+        LOGGER.info("Reset finished (removed {} nodes, duration: {}s).", totalNodes, Duration.between(start, end)
+            .get(ChronoUnit.SECONDS));
+        if (isMaximizeWriteThroughput()) {
+            // the store is empty, i.e. a large graph is expected to be written
+            transactionSizer.maximize();
+            LOGGER.info("Tuning the store for writing into an empty database (transaction size: {}).", transactionSizer.getSize());
+        }
+    }
+
+    @Override
+    public boolean isSnapshotSupported() {
+        return false;
+    }
+
+    @Override
+    public void snapshot(File file) {
+        throw new UnsupportedOperationException("Snapshots are not supported by store " + uri);
+    }
+
+    @Override
+    public void restore(File file) {
+        throw new UnsupportedOperationException("Snapshots are not supported by store " + uri);
+    }
+
+    /**
+     * Delete all nodes and relationships of the store.
+     *
+     * @return The number of deleted nodes.
+     */
+    protected long deleteAll() {
         Result.CompositeRowObject result = executeQuery("MATCH (n) " + //
             "CALL { " +  //
             "  WITH n " + //
             "  DETACH DELETE n " + //
-            "} IN TRANSACTIONS " + //
+            "} IN TRANSACTIONS OF " + getResetBatchSize() + " ROWS " + //
             "RETURN count(n) as nodes").getSingleResult();
-        long totalNodes = result.get("nodes", Long.class);
-        Instant end = Instant.now();
-        LOGGER.info("Reset finished (removed {} nodes, duration: {}s).", totalNodes, Duration.between(start, end)
-            .get(ChronoUnit.SECONDS));
+        return result.get("nodes", Long.class);
+    }
+
+    /**
+     * Return the number of nodes which are deleted per transaction by {@link #deleteAll()}.
+     *
+     * @return The batch size.
+     */
+    protected int getResetBatchSize() {
+        return DEFAULT_RESET_BATCH_SIZE;
+    }
+
+    @Override
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
     }
 
     @Override
@@ -291,6 +460,26 @@ public abstract class AbstractGraphStore implements Store {
     @Override
     public void invalidateCache(String cacheKey) {
         caches.remove(cacheKey);
+        for (CacheListener cacheListener : cacheListeners) {
+            cacheListener.invalidated(cacheKey);
+        }
+    }
+
+    @Override
+    public void addCacheListener(CacheListener cacheListener) {
+        cacheListeners.add(cacheListener);
+    }
+
+    @Override
+    public void removeCacheListener(CacheListener cacheListener) {
+        cacheListeners.remove(cacheListener);
+    }
+
+    private void clearCaches() {
+        caches.clear();
+        for (CacheListener cacheListener : cacheListeners) {
+            cacheListener.cleared();
+        }
     }
 
     /**
@@ -307,4 +496,22 @@ public abstract class AbstractGraphStore implements Store {
 
     protected abstract int getAutocommitThreshold();
 
+    /**
+     * Return the current number of created nodes and relationships after which a transaction is committed automatically.
+     *
+     * @return The transaction size.
+     */
+    int getTransactionSize() {
+        return transactionSizer.getSize();
+    }
+
+    /**
+     * Determine if the store is tuned for writing large graphs into an empty database.
+     *
+     * @return <code>true</code> if the write throughput shall be maximized.
+     */
+    protected boolean isMaximizeWriteThroughput() {
+        return false;
+    }
+
 }
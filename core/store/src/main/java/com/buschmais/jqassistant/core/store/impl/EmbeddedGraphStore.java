@@ -3,11 +3,16 @@ package com.buschmais.jqassistant.core.store.impl;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 
 import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.shared.configuration.Plugin;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.configuration.Embedded;
@@ -22,11 +27,14 @@ import com.buschmais.xo.neo4j.embedded.api.EmbeddedNeo4jXOProvider;
 import com.buschmais.xo.neo4j.embedded.impl.datastore.EmbeddedDatastore;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.apache.commons.io.FileUtils.copyFileToDirectory;
@@ -39,8 +47,11 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedGraphStore.class);
 
-    private static final int AUTOCOMMIT_THRESHOLD = 32678;
+    static final int AUTOCOMMIT_THRESHOLD = 32678;
     public static final String NEO4J_PLUGIN_DIR_PREFIX = "jqassistant-neo4j-plugins";
+    private static final String NEO4J_PLUGINS_CACHE_DIRECTORY = "neo4j-plugins";
+    private static final Duration NEO4J_PLUGINS_RETENTION = Duration.ofDays(30);
+    private static final String FILE_SCHEME = "file";
 
     private final EmbeddedNeo4jServerFactory serverFactory;
 
@@ -52,6 +63,8 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
 
     private Optional<File> neo4jPluginDirectory;
 
+    private boolean deleteNeo4jPluginDirectory = false;
+
     /**
      * Constructor.
      *
@@ -59,12 +72,14 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
      *     The store {@link URI}.
      * @param configuration
      *     The configuration.
+     * @param metrics
+     *     The {@link Metrics} configuration.
      * @param storePluginRepository
      *     The {@link StorePluginRepository}.
      */
-    public EmbeddedGraphStore(URI uri, com.buschmais.jqassistant.core.store.api.configuration.Store configuration, StorePluginRepository storePluginRepository,
-        ArtifactProvider artifactProvider) {
-        super(uri, configuration, storePluginRepository);
+    public EmbeddedGraphStore(URI uri, com.buschmais.jqassistant.core.store.api.configuration.Store configuration, Metrics metrics,
+        StorePluginRepository storePluginRepository, ArtifactProvider artifactProvider) {
+        super(uri, configuration, metrics, storePluginRepository);
         this.serverFactory = getEmbeddedNeo4jServerFactory();
         this.server = serverFactory.getServer();
         this.embedded = configuration.embedded();
@@ -79,7 +94,7 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
     protected XOUnit configure(XOUnit.XOUnitBuilder builder) {
         this.neo4jPluginDirectory = resolveNeo4jPlugins();
         Properties properties = serverFactory.getProperties(this.embedded.connectorEnabled(), this.embedded.listenAddress(), this.embedded.boltPort(),
-            this.neo4jPluginDirectory);
+            this.neo4jPluginDirectory, this.embedded.maximizeWriteThroughput());
         builder.properties(properties);
         builder.provider(EmbeddedNeo4jXOProvider.class);
         return builder.build();
@@ -92,15 +107,17 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
         }
         log.info("Resolving {} Neo4j plugin(s).", plugins.size());
         List<File> files = artifactProvider.resolve(plugins);
-        File pluginDirectory = getNeo4jPluginDirectory(embedded);
-        for (File file : files) {
-            try {
-                copyFileToDirectory(file, pluginDirectory);
-            } catch (IOException e) {
-                throw new IllegalStateException("Cannot copy Neo4j plugins to " + pluginDirectory, e);
-            }
+        Optional<File> cacheDirectory = artifactProvider.getCacheDirectory();
+        if (embedded.neo4jPluginDirectory()
+            .isEmpty() && cacheDirectory.isPresent()) {
+            File pluginDirectory = getSharedNeo4jPluginDirectory(new File(cacheDirectory.get(), NEO4J_PLUGINS_CACHE_DIRECTORY).toPath(), files);
+            log.info("Using Neo4j plugin directory '{}' containing {} artifact(s).", pluginDirectory.getAbsolutePath(), files.size());
+            return of(pluginDirectory);
         }
+        File pluginDirectory = getNeo4jPluginDirectory(embedded);
+        copyNeo4jPlugins(files, pluginDirectory);
         log.info("Installed {} artifact(s) into Neo4j plugin directory '{}'.", files.size(), pluginDirectory.getAbsolutePath());
+        this.deleteNeo4jPluginDirectory = true;
         return of(pluginDirectory);
     }
 
@@ -115,6 +132,113 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
             });
     }
 
+    /**
+     * Determine the Neo4j plugin directory for the given artifacts within the cache directory of the {@link ArtifactProvider}.
+     * <p>
+     * The name of the directory is the SHA-256 hash over the paths, sizes and modification times of the artifacts, i.e. it is shared by all stores
+     * using the same plugins and not deleted on shutdown. An existing directory is only reused if it contains exactly the artifacts, otherwise it is
+     * populated again in a temporary directory which is atomically renamed afterwards. Directories which have not been used within
+     * {@link #NEO4J_PLUGINS_RETENTION} are deleted.
+     *
+     * @param parentDirectory
+     *     The parent directory.
+     * @param files
+     *     The artifacts.
+     * @return The Neo4j plugin directory.
+     */
+    static File getSharedNeo4jPluginDirectory(Path parentDirectory, List<File> files) {
+        Path pluginDirectory = parentDirectory.resolve(getNeo4jPluginsHash(files));
+        pruneNeo4jPluginDirectories(parentDirectory, pluginDirectory);
+        try {
+            if (containsNeo4jPlugins(pluginDirectory, files)) {
+                // mark the directory as used for pruning
+                Files.setLastModifiedTime(pluginDirectory, FileTime.fromMillis(System.currentTimeMillis()));
+                return pluginDirectory.toFile();
+            }
+            if (Files.exists(pluginDirectory)) {
+                log.info("Neo4j plugin directory '{}' has been modified, installing artifacts again.", pluginDirectory);
+                FileUtils.deleteDirectory(pluginDirectory.toFile());
+            }
+            Files.createDirectories(parentDirectory);
+            File tempDirectory = createTempDirectory(parentDirectory, NEO4J_PLUGIN_DIR_PREFIX).toFile();
+            copyNeo4jPlugins(files, tempDirectory);
+            try {
+                Files.move(tempDirectory.toPath(), pluginDirectory, ATOMIC_MOVE);
+            } catch (IOException e) {
+                // the directory has been created concurrently by another process
+                FileUtils.deleteDirectory(tempDirectory);
+                if (!containsNeo4jPlugins(pluginDirectory, files)) {
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create Neo4j plugin directory " + pluginDirectory, e);
+        }
+        return pluginDirectory.toFile();
+    }
+
+    private static String getNeo4jPluginsHash(List<File> files) {
+        StringBuilder builder = new StringBuilder();
+        for (File file : files) {
+            builder.append(file.getAbsolutePath())
+                .append('\t')
+                .append(file.length())
+                .append('\t')
+                .append(file.lastModified())
+                .append('\n');
+        }
+        return DigestUtils.sha256Hex(builder.toString());
+    }
+
+    /**
+     * Verifies that a directory contains exactly the given artifacts with the same sizes.
+     */
+    private static boolean containsNeo4jPlugins(Path pluginDirectory, List<File> files) {
+        String[] names = pluginDirectory.toFile()
+            .list();
+        if (names == null || names.length != files.stream()
+            .map(File::getName)
+            .distinct()
+            .count()) {
+            return false;
+        }
+        return files.stream()
+            .allMatch(file -> {
+                File installedFile = pluginDirectory.resolve(file.getName())
+                    .toFile();
+                return installedFile.isFile() && installedFile.length() == file.length();
+            });
+    }
+
+    private static void pruneNeo4jPluginDirectories(Path parentDirectory, Path usedDirectory) {
+        File[] directories = parentDirectory.toFile()
+            .listFiles(File::isDirectory);
+        if (directories == null) {
+            return;
+        }
+        long threshold = System.currentTimeMillis() - NEO4J_PLUGINS_RETENTION.toMillis();
+        for (File directory : directories) {
+            if (!directory.toPath()
+                .equals(usedDirectory) && directory.lastModified() < threshold) {
+                try {
+                    FileUtils.deleteDirectory(directory);
+                } catch (IOException e) {
+                    log.debug("Cannot delete unused Neo4j plugin directory '{}'.", directory, e);
+                }
+            }
+        }
+    }
+
+    private static void copyNeo4jPlugins(List<File> files, File pluginDirectory) {
+        for (File file : files) {
+            try {
+                copyFileToDirectory(file, pluginDirectory);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot copy Neo4j plugins to " + pluginDirectory, e);
+            }
+        }
+    }
+
     @Override
     protected final void initialize(XOManagerFactory xoManagerFactory) {
         LOGGER.debug("Initializing embedded Neo4j server.");
@@ -133,13 +257,14 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
 
     @Override
     protected void destroy() {
-        neo4jPluginDirectory.ifPresent(directory -> {
-            try {
-                FileUtils.deleteDirectory(directory);
-            } catch (IOException e) {
-                log.warn("Cannot delete Neo4j plugin directory {}.", directory);
-            }
-        });
+        neo4jPluginDirectory.filter(directory -> deleteNeo4jPluginDirectory)
+            .ifPresent(directory -> {
+                try {
+                    FileUtils.deleteDirectory(directory);
+                } catch (IOException e) {
+                    log.warn("Cannot delete Neo4j plugin directory {}.", directory);
+                }
+            });
     }
 
     private EmbeddedNeo4jServerFactory getEmbeddedNeo4jServerFactory() {
@@ -151,4 +276,89 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
         return AUTOCOMMIT_THRESHOLD;
     }
 
+    /**
+     * Deletes all nodes by recreating the database if it contains at least the configured number of nodes, i.e. its files are deleted while it is
+     * closed.
+     */
+    @Override
+    protected long deleteAll() {
+        long recreateThreshold = embedded.recreateThreshold();
+        if (recreateThreshold < 0 || hasActiveTransaction()) {
+            return super.deleteAll();
+        }
+        long nodes = executeQuery("MATCH (n) RETURN count(n) as nodes").getSingleResult()
+            .get("nodes", Long.class);
+        if (nodes < recreateThreshold) {
+            return super.deleteAll();
+        }
+        LOGGER.info("Recreating database.");
+        // in-memory databases are discarded on close
+        List<File> databaseDirectories = isFile() ? server.getDatabaseDirectories() : emptyList();
+        reopen(() -> {
+            for (File databaseDirectory : databaseDirectories) {
+                try {
+                    FileUtils.deleteDirectory(databaseDirectory);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot delete database directory " + databaseDirectory, e);
+                }
+            }
+        });
+        return nodes;
+    }
+
+    @Override
+    public boolean isSnapshotSupported() {
+        return isFile();
+    }
+
+    /**
+     * Writes the store files and transaction logs to the snapshot file while the database is closed.
+     */
+    @Override
+    public void snapshot(File file) {
+        File storeDirectory = getStoreDirectory();
+        List<File> databaseDirectories = server.getDatabaseDirectories();
+        LOGGER.info("Writing snapshot of store to '{}'.", file.getAbsolutePath());
+        reopen(() -> {
+            try {
+                StoreSnapshot.write(storeDirectory, databaseDirectories, file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot write snapshot " + file, e);
+            }
+        });
+    }
+
+    /**
+     * Replaces the store files and transaction logs by the content of the snapshot file while the database is closed.
+     */
+    @Override
+    public void restore(File file) {
+        File storeDirectory = getStoreDirectory();
+        List<File> databaseDirectories = server.getDatabaseDirectories();
+        LOGGER.info("Restoring store from snapshot '{}'.", file.getAbsolutePath());
+        reopen(() -> {
+            try {
+                StoreSnapshot.restore(file, storeDirectory, databaseDirectories);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot restore snapshot " + file, e);
+            }
+        });
+    }
+
+    private boolean isFile() {
+        return FILE_SCHEME.equals(uri.getScheme());
+    }
+
+    private File getStoreDirectory() {
+        if (!isSnapshotSupported()) {
+            throw new UnsupportedOperationException("Snapshots are not supported by store " + uri);
+        }
+        return server.getHomeDirectory();
+    }
+
+    @Override
+    protected boolean isMaximizeWriteThroughput() {
+        return embedded.maximizeWriteThroughput();
+    }
+
 }
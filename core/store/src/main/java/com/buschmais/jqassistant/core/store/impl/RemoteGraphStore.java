@@ -3,6 +3,7 @@ package com.buschmais.jqassistant.core.store.impl;
 import java.net.URI;
 import java.util.Properties;
 
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.store.api.configuration.Remote;
 import com.buschmais.jqassistant.core.store.api.configuration.Store;
 import com.buschmais.jqassistant.core.store.spi.StorePluginRepository;
@@ -13,8 +14,8 @@ import com.buschmais.xo.neo4j.remote.api.RemoteNeo4jXOProvider.Property;
 
 public class RemoteGraphStore extends AbstractGraphStore {
 
-    public RemoteGraphStore(URI uri, Store configuration, StorePluginRepository storePluginRepository) {
-        super(uri, configuration, storePluginRepository);
+    public RemoteGraphStore(URI uri, Store configuration, Metrics metrics, StorePluginRepository storePluginRepository) {
+        super(uri, configuration, metrics, storePluginRepository);
     }
 
     @Override
@@ -42,6 +43,12 @@ public class RemoteGraphStore extends AbstractGraphStore {
         return builder.build();
     }
 
+    @Override
+    protected int getResetBatchSize() {
+        return configuration.remote()
+            .resetBatchSize();
+    }
+
     @Override
     protected void initialize(XOManagerFactory xoManagerFactory) {
         // unused
@@ -0,0 +1,223 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the files of a database to a ZIP archive and restores them.
+ * <p>
+ * The entries are stored relative to a base directory (i.e. the store directory). The SHA-256 checksum of the archive is written to a file with the
+ * extension <code>.sha256</code> next to it using the format of <code>sha256sum</code>, it is verified on restore if it exists.
+ */
+@Slf4j
+final class StoreSnapshot {
+
+    static final String CHECKSUM_EXTENSION = ".sha256";
+
+    /**
+     * The directory within the base directory to which a snapshot is extracted before it replaces the existing directories.
+     */
+    static final String STAGING_DIRECTORY = ".snapshot-restore";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StoreSnapshot() {
+    }
+
+    /**
+     * Write a snapshot.
+     *
+     * @param baseDirectory
+     *     The base directory.
+     * @param directories
+     *     The directories to include, must be located within the base directory.
+     * @param file
+     *     The snapshot file.
+     * @throws IOException
+     *     If the snapshot cannot be written.
+     */
+    static void write(File baseDirectory, List<File> directories, File file) throws IOException {
+        Path basePath = normalize(baseDirectory);
+        List<Path> directoryPaths = getDirectoryPaths(basePath, directories);
+        File parent = file.getAbsoluteFile()
+            .getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        MessageDigest messageDigest = DigestUtils.getSha256Digest();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(
+            new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), messageDigest))) {
+            for (Path directoryPath : directoryPaths) {
+                if (Files.exists(directoryPath)) {
+                    try (Stream<Path> files = Files.walk(directoryPath)) {
+                        for (Path path : (Iterable<Path>) files.filter(Files::isRegularFile)
+                            .sorted()::iterator) {
+                            zipOutputStream.putNextEntry(new ZipEntry(basePath.relativize(path)
+                                .toString()
+                                .replace(File.separatorChar, '/')));
+                            Files.copy(path, zipOutputStream);
+                            zipOutputStream.closeEntry();
+                        }
+                    }
+                }
+            }
+        }
+        Files.writeString(getChecksumFile(file).toPath(), Hex.encodeHexString(messageDigest.digest()) + "  " + file.getName() + "\n", UTF_8);
+    }
+
+    /**
+     * Restore a snapshot.
+     * <p>
+     * The snapshot is extracted to a staging directory within the base directory and its checksum is verified, the given directories are only
+     * replaced if both succeeded.
+     *
+     * @param file
+     *     The snapshot file.
+     * @param baseDirectory
+     *     The base directory.
+     * @param directories
+     *     The directories to replace, must be located within the base directory.
+     * @throws IOException
+     *     If the snapshot cannot be read or its checksum does not match.
+     */
+    static void restore(File file, File baseDirectory, List<File> directories) throws IOException {
+        if (!file.exists()) {
+            throw new FileNotFoundException("Snapshot " + file + " does not exist.");
+        }
+        Path basePath = normalize(baseDirectory);
+        List<Path> directoryPaths = getDirectoryPaths(basePath, directories);
+        Path stagingPath = basePath.resolve(STAGING_DIRECTORY);
+        FileUtils.deleteDirectory(stagingPath.toFile());
+        try {
+            extract(file, basePath, directoryPaths, stagingPath);
+            replace(basePath, directoryPaths, stagingPath);
+        } finally {
+            FileUtils.deleteDirectory(stagingPath.toFile());
+        }
+    }
+
+    /**
+     * Extract the entries of a snapshot to the staging directory and verify its checksum.
+     */
+    private static void extract(File file, Path basePath, List<Path> directoryPaths, Path stagingPath) throws IOException {
+        MessageDigest messageDigest = DigestUtils.getSha256Digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = new DigestInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE), messageDigest);
+            ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                Path path = basePath.resolve(entry.getName())
+                    .normalize();
+                if (directoryPaths.stream()
+                    .noneMatch(path::startsWith)) {
+                    throw new IOException("Invalid entry " + entry.getName() + " in snapshot " + file);
+                }
+                Path target = stagingPath.resolve(basePath.relativize(path));
+                Files.createDirectories(target.getParent());
+                // the CRC of each entry is verified by the stream
+                try (OutputStream outputStream = Files.newOutputStream(target)) {
+                    int length;
+                    while ((length = zipInputStream.read(buffer)) >= 0) {
+                        outputStream.write(buffer, 0, length);
+                    }
+                }
+            }
+            // the central directory is not read by the ZIP stream but is part of the checksum
+            IOUtils.consume(inputStream);
+        }
+        Optional<String> expected = getExpectedChecksum(file);
+        if (expected.isPresent()) {
+            String actual = Hex.encodeHexString(messageDigest.digest());
+            if (!actual.equalsIgnoreCase(expected.get())) {
+                throw new IOException("Checksum of snapshot " + file + " does not match (expected: " + expected.get() + ", actual: " + actual + ").");
+            }
+        }
+    }
+
+    /**
+     * Replace the directories by the extracted ones. The existing directories are moved to the staging directory before and are moved back if the
+     * extracted directories cannot be moved to their location.
+     */
+    private static void replace(Path basePath, List<Path> directoryPaths, Path stagingPath) throws IOException {
+        Path obsoletePath = stagingPath.resolve(STAGING_DIRECTORY);
+        Files.createDirectories(obsoletePath);
+        List<Path> obsoletePaths = new ArrayList<>();
+        for (Path directoryPath : directoryPaths) {
+            Path obsolete = obsoletePath.resolve(Integer.toString(obsoletePaths.size()));
+            if (Files.exists(directoryPath)) {
+                Files.move(directoryPath, obsolete);
+            }
+            obsoletePaths.add(obsolete);
+        }
+        try {
+            for (Path directoryPath : directoryPaths) {
+                Path staged = stagingPath.resolve(basePath.relativize(directoryPath));
+                if (Files.exists(staged)) {
+                    Files.createDirectories(directoryPath.getParent());
+                    Files.move(staged, directoryPath);
+                }
+            }
+        } catch (IOException e) {
+            for (int i = 0; i < directoryPaths.size(); i++) {
+                Path directoryPath = directoryPaths.get(i);
+                FileUtils.deleteDirectory(directoryPath.toFile());
+                if (Files.exists(obsoletePaths.get(i))) {
+                    Files.move(obsoletePaths.get(i), directoryPath);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<String> getExpectedChecksum(File file) throws IOException {
+        File checksumFile = getChecksumFile(file);
+        if (!checksumFile.exists()) {
+            log.warn("Checksum file {} does not exist, skipping verification of snapshot.", checksumFile);
+            return Optional.empty();
+        }
+        return Optional.of(Files.readString(checksumFile.toPath(), UTF_8)
+            .trim()
+            .split("\\s+")[0]);
+    }
+
+    static File getChecksumFile(File file) {
+        return new File(file.getPath() + CHECKSUM_EXTENSION);
+    }
+
+    private static List<Path> getDirectoryPaths(Path basePath, List<File> directories) throws IOException {
+        List<Path> directoryPaths = new ArrayList<>();
+        for (File directory : directories) {
+            Path directoryPath = normalize(directory);
+            if (!directoryPath.startsWith(basePath) || directoryPath.equals(basePath)) {
+                throw new IOException("Directory " + directory + " is not located within " + basePath);
+            }
+            directoryPaths.add(directoryPath);
+        }
+        return directoryPaths;
+    }
+
+    private static Path normalize(File directory) {
+        return directory.toPath()
+            .toAbsolutePath()
+            .normalize();
+    }
+}
@@ -0,0 +1,202 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.function.DoubleSupplier;
+
+import com.buschmais.jqassistant.core.store.api.configuration.Transaction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Determines when a transaction shall be committed automatically while writing to the store.
+ * <p>
+ * Counts the created nodes and the estimated size of written properties. If adaptive sizing is disabled the size is the number of created nodes per
+ * transaction. If it is enabled created relationships are counted as well and the number of nodes and relationships per transaction is halved if a commit took longer than the target duration or the free heap falls below the configured minimum and it
+ * is doubled if commits are fast and enough heap is available.
+ */
+@Slf4j
+class TransactionSizer {
+
+    /**
+     * The estimated size in bytes of a node or relationship without properties.
+     */
+    static final long ENTITY_BYTES = 64;
+
+    /**
+     * The number of operations after which the free heap is checked.
+     */
+    private static final int HEAP_CHECK_INTERVAL = 256;
+
+    private final long maxPropertyBytes;
+
+    private final boolean adaptive;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final boolean sizeConfigured;
+
+    private final long targetCommitMillis;
+
+    private final double minFreeHeapRatio;
+
+    private final DoubleSupplier freeHeapRatioSupplier;
+
+    private int size;
+
+    private int operations = 0;
+
+    private long propertyBytes = 0;
+
+    private boolean lowHeap = false;
+
+    /**
+     * Constructor.
+     *
+     * @param configuration
+     *     The {@link Transaction} configuration.
+     * @param defaultSize
+     *     The store specific default size, used if no size is configured.
+     */
+    TransactionSizer(Transaction configuration, int defaultSize) {
+        this(configuration, defaultSize, TransactionSizer::getFreeHeapRatio);
+    }
+
+    TransactionSizer(Transaction configuration, int defaultSize, DoubleSupplier freeHeapRatioSupplier) {
+        this.maxPropertyBytes = configuration.maxPropertyBytes();
+        this.adaptive = configuration.adaptive();
+        this.minSize = Math.max(1, configuration.minSize());
+        this.maxSize = Math.max(minSize, configuration.maxSize());
+        this.targetCommitMillis = configuration.targetCommitMillis();
+        this.minFreeHeapRatio = configuration.minFreeHeapPercent() / 100.0;
+        this.freeHeapRatioSupplier = freeHeapRatioSupplier;
+        this.sizeConfigured = configuration.size()
+            .isPresent();
+        int initialSize = Math.max(1, configuration.size()
+            .orElse(defaultSize));
+        this.size = adaptive ? Math.min(maxSize, Math.max(minSize, initialSize)) : initialSize;
+    }
+
+    /**
+     * Return the current number of created nodes and relationships after which a transaction is committed.
+     *
+     * @return The size.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Use the maximum size, e.g. if a large graph is written into an empty store. Transactions are still committed early on low heap and if adaptive
+     * sizing is enabled the size is reduced by slow commits. An explicitly configured size is kept.
+     */
+    void maximize() {
+        if (!sizeConfigured) {
+            size = maxSize;
+        }
+    }
+
+    /**
+     * Reset the counters, e.g. if a new transaction has been started.
+     */
+    void reset() {
+        operations = 0;
+        propertyBytes = 0;
+    }
+
+    /**
+     * Count a created node.
+     *
+     * @param estimatedPropertyBytes
+     *     The estimated size in bytes of the properties written with the node.
+     * @return <code>true</code> if the current transaction shall be committed.
+     */
+    boolean createdNode(long estimatedPropertyBytes) {
+        return createdNodes(1, estimatedPropertyBytes);
+    }
+
+    /**
+     * Count created nodes, e.g. created in bulk by a query.
+     *
+     * @param count
+     *     The number of created nodes.
+     * @param estimatedPropertyBytes
+     *     The estimated size in bytes of the properties written with all nodes.
+     * @return <code>true</code> if the current transaction shall be committed.
+     */
+    boolean createdNodes(int count, long estimatedPropertyBytes) {
+        return created(count, count, estimatedPropertyBytes);
+    }
+
+    /**
+     * Count created relationships, these only count towards the size if it is adapted.
+     *
+     * @param count
+     *     The number of created relationships.
+     * @param estimatedPropertyBytes
+     *     The estimated size in bytes of the properties written with all relationships.
+     * @return <code>true</code> if the current transaction shall be committed.
+     */
+    boolean createdRelationships(int count, long estimatedPropertyBytes) {
+        return created(adaptive ? count : 0, count, estimatedPropertyBytes);
+    }
+
+    private boolean created(int countedOperations, int entities, long estimatedPropertyBytes) {
+        int previousOperations = operations;
+        operations += countedOperations;
+        propertyBytes += entities * ENTITY_BYTES + estimatedPropertyBytes;
+        if (operations >= size || propertyBytes >= maxPropertyBytes) {
+            return true;
+        }
+        if (operations / HEAP_CHECK_INTERVAL != previousOperations / HEAP_CHECK_INTERVAL && freeHeapRatioSupplier.getAsDouble() < minFreeHeapRatio) {
+            lowHeap = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Notify about an automatic commit in order to adapt the size of transactions.
+     *
+     * @param duration
+     *     The duration of the commit.
+     */
+    void committed(Duration duration) {
+        if (adaptive) {
+            long millis = duration.toMillis();
+            int previousSize = size;
+            if (lowHeap || millis > targetCommitMillis) {
+                size = Math.max(minSize, size / 2);
+            } else if (millis < targetCommitMillis / 4 && operations >= size && freeHeapRatioSupplier.getAsDouble() >= 2 * minFreeHeapRatio) {
+                size = (int) Math.min(maxSize, 2L * size);
+            }
+            if (size != previousSize) {
+                log.debug("Adapted transaction size from {} to {} (commit duration: {}ms, low heap: {}).", previousSize, size, millis, lowHeap);
+            }
+        }
+        lowHeap = false;
+    }
+
+    /**
+     * Determine the ratio of free heap based on the memory usage after the last garbage collection, i.e. uncollected garbage is not taken into account.
+     *
+     * @return The ratio of free heap.
+     */
+    private static double getFreeHeapRatio() {
+        long maxMemory = Runtime.getRuntime()
+            .maxMemory();
+        long usedMemory = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collectionUsage = memoryPool.getType() == MemoryType.HEAP ? memoryPool.getCollectionUsage() : null;
+            if (collectionUsage != null) {
+                usedMemory += collectionUsage.getUsed();
+            }
+        }
+        return (double) (maxMemory - usedMemory) / maxMemory;
+    }
+}
@@ -6,6 +6,7 @@ import java.net.URISyntaxException;
 import java.util.Optional;
 
 import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.store.api.configuration.Remote;
 import com.buschmais.jqassistant.core.store.impl.EmbeddedGraphStore;
 import com.buschmais.jqassistant.core.store.impl.RemoteGraphStore;
@@ -30,6 +31,9 @@ class StoreFactoryTest {
     @Mock
     private Remote remote;
 
+    @Mock
+    private Metrics metrics;
+
     @Mock
     private StorePluginRepository storePluginRepository;
 
@@ -81,7 +85,7 @@ class StoreFactoryTest {
     private void verify(Optional<URI> uri, Class<? extends Store> expectedStoreType) {
         doReturn(uri).when(configuration)
             .uri();
-        assertThat(storeFactory.getStore(configuration, () -> new File("store"))).isInstanceOf(expectedStoreType);
+        assertThat(storeFactory.getStore(configuration, metrics, () -> new File("store"))).isInstanceOf(expectedStoreType);
     }
 
 }
@@ -0,0 +1,72 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.util.List.of;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedGraphStoreNeo4jPluginTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void sharedNeo4jPluginDirectory() throws IOException {
+        File plugin = write(directory.resolve("plugin.jar"), "plugin");
+        Path parentDirectory = directory.resolve("neo4j-plugins");
+
+        File pluginDirectory = EmbeddedGraphStore.getSharedNeo4jPluginDirectory(parentDirectory, of(plugin));
+
+        assertThat(pluginDirectory.toPath()
+            .getParent()).isEqualTo(parentDirectory);
+        assertThat(pluginDirectory.list()).containsExactly("plugin.jar");
+        assertThat(new File(pluginDirectory, "plugin.jar")).hasContent("plugin");
+        assertThat(EmbeddedGraphStore.getSharedNeo4jPluginDirectory(parentDirectory, of(plugin))).isEqualTo(pluginDirectory);
+    }
+
+    @Test
+    void modifiedNeo4jPluginDirectoryIsInstalledAgain() throws IOException {
+        File plugin = write(directory.resolve("plugin.jar"), "plugin");
+        Path parentDirectory = directory.resolve("neo4j-plugins");
+        File pluginDirectory = EmbeddedGraphStore.getSharedNeo4jPluginDirectory(parentDirectory, of(plugin));
+        write(pluginDirectory.toPath()
+            .resolve("plugin.jar"), "truncated");
+        write(pluginDirectory.toPath()
+            .resolve("other.jar"), "other");
+
+        assertThat(EmbeddedGraphStore.getSharedNeo4jPluginDirectory(parentDirectory, of(plugin))).isEqualTo(pluginDirectory);
+
+        assertThat(pluginDirectory.list()).containsExactly("plugin.jar");
+        assertThat(new File(pluginDirectory, "plugin.jar")).hasContent("plugin");
+    }
+
+    @Test
+    void unusedNeo4jPluginDirectoriesArePruned() throws IOException {
+        File plugin = write(directory.resolve("plugin.jar"), "plugin");
+        Path parentDirectory = directory.resolve("neo4j-plugins");
+        File recentDirectory = Files.createDirectories(parentDirectory.resolve("recent"))
+            .toFile();
+        File unusedDirectory = Files.createDirectories(parentDirectory.resolve("unused"))
+            .toFile();
+        assertThat(unusedDirectory.setLastModified(System.currentTimeMillis() - Duration.ofDays(31)
+            .toMillis())).isTrue();
+
+        EmbeddedGraphStore.getSharedNeo4jPluginDirectory(parentDirectory, of(plugin));
+
+        assertThat(recentDirectory).exists();
+        assertThat(unusedDirectory).doesNotExist();
+    }
+
+    private static File write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8))
+            .toFile();
+    }
+}
@@ -0,0 +1,186 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.io.File;
+import java.net.URI;
+
+import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
+import com.buschmais.jqassistant.core.store.api.CacheListener;
+import com.buschmais.jqassistant.core.store.api.configuration.Embedded;
+import com.buschmais.jqassistant.core.store.api.configuration.Store;
+import com.buschmais.jqassistant.core.store.api.configuration.Transaction;
+import com.buschmais.jqassistant.core.store.spi.StorePluginRepository;
+import com.buschmais.xo.api.XOManager;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddedGraphStoreTest {
+
+    private static final File STORE_DIRECTORY = new File("target/jqassistant/recreate-store");
+
+    @Mock
+    private Store configuration;
+
+    @Mock
+    private Embedded embedded;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private Metrics metrics;
+
+    @Mock
+    private StorePluginRepository storePluginRepository;
+
+    @Mock
+    private ArtifactProvider artifactProvider;
+
+    private EmbeddedGraphStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileUtils.deleteDirectory(STORE_DIRECTORY);
+        doReturn(embedded).when(configuration)
+            .embedded();
+        doReturn(transaction).when(configuration)
+            .transaction();
+        doReturn(Embedded.DEFAULT_LISTEN_ADDRESS).when(embedded)
+            .listenAddress();
+        store = new EmbeddedGraphStore(new URI("file:" + STORE_DIRECTORY.getAbsolutePath()), configuration, metrics, storePluginRepository, artifactProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+    }
+
+    @Test
+    void recreate() {
+        doReturn(10L).when(embedded)
+            .recreateThreshold();
+        store.start();
+        createNodes(10);
+        XOManager xoManager = store.getXOManager();
+
+        store.reset();
+
+        assertThat(store.getXOManager()).isNotSameAs(xoManager);
+        assertThat(countNodes()).isZero();
+        createNodes(1);
+        assertThat(countNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteBelowThreshold() {
+        doReturn(11L).when(embedded)
+            .recreateThreshold();
+        store.start();
+        createNodes(10);
+        XOManager xoManager = store.getXOManager();
+
+        store.reset();
+
+        assertThat(store.getXOManager()).isSameAs(xoManager);
+        assertThat(countNodes()).isZero();
+    }
+
+    @Test
+    void snapshotAndRestore() throws Exception {
+        doReturn(-1L).when(embedded)
+            .recreateThreshold();
+        store.start();
+        createNodes(10);
+        File snapshot = new File(STORE_DIRECTORY.getParentFile(), "recreate-store-snapshot.zip");
+
+        store.snapshot(snapshot);
+        assertThat(countNodes()).isEqualTo(10);
+        store.reset();
+        createNodes(1);
+        store.restore(snapshot);
+
+        assertThat(snapshot).exists();
+        assertThat(StoreSnapshot.getChecksumFile(snapshot)).exists();
+        assertThat(countNodes()).isEqualTo(10);
+        assertThat(store.isSnapshotSupported()).isTrue();
+        assertThat(new EmbeddedGraphStore(new URI("memory:///"), configuration, metrics, storePluginRepository, artifactProvider).isSnapshotSupported()).isFalse();
+    }
+
+    @Test
+    void failedRestoreKeepsStoreOpen() throws Exception {
+        store.start();
+        createNodes(10);
+        File snapshot = new File(STORE_DIRECTORY.getParentFile(), "recreate-store-snapshot.zip");
+        store.snapshot(snapshot);
+        FileUtils.writeStringToFile(StoreSnapshot.getChecksumFile(snapshot), "0000  recreate-store-snapshot.zip\n", UTF_8);
+        createNodes(1);
+
+        assertThatThrownBy(() -> store.restore(snapshot)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(countNodes()).isEqualTo(11);
+        createNodes(1);
+        assertThat(countNodes()).isEqualTo(12);
+    }
+
+    @Test
+    void maximizeWriteThroughput() {
+        doReturn(true).when(embedded)
+            .maximizeWriteThroughput();
+        doReturn(-1L).when(embedded)
+            .recreateThreshold();
+        doReturn(1000).when(transaction)
+            .maxSize();
+        store.start();
+        assertThat(store.getTransactionSize()).isEqualTo(EmbeddedGraphStore.AUTOCOMMIT_THRESHOLD);
+
+        store.reset();
+        createNodes(10);
+
+        assertThat(store.getTransactionSize()).isEqualTo(1000);
+        assertThat(countNodes()).isEqualTo(10);
+        store.stop();
+        store.start();
+        assertThat(store.getTransactionSize()).isEqualTo(EmbeddedGraphStore.AUTOCOMMIT_THRESHOLD);
+    }
+
+    @Test
+    void cacheListeners() {
+        doReturn(-1L).when(embedded)
+            .recreateThreshold();
+        store.start();
+        CacheListener cacheListener = mock(CacheListener.class);
+        store.addCacheListener(cacheListener);
+
+        store.invalidateCache("key");
+        store.reset();
+        store.removeCacheListener(cacheListener);
+        store.invalidateCache("key");
+
+        verify(cacheListener).invalidated("key");
+        verify(cacheListener).cleared();
+        verifyNoMoreInteractions(cacheListener);
+    }
+
+    private void createNodes(int count) {
+        store.requireTransaction(() -> store.executeQuery("UNWIND range(1, " + count + ") AS i CREATE (:Test {value: i})")
+            .close());
+    }
+
+    private long countNodes() {
+        return store.requireTransaction(() -> store.executeQuery("MATCH (n) RETURN count(n) AS nodes")
+            .getSingleResult()
+            .get("nodes", Long.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StoreSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRestore() throws IOException {
+        Path home = tempDir.resolve("store");
+        File databases = write(home.resolve("data/databases/neo4j/neostore"), "store").getParentFile();
+        File transactions = write(home.resolve("data/transactions/neo4j/neostore.transaction.db.0"), "log").getParentFile();
+        write(home.resolve("logs/debug.log"), "debug");
+        File snapshot = tempDir.resolve("snapshot/store-snapshot.zip")
+            .toFile();
+
+        StoreSnapshot.write(home.toFile(), List.of(databases, transactions), snapshot);
+        assertThat(StoreSnapshot.getChecksumFile(snapshot)).content(UTF_8)
+            .endsWith("  store-snapshot.zip\n");
+        write(home.resolve("data/databases/neo4j/neostore"), "modified");
+        write(home.resolve("data/databases/neo4j/other"), "other");
+        StoreSnapshot.restore(snapshot, home.toFile(), List.of(databases, transactions));
+
+        assertThat(home.resolve("data/databases/neo4j/neostore")).hasContent("store");
+        assertThat(home.resolve("data/databases/neo4j/other")).doesNotExist();
+        assertThat(home.resolve("data/transactions/neo4j/neostore.transaction.db.0")).hasContent("log");
+        assertThat(home.resolve("logs/debug.log")).hasContent("debug");
+        assertThat(home.resolve(StoreSnapshot.STAGING_DIRECTORY)).doesNotExist();
+    }
+
+    @Test
+    void checksumMismatch() throws IOException {
+        Path home = tempDir.resolve("store");
+        File databases = write(home.resolve("data/databases/neo4j/neostore"), "store").getParentFile();
+        File snapshot = tempDir.resolve("store-snapshot.zip")
+            .toFile();
+        StoreSnapshot.write(home.toFile(), List.of(databases), snapshot);
+        Files.writeString(StoreSnapshot.getChecksumFile(snapshot)
+            .toPath(), "0000  store-snapshot.zip\n");
+
+        assertThatThrownBy(() -> StoreSnapshot.restore(snapshot, home.toFile(), List.of(databases))).isInstanceOf(IOException.class)
+            .hasMessageContaining("Checksum");
+        assertThat(home.resolve("data/databases/neo4j/neostore")).hasContent("store");
+    }
+
+    @Test
+    void corruptSnapshot() throws IOException {
+        Path home = tempDir.resolve("store");
+        byte[] store = new byte[64 * 1024];
+        new Random(0).nextBytes(store);
+        Path storeFile = home.resolve("data/databases/neo4j/neostore");
+        Files.createDirectories(storeFile.getParent());
+        Files.write(storeFile, store);
+        File databases = storeFile.toFile()
+            .getParentFile();
+        File snapshot = tempDir.resolve("store-snapshot.zip")
+            .toFile();
+        StoreSnapshot.write(home.toFile(), List.of(databases), snapshot);
+        byte[] content = Files.readAllBytes(snapshot.toPath());
+        // corrupt the content of the entry
+        content[content.length / 2] ^= 0xFF;
+        Files.write(snapshot.toPath(), content);
+        Files.delete(StoreSnapshot.getChecksumFile(snapshot)
+            .toPath());
+        write(home.resolve("data/databases/neo4j/neostore"), "modified");
+
+        assertThatThrownBy(() -> StoreSnapshot.restore(snapshot, home.toFile(), List.of(databases))).isInstanceOf(IOException.class);
+        assertThat(home.resolve("data/databases/neo4j/neostore")).hasContent("modified");
+        assertThat(home.resolve(StoreSnapshot.STAGING_DIRECTORY)).doesNotExist();
+    }
+
+    private static File write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, UTF_8);
+        return path.toFile();
+    }
+}
@@ -0,0 +1,175 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.buschmais.jqassistant.core.store.api.configuration.Transaction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSizerTest {
+
+    @Mock
+    private Transaction configuration;
+
+    private double freeHeapRatio = 0.5;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(1000000L).when(configuration)
+            .maxPropertyBytes();
+        doReturn(2).when(configuration)
+            .minSize();
+        doReturn(1000L).when(configuration)
+            .targetCommitMillis();
+        doReturn(10).when(configuration)
+            .minFreeHeapPercent();
+    }
+
+    @Test
+    void defaultSize() {
+        TransactionSizer transactionSizer = createTransactionSizer(empty(), true, 16);
+
+        assertThat(transactionSizer.getSize()).isEqualTo(4);
+        assertThat(createUntilCommit(transactionSizer)).isEqualTo(4);
+    }
+
+    @Test
+    void configuredSize() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(8), true, 16);
+
+        assertThat(transactionSizer.getSize()).isEqualTo(8);
+    }
+
+    @Test
+    void propertyBytes() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(16), true, 16);
+
+        assertThat(transactionSizer.createdNode(500000 - TransactionSizer.ENTITY_BYTES)).isFalse();
+        assertThat(transactionSizer.createdNode(500000 - TransactionSizer.ENTITY_BYTES)).isTrue();
+    }
+
+    @Test
+    void createdInBulk() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(16), true, 16);
+
+        assertThat(transactionSizer.createdNodes(10, 0)).isFalse();
+        assertThat(transactionSizer.createdNodes(6, 0)).isTrue();
+    }
+
+    @Test
+    void adaptToCommitDuration() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(4), true, 16);
+
+        // fast commits
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(10));
+        assertThat(transactionSizer.getSize()).isEqualTo(8);
+        transactionSizer.reset();
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(10));
+        assertThat(transactionSizer.getSize()).isEqualTo(16);
+        transactionSizer.reset();
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(10));
+        assertThat(transactionSizer.getSize()).isEqualTo(16);
+        transactionSizer.reset();
+        // slow commits
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(1500));
+        assertThat(transactionSizer.getSize()).isEqualTo(8);
+        transactionSizer.reset();
+        // neither slow nor fast
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(500));
+        assertThat(transactionSizer.getSize()).isEqualTo(8);
+    }
+
+    @Test
+    void adaptToHeap() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(1024), true, 2048);
+
+        freeHeapRatio = 0.05;
+        assertThat(createUntilCommit(transactionSizer)).isEqualTo(256);
+        transactionSizer.committed(Duration.ofMillis(10));
+
+        assertThat(transactionSizer.getSize()).isEqualTo(512);
+    }
+
+    @Test
+    void notAdaptive() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(4), false, 16);
+
+        createUntilCommit(transactionSizer);
+        transactionSizer.committed(Duration.ofMillis(10));
+
+        assertThat(transactionSizer.getSize()).isEqualTo(4);
+    }
+
+    @Test
+    void relationshipsCountIfAdaptive() {
+        TransactionSizer adaptive = createTransactionSizer(Optional.of(4), true, 16);
+        assertThat(adaptive.createdNodes(2, 0)).isFalse();
+        assertThat(adaptive.createdRelationships(2, 0)).isTrue();
+
+        TransactionSizer notAdaptive = createTransactionSizer(Optional.of(4), false, 16);
+        assertThat(notAdaptive.createdNodes(2, 0)).isFalse();
+        assertThat(notAdaptive.createdRelationships(8, 0)).isFalse();
+        assertThat(notAdaptive.createdNodes(2, 0)).isTrue();
+    }
+
+    @Test
+    void maximize() {
+        TransactionSizer adaptive = createTransactionSizer(Optional.empty(), true, 16);
+        adaptive.maximize();
+        assertThat(adaptive.getSize()).isEqualTo(16);
+        // slow commits still reduce the size
+        createUntilCommit(adaptive);
+        adaptive.committed(Duration.ofMillis(1500));
+        assertThat(adaptive.getSize()).isEqualTo(8);
+
+        TransactionSizer notAdaptive = createTransactionSizer(Optional.empty(), false, 16);
+        notAdaptive.maximize();
+        assertThat(notAdaptive.getSize()).isEqualTo(16);
+        // the size is kept for fast and slow commits
+        createUntilCommit(notAdaptive);
+        notAdaptive.committed(Duration.ofMillis(1500));
+        assertThat(notAdaptive.getSize()).isEqualTo(16);
+    }
+
+    @Test
+    void maximizeKeepsConfiguredSize() {
+        TransactionSizer transactionSizer = createTransactionSizer(Optional.of(8), false, 16);
+
+        transactionSizer.maximize();
+
+        assertThat(transactionSizer.getSize()).isEqualTo(8);
+    }
+
+    private TransactionSizer createTransactionSizer(Optional<Integer> size, boolean adaptive, int maxSize) {
+        doReturn(size).when(configuration)
+            .size();
+        doReturn(adaptive).when(configuration)
+            .adaptive();
+        doReturn(maxSize).when(configuration)
+            .maxSize();
+        return new TransactionSizer(configuration, 4, () -> freeHeapRatio);
+    }
+
+    private static int createUntilCommit(TransactionSizer transactionSizer) {
+        int created = 1;
+        while (!transactionSizer.createdNode(0)) {
+            created++;
+        }
+        return created;
+    }
+}
@@ -45,6 +45,7 @@ import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.scanner.impl.ScannerContextImpl;
 import com.buschmais.jqassistant.core.scanner.impl.ScannerImpl;
 import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.StoreFactory;
 import com.buschmais.jqassistant.core.store.api.configuration.Remote;
@@ -114,7 +115,7 @@ public abstract class AbstractPluginIT {
         workingDirectory = new File(".");
         outputDirectory = new File(workingDirectory, "target/jqassistant");
         outputDirectory.mkdirs();
-        startStore(configuration.store(), testStore);
+        startStore(configuration.store(), configuration.metrics(), testStore);
         initializeRuleSet(configuration);
         initializeReportPlugin(configuration);
     }
@@ -162,10 +163,13 @@ public abstract class AbstractPluginIT {
     }
 
     /**
-     * Stops the store.
+     * Releases the collected results and stops the store.
      */
     @AfterEach
     public void stopStore() {
+        if (reportPlugin != null) {
+            reportPlugin.close();
+        }
         if (store != null) {
             store.stop();
         }
@@ -239,9 +243,9 @@ public abstract class AbstractPluginIT {
     /**
      * Initializes and resets the store.
      */
-    private void startStore(com.buschmais.jqassistant.core.store.api.configuration.Store storeConfiguration, TestStore testStore) {
+    private void startStore(com.buschmais.jqassistant.core.store.api.configuration.Store storeConfiguration, Metrics metrics, TestStore testStore) {
         StoreFactory storeFactory = new StoreFactory(pluginRepository.getStorePluginRepository(), plugins -> emptyList());
-        store = storeFactory.getStore(storeConfiguration, () -> TEST_STORE_DIRECTORY);
+        store = storeFactory.getStore(storeConfiguration, metrics, () -> TEST_STORE_DIRECTORY);
         store.start();
         if (testStore == null || testStore.reset()) {
             store.reset();
@@ -264,6 +268,7 @@ public abstract class AbstractPluginIT {
      */
     protected Scanner getScanner(Map<String, Object> properties) {
         ConfigurationBuilder configurationBuilder = createConfigurationBuilder().with(Scan.class, Scan.PROPERTIES, properties);
+        configure(configurationBuilder);
         Configuration configuration = createConfiguration(configurationBuilder);
         ScannerContext scannerContext = new ScannerContextImpl(pluginRepository.getClassLoader(), store, workingDirectory, outputDirectory);
         ScannerPluginRepository scannerPluginRepository = pluginRepository.getScannerPluginRepository();
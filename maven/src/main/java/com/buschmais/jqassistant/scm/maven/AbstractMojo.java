@@ -6,8 +6,11 @@ import java.util.function.Supplier;
 
 import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
 import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationMappingLoader;
+import com.buschmais.jqassistant.core.runtime.api.configuration.StartupIndex;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
 import com.buschmais.jqassistant.core.runtime.impl.plugin.AetherArtifactProvider;
+import com.buschmais.jqassistant.core.runtime.impl.plugin.CachingArtifactProvider;
+import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.configuration.Embedded;
 import com.buschmais.jqassistant.scm.maven.configuration.Maven;
@@ -43,6 +46,8 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
 
     public static final String STORE_DIRECTORY = "jqassistant/store";
 
+    public static final String SNAPSHOT_FILE = "jqassistant/store-snapshot.zip";
+
     private static final int CONFIGURATION_ORDINAL_EXECUTION_ROOT = 100;
 
     private static String createExecutionKey(MojoExecution mojoExecution) {
@@ -113,8 +118,9 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
             if (configuration.skip()) {
                 getLog().info("Skipping execution.");
             } else {
-                AetherArtifactProvider artifactResolver = new AetherArtifactProvider(repositorySystem, repositorySystemSession, repositories);
-                PluginRepository pluginRepository = pluginRepositoryProvider.getPluginRepository(configuration, artifactResolver);
+                Optional<File> startupIndexDirectory = getStartupIndexDirectory(configuration);
+                PluginRepository pluginRepository = pluginRepositoryProvider.getPluginRepository(configuration,
+                    getArtifactProvider(startupIndexDirectory), startupIndexDirectory.orElse(null));
                 MojoExecutionContext mojoExecutionContext = new MojoExecutionContext(session, currentProject, execution, configuration, pluginRepository);
                 MavenProject rootModule = mojoExecutionContext.getRootModule();
                 Set<MavenProject> executedModules = getExecutedModules(rootModule);
@@ -191,6 +197,37 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
         }
     }
 
+    /**
+     * Determine the file for writing or restoring a snapshot of the store.
+     *
+     * @param mojoExecutionContext
+     *     The {@link MojoExecutionContext}.
+     * @return The snapshot file.
+     */
+    protected final File getSnapshotFile(MojoExecutionContext mojoExecutionContext) {
+        return mojoExecutionContext.getConfiguration()
+            .store()
+            .snapshot()
+            .orElseGet(() -> new File(mojoExecutionContext.getRootModule()
+                .getBuild()
+                .getDirectory(), SNAPSHOT_FILE));
+    }
+
+    /**
+     * Verify that a store supports writing and restoring snapshots.
+     *
+     * @param store
+     *     The {@link Store}.
+     * @throws MojoExecutionException
+     *     If snapshots are not supported by the store.
+     */
+    protected final void verifySnapshotSupported(Store store) throws MojoExecutionException {
+        if (!store.isSnapshotSupported()) {
+            throw new MojoExecutionException(
+                "Snapshots are only supported by embedded stores located in a directory, check the setting jqassistant.store.uri.");
+        }
+    }
+
     /**
      * Determine the already executed modules for a given root module.
      *
@@ -222,9 +259,9 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
      *     If the store cannot be opened.
      */
     private Store getStore(MojoExecutionContext mojoExecutionContext, Supplier<File> storeDirectorySupplier) throws MojoExecutionException {
-        Object existingStore = cachingStoreProvider.getStore(mojoExecutionContext.getConfiguration()
-                .store(), storeDirectorySupplier, mojoExecutionContext.getPluginRepository(),
-            new AetherArtifactProvider(repositorySystem, repositorySystemSession, repositories));
+        MavenConfiguration configuration = mojoExecutionContext.getConfiguration();
+        Object existingStore = cachingStoreProvider.getStore(configuration.store(), configuration.metrics(), storeDirectorySupplier,
+            mojoExecutionContext.getPluginRepository(), getArtifactProvider(getStartupIndexDirectory(configuration)));
         if (!Store.class.isAssignableFrom(existingStore.getClass())) {
             throw new MojoExecutionException(
                 "Cannot re-use store instance from reactor. Either declare the plugin as extension or execute Maven using the property -D" + Maven.REUSE_STORE
@@ -233,6 +270,36 @@ public abstract class AbstractMojo extends org.apache.maven.plugin.AbstractMojo
         return (Store) existingStore;
     }
 
+    /**
+     * Determine the startup index directory.
+     *
+     * @param configuration
+     *     The {@link MavenConfiguration}.
+     * @return The startup index directory or {@link Optional#empty()} if it is disabled.
+     */
+    private Optional<File> getStartupIndexDirectory(MavenConfiguration configuration) {
+        StartupIndex startupIndex = configuration.startupIndex();
+        if (!startupIndex.enabled()) {
+            return Optional.empty();
+        }
+        return Optional.of(startupIndex.directory()
+            .orElse(new File(System.getProperty("user.home"), StartupIndex.DEFAULT_DIRECTORY)));
+    }
+
+    /**
+     * Create the {@link ArtifactProvider} resolving plugins from the repositories of the project, cached by the startup index if enabled.
+     *
+     * @param startupIndexDirectory
+     *     The optional startup index directory.
+     * @return The {@link ArtifactProvider}.
+     */
+    private ArtifactProvider getArtifactProvider(Optional<File> startupIndexDirectory) {
+        AetherArtifactProvider artifactProvider = new AetherArtifactProvider(repositorySystem, repositorySystemSession, repositories);
+        return startupIndexDirectory.<ArtifactProvider>map(
+                directory -> new CachingArtifactProvider(artifactProvider, directory, artifactProvider.getRepositoryDescription()))
+            .orElse(artifactProvider);
+    }
+
     /**
      * Release a store instance.
      *
@@ -6,12 +6,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import com.buschmais.jqassistant.core.rule.api.configuration.Rule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
 import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
 import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
 import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
 import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 import com.buschmais.jqassistant.core.rule.impl.reader.RuleParser;
+import com.buschmais.jqassistant.core.rule.impl.reader.RuleSetCache;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -21,6 +23,8 @@ import org.apache.maven.plugin.MojoExecutionException;
  */
 public abstract class AbstractRuleMojo extends AbstractProjectMojo {
 
+    public static final String RULE_CACHE_DIRECTORY = "jqassistant/rule-cache";
+
     /**
      * Reads the available rules from the rules directory and deployed catalogs.
      *
@@ -36,23 +40,43 @@ public abstract class AbstractRuleMojo extends AbstractProjectMojo {
         List<RuleSource> ruleSources = pluginRepository.getRulePluginRepository()
             .getRuleSources();
         sources.addAll(ruleSources);
+        Rule rule = mojoExecutionContext.getConfiguration()
+            .analyze()
+            .rule();
         Collection<RuleParserPlugin> ruleParserPlugins;
         try {
             ruleParserPlugins = pluginRepository.getRulePluginRepository()
-                .getRuleParserPlugins(mojoExecutionContext.getConfiguration()
-                    .analyze()
-                    .rule());
+                .getRuleParserPlugins(rule);
         } catch (RuleException e) {
             throw new MojoExecutionException("Cannot get rules rule source reader plugins.", e);
         }
         try {
-            RuleParser ruleParser = new RuleParser(ruleParserPlugins);
+            RuleParser ruleParser = new RuleParser(ruleParserPlugins, getRuleSetCache(mojoExecutionContext, rule));
             return ruleParser.parse(sources);
         } catch (RuleException e) {
             throw new MojoExecutionException("Cannot read rules.", e);
         }
     }
 
+    /**
+     * Determines the cache for parsed rules.
+     *
+     * @param mojoExecutionContext
+     *     The {@link MojoExecutionContext}.
+     * @param rule
+     *     The {@link Rule} configuration.
+     * @return The {@link RuleSetCache} or <code>null</code> if caching is disabled.
+     */
+    private RuleSetCache getRuleSetCache(MojoExecutionContext mojoExecutionContext, Rule rule) {
+        if (!rule.cacheEnabled()) {
+            return null;
+        }
+        return new RuleSetCache(rule.cache()
+            .orElseGet(() -> new File(mojoExecutionContext.getRootModule()
+                .getBuild()
+                .getDirectory(), RULE_CACHE_DIRECTORY)), rule);
+    }
+
     /**
      * Add rules from the given directory to the list of sources.
      *
@@ -94,6 +94,7 @@ public class AnalyzeMojo extends AbstractRuleMojo {
             });
         } finally {
             store.commitTransaction();
+            inMemoryReportPlugin.close();
         }
     }
 
@@ -0,0 +1,20 @@
+package com.buschmais.jqassistant.scm.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Replaces the content of the store by a snapshot.
+ */
+@Mojo(name = "restore", aggregator = true, requiresProject = false, threadSafe = true)
+public class RestoreMojo extends AbstractProjectMojo {
+
+    @Override
+    protected void aggregate(MojoExecutionContext mojoExecutionContext) throws MojoExecutionException, MojoFailureException {
+        withStore(store -> {
+            verifySnapshotSupported(store);
+            store.restore(getSnapshotFile(mojoExecutionContext));
+        }, mojoExecutionContext);
+    }
+}
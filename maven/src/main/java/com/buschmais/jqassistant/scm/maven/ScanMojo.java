@@ -2,6 +2,8 @@ package com.buschmais.jqassistant.scm.maven;
 
 import java.io.File;
 
+import com.buschmais.jqassistant.core.report.api.ReportException;
+import com.buschmais.jqassistant.core.report.impl.ReportContextImpl;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
@@ -20,6 +22,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 
+import static com.buschmais.jqassistant.core.report.impl.MetricsReportPlugin.writeMetrics;
 import static com.buschmais.jqassistant.core.scanner.api.DefaultScope.NONE;
 import static org.apache.maven.plugins.annotations.ResolutionScope.TEST;
 
@@ -36,12 +39,21 @@ public class ScanMojo extends AbstractModuleMojo {
     protected boolean isResetStoreBeforeExecution(MavenConfiguration configuration) {
         return configuration.scan()
             .reset()
-            .orElse(true);
+            .orElse(!configuration.scan()
+                .incremental());
     }
 
     @Override
     public void execute(MojoExecutionContext mojoExecutionContext) throws MojoExecutionException, MojoFailureException {
-        withStore(store -> scan(mojoExecutionContext, store), mojoExecutionContext);
+        withStore(store -> {
+            scan(mojoExecutionContext, store);
+            try {
+                writeMetrics(new ReportContextImpl(mojoExecutionContext.getPluginRepository()
+                    .getClassLoader(), store, mojoExecutionContext.getOutputDirectory()));
+            } catch (ReportException e) {
+                throw new MojoExecutionException("Cannot write metrics.", e);
+            }
+        }, mojoExecutionContext);
     }
 
     private void scan(MojoExecutionContext mojoExecutionContext, Store store) {
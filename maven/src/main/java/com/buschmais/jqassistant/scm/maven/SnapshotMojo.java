@@ -0,0 +1,20 @@
+package com.buschmais.jqassistant.scm.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Writes a snapshot of the store to a file.
+ */
+@Mojo(name = "snapshot", aggregator = true, requiresProject = false, threadSafe = true)
+public class SnapshotMojo extends AbstractProjectMojo {
+
+    @Override
+    protected void aggregate(MojoExecutionContext mojoExecutionContext) throws MojoExecutionException, MojoFailureException {
+        withStore(store -> {
+            verifySnapshotSupported(store);
+            store.snapshot(getSnapshotFile(mojoExecutionContext));
+        }, mojoExecutionContext);
+    }
+}
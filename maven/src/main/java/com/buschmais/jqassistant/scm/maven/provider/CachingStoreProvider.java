@@ -9,6 +9,7 @@ import java.util.function.Supplier;
 
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
 import com.buschmais.jqassistant.core.shared.artifact.ArtifactProvider;
+import com.buschmais.jqassistant.core.shared.configuration.Metrics;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.StoreFactory;
 
@@ -50,11 +51,13 @@ public class CachingStoreProvider implements Disposable {
      *
      * @param storeConfiguration
      *     The store configuration.
+     * @param metrics
+     *     The {@link Metrics} configuration.
      * @param pluginRepository
      *     The pluginRepository.
      * @return The store.
      */
-    public Store getStore(com.buschmais.jqassistant.core.store.api.configuration.Store storeConfiguration, Supplier<File> storeDirectorySupplier,
+    public Store getStore(com.buschmais.jqassistant.core.store.api.configuration.Store storeConfiguration, Metrics metrics, Supplier<File> storeDirectorySupplier,
         PluginRepository pluginRepository, ArtifactProvider artifactProvider) {
         URI uri = storeConfiguration.uri()
             .orElseGet(() -> {
@@ -73,7 +76,7 @@ public class CachingStoreProvider implements Disposable {
         Store store = storesByKey.get(key);
         if (store == null) {
             StoreFactory storeFactory = new StoreFactory(pluginRepository.getStorePluginRepository(), artifactProvider);
-            store = storeFactory.getStore(storeConfiguration, storeDirectorySupplier);
+            store = storeFactory.getStore(storeConfiguration, metrics, storeDirectorySupplier);
             store.start();
             storesByKey.put(key, store);
             keysByStore.put(store, key);
@@ -1,5 +1,7 @@
 package com.buschmais.jqassistant.scm.maven.provider;
 
+import java.io.File;
+
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginClassLoader;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginConfigurationReader;
 import com.buschmais.jqassistant.core.runtime.api.plugin.PluginRepository;
@@ -25,13 +27,13 @@ public class PluginRepositoryProvider implements Disposable {
         }
     }
 
-    public PluginRepository getPluginRepository(MavenConfiguration configuration, ArtifactProvider artifactProvider) {
+    public PluginRepository getPluginRepository(MavenConfiguration configuration, ArtifactProvider artifactProvider, File startupIndexDirectory) {
         if (pluginRepository == null) {
             PluginResolver pluginResolver = new PluginResolverImpl(artifactProvider);
             PluginClassLoader pluginClassLoader = pluginResolver.createClassLoader(Thread.currentThread().getContextClassLoader(), configuration);
 
             // do a lazy init of the plugin repo to speed-up if the plugin execution shall be skipped
-            PluginConfigurationReader pluginConfigurationReader = new PluginConfigurationReaderImpl(pluginClassLoader);
+            PluginConfigurationReader pluginConfigurationReader = new PluginConfigurationReaderImpl(pluginClassLoader, startupIndexDirectory);
             this.pluginRepository = new PluginRepositoryImpl(pluginConfigurationReader);
             this.pluginRepository.initialize();
         }
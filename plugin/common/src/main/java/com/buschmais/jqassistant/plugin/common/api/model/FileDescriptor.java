@@ -22,4 +22,13 @@ public interface FileDescriptor extends FileNameDescriptor {
     @Relation("CONTAINS")
     Set<FileDescriptor> getParents();
 
+    /**
+     * Return the time of the last modification of the file when it has been scanned, it is used for detecting modified files by incremental scans.
+     *
+     * @return The time of the last modification in milliseconds since the epoch or <code>null</code> if it is unknown.
+     */
+    Long getLastModified();
+
+    void setLastModified(Long lastModified);
+
 }
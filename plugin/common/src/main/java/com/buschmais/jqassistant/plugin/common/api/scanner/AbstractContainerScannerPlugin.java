@@ -1,6 +1,7 @@
 package com.buschmais.jqassistant.plugin.common.api.scanner;
 
 import java.io.IOException;
+import java.util.*;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
@@ -40,20 +41,20 @@ public abstract class AbstractContainerScannerPlugin<I, E, D extends FileContain
             containerDescriptor.setFileName(containerPath);
         }
         LOGGER.info("Entering {}", containerPath);
-        ContainerFileResolver fileResolver = new ContainerFileResolver(scanner.getContext(), containerDescriptor);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        boolean incremental = scanner.getConfiguration()
+            .incremental() && isIncrementalScanSupported(container);
+        ContainerFileResolver fileResolver = new ContainerFileResolver(scanner.getContext(), containerDescriptor, incremental);
+        // stale subgraphs must be removed before entering the container, as this may initialize caches (e.g. types)
+        Iterable<? extends E> modifiedEntries = incremental ? removeStaleEntries(container, fileResolver, context) : null;
         context.push(FileResolver.class, fileResolver);
         enterContainer(container, containerDescriptor, scanner.getContext());
-        Stopwatch stopwatch = Stopwatch.createStarted();
         try {
-            Iterable<? extends E> entries = getEntries(container);
+            Iterable<? extends E> entries = modifiedEntries != null ? modifiedEntries : getEntries(container);
             for (E entry : entries) {
                 String relativePath = getRelativePath(container, entry);
                 try (Resource resource = getEntry(container, entry)) {
-                    LOGGER.debug("Scanning {}", relativePath);
-                    FileDescriptor descriptor = scanner.scan(resource, relativePath, scope);
-                    if (descriptor != null) {
-                        fileResolver.put(relativePath, descriptor);
-                    }
+                    scanEntry(resource, relativePath, getEntryLastModified(container, entry), scope, scanner, fileResolver);
                 }
             }
         } finally {
@@ -65,6 +66,98 @@ public abstract class AbstractContainerScannerPlugin<I, E, D extends FileContain
         return containerDescriptor;
     }
 
+    private void scanEntry(Resource resource, String relativePath, long lastModified, Scope scope, Scanner scanner, ContainerFileResolver fileResolver) {
+        LOGGER.debug("Scanning {}", relativePath);
+        FileDescriptor descriptor = scanner.scan(resource, relativePath, scope);
+        if (descriptor != null) {
+            if (lastModified >= 0) {
+                descriptor.setLastModified(lastModified);
+            }
+            fileResolver.put(relativePath, descriptor);
+        }
+    }
+
+    /**
+     * Determines the entries of a container which must be scanned by an incremental scan, i.e. entries which have been added or modified since the
+     * previous scan. The subgraphs of modified or deleted entries are removed from the store.
+     *
+     * @param container
+     *            The container.
+     * @param fileResolver
+     *            The {@link ContainerFileResolver} providing the entries of the previous scan.
+     * @param context
+     *            The {@link ScannerContext}.
+     * @return The entries to scan.
+     * @throws IOException
+     *             If the entries cannot be determined.
+     */
+    private List<E> removeStaleEntries(I container, ContainerFileResolver fileResolver, ScannerContext context) throws IOException {
+        Map<String, FileDescriptor> deletedFiles = new HashMap<>(fileResolver.getExistingFiles());
+        Map<String, FileDescriptor> modifiedFiles = new HashMap<>();
+        List<E> entries = new ArrayList<>();
+        int added = 0;
+        int unmodified = 0;
+        for (E entry : getEntries(container)) {
+            String relativePath = getRelativePath(container, entry);
+            FileDescriptor existingFile = deletedFiles.remove(relativePath);
+            long lastModified = getEntryLastModified(container, entry);
+            if (existingFile == null || lastModified < 0) {
+                // added entry or an entry without modification time (e.g. a directory), the latter is re-used by the file resolver
+                entries.add(entry);
+                if (existingFile == null) {
+                    added++;
+                }
+            } else if (!Long.valueOf(lastModified)
+                .equals(existingFile.getLastModified())) {
+                modifiedFiles.put(relativePath, existingFile);
+                entries.add(entry);
+            } else {
+                unmodified++;
+            }
+        }
+        SubgraphRemover subgraphRemover = new SubgraphRemover(context.getStore());
+        List<FileDescriptor> keptFiles = subgraphRemover.remove(modifiedFiles.values(), deletedFiles.values());
+        if (added > 0) {
+            subgraphRemover.removeAnalysisResults();
+        }
+        for (Map.Entry<String, FileDescriptor> modifiedFile : modifiedFiles.entrySet()) {
+            fileResolver.replace(modifiedFile.getKey(), subgraphRemover.reset(modifiedFile.getValue()));
+        }
+        for (Map.Entry<String, FileDescriptor> deletedFile : deletedFiles.entrySet()) {
+            fileResolver.remove(deletedFile.getKey(), keptFiles.contains(deletedFile.getValue()));
+        }
+        LOGGER.info("Skipping {} unmodified entries ({} added, {} modified, {} deleted).", unmodified, added, modifiedFiles.size(), deletedFiles.size());
+        return entries;
+    }
+
+    /**
+     * Determines if only added or modified entries of the given container shall be scanned by an incremental scan.
+     * <p>
+     * This requires that the entries of the container can be iterated more than once and that {@link #getEntryLastModified(Object, Object)} provides
+     * the modification time of file entries.
+     * </p>
+     *
+     * @param container
+     *            The container.
+     * @return <code>true</code> if incremental scans are supported.
+     */
+    protected boolean isIncrementalScanSupported(I container) {
+        return false;
+    }
+
+    /**
+     * Return the time of the last modification of an entry within the container.
+     *
+     * @param container
+     *            The container.
+     * @param entry
+     *            The entry.
+     * @return The time of the last modification in milliseconds since the epoch or a negative value if it is unknown.
+     */
+    protected long getEntryLastModified(I container, E entry) {
+        return -1;
+    }
+
     /**
      * Return the descriptor representing the artifact.
      *
@@ -80,6 +80,16 @@ public abstract class AbstractDirectoryScannerPlugin<D extends DirectoryDescript
         return getDirectoryPath(container, entry);
     }
 
+    @Override
+    protected boolean isIncrementalScanSupported(File container) {
+        return true;
+    }
+
+    @Override
+    protected long getEntryLastModified(File container, File entry) {
+        return entry.isFile() ? entry.lastModified() : -1;
+    }
+
     @Override
     protected Resource getEntry(File container, final File entry) {
         if (entry.isDirectory()) {
@@ -46,7 +46,11 @@ public abstract class AbstractZipArchiveScannerPlugin<D extends ZipArchiveDescri
         scannerContext.push(ZipArchiveDescriptor.class, archive);
         Scope archiveScope = createScope(currentScope, archive, scannerContext);
 
-        try (ZipFileResource zipFile = new ZipFileResource(file.getFile())) {
+        long maxInMemoryBytes = scanner.getConfiguration()
+            .archive()
+            .maxInMemoryBytes();
+        // nested archives are read from a channel provided by the file resource, i.e. they are not necessarily extracted to a temporary file
+        try (ZipFileResource zipFile = new ZipFileResource(file.toString(), file.createChannel(), maxInMemoryBytes)) {
             scanner.scan(zipFile, path, archiveScope);
             archive.setValid(true);
         } catch (IOException e) {
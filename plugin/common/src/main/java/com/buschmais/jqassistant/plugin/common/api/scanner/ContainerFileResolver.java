@@ -1,8 +1,10 @@
 package com.buschmais.jqassistant.plugin.common.api.scanner;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
@@ -29,12 +31,32 @@ public class ContainerFileResolver extends AbstractFileResolver {
 
     private final Map<String, FileDescriptor> containedFiles;
 
+    private final Map<String, FileDescriptor> existingFiles;
+
+    private final boolean incremental;
+
     public ContainerFileResolver(ScannerContext scannerContext, FileContainerDescriptor fileContainerDescriptor) {
+        this(scannerContext, fileContainerDescriptor, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param scannerContext
+     *            The {@link ScannerContext}.
+     * @param fileContainerDescriptor
+     *            The {@link FileContainerDescriptor}.
+     * @param incremental
+     *            If <code>true</code> the files which are already contained in the container are re-used if they are scanned again.
+     */
+    public ContainerFileResolver(ScannerContext scannerContext, FileContainerDescriptor fileContainerDescriptor, boolean incremental) {
         super(CACHE_KEY + "/" + fileContainerDescriptor.getId());
         this.fileContainerDescriptor = fileContainerDescriptor;
         this.scannerContext = scannerContext;
+        this.incremental = incremental;
         this.containedFiles = getCache(fileContainerDescriptor.getContains());
         this.requiredFiles = getCache(fileContainerDescriptor.getRequires());
+        this.existingFiles = new HashMap<>(containedFiles);
     }
 
     @Override
@@ -53,7 +75,8 @@ public class ContainerFileResolver extends AbstractFileResolver {
 
     @Override
     public <D extends FileDescriptor> D match(String containedPath, Class<D> type, ScannerContext context) {
-        FileDescriptor fileDescriptor = requiredFiles.remove(containedPath);
+        FileDescriptor requiredFile = requiredFiles.remove(containedPath);
+        FileDescriptor fileDescriptor = requiredFile == null && incremental ? existingFiles.get(containedPath) : requiredFile;
         return getOrCreateAs(containedPath, type, path -> fileDescriptor, context);
     }
 
@@ -125,13 +148,68 @@ public class ContainerFileResolver extends AbstractFileResolver {
             if (separatorIndex != -1) {
                 String parentName = relativePath.substring(0, separatorIndex);
                 FileDescriptor parentDescriptor = containedFiles.get(parentName);
-                if (parentDescriptor instanceof FileContainerDescriptor) {
+                if (parentDescriptor instanceof FileContainerDescriptor && !(isExisting(relativePath, fileDescriptor) && isExisting(parentName,
+                    parentDescriptor))) {
                     ((FileContainerDescriptor) parentDescriptor).getContains().add(fileDescriptor);
                 }
             }
         }
     }
 
+    /**
+     * Determines if a file has already been contained in the container before, i.e. the relations of the hierarchy exist.
+     *
+     * @param path
+     *            The path of the file.
+     * @param fileDescriptor
+     *            The file descriptor.
+     * @return <code>true</code> if the file has already been contained.
+     */
+    private boolean isExisting(String path, FileDescriptor fileDescriptor) {
+        FileDescriptor existingFile = existingFiles.get(path);
+        return existingFile != null && Objects.equals(existingFile.getId(), fileDescriptor.getId());
+    }
+
+    /**
+     * Return the files which have been contained in the container before scanning.
+     *
+     * @return The files per path.
+     */
+    public Map<String, FileDescriptor> getExistingFiles() {
+        return Collections.unmodifiableMap(existingFiles);
+    }
+
+    /**
+     * Removes a file from the container, e.g. if it has been deleted.
+     *
+     * @param path
+     *            The path of the file.
+     * @param required
+     *            <code>true</code> if the file is still referenced and therefore shall be required by the container.
+     */
+    public void remove(String path, boolean required) {
+        FileDescriptor fileDescriptor = containedFiles.remove(path);
+        existingFiles.remove(path);
+        if (required && fileDescriptor != null) {
+            requiredFiles.put(path, fileDescriptor);
+        }
+    }
+
+    /**
+     * Replaces the instance representing an existing file of the container, e.g. after it has been reset by
+     * {@link SubgraphRemover#reset(FileDescriptor)}.
+     *
+     * @param path
+     *            The path of the file.
+     * @param fileDescriptor
+     *            The file descriptor.
+     */
+    public void replace(String path, FileDescriptor fileDescriptor) {
+        containedFiles.put(path, fileDescriptor);
+        existingFiles.put(path, fileDescriptor);
+        scannerContext.getStore().getCache(CACHE_KEY + "/" + fileContainerDescriptor.getId()).invalidate(path);
+    }
+
     /**
      * Adds a file to the container.
      *
@@ -0,0 +1,277 @@
+package com.buschmais.jqassistant.plugin.common.api.scanner;
+
+import java.util.*;
+
+import com.buschmais.jqassistant.core.store.api.CacheListener;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
+import com.buschmais.xo.api.CompositeObject;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
+import com.buschmais.xo.api.XOManager;
+import com.buschmais.xo.neo4j.api.annotation.Label;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Removes the subgraphs which have been created by previous scans of files, e.g. if these have been modified or deleted (incremental scan).
+ * <p>
+ * The subgraph of a file is determined starting from its node by following outgoing relationships. A node belongs to the subgraph if it is not a
+ * file itself and all of its incoming relationships originate from the subgraph, i.e. nodes which are also referenced from outside (e.g. types of
+ * other files) are not part of it. Nodes declared by the subgraph which are referenced from outside (e.g. methods invoked by other types) are kept
+ * together with their <code>DECLARES</code> relationships, as scanner plugins resolve members using these relationships. These members are reset to
+ * the state of referenced members which have not been scanned yet, i.e. only their signature and base labels are kept. The files contained by a
+ * file (e.g. the entries of an archive) are removed as well.
+ * <p>
+ * The nodes of modified files are kept as they might be referenced from outside. Before re-scanning they must be reset to plain file nodes using
+ * {@link #reset(FileDescriptor)}, i.e. the labels and properties which have been added by the previous scan are removed.
+ * <p>
+ * The results of previous analyses (i.e. the nodes of applied rules) are removed as well if the graph changes, as concepts must be applied again
+ * for the new or modified subgraphs.
+ */
+public class SubgraphRemover {
+
+    /**
+     * The key of a store cache which is invalidated if subgraphs have been removed or file nodes have been reset. Caches holding descriptors outside
+     * of the store (e.g. of types) may register a {@link CacheListener} using {@link Store#addCacheListener}
+     * which is notified with this key.
+     */
+    public static final String CACHE_KEY = SubgraphRemover.class.getName();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubgraphRemover.class);
+
+    private static final String PARAMETER_IDS = "ids";
+
+    private static final String PARAMETER_MEMBERS = "members";
+
+    private static final String PARAMETER_LABELS = "labels";
+
+    private static final String ID = "id";
+
+    private static final String FILE_NAME = "fileName";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private static final String LABELS = "labels";
+
+    private static final String LABEL = "label";
+
+    private static final String SIGNATURE = "signature";
+
+    private static final Set<String> FILE_LABELS = getLabels(FileDescriptor.class);
+
+    /**
+     * The labels of members which are created by scanner plugins for references, i.e. before their declaring type has been scanned.
+     */
+    private static final Set<String> MEMBER_LABELS = new HashSet<>(Arrays.asList("Java", "Member", "Method", "Constructor", "Field"));
+
+    private final Store store;
+
+    /**
+     * Constructor.
+     *
+     * @param store
+     *     The {@link Store}.
+     */
+    public SubgraphRemover(Store store) {
+        this.store = store;
+    }
+
+    /**
+     * Remove the subgraphs of the given modified and deleted files.
+     *
+     * @param modifiedFiles
+     *     The modified files, their nodes are kept for being re-scanned and must be reset using {@link #reset(FileDescriptor)}.
+     * @param deletedFiles
+     *     The deleted files, their nodes are removed if they are not referenced from outside of the removed subgraphs.
+     * @param <D>
+     *     The descriptor type of the deleted files.
+     * @return The deleted files which are still referenced and therefore have been kept.
+     */
+    public <D extends Descriptor> List<D> remove(Collection<? extends FileDescriptor> modifiedFiles, Collection<D> deletedFiles) {
+        if (modifiedFiles.isEmpty() && deletedFiles.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Object> deletedFileIds = getIds(deletedFiles);
+        deletedFileIds.addAll(query("MATCH (file)-[:CONTAINS*]->(contained:File) WHERE id(file) IN $ids RETURN DISTINCT id(contained) as id",
+            union(getIds(modifiedFiles), deletedFileIds)));
+        Set<Object> roots = union(getIds(modifiedFiles), deletedFileIds);
+        Set<Object> members = new HashSet<>();
+        Set<Object> nodes = new HashSet<>();
+        boolean changed;
+        do {
+            Set<Object> subgraph = union(roots, nodes);
+            Set<Object> owned = query("MATCH (node)-->(owned) WHERE id(node) IN $ids AND NOT id(owned) IN $ids AND NOT owned:File "
+                + "AND all(referencing IN [(referencing)-->(owned) | referencing] WHERE referencing = owned OR id(referencing) IN $ids) "
+                + "RETURN DISTINCT id(owned) as id", subgraph);
+            if (owned.isEmpty()) {
+                owned = query("MATCH (node)-[:DECLARES]->(member) WHERE id(node) IN $ids AND NOT id(member) IN $ids AND NOT member:File "
+                    + "RETURN DISTINCT id(member) as id", subgraph);
+                members.addAll(owned);
+                roots.addAll(owned);
+            } else {
+                nodes.addAll(owned);
+            }
+            changed = !owned.isEmpty();
+        } while (changed);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(PARAMETER_IDS, new ArrayList<>(roots));
+        parameters.put(PARAMETER_MEMBERS, new ArrayList<>(members));
+        execute("MATCH (node)-[relation]->(target) WHERE id(node) IN $ids AND NOT (type(relation)='DECLARES' AND id(target) IN $members) DELETE relation",
+            parameters);
+        execute("MATCH (node) WHERE id(node) IN $ids DETACH DELETE node", singletonMap(PARAMETER_IDS, new ArrayList<>(nodes)));
+        if (!members.isEmpty()) {
+            resetMembers(members);
+        }
+        Set<Object> keptFileIds = query("MATCH (file) WHERE id(file) IN $ids AND (exists{ ()-[relation]->(file) WHERE type(relation)<>'CONTAINS' } OR exists{ (file)-->() }) "
+            + "OPTIONAL MATCH ()-[contains:CONTAINS]->(file) DELETE contains RETURN DISTINCT id(file) as id", deletedFileIds);
+        deletedFileIds.removeAll(keptFileIds);
+        execute("MATCH (file) WHERE id(file) IN $ids DETACH DELETE file", singletonMap(PARAMETER_IDS, new ArrayList<>(deletedFileIds)));
+        removeAnalysisResults();
+        store.invalidateCache(CACHE_KEY);
+        LOGGER.debug("Removed subgraphs of {} modified and {} deleted file(s) ({} nodes, {} deleted files kept).", modifiedFiles.size(), deletedFiles.size(),
+            nodes.size() + deletedFileIds.size(), keptFileIds.size());
+        List<D> keptFiles = new ArrayList<>();
+        for (D deletedFile : deletedFiles) {
+            if (keptFileIds.contains(deletedFile.getId())) {
+                keptFiles.add(deletedFile);
+            }
+        }
+        return keptFiles;
+    }
+
+    /**
+     * Remove the results of previous analyses, i.e. the nodes of applied rules. This is required if files have been added to the graph by an
+     * incremental scan, as otherwise concepts would be skipped as already applied.
+     */
+    public void removeAnalysisResults() {
+        execute("MATCH (rule:jQAssistant:Rule) DETACH DELETE rule", emptyMap());
+    }
+
+    /**
+     * Reset the node of a modified file to a plain file node, i.e. remove all descriptor types, labels and properties besides the ones of a
+     * {@link FileDescriptor}.
+     * <p>
+     * The types are removed using the {@link XOManager}, therefore the returned instance replaces the given one. Labels which are not mapped to
+     * descriptor types (e.g. added by concepts) are removed afterwards.
+     *
+     * @param file
+     *     The {@link FileDescriptor} of the modified file.
+     * @return The {@link FileDescriptor} representing the reset file node.
+     */
+    public FileDescriptor reset(FileDescriptor file) {
+        List<Class<?>> obsoleteTypes = new ArrayList<>();
+        for (Class<?> type : file.getClass()
+            .getInterfaces()) {
+            if (Descriptor.class.isAssignableFrom(type) && !type.isAssignableFrom(FileDescriptor.class)) {
+                obsoleteTypes.add(type);
+            }
+        }
+        FileDescriptor fileDescriptor = file;
+        if (!obsoleteTypes.isEmpty()) {
+            // the file type is added afterwards as it might only be provided by one of the obsolete types (e.g. a class file)
+            XOManager xoManager = store.getXOManager();
+            CompositeObject compositeObject = xoManager.migrate(file)
+                .remove(obsoleteTypes.get(0), obsoleteTypes.subList(1, obsoleteTypes.size())
+                    .toArray(new Class<?>[0]));
+            fileDescriptor = xoManager.migrate(compositeObject)
+                .add(FileDescriptor.class)
+                .as(FileDescriptor.class);
+        }
+        Map<String, Object> parameters = singletonMap(ID, fileDescriptor.getId());
+        execute("MATCH (file) WHERE id(file)=$id SET file={" + FILE_NAME + ":file." + FILE_NAME + ", " + LAST_MODIFIED + ":file." + LAST_MODIFIED + "}",
+            parameters);
+        StringBuilder obsoleteLabels = new StringBuilder();
+        try (Result<CompositeRowObject> rows = store.executeQuery("MATCH (file) WHERE id(file)=$id RETURN labels(file) as " + LABELS, parameters)) {
+            for (CompositeRowObject row : rows) {
+                for (Object label : row.get(LABELS, List.class)) {
+                    if (!FILE_LABELS.contains(label)) {
+                        appendLabel(obsoleteLabels, (String) label);
+                    }
+                }
+            }
+        }
+        if (obsoleteLabels.length() > 0) {
+            execute("MATCH (file) WHERE id(file)=$id REMOVE file" + obsoleteLabels, parameters);
+        }
+        store.invalidateCache(CACHE_KEY);
+        return fileDescriptor;
+    }
+
+    /**
+     * Reset the kept members of removed subgraphs to plain members, i.e. remove all labels and properties besides the signature and the
+     * {@link #MEMBER_LABELS}. This is required as scanner plugins only set properties like modifiers if they apply (e.g. <code>static</code>).
+     *
+     * @param members
+     *     The ids of the members.
+     */
+    private void resetMembers(Set<Object> members) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(PARAMETER_MEMBERS, new ArrayList<>(members));
+        parameters.put(PARAMETER_LABELS, new ArrayList<>(MEMBER_LABELS));
+        execute("MATCH (member) WHERE id(member) IN $members SET member={" + SIGNATURE + ":member." + SIGNATURE + "}", parameters);
+        StringBuilder obsoleteLabels = new StringBuilder();
+        try (Result<CompositeRowObject> rows = store.executeQuery(
+            "MATCH (member) WHERE id(member) IN $members UNWIND labels(member) as label WITH DISTINCT label WHERE NOT label IN $labels RETURN label",
+            parameters)) {
+            for (CompositeRowObject row : rows) {
+                appendLabel(obsoleteLabels, row.get(LABEL, String.class));
+            }
+        }
+        if (obsoleteLabels.length() > 0) {
+            execute("MATCH (member) WHERE id(member) IN $members REMOVE member" + obsoleteLabels, parameters);
+        }
+    }
+
+    private Set<Object> query(String query, Set<Object> ids) {
+        Set<Object> result = new HashSet<>();
+        try (Result<CompositeRowObject> rows = store.executeQuery(query, singletonMap(PARAMETER_IDS, new ArrayList<>(ids)))) {
+            for (CompositeRowObject row : rows) {
+                result.add(row.get(ID, Object.class));
+            }
+        }
+        return result;
+    }
+
+    private void execute(String query, Map<String, Object> parameters) {
+        store.executeQuery(query, parameters)
+            .close();
+    }
+
+    private static Set<Object> getIds(Collection<? extends Descriptor> descriptors) {
+        Set<Object> ids = new HashSet<>();
+        for (Descriptor descriptor : descriptors) {
+            ids.add(descriptor.getId());
+        }
+        return ids;
+    }
+
+    private static Set<String> getLabels(Class<?> type) {
+        Set<String> labels = new HashSet<>();
+        Label label = type.getAnnotation(Label.class);
+        if (label != null) {
+            labels.add(label.value());
+        }
+        for (Class<?> superType : type.getInterfaces()) {
+            labels.addAll(getLabels(superType));
+        }
+        return labels;
+    }
+
+    private static void appendLabel(StringBuilder labels, String label) {
+        labels.append(":`")
+            .append(label.replace("`", "``"))
+            .append('`');
+    }
+
+    private static Set<Object> union(Set<Object> first, Set<Object> second) {
+        Set<Object> union = new HashSet<>(first);
+        union.addAll(second);
+        return union;
+    }
+}
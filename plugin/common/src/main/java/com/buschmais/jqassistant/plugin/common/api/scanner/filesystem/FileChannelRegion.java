@@ -0,0 +1,185 @@
+package com.buschmais.jqassistant.plugin.common.api.scanner.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A read-only {@link FileChannel} providing a region of another {@link FileChannel}, e.g. an uncompressed entry of a ZIP file.
+ * <p>
+ * All reads are delegated as positional reads to the underlying channel, i.e. regions may be read concurrently. Closing a region does not close
+ * the underlying channel.
+ */
+class FileChannelRegion extends FileChannel {
+
+    private final FileChannel channel;
+
+    private final long offset;
+
+    private final long size;
+
+    private long position = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *     The underlying {@link FileChannel}.
+     * @param offset
+     *     The offset of the region within the underlying {@link FileChannel}.
+     * @param size
+     *     The size of the region.
+     */
+    FileChannelRegion(FileChannel channel, long offset, long size) {
+        this.channel = channel;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        int bytes = read(dst, position);
+        if (bytes > 0) {
+            position += bytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int bytes = read(dsts[i]);
+            if (bytes < 0) {
+                return total > 0 ? total : -1;
+            }
+            total += bytes;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        ensureOpen();
+        if (position < 0) {
+            throw new IllegalArgumentException("Negative position: " + position);
+        }
+        long remaining = size - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int limit = dst.limit();
+        if (dst.remaining() > remaining) {
+            dst.limit(dst.position() + (int) remaining);
+        }
+        try {
+            return channel.read(dst, offset + position);
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized FileChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ensureOpen();
+        long remaining = size - position;
+        if (remaining <= 0) {
+            return 0;
+        }
+        return channel.transferTo(offset + position, Math.min(count, remaining), target);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        ensureOpen();
+        if (mode != MapMode.READ_ONLY) {
+            throw new NonWritableChannelException();
+        }
+        if (position < 0 || size < 0 || position + size > this.size) {
+            throw new IllegalArgumentException("Region [" + position + ", " + (position + size) + "] exceeds size " + this.size);
+        }
+        return channel.map(mode, offset + position, size);
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public FileChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public void force(boolean metaData) {
+        // nothing to do for a read-only channel
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) {
+        throw new UnsupportedOperationException("Locking is not supported for regions of a file channel.");
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) {
+        throw new UnsupportedOperationException("Locking is not supported for regions of a file channel.");
+    }
+
+    @Override
+    protected void implCloseChannel() {
+        // the underlying channel is owned by the creator of the region
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -2,13 +2,34 @@ package com.buschmais.jqassistant.plugin.common.api.scanner.filesystem;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+
+import com.buschmais.jqassistant.core.scanner.api.ContentProvider;
+
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Represents a file resource.
  */
-public interface FileResource extends Resource {
+public interface FileResource extends Resource, ContentProvider {
 
+    @Override
     InputStream createStream() throws IOException;
 
     java.io.File getFile() throws IOException;
+
+    /**
+     * Create a {@link SeekableByteChannel} providing random access to the content of the file resource, e.g. for reading archives.
+     * <p>
+     * The default implementation opens the file provided by {@link #getFile()}, implementations may override this method to avoid creating a
+     * temporary file. The channel must be closed by the caller.
+     *
+     * @return The {@link SeekableByteChannel}.
+     * @throws IOException
+     *     If the channel cannot be created.
+     */
+    default SeekableByteChannel createChannel() throws IOException {
+        return FileChannel.open(getFile().toPath(), READ);
+    }
 }
@@ -3,8 +3,22 @@ package com.buschmais.jqassistant.plugin.common.api.scanner.filesystem;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
 
+import org.apache.commons.compress.archivers.EntryStreamOffsets;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.commons.io.IOUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 
 /**
  * Represents a ZIP file resource.
@@ -12,10 +26,35 @@ import org.apache.commons.compress.archivers.zip.ZipFile;
 public class ZipFileResource implements Closeable {
     private final ZipFile zipFile;
     private final String path;
+    private final SeekableByteChannel channel;
+    private final long maxInMemoryBytes;
 
     public ZipFileResource(File file) throws IOException {
-        path = file.getPath();
-        this.zipFile = new ZipFile(file);
+        this(file.getPath(), FileChannel.open(file.toPath(), READ), 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param path
+     *     The path of the ZIP file used for messages.
+     * @param channel
+     *     The {@link SeekableByteChannel} providing the content of the ZIP file, it is closed together with this resource.
+     * @param maxInMemoryBytes
+     *     The maximum size in bytes of a compressed entry which is inflated into memory by {@link #createEntryChannel(ZipArchiveEntry)}.
+     * @throws IOException
+     *     If the ZIP file cannot be read.
+     */
+    public ZipFileResource(String path, SeekableByteChannel channel, long maxInMemoryBytes) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.maxInMemoryBytes = maxInMemoryBytes;
+        try {
+            this.zipFile = new ZipFile(channel, path, UTF_8.name(), true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
     }
 
     @Override
@@ -40,4 +79,32 @@ public class ZipFileResource implements Closeable {
     public ZipFile getZipFile() {
         return zipFile;
     }
+
+    /**
+     * Create a {@link SeekableByteChannel} for reading an entry without extracting it to a file, e.g. if it is a nested archive.
+     * <p>
+     * Uncompressed (stored) entries are read in place from the channel of this ZIP file if it is a {@link FileChannel}, compressed entries are
+     * inflated into memory if their size does not exceed the configured maximum.
+     *
+     * @param entry
+     *     The {@link ZipArchiveEntry}.
+     * @return The {@link SeekableByteChannel} or {@link Optional#empty()} if the entry must be extracted to a file.
+     * @throws IOException
+     *     If the entry cannot be read.
+     */
+    public Optional<SeekableByteChannel> createEntryChannel(ZipArchiveEntry entry) throws IOException {
+        long size = entry.getSize();
+        if (size < 0) {
+            return empty();
+        }
+        if (entry.getMethod() == ZipEntry.STORED && channel instanceof FileChannel && entry.getDataOffset() != EntryStreamOffsets.OFFSET_UNKNOWN) {
+            return of(new FileChannelRegion((FileChannel) channel, entry.getDataOffset(), size));
+        }
+        if (size <= maxInMemoryBytes) {
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                return of(new SeekableInMemoryByteChannel(IOUtils.toByteArray(inputStream, size)));
+            }
+        }
+        return empty();
+    }
 }
@@ -113,12 +113,12 @@ public class JUnitReportPlugin implements ReportPlugin {
 
     @Override
     public void setResult(Result<? extends ExecutableRule> result) {
-        long ruleEndTimestamp = System.currentTimeMillis();
-        long time = ruleEndTimestamp - ruleBeginTimestamp;
+        Long duration = result.getDuration();
+        long time = duration != null ? duration : System.currentTimeMillis() - ruleBeginTimestamp;
         Group group = groups.peek();
         GroupInfo groupInfo = results.get(group);
         groupInfo.getResults()
-            .put(result, Long.valueOf(time));
+            .put(result, time);
     }
 
     private void pushGroup(Group group) {
@@ -109,19 +109,7 @@ public abstract class AbstractArchiveInputStreamScannerPlugin<S extends ArchiveI
             return new AbstractVirtualFileResource() {
                 @Override
                 public InputStream createStream() {
-                    return new InputStream() {
-
-                        int read = 0;
-
-                        @Override
-                        public int read() throws IOException {
-                            if (read < entry.getSize()) {
-                                read++;
-                                return container.read();
-                            }
-                            return -1;
-                        }
-                    };
+                    return new EntryInputStream(container, entry.getSize());
                 }
 
                 @Override
@@ -132,4 +120,63 @@ public abstract class AbstractArchiveInputStreamScannerPlugin<S extends ArchiveI
         }
     }
 
+    /**
+     * The {@link InputStream} for the content of the current entry of an archive, reads are delegated to the archive stream in bulk and are
+     * limited to the size of the entry (if known). Closing the stream does not close the archive.
+     */
+    private static class EntryInputStream extends InputStream {
+
+        private final InputStream container;
+
+        private long remaining;
+
+        private EntryInputStream(InputStream container, long size) {
+            this.container = container;
+            this.remaining = size < 0 ? Long.MAX_VALUE : size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = container.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = container.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = container.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(container.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+            // the archive stream is closed by the scanner plugin
+        }
+    }
 }
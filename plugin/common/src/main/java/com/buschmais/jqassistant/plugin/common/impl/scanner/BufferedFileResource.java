@@ -4,6 +4,7 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 
 import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
 
@@ -57,6 +58,11 @@ public class BufferedFileResource implements FileResource {
         return fileResource.getFile();
     }
 
+    @Override
+    public SeekableByteChannel createChannel() throws IOException {
+        return fileResource.createChannel();
+    }
+
     @Override
     public void close() throws IOException {
         fileResource.close();
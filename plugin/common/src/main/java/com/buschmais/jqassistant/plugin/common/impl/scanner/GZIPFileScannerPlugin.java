@@ -6,6 +6,7 @@ import java.util.zip.GZIPInputStream;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.core.store.api.Store;
@@ -19,6 +20,7 @@ import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResour
  * Scanner plugin for GZipped file resources.
  */
 @Requires(FileDescriptor.class)
+@Matches(extensions = ".gz")
 public class GZIPFileScannerPlugin
         extends AbstractScannerPlugin<FileResource, GZipFileDescriptor> {
 
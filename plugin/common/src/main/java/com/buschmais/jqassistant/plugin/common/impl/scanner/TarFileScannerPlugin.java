@@ -1,8 +1,12 @@
 package com.buschmais.jqassistant.plugin.common.impl.scanner;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
@@ -11,20 +15,64 @@ import com.buschmais.jqassistant.plugin.common.api.scanner.AbstractScannerPlugin
 import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Scanner plugin for TAR file resources.
+ * <p>
+ * Besides plain TAR files the compressed variants <code>.tgz</code>, <code>.tar.zst</code> and <code>.tzst</code> are decompressed while
+ * streaming through the archive. Files with the extension <code>.tar.gz</code> are decompressed by the {@link GZIPFileScannerPlugin} which
+ * passes the uncompressed stream to this plugin.
+ * <p>
+ * Zstandard compression requires the optional dependency <code>com.github.luben:zstd-jni</code>, if it is not available on the classpath
+ * <code>.tar.zst</code> and <code>.tzst</code> files are not accepted by this plugin.
  */
 @Requires(FileDescriptor.class)
+@Matches(extensions = { ".tar", ".tgz", ".tar.zst", ".tzst" })
 public class TarFileScannerPlugin extends AbstractScannerPlugin<FileResource, TarArchiveDescriptor> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TarFileScannerPlugin.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     @Override
     public boolean accepts(FileResource item, String path, Scope scope) throws IOException {
-        return path.toLowerCase().endsWith(".tar");
+        String lowerCasePath = path.toLowerCase();
+        if (isZstdCompressed(lowerCasePath)) {
+            if (!ZstdUtils.isZstdCompressionAvailable()) {
+                LOGGER.warn("Skipping decompression of '{}' as Zstandard compression is not available (requires 'com.github.luben:zstd-jni').", path);
+                return false;
+            }
+            return true;
+        }
+        return lowerCasePath.endsWith(".tar") || isGZipped(lowerCasePath);
     }
 
     @Override
     public TarArchiveDescriptor scan(final FileResource item, String path, Scope scope, Scanner scanner) throws IOException {
-        return scanner.scan(new TarArchiveInputStream(item.createStream()), path, scope);
+        try (TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(createStream(item, path.toLowerCase()))) {
+            return scanner.scan(tarArchiveInputStream, path, scope);
+        }
+    }
+
+    private InputStream createStream(FileResource item, String lowerCasePath) throws IOException {
+        InputStream stream = new BufferedInputStream(item.createStream(), BUFFER_SIZE);
+        if (isGZipped(lowerCasePath)) {
+            return new BufferedInputStream(new GZIPInputStream(stream, BUFFER_SIZE), BUFFER_SIZE);
+        } else if (isZstdCompressed(lowerCasePath)) {
+            return new BufferedInputStream(new ZstdCompressorInputStream(stream), BUFFER_SIZE);
+        }
+        return stream;
+    }
+
+    private static boolean isGZipped(String lowerCasePath) {
+        return lowerCasePath.endsWith(".tgz");
+    }
+
+    private static boolean isZstdCompressed(String lowerCasePath) {
+        return lowerCasePath.endsWith(".tar.zst") || lowerCasePath.endsWith(".tzst");
     }
 }
@@ -2,8 +2,10 @@ package com.buschmais.jqassistant.plugin.common.impl.scanner;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.Optional;
 
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
@@ -95,6 +97,12 @@ public class ZipFileScannerPlugin
             return container.getZipFile().getInputStream(entry);
         }
 
+        @Override
+        public SeekableByteChannel createChannel() throws IOException {
+            Optional<SeekableByteChannel> entryChannel = container.createEntryChannel(entry);
+            return entryChannel.isPresent() ? entryChannel.get() : super.createChannel();
+        }
+
         @Override
         public String toString() {
             String containerPath = container.getPath();
@@ -0,0 +1,81 @@
+package com.buschmais.jqassistant.plugin.common.impl.scanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
+import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.Resource;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TarArchiveInputStreamScannerPluginTest {
+
+    private static final String CONTENT1 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".repeat(1000);
+
+    private static final String CONTENT2 = "abcdefghijklmnopqrstuvwxyz";
+
+    private final TarArchiveInputStreamScannerPlugin plugin = new TarArchiveInputStreamScannerPlugin();
+
+    @Test
+    void bulkRead() throws IOException {
+        try (TarArchiveInputStream container = createTarArchive()) {
+            assertThat(readEntry(container)).isEqualTo(CONTENT1);
+            assertThat(readEntry(container)).isEqualTo(CONTENT2);
+            assertThat(plugin.getNextEntry(container)).isNull();
+        }
+    }
+
+    @Test
+    void skipAndAvailable() throws IOException {
+        try (TarArchiveInputStream container = createTarArchive()) {
+            try (InputStream stream = createEntryStream(container)) {
+                assertThat(stream.skip(CONTENT1.length() - 1)).isEqualTo(CONTENT1.length() - 1);
+                assertThat(stream.available()).isLessThanOrEqualTo(1);
+                assertThat(stream.read()).isEqualTo('Z');
+                assertThat(stream.read()).isEqualTo(-1);
+                assertThat(stream.read(new byte[10], 0, 10)).isEqualTo(-1);
+                assertThat(stream.skip(10)).isZero();
+            }
+            assertThat(readEntry(container)).isEqualTo(CONTENT2);
+        }
+    }
+
+    private String readEntry(TarArchiveInputStream container) throws IOException {
+        try (InputStream stream = createEntryStream(container)) {
+            return new String(IOUtils.toByteArray(stream));
+        }
+    }
+
+    private InputStream createEntryStream(TarArchiveInputStream container) throws IOException {
+        TarArchiveEntry entry = plugin.getNextEntry(container);
+        Resource resource = plugin.getEntry(container, entry);
+        assertThat(resource).isInstanceOf(FileResource.class);
+        return ((FileResource) resource).createStream();
+    }
+
+    private TarArchiveInputStream createTarArchive() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(outputStream)) {
+            addEntry(tarOutputStream, "test1.txt", CONTENT1);
+            addEntry(tarOutputStream, "test2.txt", CONTENT2);
+            tarOutputStream.finish();
+        }
+        return new TarArchiveInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private void addEntry(TarArchiveOutputStream tarOutputStream, String fileName, String content) throws IOException {
+        TarArchiveEntry fileEntry = new TarArchiveEntry(fileName);
+        fileEntry.setSize(content.length());
+        tarOutputStream.putArchiveEntry(fileEntry);
+        tarOutputStream.write(content.getBytes());
+        tarOutputStream.closeArchiveEntry();
+    }
+}
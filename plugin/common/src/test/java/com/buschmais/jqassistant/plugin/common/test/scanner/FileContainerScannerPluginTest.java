@@ -8,6 +8,7 @@ import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
+import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.plugin.common.api.model.DirectoryDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
@@ -34,6 +35,9 @@ public class FileContainerScannerPluginTest {
     @Mock
     private Scanner scanner;
 
+    @Mock
+    private Scan configuration;
+
     @Mock
     private ScannerContext context;
 
@@ -46,6 +50,7 @@ public class FileContainerScannerPluginTest {
     @BeforeEach
     public void stub() {
         when(scanner.getContext()).thenReturn(context);
+        when(scanner.getConfiguration()).thenReturn(configuration);
         when(context.getStore()).thenReturn(store);
         when(store.create(FileDescriptor.class)).thenReturn(mock(FileDescriptor.class));
         doReturn(cache).when(store).getCache(anyString());
@@ -3,13 +3,17 @@ package com.buschmais.jqassistant.plugin.common.test.scanner;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
+import com.buschmais.jqassistant.plugin.common.api.model.GZipFileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.TarArchiveDescriptor;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
 import org.junit.jupiter.api.Test;
 
 import static com.buschmais.jqassistant.plugin.common.test.assertj.FileDescriptorCondition.fileDescriptor;
@@ -30,38 +34,85 @@ class TarScannerIT extends com.buschmais.jqassistant.core.test.plugin.AbstractPl
         test(FileResourceStrategy.Url);
     }
 
+    @Test
+    void tgzFile() throws Exception {
+        test(FileResourceStrategy.File, ".tgz");
+    }
+
+    @Test
+    void tarZstFile() throws Exception {
+        test(FileResourceStrategy.File, ".tar.zst");
+    }
+
+    @Test
+    void tarGzFile() throws Exception {
+        File archive = createTarArchive(".tar.gz");
+        try {
+            store.beginTransaction();
+            FileDescriptor descriptor = getScanner().scan(archive, archive.getAbsolutePath(), DefaultScope.NONE);
+            assertThat(descriptor).isInstanceOf(GZipFileDescriptor.class);
+            GZipFileDescriptor gZipFileDescriptor = (GZipFileDescriptor) descriptor;
+            assertThat(gZipFileDescriptor.getContains()).hasSize(1);
+            verify(gZipFileDescriptor.getContains()
+                .get(0));
+            store.commitTransaction();
+        } finally {
+            archive.delete();
+        }
+    }
+
     private void test(FileResourceStrategy strategy) throws Exception {
-        File archive = createTarArchive();
+        test(strategy, ".tar");
+    }
+
+    private void test(FileResourceStrategy strategy, String suffix) throws Exception {
+        File archive = createTarArchive(suffix);
         try {
             store.beginTransaction();
-            FileDescriptor descriptor = getScanner().scan(strategy.get(archive), archive.getAbsolutePath(), DefaultScope.NONE);
-            assertThat(descriptor).isInstanceOf(TarArchiveDescriptor.class);
-            TarArchiveDescriptor archiveDescriptor = (TarArchiveDescriptor) descriptor;
-            assertThat(archiveDescriptor.getContains()
-                .size()).isEqualTo(2);
-            assertThat(archiveDescriptor.getContains()).haveAtLeastOne(fileDescriptor("/test1.txt"));
-            assertThat(archiveDescriptor.getContains()).haveAtLeastOne(fileDescriptor("/test2.txt"));
+            verify(getScanner().scan(strategy.get(archive), archive.getAbsolutePath(), DefaultScope.NONE));
             store.commitTransaction();
         } finally {
             archive.delete();
         }
     }
 
+    private void verify(FileDescriptor descriptor) {
+        assertThat(descriptor).isInstanceOf(TarArchiveDescriptor.class);
+        TarArchiveDescriptor archiveDescriptor = (TarArchiveDescriptor) descriptor;
+        assertThat(archiveDescriptor.getContains()
+            .size()).isEqualTo(2);
+        assertThat(archiveDescriptor.getContains()).haveAtLeastOne(fileDescriptor("/test1.txt"));
+        assertThat(archiveDescriptor.getContains()).haveAtLeastOne(fileDescriptor("/test2.txt"));
+    }
+
     /**
-     * Creates a TAR archive.
+     * Creates a TAR archive, compressed according to the given suffix.
      *
+     * @param suffix
+     *     The suffix of the archive.
      * @return archive The archive.
      * @throws IOException
      */
-    private File createTarArchive() throws IOException {
-        File archive = File.createTempFile("test", ".tar");
-        TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(new FileOutputStream(archive));
-        addEntry(tarOutputStream, "test1.txt", "Foo");
-        addEntry(tarOutputStream, "test2.txt", "Bar");
-        tarOutputStream.finish();
+    private File createTarArchive(String suffix) throws IOException {
+        File archive = File.createTempFile("test", suffix);
+        try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(createOutputStream(archive, suffix))) {
+            addEntry(tarOutputStream, "test1.txt", "Foo");
+            addEntry(tarOutputStream, "test2.txt", "Bar");
+            tarOutputStream.finish();
+        }
         return archive;
     }
 
+    private OutputStream createOutputStream(File archive, String suffix) throws IOException {
+        OutputStream outputStream = new FileOutputStream(archive);
+        if (suffix.endsWith("gz")) {
+            return new GZIPOutputStream(outputStream);
+        } else if (suffix.endsWith(".zst")) {
+            return new ZstdCompressorOutputStream(outputStream);
+        }
+        return outputStream;
+    }
+
     private void addEntry(TarArchiveOutputStream tarOutputStream, String fileName, String content) throws IOException {
         TarArchiveEntry fileEntry = new TarArchiveEntry(fileName);
         fileEntry.setSize(content.getBytes().length);
@@ -0,0 +1,102 @@
+package com.buschmais.jqassistant.plugin.common.test.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.ZipFileResource;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipFileResourceTest {
+
+    private static final String STORED = "stored.jar";
+
+    private static final String DEFLATED = "deflated.jar";
+
+    private static final byte[] CONTENT = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".repeat(100)
+        .getBytes();
+
+    @TempDir
+    Path directory;
+
+    private File zipFile;
+
+    @BeforeEach
+    void createZipFile() throws IOException {
+        zipFile = directory.resolve("test.zip")
+            .toFile();
+        try (ZipArchiveOutputStream outputStream = new ZipArchiveOutputStream(zipFile)) {
+            ZipArchiveEntry storedEntry = new ZipArchiveEntry(STORED);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(CONTENT.length);
+            CRC32 crc = new CRC32();
+            crc.update(CONTENT);
+            storedEntry.setCrc(crc.getValue());
+            outputStream.putArchiveEntry(storedEntry);
+            outputStream.write(CONTENT);
+            outputStream.closeArchiveEntry();
+            ZipArchiveEntry deflatedEntry = new ZipArchiveEntry(DEFLATED);
+            deflatedEntry.setMethod(ZipEntry.DEFLATED);
+            outputStream.putArchiveEntry(deflatedEntry);
+            outputStream.write(CONTENT);
+            outputStream.closeArchiveEntry();
+        }
+    }
+
+    @Test
+    void storedEntryIsReadInPlace() throws IOException {
+        try (ZipFileResource zipFileResource = createZipFileResource(0)) {
+            verifyContent(zipFileResource, STORED);
+        }
+    }
+
+    @Test
+    void deflatedEntryIsInflatedIntoMemory() throws IOException {
+        try (ZipFileResource zipFileResource = createZipFileResource(CONTENT.length)) {
+            verifyContent(zipFileResource, DEFLATED);
+        }
+    }
+
+    @Test
+    void deflatedEntryExceedingMaxInMemoryBytes() throws IOException {
+        try (ZipFileResource zipFileResource = createZipFileResource(CONTENT.length - 1)) {
+            assertThat(zipFileResource.createEntryChannel(zipFileResource.getZipFile()
+                .getEntry(DEFLATED))).isEmpty();
+        }
+    }
+
+    private ZipFileResource createZipFileResource(long maxInMemoryBytes) throws IOException {
+        return new ZipFileResource(zipFile.getPath(), FileChannel.open(zipFile.toPath(), READ), maxInMemoryBytes);
+    }
+
+    private void verifyContent(ZipFileResource zipFileResource, String entryName) throws IOException {
+        Optional<SeekableByteChannel> entryChannel = zipFileResource.createEntryChannel(zipFileResource.getZipFile()
+            .getEntry(entryName));
+        assertThat(entryChannel).isPresent();
+        try (SeekableByteChannel channel = entryChannel.get()) {
+            assertThat(channel.size()).isEqualTo(CONTENT.length);
+            // positional access as performed for the central directory of a nested archive
+            channel.position(26);
+            ByteBuffer buffer = ByteBuffer.allocate(CONTENT.length);
+            while (channel.read(buffer) > 0) {
+                // read until end of channel
+            }
+            assertThat(buffer.position()).isEqualTo(CONTENT.length - 26);
+            assertThat(new String(buffer.array(), 0, buffer.position())).isEqualTo(new String(CONTENT, 26, CONTENT.length - 26));
+        }
+    }
+}
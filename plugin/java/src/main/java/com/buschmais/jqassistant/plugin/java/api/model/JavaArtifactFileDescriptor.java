@@ -2,6 +2,7 @@ package com.buschmais.jqassistant.plugin.java.api.model;
 
 import com.buschmais.jqassistant.plugin.common.api.model.ArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.FileContainerDescriptor;
+import com.buschmais.xo.api.Query.Result;
 import com.buschmais.xo.api.annotation.ResultOf;
 import com.buschmais.xo.api.annotation.ResultOf.Parameter;
 import com.buschmais.xo.neo4j.api.annotation.Cypher;
@@ -42,6 +43,32 @@ public interface JavaArtifactFileDescriptor extends JavaDescriptor, ArtifactFile
         "LIMIT 1")
     TypeDescriptor resolveRequiredType(@Parameter("fqn") String fqn);
 
+    /**
+     * Return all types which are contained or required by the dependencies (direct or transitive) of this artifact.
+     * <p>
+     * Types which are contained by a dependency are returned before types which are only required. The reachability of a dependency is determined
+     * using a shortest path, as enumerating all paths of a dependency graph with many diamonds grows exponentially.
+     *
+     * @return The types.
+     */
+    @ResultOf
+    @Cypher("MATCH\n" +
+        "  (artifact:Artifact), (dependency:Artifact)<-[:DEPENDS_ON]-(:Artifact)\n" +
+        "WHERE\n" +
+        "  id(artifact)=$this\n" +
+        "  and artifact <> dependency\n" +
+        "WITH DISTINCT\n" +
+        "  artifact, dependency\n" +
+        "MATCH\n" +
+        "  shortestPath((artifact)-[:DEPENDS_ON*]->(dependency))\n" +
+        "MATCH\n" +
+        "  (dependency)-[r:CONTAINS|REQUIRES]->(type:Type)\n" +
+        "RETURN\n" +
+        "  type\n" +
+        "ORDER BY\n" +
+        "  type(r)")
+    Result<TypeDescriptor> getTypesOfDependencies();
+
     /**
      * Find a contained or required {@link ModuleDescriptor} for the given module name and version in the dependencies of the current artifact
      *
@@ -5,12 +5,14 @@ import java.util.List;
 import java.util.Map;
 
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.scanner.FileResolver;
 import com.buschmais.jqassistant.plugin.java.api.model.ClassFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.ModuleDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.TypeDescriptor;
+import com.buschmais.xo.api.Query.Result;
 
 /**
  * Artifact scoped type resolver.
@@ -23,10 +25,18 @@ public class ArtifactScopedTypeResolver implements TypeResolver {
 
     private boolean hasDependencies;
 
+    /**
+     * The types visible for the artifact, i.e. contained, required or resolved from the dependencies.
+     */
     private Map<String, TypeDescriptor> artifactTypes = new HashMap<>();
 
     /**
-     * The type cache.
+     * The types contained or required by the dependencies, loaded on first access.
+     */
+    private Map<String, TypeDescriptor> dependencyTypes = null;
+
+    /**
+     * The type cache, shared with the resolvers of other artifacts.
      */
     private final TypeCache typeCache;
 
@@ -37,17 +47,43 @@ public class ArtifactScopedTypeResolver implements TypeResolver {
      *     The artifact.
      */
     public ArtifactScopedTypeResolver(JavaArtifactFileDescriptor artifact) {
-        this(artifact, null);
+        this(artifact, (String) null);
     }
 
     /**
      * Constructor.
      */
     public ArtifactScopedTypeResolver(JavaArtifactFileDescriptor artifact, String classPathDirectory) {
+        this(artifact, classPathDirectory, new TypeCache(TypeCache.DEFAULT_MAXIMUM_WEIGHT, MeterRegistry.DISABLED));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param artifact
+     *     The artifact.
+     * @param typeCache
+     *     The {@link TypeCache} of the scan, see {@link TypeCache#get(ScannerContext)}.
+     */
+    public ArtifactScopedTypeResolver(JavaArtifactFileDescriptor artifact, TypeCache typeCache) {
+        this(artifact, null, typeCache);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param artifact
+     *     The artifact.
+     * @param classPathDirectory
+     *     The class path directory within the artifact, may be <code>null</code>.
+     * @param typeCache
+     *     The {@link TypeCache} of the scan, see {@link TypeCache#get(ScannerContext)}.
+     */
+    public ArtifactScopedTypeResolver(JavaArtifactFileDescriptor artifact, String classPathDirectory, TypeCache typeCache) {
         this.classPathDirectory = classPathDirectory;
         this.artifact = artifact;
         this.hasDependencies = artifact.getNumberOfDependencies() > 0;
-        this.typeCache = new TypeCache();
+        this.typeCache = typeCache;
         addToCache(artifact.getContains());
         addToCache(artifact.getRequires());
     }
@@ -58,27 +94,25 @@ public class ArtifactScopedTypeResolver implements TypeResolver {
         T typeDescriptor = context.getStore()
             .addDescriptorType(fileDescriptor, descriptorType);
         setTypeProperties(typeDescriptor, fullQualifiedName);
-        artifactTypes.put(fullQualifiedName, typeDescriptor);
-        return getCachedType(fullQualifiedName, typeDescriptor);
+        artifactTypes.put(TypeCache.intern(fullQualifiedName), typeDescriptor);
+        TypeCache.CachedType<T> cachedType = new TypeCache.CachedType<>(typeDescriptor);
+        typeCache.put(cachedType);
+        return cachedType;
     }
 
     @Override
     public final TypeCache.CachedType<TypeDescriptor> resolve(String fullQualifiedName, ScannerContext context) {
-        TypeCache.CachedType<TypeDescriptor> cachedType = typeCache.get(fullQualifiedName);
-        if (cachedType == null) {
-            TypeDescriptor typeDescriptor = artifactTypes.get(fullQualifiedName);
-            if (typeDescriptor == null) {
-                typeDescriptor = hasDependencies ? artifact.resolveRequiredType(fullQualifiedName) : null;
-            }
+        TypeDescriptor typeDescriptor = artifactTypes.get(fullQualifiedName);
+        if (typeDescriptor == null) {
+            typeDescriptor = hasDependencies ? resolveFromDependencies(fullQualifiedName) : null;
             if (typeDescriptor == null) {
                 String requiredFileName = "/" + fullQualifiedName.replace(".", "/") + ".class";
                 typeDescriptor = require(requiredFileName, ClassFileDescriptor.class, context);
                 setTypeProperties(typeDescriptor, fullQualifiedName);
-                artifactTypes.put(fullQualifiedName, typeDescriptor);
             }
-            cachedType = getCachedType(fullQualifiedName, typeDescriptor);
+            artifactTypes.put(TypeCache.intern(fullQualifiedName), typeDescriptor);
         }
-        return cachedType;
+        return typeCache.get(typeDescriptor);
     }
 
     @Override
@@ -97,21 +131,48 @@ public class ArtifactScopedTypeResolver implements TypeResolver {
         return artifact.requireModule(moduleName, version);
     }
 
+    /**
+     * Invalidate the types loaded from the dependencies of the artifact.
+     * <p>
+     * Must be called if the dependencies of the artifact or the types contained or required by them change while the resolver is in use, the
+     * types of the dependencies are reloaded on the next lookup of a type which has not been resolved by the artifact yet.
+     */
+    public void invalidateDependencies() {
+        this.hasDependencies = artifact.getNumberOfDependencies() > 0;
+        this.dependencyTypes = null;
+    }
+
+    /**
+     * Resolve a type from the dependencies of the artifact.
+     * <p>
+     * All types contained or required by the dependencies are loaded at once on first call and are the answer for all further lookups, see
+     * {@link #invalidateDependencies()}.
+     *
+     * @param fullQualifiedName
+     *     The fully qualified type name.
+     * @return The {@link TypeDescriptor} or <code>null</code>.
+     */
+    private TypeDescriptor resolveFromDependencies(String fullQualifiedName) {
+        if (dependencyTypes == null) {
+            dependencyTypes = new HashMap<>();
+            try (Result<TypeDescriptor> typesOfDependencies = artifact.getTypesOfDependencies()) {
+                for (TypeDescriptor typeDescriptor : typesOfDependencies) {
+                    dependencyTypes.putIfAbsent(TypeCache.intern(typeDescriptor.getFullQualifiedName()), typeDescriptor);
+                }
+            }
+        }
+        return dependencyTypes.get(fullQualifiedName);
+    }
+
     private void addToCache(List<FileDescriptor> fileDescriptors) {
         for (FileDescriptor fileDescriptor : fileDescriptors) {
             if (fileDescriptor instanceof TypeDescriptor) {
                 TypeDescriptor typeDescriptor = (TypeDescriptor) fileDescriptor;
-                artifactTypes.put(typeDescriptor.getFullQualifiedName(), typeDescriptor);
+                artifactTypes.put(TypeCache.intern(typeDescriptor.getFullQualifiedName()), typeDescriptor);
             }
         }
     }
 
-    private <T extends TypeDescriptor> TypeCache.CachedType<T> getCachedType(String fullQualifiedName, TypeDescriptor typeDescriptor) {
-        TypeCache.CachedType<T> cachedType = new TypeCache.CachedType(typeDescriptor);
-        typeCache.put(fullQualifiedName, cachedType);
-        return cachedType;
-    }
-
     private <T extends TypeDescriptor> void setTypeProperties(T typeDescriptor, String fullQualifiedName) {
         String name;
         int separatorIndex = fullQualifiedName.lastIndexOf('.');
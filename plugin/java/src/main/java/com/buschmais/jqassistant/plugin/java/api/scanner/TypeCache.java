@@ -3,63 +3,194 @@ package com.buschmais.jqassistant.plugin.java.api.scanner;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
+import com.buschmais.jqassistant.core.store.api.CacheListener;
+import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.jqassistant.plugin.common.api.scanner.SubgraphRemover;
 import com.buschmais.jqassistant.plugin.java.api.model.*;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Interner;
 import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 
 /**
- * Cache for resolved types.
+ * Cache for resolved types and their members which is shared by all artifacts of a scan.
+ * <p>
+ * The cache is keyed by {@link TypeDescriptor}s, i.e. the visibility of types is determined by the {@link TypeResolver} of the artifact and all
+ * artifacts resolving the same descriptor (e.g. from a common dependency) share its members. The size of the cache is bounded by the number of
+ * cached types and their loaded members and dependencies.
+ * <p>
+ * The cache of a scan is provided by the {@link ScannerContext}, it is registered as {@link CacheListener} of the {@link Store} and invalidated if
+ * the caches of the store are cleared (e.g. by a reset) or if subgraphs have been removed by the {@link SubgraphRemover} (incremental scan).
  */
 public class TypeCache {
 
-    private Cache<String, CachedType> lruCache;
-    private Cache<String, CachedType> softCache;
+    /**
+     * The default maximum weight, i.e. the sum of cached types, members and dependencies.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 512 * 1024;
+
+    static final String METER_TYPE_CACHE = "jqassistant.scan.java.type-cache";
+
+    private static final Interner<String> INTERNER = Interner.newWeakInterner();
+
+    private final Cache<TypeDescriptor, CachedType<?>> cache;
+
+    private final StatsCounter statsCounter;
+
+    private final Store store;
 
     /**
-     * Constructor.
+     * Invalidates the cached types if the descriptors of the store might have become invalid.
      */
-    TypeCache() {
-        this.lruCache = Caffeine.newBuilder().maximumSize(8192).removalListener((RemovalListener<String, CachedType>) (key, value, cause) -> {
-            if (RemovalCause.SIZE.equals(cause)) {
-                softCache.put(key, value);
+    private final CacheListener cacheListener = new CacheListener() {
+        @Override
+        public void invalidated(String cacheKey) {
+            if (SubgraphRemover.CACHE_KEY.equals(cacheKey)) {
+                cache.invalidateAll();
             }
-        }).build();
-        this.softCache = Caffeine.newBuilder().softValues().build();
+        }
+
+        @Override
+        public void cleared() {
+            cache.invalidateAll();
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param maximumWeight
+     *     The maximum weight.
+     * @param meterRegistry
+     *     The {@link MeterRegistry} for recording hits, misses and evictions.
+     */
+    public TypeCache(long maximumWeight, MeterRegistry meterRegistry) {
+        this(maximumWeight, meterRegistry, null);
     }
 
     /**
-     * Find a type by its fully qualified named.
+     * Constructor.
      *
-     * @param fullQualifiedName
-     *            The fqn.
-     * @return The cached type or <code>null</code>.
+     * @param maximumWeight
+     *     The maximum weight.
+     * @param store
+     *     The {@link Store}, the cache is invalidated if its caches are cleared or subgraphs have been removed.
      */
-    public CachedType get(String fullQualifiedName) {
-        CachedType cachedType = lruCache.getIfPresent(fullQualifiedName);
-        if (cachedType != null) {
-            return cachedType;
+    public TypeCache(long maximumWeight, Store store) {
+        this(maximumWeight, store.getMeterRegistry(), store);
+    }
+
+    private TypeCache(long maximumWeight, MeterRegistry meterRegistry, Store store) {
+        this.store = store;
+        this.statsCounter = new MeterStatsCounter(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((TypeDescriptor key, CachedType<?> value) -> value.weigh())
+            .recordStats(() -> statsCounter)
+            // types are resolved by a single thread, evict within the calling thread
+            .executor(Runnable::run)
+            .build();
+        if (store != null) {
+            store.addCacheListener(cacheListener);
         }
-        cachedType = softCache.getIfPresent(fullQualifiedName);
-        if (cachedType != null) {
-            lruCache.put(fullQualifiedName, cachedType);
+    }
+
+    /**
+     * Return the {@link TypeCache} of a scan, it is created on first access.
+     *
+     * @param scannerContext
+     *     The {@link ScannerContext}.
+     * @return The {@link TypeCache}.
+     */
+    public static TypeCache get(ScannerContext scannerContext) {
+        TypeCache typeCache = scannerContext.peekOrDefault(TypeCache.class, null);
+        if (typeCache == null) {
+            typeCache = new TypeCache(DEFAULT_MAXIMUM_WEIGHT, scannerContext.getStore());
+            scannerContext.push(TypeCache.class, typeCache);
+        }
+        return typeCache;
+    }
+
+    /**
+     * Remove the {@link TypeCache} of a previous scan from the {@link ScannerContext}, i.e. a new scan starts with an empty cache.
+     * <p>
+     * The removed cache is no longer notified about invalidated caches of the {@link Store}.
+     *
+     * @param scannerContext
+     *     The {@link ScannerContext}.
+     */
+    public static void remove(ScannerContext scannerContext) {
+        while (scannerContext.peekOrDefault(TypeCache.class, null) != null) {
+            TypeCache typeCache = scannerContext.pop(TypeCache.class);
+            if (typeCache.store != null) {
+                typeCache.store.removeCacheListener(typeCache.cacheListener);
+            }
         }
+    }
+
+    /**
+     * Return the cached type for a type descriptor, it is created if it does not exist yet.
+     *
+     * @param typeDescriptor
+     *     The {@link TypeDescriptor}.
+     * @param <T>
+     *     The descriptor type.
+     * @return The cached type.
+     */
+    public <T extends TypeDescriptor> CachedType<T> get(T typeDescriptor) {
+        CachedType<T> cachedType = (CachedType<T>) cache.get(typeDescriptor, key -> new CachedType<>(typeDescriptor));
+        cachedType.typeCache = this;
         return cachedType;
     }
 
     /**
-     * Put a type.
+     * Put a type, replacing an existing cached type for the same descriptor.
      *
-     * @param fullQualifiedName
-     *            The fqn.
      * @param cachedType
-     *            The type.
+     *     The type.
      */
-    public void put(String fullQualifiedName, CachedType cachedType) {
-        lruCache.put(fullQualifiedName, cachedType);
+    public void put(CachedType<?> cachedType) {
+        cachedType.typeCache = this;
+        cache.put(cachedType.getTypeDescriptor(), cachedType);
+    }
+
+    /**
+     * Update the weight of a cached type after its members or dependencies have been loaded or added.
+     *
+     * @param cachedType
+     *     The type.
+     */
+    private void updateWeight(CachedType<?> cachedType) {
+        // computing the mapping again lets the cache re-weigh the type
+        cache.asMap()
+            .computeIfPresent(cachedType.getTypeDescriptor(), (key, value) -> value);
+    }
+
+    /**
+     * Return the statistics (hits, misses and evictions) of the cache.
+     *
+     * @return The {@link CacheStats}.
+     */
+    public CacheStats getStatistics() {
+        return statsCounter.snapshot();
+    }
+
+    /**
+     * Return a canonical representation of a fully qualified name or signature, i.e. equal strings held by the cache share the same instance.
+     *
+     * @param value
+     *     The value, may be <code>null</code>.
+     * @return The canonical representation.
+     */
+    public static String intern(String value) {
+        return value != null ? INTERNER.intern(value) : null;
     }
 
     /**
@@ -72,6 +203,8 @@ public class TypeCache {
         private T typeDescriptor;
         private Map<String, MemberDescriptor> members = null;
         private Map<TypeDescriptor, Integer> dependencies = null;
+        private int weight = 1;
+        private TypeCache typeCache = null;
 
         /**
          * Constructor.
@@ -97,7 +230,8 @@ public class TypeCache {
 
         public void addMember(String signature, MemberDescriptor member) {
             typeDescriptor.getDeclaredMembers().add(member);
-            getMembers().put(signature, member);
+            getMembers().put(intern(signature), member);
+            updateWeight();
         }
 
         public void addDependency(TypeDescriptor dependency) {
@@ -108,6 +242,7 @@ public class TypeCache {
             }
             weight++;
             getDependencies().put(dependency, weight);
+            updateWeight();
         }
 
         private Map<String, MemberDescriptor> getMembers() {
@@ -116,9 +251,10 @@ public class TypeCache {
                 for (Descriptor descriptor : typeDescriptor.getDeclaredMembers()) {
                     if (descriptor instanceof MemberDescriptor) {
                         MemberDescriptor memberDescriptor = (MemberDescriptor) descriptor;
-                        members.put(memberDescriptor.getSignature(), memberDescriptor);
+                        members.put(intern(memberDescriptor.getSignature()), memberDescriptor);
                     }
                 }
+                updateWeight();
             }
             return members;
         }
@@ -129,10 +265,34 @@ public class TypeCache {
                 for (TypeDependsOnDescriptor dependency : typeDescriptor.getDependencies()) {
                     dependencies.put(dependency.getDependency(), dependency.getWeight());
                 }
+                updateWeight();
             }
             return dependencies;
         }
 
+        /**
+         * Determine the weight of this type for the cache, i.e. the type itself and its loaded members and dependencies.
+         *
+         * @return The weight.
+         */
+        private int weigh() {
+            weight = currentWeight();
+            return weight;
+        }
+
+        /**
+         * Let the cache re-weigh this type if members or dependencies have been loaded or added.
+         */
+        private void updateWeight() {
+            if (typeCache != null && weight != currentWeight()) {
+                typeCache.updateWeight(this);
+            }
+        }
+
+        private int currentWeight() {
+            return 1 + (members != null ? members.size() : 0) + (dependencies != null ? dependencies.size() : 0);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -153,4 +313,51 @@ public class TypeCache {
             return typeDescriptor.hashCode();
         }
     }
+
+    /**
+     * {@link StatsCounter} which additionally records hits, misses and evictions to the {@link MeterRegistry}.
+     */
+    private static class MeterStatsCounter implements StatsCounter {
+
+        private final StatsCounter delegate = new ConcurrentStatsCounter();
+
+        private final MeterRegistry meterRegistry;
+
+        private MeterStatsCounter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void recordHits(int count) {
+            delegate.recordHits(count);
+            meterRegistry.increment(METER_TYPE_CACHE, "hits", count);
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            delegate.recordMisses(count);
+            meterRegistry.increment(METER_TYPE_CACHE, "misses", count);
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            delegate.recordLoadSuccess(loadTime);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            delegate.recordLoadFailure(loadTime);
+        }
+
+        @Override
+        public void recordEviction(int weight, RemovalCause cause) {
+            delegate.recordEviction(weight, cause);
+            meterRegistry.increment(METER_TYPE_CACHE, "evictions", 1);
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return delegate.snapshot();
+        }
+    }
 }
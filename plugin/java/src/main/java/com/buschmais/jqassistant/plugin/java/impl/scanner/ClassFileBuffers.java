@@ -0,0 +1,122 @@
+package com.buschmais.jqassistant.plugin.java.impl.scanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Reads the content of class files into byte arrays which are recycled across classes.
+ * <p>
+ * Instances are not thread-safe, the Java container plugins (e.g. {@link JarScannerPlugin}) therefore provide one instance per container using the
+ * scanner context.
+ */
+final class ClassFileBuffers {
+
+    static final int INITIAL_SIZE = 16 * 1024;
+
+    /**
+     * Arrays exceeding this size (i.e. created for very large classes) are not recycled.
+     */
+    static final int MAX_POOLED_SIZE = 1024 * 1024;
+
+    private static final int MAX_POOLED = 4;
+
+    private final Deque<byte[]> pool = new ArrayDeque<>(MAX_POOLED);
+
+    private Object heldResource;
+
+    private Buffer heldBuffer;
+
+    /**
+     * Read the content of a stream into a recycled array, the buffer must be released after usage.
+     *
+     * @param stream
+     *     The {@link InputStream}.
+     * @return The {@link Buffer}.
+     * @throws IOException
+     *     If the stream cannot be read.
+     */
+    Buffer read(InputStream stream) throws IOException {
+        byte[] bytes = pool.isEmpty() ? new byte[INITIAL_SIZE] : pool.pop();
+        int length = 0;
+        int read;
+        while ((read = stream.read(bytes, length, bytes.length - length)) >= 0) {
+            length += read;
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+        }
+        return new Buffer(bytes, length);
+    }
+
+    /**
+     * Release a buffer, i.e. its array may be used for reading the next class.
+     *
+     * @param buffer
+     *     The {@link Buffer}.
+     */
+    void release(Buffer buffer) {
+        if (buffer.bytes.length <= MAX_POOLED_SIZE && pool.size() < MAX_POOLED) {
+            pool.push(buffer.bytes);
+        }
+    }
+
+    /**
+     * Hold the buffer which has been read for a resource, e.g. for checking its header, until it is taken by {@link #take(Object)}. A buffer held
+     * for another resource is released.
+     *
+     * @param resource
+     *     The resource.
+     * @param buffer
+     *     The {@link Buffer}.
+     */
+    void hold(Object resource, Buffer buffer) {
+        if (heldBuffer != null) {
+            release(heldBuffer);
+        }
+        heldResource = resource;
+        heldBuffer = buffer;
+    }
+
+    /**
+     * Take the buffer held for a resource, it must be released after usage.
+     *
+     * @param resource
+     *     The resource.
+     * @return The {@link Buffer} or <code>null</code> if no buffer is held for the resource.
+     */
+    Buffer take(Object resource) {
+        if (heldBuffer == null || heldResource != resource) {
+            return null;
+        }
+        Buffer buffer = heldBuffer;
+        heldResource = null;
+        heldBuffer = null;
+        return buffer;
+    }
+
+    /**
+     * The content of a class file.
+     */
+    static final class Buffer {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private Buffer(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+}
@@ -6,12 +6,14 @@ import java.util.Arrays;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.scanner.AbstractScannerPlugin;
 import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
 import com.buschmais.jqassistant.plugin.java.api.model.ClassFileDescriptor;
+import com.buschmais.jqassistant.plugin.java.api.scanner.TypeCache;
 import com.buschmais.jqassistant.plugin.java.impl.scanner.visitor.ClassVisitor;
 import com.buschmais.jqassistant.plugin.java.impl.scanner.visitor.VisitorHelper;
 
@@ -25,6 +27,7 @@ import static com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope.CLASSP
  * Implementation of the {@link AbstractScannerPlugin} for Java classes.
  */
 @Requires(FileDescriptor.class)
+@Matches(extensions = ".class")
 public class ClassFileScannerPlugin extends AbstractScannerPlugin<FileResource, ClassFileDescriptor> {
 
     public static final byte[] CAFEBABE = new byte[] { -54, -2, -70, -66 };
@@ -35,21 +38,35 @@ public class ClassFileScannerPlugin extends AbstractScannerPlugin<FileResource,
 
     private ClassFileScannerConfiguration configuration;
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The {@link TypeCache} of a previous scan is removed from the context.
+     */
     @Override
     protected void configure() {
         configuration = ClassFileScannerConfiguration.builder()
             .includeLocalVariables(getBooleanProperty(PROPERTY_INCLUDE_LOCAL_VARIABLES, false))
             .build();
+        TypeCache.remove(getScannerContext());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The class file is read into a buffer for checking its header, the buffer is held by the {@link ClassFileBuffers} of the current container
+     * for {@link #scan(FileResource, String, Scope, Scanner)}, i.e. the file is read only once.
+     */
     @Override
     public boolean accepts(FileResource file, String path, Scope scope) throws IOException {
         if (CLASSPATH.equals(scope) && path.endsWith(".class")) {
-            try (InputStream stream = file.createStream()) {
-                byte[] header = new byte[CAFEBABE.length];
-                int read = stream.read(header);
-                return read == CAFEBABE.length && Arrays.equals(CAFEBABE, header);
+            ClassFileBuffers classFileBuffers = getClassFileBuffers(getScannerContext());
+            ClassFileBuffers.Buffer buffer = read(file, classFileBuffers);
+            if (buffer.getLength() >= CAFEBABE.length && Arrays.equals(buffer.getBytes(), 0, CAFEBABE.length, CAFEBABE, 0, CAFEBABE.length)) {
+                classFileBuffers.hold(file, buffer);
+                return true;
             }
+            classFileBuffers.release(buffer);
         }
         return false;
     }
@@ -62,13 +79,35 @@ public class ClassFileScannerPlugin extends AbstractScannerPlugin<FileResource,
             .addDescriptorType(fileDescriptor, ClassFileDescriptor.class);
         VisitorHelper visitorHelper = new VisitorHelper(context, configuration);
         final ClassVisitor visitor = new ClassVisitor(fileDescriptor, visitorHelper);
-        try (InputStream inputStream = file.createStream()) {
-            new ClassReader(inputStream).accept(visitor, 0);
+        ClassFileBuffers classFileBuffers = getClassFileBuffers(context);
+        ClassFileBuffers.Buffer buffer = classFileBuffers.take(file);
+        if (buffer == null) {
+            buffer = read(file, classFileBuffers);
+        }
+        try {
+            new ClassReader(buffer.getBytes(), 0, buffer.getLength()).accept(visitor, 0);
             classFileDescriptor.setValid(true);
         } catch (RuntimeException e) {
             LOGGER.warn("Cannot scan class '" + path + "'.", e);
             classFileDescriptor.setValid(false);
+        } finally {
+            visitorHelper.clearMemberRelations();
+            classFileBuffers.release(buffer);
         }
         return classFileDescriptor;
     }
+
+    /**
+     * Return the {@link ClassFileBuffers} provided by the current Java container, a new instance is used for class files outside of containers.
+     */
+    private static ClassFileBuffers getClassFileBuffers(ScannerContext context) {
+        ClassFileBuffers classFileBuffers = context.peekOrDefault(ClassFileBuffers.class, null);
+        return classFileBuffers != null ? classFileBuffers : new ClassFileBuffers();
+    }
+
+    private static ClassFileBuffers.Buffer read(FileResource file, ClassFileBuffers classFileBuffers) throws IOException {
+        try (InputStream inputStream = file.createStream()) {
+            return classFileBuffers.read(inputStream);
+        }
+    }
 }
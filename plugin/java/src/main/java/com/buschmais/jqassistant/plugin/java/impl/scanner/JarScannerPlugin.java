@@ -6,6 +6,7 @@ import com.buschmais.jqassistant.plugin.common.api.scanner.AbstractZipArchiveSca
 import com.buschmais.jqassistant.plugin.java.api.model.JarArchiveDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.scanner.ArtifactScopedTypeResolver;
 import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
+import com.buschmais.jqassistant.plugin.java.api.scanner.TypeCache;
 import com.buschmais.jqassistant.plugin.java.api.scanner.TypeResolver;
 
 public class JarScannerPlugin extends AbstractZipArchiveScannerPlugin<JarArchiveDescriptor> {
@@ -17,12 +18,14 @@ public class JarScannerPlugin extends AbstractZipArchiveScannerPlugin<JarArchive
 
     @Override
     protected Scope createScope(Scope currentScope, JarArchiveDescriptor archiveDescriptor, ScannerContext scannerContext) {
-        scannerContext.push(TypeResolver.class, new ArtifactScopedTypeResolver(archiveDescriptor));
+        scannerContext.push(TypeResolver.class, new ArtifactScopedTypeResolver(archiveDescriptor, TypeCache.get(scannerContext)));
+        scannerContext.push(ClassFileBuffers.class, new ClassFileBuffers());
         return JavaScope.CLASSPATH;
     }
 
     @Override
     protected void destroyScope(ScannerContext scannerContext) {
+        scannerContext.pop(ClassFileBuffers.class);
         scannerContext.pop(TypeResolver.class);
     }
 
@@ -11,6 +11,7 @@ import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescripto
 import com.buschmais.jqassistant.plugin.java.api.model.JavaClassesDirectoryDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.scanner.ArtifactScopedTypeResolver;
 import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
+import com.buschmais.jqassistant.plugin.java.api.scanner.TypeCache;
 import com.buschmais.jqassistant.plugin.java.api.scanner.TypeResolver;
 
 /**
@@ -26,11 +27,13 @@ public class JavaClassesDirectoryScannerPlugin
 
     @Override
     protected void enterContainer(File directory, JavaClassesDirectoryDescriptor javaClassesDirectoryDescriptor, ScannerContext context) {
-        context.push(TypeResolver.class, new ArtifactScopedTypeResolver(javaClassesDirectoryDescriptor));
+        context.push(TypeResolver.class, new ArtifactScopedTypeResolver(javaClassesDirectoryDescriptor, TypeCache.get(context)));
+        context.push(ClassFileBuffers.class, new ClassFileBuffers());
     }
 
     @Override
     protected void leaveContainer(File directory, JavaClassesDirectoryDescriptor javaClassesDirectoryDescriptor, ScannerContext context) {
+        context.pop(ClassFileBuffers.class);
         context.pop(TypeResolver.class);
     }
 
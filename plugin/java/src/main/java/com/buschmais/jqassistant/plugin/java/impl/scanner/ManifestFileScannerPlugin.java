@@ -8,6 +8,7 @@ import java.util.jar.Manifest;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.core.store.api.Store;
@@ -26,6 +27,7 @@ import static com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope.CLASSP
  * for Java `MANIFEST.MF` files.
  */
 @Requires(FileDescriptor.class)
+@Matches(patterns = "/META-INF/MANIFEST.MF")
 public class ManifestFileScannerPlugin extends AbstractScannerPlugin<FileResource, ManifestFileDescriptor> {
 
     public static final String SECTION_MAIN = "Main";
@@ -43,13 +45,11 @@ public class ManifestFileScannerPlugin extends AbstractScannerPlugin<FileResourc
             Store store = context.getStore();
             FileDescriptor fileDescriptor = context.getCurrentDescriptor();
             ManifestFileDescriptor manifestFileDescriptor = store.addDescriptorType(fileDescriptor, ManifestFileDescriptor.class);
-            ManifestSectionDescriptor mainSectionDescriptor = store.create(ManifestSectionDescriptor.class);
-            mainSectionDescriptor.setName(SECTION_MAIN);
+            ManifestSectionDescriptor mainSectionDescriptor = store.create(ManifestSectionDescriptor.class, section -> section.setName(SECTION_MAIN));
             manifestFileDescriptor.setMainSection(mainSectionDescriptor);
             readSection(manifest.getMainAttributes(), mainSectionDescriptor, store);
             for (Map.Entry<String, Attributes> sectionEntry : manifest.getEntries().entrySet()) {
-                ManifestSectionDescriptor sectionDescriptor = store.create(ManifestSectionDescriptor.class);
-                sectionDescriptor.setName(sectionEntry.getKey());
+                ManifestSectionDescriptor sectionDescriptor = store.create(ManifestSectionDescriptor.class, section -> section.setName(sectionEntry.getKey()));
                 readSection(sectionEntry.getValue(), sectionDescriptor, store);
                 manifestFileDescriptor.getManifestSections().add(sectionDescriptor);
             }
@@ -61,9 +61,10 @@ public class ManifestFileScannerPlugin extends AbstractScannerPlugin<FileResourc
         for (Map.Entry<Object, Object> entry : attributes.entrySet()) {
             Object key = entry.getKey();
             Object value = entry.getValue();
-            ManifestEntryDescriptor entryDescriptor = store.create(ManifestEntryDescriptor.class);
-            entryDescriptor.setName(key != null ? key.toString() : null);
-            entryDescriptor.setValue(value != null ? value.toString() : null);
+            ManifestEntryDescriptor entryDescriptor = store.create(ManifestEntryDescriptor.class, manifestEntry -> {
+                manifestEntry.setName(key != null ? key.toString() : null);
+                manifestEntry.setValue(value != null ? value.toString() : null);
+            });
             sectionDescriptor.getManifestEntries().add(entryDescriptor);
         }
     }
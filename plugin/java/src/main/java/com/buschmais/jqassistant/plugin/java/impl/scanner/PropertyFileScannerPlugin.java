@@ -6,6 +6,7 @@ import java.util.Properties;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.core.store.api.Store;
@@ -24,6 +25,7 @@ import org.slf4j.LoggerFactory;
  * for property files.
  */
 @Requires(FileDescriptor.class)
+@Matches(extensions = ".properties")
 public class PropertyFileScannerPlugin extends AbstractScannerPlugin<FileResource, PropertyFileDescriptor> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PropertyFileScannerPlugin.class);
@@ -47,9 +49,10 @@ public class PropertyFileScannerPlugin extends AbstractScannerPlugin<FileResourc
         }
         for (String name : properties.stringPropertyNames()) {
             String value = properties.getProperty(name);
-            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class);
-            propertyDescriptor.setName(name);
-            propertyDescriptor.setValue(value);
+            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class, property -> {
+                property.setName(name);
+                property.setValue(value);
+            });
             propertyFileDescriptor.getProperties().add(propertyDescriptor);
         }
         return propertyFileDescriptor;
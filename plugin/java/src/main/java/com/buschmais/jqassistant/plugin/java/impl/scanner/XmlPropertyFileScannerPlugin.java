@@ -6,6 +6,7 @@ import java.util.Properties;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.core.store.api.Store;
@@ -16,7 +17,6 @@ import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResour
 import com.buschmais.jqassistant.plugin.java.api.model.PropertyFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.XmlPropertyFileDescriptor;
 import com.buschmais.jqassistant.plugin.xml.api.model.XmlDocumentDescriptor;
-import com.buschmais.jqassistant.plugin.xml.api.scanner.XMLFileFilter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,19 +25,19 @@ import org.slf4j.LoggerFactory;
  * Implementation of a {@link AbstractScannerPlugin} for XML based property files.
  */
 @Requires({FileDescriptor.class, XmlDocumentDescriptor.class})
+@Matches(extensions = ".xml", xmlRootElements = "properties")
 public class XmlPropertyFileScannerPlugin
     extends AbstractScannerPlugin<FileResource, PropertyFileDescriptor> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XmlPropertyFileScannerPlugin.class);
 
+    /**
+     * Accepts files with the extension <code>.xml</code>, the root element is verified by the scanner using the {@link Matches} declaration, i.e.
+     * the content is not read again.
+     */
     @Override
-    public boolean accepts(FileResource item, String path, Scope scope) throws IOException {
-        boolean hasXMLExtension = path.toLowerCase().endsWith(".xml");
-
-        boolean isPropertyFile = hasXMLExtension ? XMLFileFilter.rootElementMatches(item, path, "properties")
-                                                 : false;
-
-        return hasXMLExtension && isPropertyFile;
+    public boolean accepts(FileResource item, String path, Scope scope) {
+        return path.toLowerCase().endsWith(".xml");
     }
 
     @Override
@@ -56,9 +56,10 @@ public class XmlPropertyFileScannerPlugin
 
         for (String name : properties.stringPropertyNames()) {
             String value = properties.getProperty(name);
-            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class);
-            propertyDescriptor.setName(name);
-            propertyDescriptor.setValue(value);
+            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class, property -> {
+                property.setName(name);
+                property.setValue(value);
+            });
             propertyFileDescriptor.getProperties().add(propertyDescriptor);
         }
         return propertyFileDescriptor;
@@ -268,6 +268,7 @@ public class ClassVisitor extends org.objectweb.asm.ClassVisitor {
     public void visitEnd() {
         javaByteCodeDescriptor.setByteCodeVersion(byteCodeVersion);
         javaByteCodeDescriptor.setSourceFileName(sourceFileName);
+        visitorHelper.flushMemberRelations();
         if (cachedType != null) {
             visitorHelper.storeDependencies(cachedType);
             visitorHelper.getTypeVariableResolver()
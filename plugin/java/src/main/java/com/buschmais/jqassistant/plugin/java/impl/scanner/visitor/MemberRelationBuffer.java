@@ -0,0 +1,144 @@
+package com.buschmais.jqassistant.plugin.java.impl.scanner.visitor;
+
+import java.util.*;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.plugin.java.api.model.*;
+import com.buschmais.xo.neo4j.api.annotation.Relation;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Buffers the INVOKES, READS and WRITES relations created for byte code instructions of methods and writes them in bulk to the store.
+ * <p>
+ * The relations are collected while visiting a class and created using one parameterized <code>UNWIND</code> query per relation type, either if
+ * {@link #flush()} is called or if the number of buffered relations exceeds a threshold. The resulting graph is the same as if each relation had been
+ * created by {@link Store#create(com.buschmais.jqassistant.core.store.api.model.Descriptor, Class, com.buschmais.jqassistant.core.store.api.model.Descriptor)},
+ * the created relations are reported to {@link Store#createdRelations(Class, int)}.
+ */
+class MemberRelationBuffer {
+
+    /**
+     * The maximum number of buffered relations before these are written to the store.
+     */
+    static final int THRESHOLD = 8192;
+
+    private static final String PARAMETER_RELATIONS = "relations";
+
+    private static final String SOURCE = "source";
+
+    private static final String TARGET = "target";
+
+    private static final String LINE_NUMBER = "lineNumber";
+
+    private final Store store;
+
+    private final Map<Class<? extends LineNumberDescriptor>, List<Map<String, Object>>> relations = new LinkedHashMap<>();
+
+    private int size = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param store
+     *     The {@link Store}.
+     */
+    MemberRelationBuffer(Store store) {
+        this.store = store;
+    }
+
+    /**
+     * Add an INVOKES relation.
+     *
+     * @param methodDescriptor
+     *     The invoking method.
+     * @param lineNumber
+     *     The line number, may be <code>null</code>.
+     * @param invokedMethodDescriptor
+     *     The invoked method.
+     */
+    void addInvokes(MethodDescriptor methodDescriptor, Integer lineNumber, MethodDescriptor invokedMethodDescriptor) {
+        add(InvokesDescriptor.class, methodDescriptor, lineNumber, invokedMethodDescriptor);
+    }
+
+    /**
+     * Add a READS relation.
+     *
+     * @param methodDescriptor
+     *     The reading method.
+     * @param lineNumber
+     *     The line number, may be <code>null</code>.
+     * @param fieldDescriptor
+     *     The field.
+     */
+    void addReads(MethodDescriptor methodDescriptor, Integer lineNumber, FieldDescriptor fieldDescriptor) {
+        add(ReadsDescriptor.class, methodDescriptor, lineNumber, fieldDescriptor);
+    }
+
+    /**
+     * Add a WRITES relation.
+     *
+     * @param methodDescriptor
+     *     The writing method.
+     * @param lineNumber
+     *     The line number, may be <code>null</code>.
+     * @param fieldDescriptor
+     *     The field.
+     */
+    void addWrites(MethodDescriptor methodDescriptor, Integer lineNumber, FieldDescriptor fieldDescriptor) {
+        add(WritesDescriptor.class, methodDescriptor, lineNumber, fieldDescriptor);
+    }
+
+    private void add(Class<? extends LineNumberDescriptor> relationType, MethodDescriptor source, Integer lineNumber, MemberDescriptor target) {
+        Map<String, Object> relation = new HashMap<>(4);
+        relation.put(SOURCE, getId(source));
+        relation.put(TARGET, getId(target));
+        relation.put(LINE_NUMBER, lineNumber);
+        relations.computeIfAbsent(relationType, key -> new ArrayList<>())
+            .add(relation);
+        if (++size >= THRESHOLD) {
+            flush();
+        }
+    }
+
+    private Object getId(MemberDescriptor descriptor) {
+        Object id = descriptor.getId();
+        if (id instanceof Long && (Long) id < 0) {
+            // the node has been created but not yet written to the store (e.g. remote), i.e. the id is temporary
+            store.getXOManager()
+                .flush();
+            id = descriptor.getId();
+        }
+        return id;
+    }
+
+    /**
+     * Write all buffered relations to the store.
+     */
+    void flush() {
+        for (Map.Entry<Class<? extends LineNumberDescriptor>, List<Map<String, Object>>> entry : relations.entrySet()) {
+            String relationName = entry.getKey()
+                .getAnnotation(Relation.class)
+                .value();
+            String query = "UNWIND $" + PARAMETER_RELATIONS + " as relation " + //
+                "MATCH (source) WHERE id(source)=relation." + SOURCE + " " + //
+                "MATCH (target) WHERE id(target)=relation." + TARGET + " " + //
+                "CREATE (source)-[r:" + relationName + "]->(target) " + //
+                "SET r." + LINE_NUMBER + "=relation." + LINE_NUMBER + " " + //
+                "RETURN count(r)";
+            store.executeQuery(query, singletonMap(PARAMETER_RELATIONS, entry.getValue()))
+                .getSingleResult();
+            store.createdRelations(entry.getKey(), entry.getValue()
+                .size());
+        }
+        clear();
+    }
+
+    /**
+     * Discard all buffered relations, e.g. if visiting a class failed.
+     */
+    void clear() {
+        relations.clear();
+        size = 0;
+    }
+}
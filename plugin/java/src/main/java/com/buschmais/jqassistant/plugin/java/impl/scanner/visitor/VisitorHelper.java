@@ -34,6 +34,8 @@ public class VisitorHelper {
 
     private final TypeVariableResolver typeVariableResolver;
 
+    private final MemberRelationBuffer memberRelationBuffer;
+
     /**
      * Constructor.
      *
@@ -45,6 +47,7 @@ public class VisitorHelper {
         this.scannerContext = scannerContext;
         this.configuration = configuration;
         this.typeVariableResolver = new TypeVariableResolver();
+        this.memberRelationBuffer = new MemberRelationBuffer(scannerContext.getStore());
     }
 
     public ScannerContext getScannerContext() {
@@ -129,19 +132,17 @@ public class VisitorHelper {
         MethodDescriptor methodDescriptor = cachedType.getMethod(signature);
         if (methodDescriptor == null) {
             if (signature.startsWith(CONSTRUCTOR_METHOD)) {
-                methodDescriptor = scannerContext.getStore().create(ConstructorDescriptor.class);
+                methodDescriptor = scannerContext.getStore().create(ConstructorDescriptor.class, constructor -> constructor.setSignature(signature));
             } else {
-                methodDescriptor = scannerContext.getStore().create(MethodDescriptor.class);
+                methodDescriptor = scannerContext.getStore().create(MethodDescriptor.class, method -> method.setSignature(signature));
             }
-            methodDescriptor.setSignature(signature);
             cachedType.addMember(signature, methodDescriptor);
         }
         return methodDescriptor;
     }
 
     public ParameterDescriptor addParameterDescriptor(MethodDescriptor methodDescriptor, int index) {
-        ParameterDescriptor parameterDescriptor = scannerContext.getStore().create(ParameterDescriptor.class);
-        parameterDescriptor.setIndex(index);
+        ParameterDescriptor parameterDescriptor = scannerContext.getStore().create(ParameterDescriptor.class, parameter -> parameter.setIndex(index));
         methodDescriptor.getParameters().add(parameterDescriptor);
         return parameterDescriptor;
     }
@@ -166,8 +167,7 @@ public class VisitorHelper {
      *            The invoked method.
      */
     void addInvokes(MethodDescriptor methodDescriptor, final Integer lineNumber, MethodDescriptor invokedMethodDescriptor) {
-        InvokesDescriptor invokesDescriptor = scannerContext.getStore().create(methodDescriptor, InvokesDescriptor.class, invokedMethodDescriptor);
-        invokesDescriptor.setLineNumber(lineNumber);
+        memberRelationBuffer.addInvokes(methodDescriptor, lineNumber, invokedMethodDescriptor);
     }
 
     /**
@@ -181,8 +181,7 @@ public class VisitorHelper {
      *            The field.
      */
     void addReads(MethodDescriptor methodDescriptor, final Integer lineNumber, FieldDescriptor fieldDescriptor) {
-        ReadsDescriptor readsDescriptor = scannerContext.getStore().create(methodDescriptor, ReadsDescriptor.class, fieldDescriptor);
-        readsDescriptor.setLineNumber(lineNumber);
+        memberRelationBuffer.addReads(methodDescriptor, lineNumber, fieldDescriptor);
     }
 
     /**
@@ -196,8 +195,7 @@ public class VisitorHelper {
      *            The field.
      */
     void addWrites(MethodDescriptor methodDescriptor, final Integer lineNumber, FieldDescriptor fieldDescriptor) {
-        WritesDescriptor writesDescriptor = scannerContext.getStore().create(methodDescriptor, WritesDescriptor.class, fieldDescriptor);
-        writesDescriptor.setLineNumber(lineNumber);
+        memberRelationBuffer.addWrites(methodDescriptor, lineNumber, fieldDescriptor);
     }
 
     /**
@@ -212,8 +210,7 @@ public class VisitorHelper {
     FieldDescriptor getFieldDescriptor(TypeCache.CachedType<?> cachedType, String signature) {
         FieldDescriptor fieldDescriptor = cachedType.getField(signature);
         if (fieldDescriptor == null) {
-            fieldDescriptor = scannerContext.getStore().create(FieldDescriptor.class);
-            fieldDescriptor.setSignature(signature);
+            fieldDescriptor = scannerContext.getStore().create(FieldDescriptor.class, field -> field.setSignature(signature));
             cachedType.addMember(signature, fieldDescriptor);
         }
         return fieldDescriptor;
@@ -229,10 +226,10 @@ public class VisitorHelper {
      * @return The field descriptor.
      */
     VariableDescriptor getVariableDescriptor(String name, String signature) {
-        VariableDescriptor variableDescriptor = scannerContext.getStore().create(VariableDescriptor.class);
-        variableDescriptor.setName(name);
-        variableDescriptor.setSignature(signature);
-        return variableDescriptor;
+        return scannerContext.getStore().create(VariableDescriptor.class, variable -> {
+            variable.setName(name);
+            variable.setSignature(signature);
+        });
     }
 
     /**
@@ -273,6 +270,20 @@ public class VisitorHelper {
         return new AnnotationValueVisitor(containingDescriptor, annotationDescriptor, this);
     }
 
+    /**
+     * Write the buffered INVOKES, READS and WRITES relations to the store.
+     */
+    void flushMemberRelations() {
+        memberRelationBuffer.flush();
+    }
+
+    /**
+     * Discard the buffered INVOKES, READS and WRITES relations which have not been written, e.g. if visiting a class failed.
+     */
+    public void clearMemberRelations() {
+        memberRelationBuffer.clear();
+    }
+
     public void storeDependencies(TypeCache.CachedType<?> cachedType) {
         Map<TypeDescriptor, Integer> dependencies = cachedType.getDependencies();
         for (Map.Entry<TypeDescriptor, Integer> entry : dependencies.entrySet()) {
@@ -0,0 +1,143 @@
+package com.buschmais.jqassistant.plugin.java.api.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.impl.ScannerContextImpl;
+import com.buschmais.jqassistant.core.shared.metrics.Meter;
+import com.buschmais.jqassistant.core.shared.metrics.MeterRegistry;
+import com.buschmais.jqassistant.core.store.api.CacheListener;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.jqassistant.plugin.common.api.scanner.SubgraphRemover;
+import com.buschmais.jqassistant.plugin.java.api.model.MethodDescriptor;
+import com.buschmais.jqassistant.plugin.java.api.model.TypeDescriptor;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class TypeCacheTest {
+
+    @Test
+    void membersAreLoadedOnce() {
+        TypeDescriptor typeDescriptor = type(method("void <init>()"), method("java.lang.String toString()"));
+        TypeCache typeCache = new TypeCache(TypeCache.DEFAULT_MAXIMUM_WEIGHT, MeterRegistry.DISABLED);
+
+        TypeCache.CachedType<TypeDescriptor> cachedType = typeCache.get(typeDescriptor);
+        assertThat((MethodDescriptor) cachedType.getMethod("void <init>()")).isNotNull();
+        // e.g. resolved by another artifact
+        TypeCache.CachedType<TypeDescriptor> sharedCachedType = typeCache.get(typeDescriptor);
+        assertThat((MethodDescriptor) sharedCachedType.getMethod("java.lang.String toString()")).isNotNull();
+
+        assertThat(sharedCachedType).isSameAs(cachedType);
+        verify(typeDescriptor).getDeclaredMembers();
+        assertThat(typeCache.getStatistics()
+            .hitCount()).isEqualTo(1);
+        assertThat(typeCache.getStatistics()
+            .missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionByWeight() {
+        MeterRegistry meterRegistry = new MeterRegistry(true, emptyList());
+        TypeCache typeCache = new TypeCache(4, meterRegistry);
+        TypeDescriptor typeWithMembers = type(method("void a()"), method("void b()"), method("void c()"));
+        TypeCache.CachedType<TypeDescriptor> cachedType = typeCache.get(typeWithMembers);
+        cachedType.getMethod("void a()");
+
+        // the loaded members increase the weight of the cached type to 4
+        assertThat(typeCache.get(typeWithMembers)).isSameAs(cachedType);
+        typeCache.get(type());
+
+        assertThat(typeCache.getStatistics()
+            .evictionCount()).isEqualTo(1);
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getName, Meter::getTag, Meter::getTotal)
+            .containsExactly(tuple(TypeCache.METER_TYPE_CACHE, "evictions", 1L), tuple(TypeCache.METER_TYPE_CACHE, "hits", 1L),
+                tuple(TypeCache.METER_TYPE_CACHE, "misses", 2L));
+    }
+
+    @Test
+    void weightIsUpdatedOnLoadingMembers() {
+        TypeCache typeCache = new TypeCache(4, MeterRegistry.DISABLED);
+        TypeDescriptor typeWithMembers = type(method("void a()"), method("void b()"), method("void c()"));
+        typeCache.get(typeWithMembers)
+            .getMethod("void a()");
+
+        typeCache.get(type());
+
+        assertThat(typeCache.getStatistics()
+            .evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedWithStoreCaches() {
+        Store store = mock(Store.class);
+        doReturn(MeterRegistry.DISABLED).when(store)
+            .getMeterRegistry();
+        TypeCache typeCache = new TypeCache(TypeCache.DEFAULT_MAXIMUM_WEIGHT, store);
+        ArgumentCaptor<CacheListener> cacheListenerCaptor = ArgumentCaptor.forClass(CacheListener.class);
+        verify(store).addCacheListener(cacheListenerCaptor.capture());
+        CacheListener cacheListener = cacheListenerCaptor.getValue();
+        TypeDescriptor typeDescriptor = type();
+        TypeCache.CachedType<TypeDescriptor> cachedType = typeCache.get(typeDescriptor);
+        assertThat(typeCache.get(typeDescriptor)).isSameAs(cachedType);
+
+        // other caches of the store
+        cacheListener.invalidated("other");
+        assertThat(typeCache.get(typeDescriptor)).isSameAs(cachedType);
+        // removed subgraphs
+        cacheListener.invalidated(SubgraphRemover.CACHE_KEY);
+        TypeCache.CachedType<TypeDescriptor> reloadedType = typeCache.get(typeDescriptor);
+        assertThat(reloadedType).isNotSameAs(cachedType);
+        // reset of the store
+        cacheListener.cleared();
+        assertThat(typeCache.get(typeDescriptor)).isNotSameAs(reloadedType);
+    }
+
+    @Test
+    void removedFromContext() {
+        Store store = mock(Store.class);
+        doReturn(MeterRegistry.DISABLED).when(store)
+            .getMeterRegistry();
+        ScannerContext scannerContext = new ScannerContextImpl(getClass().getClassLoader(), store, new File("."), new File("."));
+        TypeCache typeCache = TypeCache.get(scannerContext);
+        assertThat(TypeCache.get(scannerContext)).isSameAs(typeCache);
+        ArgumentCaptor<CacheListener> cacheListenerCaptor = ArgumentCaptor.forClass(CacheListener.class);
+        verify(store).addCacheListener(cacheListenerCaptor.capture());
+
+        TypeCache.remove(scannerContext);
+
+        assertThat(scannerContext.peekOrDefault(TypeCache.class, null)).isNull();
+        verify(store).removeCacheListener(cacheListenerCaptor.getValue());
+    }
+
+    @Test
+    void internedSignatures() {
+        String signature = "void <init>()";
+
+        assertThat(TypeCache.intern(new String(signature))).isSameAs(TypeCache.intern(signature));
+        assertThat(TypeCache.intern(null)).isNull();
+    }
+
+    private static TypeDescriptor type(MethodDescriptor... methodDescriptors) {
+        TypeDescriptor typeDescriptor = mock(TypeDescriptor.class);
+        List<Descriptor> declaredMembers = new ArrayList<>(List.of(methodDescriptors));
+        doReturn(declaredMembers).when(typeDescriptor)
+            .getDeclaredMembers();
+        return typeDescriptor;
+    }
+
+    private static MethodDescriptor method(String signature) {
+        MethodDescriptor methodDescriptor = mock(MethodDescriptor.class);
+        doReturn(signature).when(methodDescriptor)
+            .getSignature();
+        return methodDescriptor;
+    }
+}
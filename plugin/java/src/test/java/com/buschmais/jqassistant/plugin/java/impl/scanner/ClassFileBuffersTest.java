@@ -0,0 +1,71 @@
+package com.buschmais.jqassistant.plugin.java.impl.scanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.copyOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassFileBuffersTest {
+
+    private final ClassFileBuffers classFileBuffers = new ClassFileBuffers();
+
+    @Test
+    void recycle() throws IOException {
+        ClassFileBuffers.Buffer buffer = classFileBuffers.read(new ByteArrayInputStream(ClassFileScannerPlugin.CAFEBABE));
+        assertThat(buffer.getLength()).isEqualTo(4);
+        classFileBuffers.release(buffer);
+
+        ClassFileBuffers.Buffer recycled = classFileBuffers.read(new ByteArrayInputStream(new byte[] { 1, 2 }));
+
+        assertThat(recycled.getBytes()).isSameAs(buffer.getBytes());
+        assertThat(recycled.getLength()).isEqualTo(2);
+    }
+
+    @Test
+    void holdAndTake() throws IOException {
+        Object resource = new Object();
+        ClassFileBuffers.Buffer buffer = classFileBuffers.read(new ByteArrayInputStream(ClassFileScannerPlugin.CAFEBABE));
+        classFileBuffers.hold(resource, buffer);
+
+        assertThat(classFileBuffers.take(new Object())).isNull();
+        assertThat(classFileBuffers.take(resource)).isSameAs(buffer);
+        assertThat(classFileBuffers.take(resource)).isNull();
+    }
+
+    @Test
+    void holdReleasesPreviousBuffer() throws IOException {
+        ClassFileBuffers.Buffer buffer = classFileBuffers.read(new ByteArrayInputStream(ClassFileScannerPlugin.CAFEBABE));
+        classFileBuffers.hold(new Object(), buffer);
+        classFileBuffers.hold(new Object(), classFileBuffers.read(new ByteArrayInputStream(new byte[] { 1 })));
+
+        ClassFileBuffers.Buffer recycled = classFileBuffers.read(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(recycled.getBytes()).isSameAs(buffer.getBytes());
+    }
+
+    @Test
+    void grow() throws IOException {
+        byte[] content = new byte[ClassFileBuffers.INITIAL_SIZE * 3 + 1];
+        new Random(42).nextBytes(content);
+
+        ClassFileBuffers.Buffer buffer = classFileBuffers.read(new ByteArrayInputStream(content));
+
+        assertThat(buffer.getLength()).isEqualTo(content.length);
+        assertThat(copyOf(buffer.getBytes(), buffer.getLength())).isEqualTo(content);
+    }
+
+    @Test
+    void largeBufferIsNotRecycled() throws IOException {
+        ClassFileBuffers.Buffer buffer = classFileBuffers.read(new ByteArrayInputStream(new byte[ClassFileBuffers.MAX_POOLED_SIZE]));
+        classFileBuffers.release(buffer);
+
+        ClassFileBuffers.Buffer next = classFileBuffers.read(new ByteArrayInputStream(new byte[0]));
+
+        assertThat(next.getBytes()).isNotSameAs(buffer.getBytes())
+            .hasSize(ClassFileBuffers.INITIAL_SIZE);
+    }
+}
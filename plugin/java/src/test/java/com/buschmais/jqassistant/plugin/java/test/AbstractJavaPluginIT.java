@@ -17,6 +17,7 @@ import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescripto
 import com.buschmais.jqassistant.plugin.java.api.model.JavaClassesDirectoryDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.scanner.ArtifactScopedTypeResolver;
 import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
+import com.buschmais.jqassistant.plugin.java.api.scanner.TypeCache;
 import com.buschmais.jqassistant.plugin.java.api.scanner.TypeResolver;
 
 public abstract class AbstractJavaPluginIT extends AbstractPluginIT {
@@ -177,7 +178,7 @@ public abstract class AbstractJavaPluginIT extends AbstractPluginIT {
     protected List<? extends FileDescriptor> execute(JavaArtifactFileDescriptor artifact, ScanClassPathOperation operation, Scanner scanner) {
         ScannerContext context = scanner.getContext();
         context.push(JavaArtifactFileDescriptor.class, artifact);
-        context.push(TypeResolver.class, new ArtifactScopedTypeResolver(artifact));
+        context.push(TypeResolver.class, new ArtifactScopedTypeResolver(artifact, TypeCache.get(context)));
         List<? extends FileDescriptor> descriptors = operation.scan(artifact, scanner);
         context.pop(TypeResolver.class);
         context.pop(JavaArtifactFileDescriptor.class);
@@ -0,0 +1,312 @@
+package com.buschmais.jqassistant.plugin.java.test.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.runtime.api.configuration.ConfigurationBuilder;
+import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
+import com.buschmais.jqassistant.plugin.java.test.AbstractJavaPluginIT;
+import com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental.Callee;
+import com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental.Caller;
+import com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental.Other;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+
+import static com.buschmais.jqassistant.core.report.api.model.Result.Status.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Verifies incremental scans of class directories.
+ */
+class IncrementalScanIT extends AbstractJavaPluginIT {
+
+    @TempDir
+    private File directory;
+
+    @Override
+    protected void configure(ConfigurationBuilder configurationBuilder) {
+        configurationBuilder.with(Scan.class, Scan.INCREMENTAL, true);
+    }
+
+    @BeforeEach
+    void copyClasses() throws IOException {
+        for (Class<?> type : List.of(Callee.class, Caller.class, Other.class)) {
+            Path target = getClassFile(type);
+            Files.createDirectories(target.getParent());
+            Files.copy(getClassesDirectory(type).toPath()
+                .resolve(getClassFileName(type)), target);
+        }
+    }
+
+    @Test
+    void unmodified() {
+        scanClassPathDirectory(directory);
+        List<Object> expected = getStatistics();
+        markType(Caller.class);
+
+        scanClassPathDirectory(directory);
+
+        assertThat(getStatistics()).isEqualTo(expected);
+        assertThat(isMarked(Caller.class)).isTrue();
+    }
+
+    @Test
+    void modified() {
+        scanClassPathDirectory(directory);
+        List<Object> expected = getStatistics();
+        Object calleeId = getTypeId(Callee.class);
+        markType(Caller.class);
+        markType(Callee.class);
+
+        touch(Callee.class);
+        scanClassPathDirectory(directory);
+
+        assertThat(getStatistics()).isEqualTo(expected);
+        assertThat(isMarked(Caller.class)).isTrue();
+        assertThat(isMarked(Callee.class)).isFalse();
+        assertThat(getTypeId(Callee.class)).isEqualTo(calleeId);
+        store.beginTransaction();
+        assertThat(query("MATCH (:Type{name:'Caller'})-[:DEPENDS_ON]->(callee:Type{name:'Callee'}) RETURN callee").getRows()).hasSize(1);
+        assertThat(query("MATCH (:Type{name:'Caller'})-[:DECLARES]->(:Method{name:'call'})-[:INVOKES]->(getValue:Method)<-[:DECLARES]-(:Type{name:'Callee'}) "
+            + "RETURN getValue").getRows()).hasSize(1);
+        assertThat(query("MATCH (:Type{name:'Callee'})-[:DECLARES]->(:Method{name:'getValue'})-[:HAS]->(parameter:Parameter) RETURN parameter").getRows()).hasSize(1);
+        store.commitTransaction();
+    }
+
+    @Test
+    void modifiedKind() throws IOException {
+        Path kindFile = directory.toPath()
+            .resolve("com/acme/Kind.class");
+        Files.createDirectories(kindFile.getParent());
+        writeType(kindFile, ACC_PUBLIC | ACC_ABSTRACT);
+        scanClassPathDirectory(directory);
+
+        writeType(kindFile, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE);
+        touch(kindFile.toFile());
+        scanClassPathDirectory(directory);
+
+        store.beginTransaction();
+        assertThat(query("MATCH (kind:Type:Interface:File{fqn:'com.acme.Kind'}) RETURN kind").getRows()).hasSize(1);
+        assertThat(query("MATCH (kind:Class{fqn:'com.acme.Kind'}) RETURN kind").getRows()).isEmpty();
+        assertThat(query("MATCH (kind:Type{fqn:'com.acme.Kind'}) WHERE kind.abstract IS NOT NULL RETURN kind").getRows()).isEmpty();
+        store.commitTransaction();
+    }
+
+    @Test
+    void modifiedReferencedMethod() throws IOException {
+        Path targetFile = writeTarget(ACC_PUBLIC | ACC_STATIC, true);
+        writeClient();
+        scanClassPathDirectory(directory);
+
+        writeTarget(ACC_PUBLIC, true);
+        touch(targetFile.toFile());
+        scanClassPathDirectory(directory);
+
+        store.beginTransaction();
+        assertThat(query("MATCH (:Type{fqn:'com.acme.Target'})-[:DECLARES]->(run:Method{name:'run'})<-[:INVOKES]-(:Method{name:'call'}) "
+            + "WHERE run.static IS NULL RETURN run").getRows()).hasSize(1);
+        store.commitTransaction();
+    }
+
+    @Test
+    void removedReferencedMethod() throws IOException {
+        Path targetFile = writeTarget(ACC_PUBLIC | ACC_STATIC, true);
+        writeClient();
+        scanClassPathDirectory(directory);
+
+        writeTarget(ACC_PUBLIC | ACC_STATIC, false);
+        touch(targetFile.toFile());
+        scanClassPathDirectory(directory);
+
+        store.beginTransaction();
+        assertThat(query("MATCH (:Type{fqn:'com.acme.Target'})-[:DECLARES]->(removed:Method)<-[:INVOKES]-(:Method{name:'call'}) "
+            + "WHERE keys(removed)=['signature'] AND removed.signature='void removed()' "
+            + "AND all(label IN labels(removed) WHERE label IN ['Java', 'Member', 'Method']) RETURN removed").getRows()).hasSize(1);
+        assertThat(query("MATCH (:Type{fqn:'com.acme.Target'})-[:DECLARES]->(run:Method{name:'run', static:true}) RETURN run").getRows()).hasSize(1);
+        store.commitTransaction();
+    }
+
+    @Test
+    void analyzeAfterModification() throws IOException, RuleException {
+        Path kindFile = directory.toPath()
+            .resolve("com/acme/Kind.class");
+        Files.createDirectories(kindFile.getParent());
+        writeType(kindFile, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE, "run");
+        scanClassPathDirectory(directory);
+        assertThat(applyConcept("java:FunctionalInterface").getStatus()).isEqualTo(SUCCESS);
+        assertThat(isFunctionalInterface()).isTrue();
+
+        writeType(kindFile, ACC_PUBLIC | ACC_ABSTRACT, "run");
+        touch(kindFile.toFile());
+        scanClassPathDirectory(directory);
+
+        assertThat(isFunctionalInterface()).isFalse();
+        store.beginTransaction();
+        assertThat(query("MATCH (concept:jQAssistant:Rule:Concept) RETURN concept").getRows()).isEmpty();
+        store.commitTransaction();
+
+        writeType(kindFile, ACC_PUBLIC | ACC_ABSTRACT | ACC_INTERFACE, "run");
+        touch(kindFile.toFile());
+        scanClassPathDirectory(directory);
+
+        assertThat(applyConcept("java:FunctionalInterface").getStatus()).isEqualTo(SUCCESS);
+        assertThat(isFunctionalInterface()).isTrue();
+    }
+
+    @Test
+    void deleted() throws IOException {
+        scanClassPathDirectory(directory);
+        Files.delete(getClassFile(Other.class));
+
+        scanClassPathDirectory(directory);
+
+        store.beginTransaction();
+        assertThat(query("MATCH (other:Type{name:'Other'}) RETURN other").getRows()).isEmpty();
+        assertThat(query("MATCH (field:Field{name:'value'}) RETURN field").getRows()).isEmpty();
+        assertThat(query("MATCH (:Artifact)-[:CONTAINS]->(type:Type) RETURN type.name as name").getColumn("name")).containsExactlyInAnyOrder("Callee", "Caller");
+        store.commitTransaction();
+    }
+
+    @Test
+    void deletedAndReferenced() throws IOException {
+        scanClassPathDirectory(directory);
+        Files.delete(getClassFile(Callee.class));
+
+        scanClassPathDirectory(directory);
+
+        store.beginTransaction();
+        assertThat(query("MATCH (:Artifact)-[:CONTAINS]->(callee:Type{name:'Callee'}) RETURN callee").getRows()).isEmpty();
+        assertThat(query("MATCH (:Artifact)-[:REQUIRES]->(callee:Type{name:'Callee'}) RETURN callee").getRows()).hasSize(1);
+        assertThat(query("MATCH (:Method{name:'call'})-[:INVOKES]->(getValue:Method)<-[:DECLARES]-(:Type{name:'Callee'}) RETURN getValue").getRows()).hasSize(1);
+        assertThat(query("MATCH (:Method{name:'getValue'})-[:HAS]->(parameter:Parameter) RETURN parameter").getRows()).isEmpty();
+        store.commitTransaction();
+    }
+
+    private Path getClassFile(Class<?> type) {
+        return directory.toPath()
+            .resolve(getClassFileName(type));
+    }
+
+    private static String getClassFileName(Class<?> type) {
+        return type.getName()
+            .replace('.', '/') + ".class";
+    }
+
+    private void touch(Class<?> type) {
+        touch(getClassFile(type).toFile());
+    }
+
+    private void touch(File file) {
+        assertThat(file.setLastModified(file.lastModified() + 10000)).isTrue();
+    }
+
+    private static void writeType(Path classFile, int access, String... abstractMethods) throws IOException {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V11, access, "com/acme/Kind", null, "java/lang/Object", null);
+        for (String abstractMethod : abstractMethods) {
+            classWriter.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, abstractMethod, "()V", null, null)
+                .visitEnd();
+        }
+        classWriter.visitEnd();
+        Files.write(classFile, classWriter.toByteArray());
+    }
+
+    /**
+     * Write the class <code>com.acme.Target</code> declaring the method <code>run()</code> and optionally the method <code>removed()</code>.
+     */
+    private Path writeTarget(int runAccess, boolean declareRemoved) throws IOException {
+        Path targetFile = directory.toPath()
+            .resolve("com/acme/Target.class");
+        Files.createDirectories(targetFile.getParent());
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V11, ACC_PUBLIC, "com/acme/Target", null, "java/lang/Object", null);
+        writeEmptyMethod(classWriter, runAccess, "run");
+        if (declareRemoved) {
+            writeEmptyMethod(classWriter, ACC_PUBLIC, "removed");
+        }
+        classWriter.visitEnd();
+        Files.write(targetFile, classWriter.toByteArray());
+        return targetFile;
+    }
+
+    /**
+     * Write the class <code>com.acme.Client</code> invoking the methods <code>run()</code> and <code>removed()</code> of
+     * <code>com.acme.Target</code>.
+     */
+    private void writeClient() throws IOException {
+        Path clientFile = directory.toPath()
+            .resolve("com/acme/Client.class");
+        Files.createDirectories(clientFile.getParent());
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(V11, ACC_PUBLIC, "com/acme/Client", null, "java/lang/Object", null);
+        MethodVisitor methodVisitor = classWriter.visitMethod(ACC_PUBLIC, "call", "(Lcom/acme/Target;)V", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitMethodInsn(INVOKESTATIC, "com/acme/Target", "run", "()V", false);
+        methodVisitor.visitVarInsn(ALOAD, 1);
+        methodVisitor.visitMethodInsn(INVOKEVIRTUAL, "com/acme/Target", "removed", "()V", false);
+        methodVisitor.visitInsn(RETURN);
+        methodVisitor.visitMaxs(1, 2);
+        methodVisitor.visitEnd();
+        classWriter.visitEnd();
+        Files.write(clientFile, classWriter.toByteArray());
+    }
+
+    private static void writeEmptyMethod(ClassWriter classWriter, int access, String name) {
+        MethodVisitor methodVisitor = classWriter.visitMethod(access, name, "()V", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitInsn(RETURN);
+        methodVisitor.visitMaxs(0, (access & ACC_STATIC) != 0 ? 0 : 1);
+        methodVisitor.visitEnd();
+    }
+
+    private boolean isFunctionalInterface() {
+        store.beginTransaction();
+        boolean functionalInterface = !query("MATCH (kind:FunctionalInterface{fqn:'com.acme.Kind'}) RETURN kind").getRows()
+            .isEmpty();
+        store.commitTransaction();
+        return functionalInterface;
+    }
+
+    private void markType(Class<?> type) {
+        store.beginTransaction();
+        query("MATCH (type:Type{fqn:$fqn}) SET type.marker=true", Map.of("fqn", type.getName()));
+        store.commitTransaction();
+    }
+
+    private boolean isMarked(Class<?> type) {
+        store.beginTransaction();
+        List<Boolean> markers = query("MATCH (type:Type{fqn:$fqn}) RETURN type.marker as marker", Map.of("fqn", type.getName())).getColumn("marker");
+        store.commitTransaction();
+        return Boolean.TRUE.equals(markers.get(0));
+    }
+
+    private Object getTypeId(Class<?> type) {
+        store.beginTransaction();
+        List<Object> ids = query("MATCH (type:Type{fqn:$fqn}) RETURN id(type) as id", Map.of("fqn", type.getName())).getColumn("id");
+        store.commitTransaction();
+        assertThat(ids).hasSize(1);
+        return ids.get(0);
+    }
+
+    /**
+     * Return the number of nodes and relationships.
+     */
+    private List<Object> getStatistics() {
+        store.beginTransaction();
+        List<Object> statistics = List.of(query("MATCH (n) RETURN count(n) as count").getColumn("count")
+            .get(0), query("MATCH ()-[r]->() RETURN count(r) as count").getColumn("count")
+            .get(0));
+        store.commitTransaction();
+        return statistics;
+    }
+}
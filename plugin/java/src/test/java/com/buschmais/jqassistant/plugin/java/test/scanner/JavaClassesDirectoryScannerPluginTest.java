@@ -6,6 +6,7 @@ import java.nio.file.Files;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.configuration.Scan;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaClassesDirectoryDescriptor;
@@ -34,11 +35,15 @@ class JavaClassesDirectoryScannerPluginTest {
     @Mock
     private Store store;
 
+    @Mock
+    private Scan configuration;
+
     private File directory;
 
     @BeforeEach
     void before() throws IOException {
         when(scanner.getContext()).thenReturn(context);
+        when(scanner.getConfiguration()).thenReturn(configuration);
         when(context.getStore()).thenReturn(store);
         directory = Files.createTempDirectory("directory").toFile();
     }
@@ -0,0 +1,53 @@
+package com.buschmais.jqassistant.plugin.java.test.scanner;
+
+import java.util.List;
+
+import com.buschmais.jqassistant.plugin.java.test.AbstractJavaPluginIT;
+import com.buschmais.jqassistant.plugin.java.test.set.scanner.relation.MemberRelations;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the INVOKES, READS and WRITES relations which are created in bulk for the instructions of methods.
+ */
+class MemberRelationIT extends AbstractJavaPluginIT {
+
+    @Test
+    void invokes() {
+        scanClasses(MemberRelations.class);
+        store.beginTransaction();
+        List<Integer> lineNumbers = query(
+            "MATCH (:Method{name:'invokeTwice'})-[i:INVOKES]->(:Method{name:'increment'}) RETURN i.lineNumber as lineNumber ORDER BY lineNumber").getColumn(
+            "lineNumber");
+        assertThat(lineNumbers).containsExactly(8, 9);
+        store.commitTransaction();
+    }
+
+    @Test
+    void readsAndWrites() {
+        scanClasses(MemberRelations.class);
+        store.beginTransaction();
+        List<Integer> reads = query(
+            "MATCH (:Method{name:'readAndWrite'})-[r:READS]->(:Field{name:'value'}) RETURN r.lineNumber as lineNumber ORDER BY lineNumber").getColumn(
+            "lineNumber");
+        assertThat(reads).containsExactly(13, 15, 16);
+        List<Integer> writes = query(
+            "MATCH (:Method{name:'readAndWrite'})-[w:WRITES]->(:Field{name:'value'}) RETURN w.lineNumber as lineNumber ORDER BY lineNumber").getColumn(
+            "lineNumber");
+        assertThat(writes).containsExactly(14, 15);
+        assertThat(query("MATCH (:Method{name:'increment'})-[r:READS]->(:Field{name:'value'}) RETURN count(r) as count").getColumn("count")).containsExactly(1L);
+        assertThat(query("MATCH (:Method{name:'increment'})-[w:WRITES]->(:Field{name:'value'}) RETURN count(w) as count").getColumn("count")).containsExactly(1L);
+        store.commitTransaction();
+    }
+
+    @Test
+    void allRelations() {
+        scanClasses(MemberRelations.class);
+        store.beginTransaction();
+        assertThat(query("MATCH (:Type)-[:DECLARES]->(m:Method)-[r:INVOKES|READS|WRITES]->() RETURN count(r) as count").getColumn("count")).containsExactly(
+            10L);
+        store.commitTransaction();
+    }
+}
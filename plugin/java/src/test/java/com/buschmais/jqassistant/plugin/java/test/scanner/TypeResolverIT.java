@@ -5,21 +5,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
 import com.buschmais.jqassistant.core.shared.map.MapBuilder;
 import com.buschmais.jqassistant.plugin.common.api.model.ArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.DependsOnDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
+import com.buschmais.jqassistant.plugin.common.api.scanner.FileResolver;
+import com.buschmais.jqassistant.plugin.java.api.model.ClassFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.TypeDescriptor;
+import com.buschmais.jqassistant.plugin.java.api.scanner.ArtifactScopedTypeResolver;
 import com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope;
 import com.buschmais.jqassistant.plugin.java.test.AbstractJavaPluginIT;
 import com.buschmais.jqassistant.plugin.java.test.set.scanner.resolver.A;
 import com.buschmais.jqassistant.plugin.java.test.set.scanner.resolver.B;
+import com.buschmais.xo.api.Query.Result;
 
 import org.junit.jupiter.api.Test;
 
 import static com.buschmais.jqassistant.plugin.java.test.assertj.TypeDescriptorCondition.typeDescriptor;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class TypeResolverIT extends AbstractJavaPluginIT {
 
@@ -283,4 +291,79 @@ class TypeResolverIT extends AbstractJavaPluginIT {
         assertThat(((TypeDescriptor) fileDescriptor2).getFullQualifiedName()).isEqualTo(A.class.getName());
         store.commitTransaction();
     }
+
+    /**
+     * Verifies that the types of dependencies are returned by {@link JavaArtifactFileDescriptor#getTypesOfDependencies()} with contained types
+     * before required types.
+     */
+    @Test
+    void typesOfDependencies() {
+        store.beginTransaction();
+        JavaArtifactFileDescriptor a1 = getArtifactDescriptor("a1");
+        JavaArtifactFileDescriptor a2 = getArtifactDescriptor("a2");
+        JavaArtifactFileDescriptor a3 = getArtifactDescriptor("a3");
+        store.create(a1, DependsOnDescriptor.class, a2);
+        store.create(a2, DependsOnDescriptor.class, a3);
+        TypeDescriptor required = createType(a2.getRequires(), "c.Type");
+        TypeDescriptor contained = createType(a3.getContains(), "c.Type");
+        TypeDescriptor requiredOnly = createType(a2.getRequires(), "r.Type");
+        createType(a1.getContains(), "a.Type");
+
+        List<TypeDescriptor> types = new ArrayList<>();
+        try (Result<TypeDescriptor> typesOfDependencies = a1.getTypesOfDependencies()) {
+            typesOfDependencies.forEach(types::add);
+        }
+
+        assertThat(types).containsExactlyInAnyOrder(required, contained, requiredOnly);
+        assertThat(types.indexOf(contained)).isLessThan(types.indexOf(required));
+        assertThat(types.indexOf(contained)).isLessThan(types.indexOf(requiredOnly));
+        store.commitTransaction();
+    }
+
+    /**
+     * Verifies resolving types from dependencies including types which are not contained in the dependencies or have been added after the types of
+     * the dependencies have been loaded by the resolver and the resolver has been invalidated.
+     */
+    @Test
+    void resolveFromDependencies() {
+        store.beginTransaction();
+        JavaArtifactFileDescriptor a1 = getArtifactDescriptor("a1");
+        JavaArtifactFileDescriptor a2 = getArtifactDescriptor("a2");
+        store.create(a1, DependsOnDescriptor.class, a2);
+        TypeDescriptor contained = createType(a2.getContains(), "c.Type");
+        ClassFileDescriptor missing = store.create(ClassFileDescriptor.class);
+        ScannerContext scannerContext = mock(ScannerContext.class);
+        FileResolver fileResolver = mock(FileResolver.class);
+        doReturn(fileResolver).when(scannerContext)
+            .peek(FileResolver.class);
+        doReturn(missing).when(fileResolver)
+            .require("/m/Type.class", "/m/Type.class", ClassFileDescriptor.class, scannerContext);
+        ArtifactScopedTypeResolver resolver = new ArtifactScopedTypeResolver(a1);
+
+        assertThat(resolver.resolve("c.Type", scannerContext)
+            .getTypeDescriptor()).isEqualTo(contained);
+        // not contained in any dependency
+        assertThat(resolver.resolve("m.Type", scannerContext)
+            .getTypeDescriptor()).isEqualTo(missing);
+        assertThat(missing.getFullQualifiedName()).isEqualTo("m.Type");
+        // added to a dependency after the types of the dependencies have been loaded
+        TypeDescriptor added = createType(a2.getContains(), "d.Type");
+        resolver.invalidateDependencies();
+        assertThat(resolver.resolve("d.Type", scannerContext)
+            .getTypeDescriptor()).isEqualTo(added);
+        // repeated lookups
+        assertThat(resolver.resolve("d.Type", scannerContext)
+            .getTypeDescriptor()).isEqualTo(added);
+        assertThat(resolver.resolve("c.Type", scannerContext)
+            .getTypeDescriptor()).isEqualTo(contained);
+        verify(fileResolver, times(1)).require(anyString(), anyString(), any(), any());
+        store.commitTransaction();
+    }
+
+    private TypeDescriptor createType(List<FileDescriptor> files, String fullQualifiedName) {
+        ClassFileDescriptor type = store.create(ClassFileDescriptor.class);
+        type.setFullQualifiedName(fullQualifiedName);
+        files.add(type);
+        return type;
+    }
 }
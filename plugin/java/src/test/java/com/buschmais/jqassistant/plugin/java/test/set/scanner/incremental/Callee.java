@@ -0,0 +1,8 @@
+package com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental;
+
+public class Callee {
+
+    public int getValue(int value) {
+        return value;
+    }
+}
@@ -0,0 +1,8 @@
+package com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental;
+
+public class Caller {
+
+    public int call(Callee callee) {
+        return callee.getValue(42);
+    }
+}
@@ -0,0 +1,10 @@
+package com.buschmais.jqassistant.plugin.java.test.set.scanner.incremental;
+
+public class Other {
+
+    private String value;
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package com.buschmais.jqassistant.plugin.java.test.set.scanner.relation;
+
+public class MemberRelations {
+
+    private int value;
+
+    public void invokeTwice() {
+        increment();
+        increment();
+    }
+
+    public int readAndWrite() {
+        int previous = value;
+        value = previous + 1;
+        value = value + 1;
+        return value;
+    }
+
+    private void increment() {
+        value++;
+    }
+}
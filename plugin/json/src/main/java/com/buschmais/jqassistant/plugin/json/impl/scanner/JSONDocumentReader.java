@@ -0,0 +1,204 @@
+package com.buschmais.jqassistant.plugin.json.impl.scanner;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.plugin.json.api.model.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Reads a JSON document from the tokens of a {@link JsonParser} and creates the descriptors while reading.
+ * <p>
+ * The document is read in a single pass. If it turns out to be invalid (e.g. a syntax error or exceeding the maximum size) the descriptors which
+ * have been created so far are removed by {@link #discard()}. If an object contains a key more than once the subgraph of the previous key is
+ * removed as well, i.e. the last value of a duplicate key wins.
+ * <p>
+ * The enclosing objects and arrays of the current token are held on an explicit stack, i.e. the required memory is bounded by the nesting depth
+ * and not by the size of the document. The created descriptors are written by the auto commit of the {@link Store}.
+ */
+@Slf4j
+class JSONDocumentReader {
+
+    private static final String DELETE_VALUES = "MATCH (root:Json)-[:HAS_KEY|HAS_VALUE|CONTAINS_VALUE*0..]->(value:Json) WHERE id(root) = $root DETACH DELETE value";
+
+    private final Store store;
+
+    private final int maxDepth;
+
+    private final long maxSize;
+
+    private final Deque<JSONValueDescriptor> containers = new ArrayDeque<>();
+
+    /**
+     * The keys of the enclosing objects by their names, arrays are represented by empty maps.
+     */
+    private final Deque<Map<String, JSONKeyDescriptor>> keys = new ArrayDeque<>();
+
+    private JSONKeyDescriptor currentKey;
+
+    private JSONValueDescriptor root;
+
+    private long skipped = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param store
+     *     The {@link Store}.
+     * @param maxDepth
+     *     The maximum nesting depth of objects and arrays, deeper nested structures are skipped. A negative value disables the limit, 0 is not
+     *     allowed as the root value is always created.
+     * @param maxSize
+     *     The maximum size of the document in characters. A negative value disables the limit.
+     */
+    JSONDocumentReader(Store store, int maxDepth, long maxSize) {
+        this.store = store;
+        this.maxDepth = maxDepth;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Read the document.
+     *
+     * @param parser
+     *     The {@link JsonParser}.
+     * @return The descriptor representing the root value or <code>null</code> if the document is empty.
+     * @throws IOException
+     *     If the document cannot be read or is not valid, the descriptors which have been created so far must be removed using {@link #discard()}.
+     */
+    JSONValueDescriptor read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        do {
+            checkSize(parser);
+            switch (token) {
+            case START_OBJECT:
+                addStructure(parser, JSONObjectDescriptor.class);
+                break;
+            case START_ARRAY:
+                addStructure(parser, JSONArrayDescriptor.class);
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                containers.pop();
+                keys.pop();
+                break;
+            case FIELD_NAME:
+                addKey(parser.getCurrentName());
+                break;
+            case VALUE_STRING:
+                addValue(toScalarValue(parser.getText()));
+                break;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                addValue(numberToScalarValue(parser.getNumberValue()));
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                addValue(toScalarValue(parser.getBooleanValue()));
+                break;
+            case VALUE_NULL:
+                addValue(toScalarValue(null));
+                break;
+            default:
+                log.info("Encountered unknown JSON token: {}", token);
+            }
+        } while (!containers.isEmpty() && (token = parser.nextToken()) != null);
+        if (!containers.isEmpty()) {
+            throw new JsonParseException(parser, "Unexpected end of document");
+        }
+        if (parser.nextToken() != null) {
+            throw new JsonParseException(parser, "Trailing token after the root value");
+        }
+        if (skipped > 0) {
+            log.info("Skipped {} structure(s) nested deeper than {} level(s).", skipped, maxDepth);
+        }
+        return root;
+    }
+
+    /**
+     * Remove the descriptors which have been created by {@link #read(JsonParser)} for a document which turned out to be invalid.
+     */
+    void discard() {
+        if (root != null) {
+            delete(root);
+            root = null;
+        }
+    }
+
+    private void addKey(String name) {
+        JSONObjectDescriptor object = (JSONObjectDescriptor) containers.peek();
+        currentKey = store.create(JSONKeyDescriptor.class, key -> key.setName(name));
+        JSONKeyDescriptor previousKey = keys.peek()
+            .put(name, currentKey);
+        if (previousKey != null) {
+            // the last value of a duplicate key wins
+            object.getKeys()
+                .remove(previousKey);
+            delete(previousKey);
+        }
+        object.getKeys()
+            .add(currentKey);
+    }
+
+    private void addStructure(JsonParser parser, Class<? extends JSONValueDescriptor> type) throws IOException {
+        if (maxDepth > 0 && containers.size() >= maxDepth) {
+            parser.skipChildren();
+            skipped++;
+        } else {
+            JSONValueDescriptor structure = store.create(type);
+            addValue(structure);
+            containers.push(structure);
+            keys.push(structure instanceof JSONObjectDescriptor ? new HashMap<>() : Collections.emptyMap());
+        }
+    }
+
+    private void addValue(JSONValueDescriptor value) {
+        JSONValueDescriptor container = containers.peek();
+        if (container == null) {
+            root = value;
+        } else if (container instanceof JSONObjectDescriptor) {
+            currentKey.setValue(value);
+        } else {
+            ((JSONArrayDescriptor) container).getValues()
+                .add(value);
+        }
+    }
+
+    /**
+     * Delete the given descriptor and the values it contains.
+     */
+    private void delete(JSONDescriptor descriptor) {
+        store.executeQuery(DELETE_VALUES, singletonMap("root", descriptor.getId()))
+            .close();
+    }
+
+    private void checkSize(JsonParser parser) throws JsonParseException {
+        if (maxSize >= 0 && parser.getCurrentLocation()
+            .getCharOffset() > maxSize) {
+            throw new JsonParseException(parser, "The document exceeds the maximum size of " + maxSize + " characters");
+        }
+    }
+
+    private JSONScalarValueDescriptor numberToScalarValue(Number value) {
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return toScalarValue(value.toString());
+        }
+        return toScalarValue(value);
+    }
+
+    private JSONScalarValueDescriptor toScalarValue(Object value) {
+        return store.create(JSONScalarValueDescriptor.class, scalarValue -> scalarValue.setValue(value));
+    }
+}
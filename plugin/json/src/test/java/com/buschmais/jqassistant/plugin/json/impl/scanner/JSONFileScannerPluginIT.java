@@ -1,11 +1,17 @@
 package com.buschmais.jqassistant.plugin.json.impl.scanner;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
+import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.core.test.plugin.AbstractPluginIT;
+import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
+import com.buschmais.jqassistant.plugin.common.api.model.TarArchiveDescriptor;
 import com.buschmais.jqassistant.plugin.json.api.model.JSONArrayDescriptor;
 import com.buschmais.jqassistant.plugin.json.api.model.JSONDescriptor;
 import com.buschmais.jqassistant.plugin.json.api.model.JSONFileDescriptor;
@@ -14,12 +20,16 @@ import com.buschmais.jqassistant.plugin.json.api.model.JSONObjectDescriptor;
 import com.buschmais.jqassistant.plugin.json.api.model.JSONScalarValueDescriptor;
 import com.buschmais.jqassistant.plugin.json.api.model.JSONValueDescriptor;
 
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JSONFileScannerPluginIT extends AbstractPluginIT {
 
@@ -653,6 +663,96 @@ class JSONFileScannerPluginIT extends AbstractPluginIT {
         assertThat(rawValue).isEqualTo("дом культуры");
     }
 
+    @Test
+    void structuresNestedDeeperThanMaxDepthAreSkipped() {
+        File jsonFile = new File(getClassesDirectory(JSONFileScannerPluginIT.class), "/probes/valid/array-of-arrays.json");
+
+        Scanner scanner = getScanner(Map.of(JSONFileScannerPlugin.PROPERTY_MAX_DEPTH, "2"));
+        JSONFileDescriptor file = scanner.scan(jsonFile, jsonFile.getAbsolutePath(), null);
+
+        assertThat(file.isValid()).isTrue();
+        JSONArrayDescriptor array = (JSONArrayDescriptor) file.getValue();
+        assertThat(array.getValues()).hasSize(3)
+            .allSatisfy(value -> assertThat(((JSONArrayDescriptor) value).getValues()).isEmpty());
+    }
+
+    @Test
+    void documentExceedingMaxSizeIsInvalid() {
+        File jsonFile = new File(getClassesDirectory(JSONFileScannerPluginIT.class), "/probes/valid/object-with-objects.json");
+
+        Scanner scanner = getScanner(Map.of(JSONFileScannerPlugin.PROPERTY_MAX_SIZE, "20"));
+        JSONFileDescriptor file = scanner.scan(jsonFile, jsonFile.getAbsolutePath(), null);
+
+        assertThat(file.isValid()).isFalse();
+        assertThat(file.getValue()).isNull();
+        assertThat(query("MATCH (value:Json:Value) RETURN value").getRows()).isEmpty();
+    }
+
+    @Test
+    void noValuesAreCreatedForInvalidDocument() {
+        File jsonFile = new File(getClassesDirectory(JSONFileScannerPluginIT.class), "/probes/invalid/json-file-as-template.json");
+
+        Scanner scanner = getScanner();
+        JSONFileDescriptor file = scanner.scan(jsonFile, jsonFile.getAbsolutePath(), null);
+
+        assertThat(file.isValid()).isFalse();
+        assertThat(file.getValue()).isNull();
+        assertThat(query("MATCH (node:Json) WHERE node:Value OR node:Key RETURN node").getRows()).isEmpty();
+    }
+
+    @Test
+    void lastValueOfDuplicateKeyWins() {
+        File jsonFile = new File(getClassesDirectory(JSONFileScannerPluginIT.class), "/probes/valid/object-with-duplicate-keys.json");
+
+        Scanner scanner = getScanner();
+        JSONFileDescriptor file = scanner.scan(jsonFile, jsonFile.getAbsolutePath(), null);
+
+        assertThat(file.isValid()).isTrue();
+        JSONObjectDescriptor object = (JSONObjectDescriptor) file.getValue();
+        assertThat(object.getKeys()).hasSize(2);
+        JSONKeyDescriptor keyA = findKeyInDocument(object.getKeys(), "a");
+        assertThat(keyA.getValue()).isInstanceOfSatisfying(JSONScalarValueDescriptor.class, scalar -> assertThat(scalar.getValue()).isEqualTo(3));
+        assertThat(query("MATCH (key:Json:Key) RETURN key").getRows()).hasSize(2);
+        assertThat(query("MATCH (value:Json:Value) RETURN value").getRows()).hasSize(3);
+    }
+
+    @Test
+    void scanJsonFileInTarArchive() throws IOException {
+        File archive = File.createTempFile("json", ".tar");
+        try {
+            try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(new FileOutputStream(archive))) {
+                byte[] content = "{ \"A\": \"B\" }".getBytes(UTF_8);
+                TarArchiveEntry entry = new TarArchiveEntry("object.json");
+                entry.setSize(content.length);
+                tarOutputStream.putArchiveEntry(entry);
+                tarOutputStream.write(content);
+                tarOutputStream.closeArchiveEntry();
+                tarOutputStream.finish();
+            }
+
+            FileDescriptor descriptor = getScanner().scan(archive, archive.getAbsolutePath(), DefaultScope.NONE);
+
+            assertThat(descriptor).isInstanceOf(TarArchiveDescriptor.class);
+            List<FileDescriptor> contains = ((TarArchiveDescriptor) descriptor).getContains();
+            assertThat(contains).hasSize(1);
+            assertThat(contains.get(0)).isInstanceOfSatisfying(JSONFileDescriptor.class, file -> {
+                assertThat(file.isValid()).isTrue();
+                JSONObjectDescriptor object = (JSONObjectDescriptor) file.getValue();
+                assertThat(object.getKeys()).hasSize(1);
+                assertThat(object.getKeys()
+                    .get(0)
+                    .getName()).isEqualTo("A");
+            });
+        } finally {
+            archive.delete();
+        }
+    }
+
+    @Test
+    void maxDepthOfZeroIsRejected() {
+        assertThatThrownBy(() -> getScanner(Map.of(JSONFileScannerPlugin.PROPERTY_MAX_DEPTH, "0"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
     private JSONKeyDescriptor findKeyInDocument(List<JSONKeyDescriptor> keys, String name) {
         JSONKeyDescriptor result = null;
 
@@ -264,14 +264,16 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
         for (Dependency dependency : dependencies) {
             MavenArtifactDescriptor dependencyArtifactDescriptor = mavenArtifactDescriptors.get(dependency);
             // New graph structure supporting exclusions
-            MavenDependencyDescriptor dependencyDescriptor = store.create(MavenDependencyDescriptor.class);
+            MavenDependencyDescriptor dependencyDescriptor = store.create(MavenDependencyDescriptor.class, mavenDependency -> {
+                mavenDependency.setOptional(dependency.isOptional());
+                mavenDependency.setScope(dependency.getScope());
+            });
             dependencyDescriptor.setToArtifact(dependencyArtifactDescriptor);
-            dependencyDescriptor.setOptional(dependency.isOptional());
-            dependencyDescriptor.setScope(dependency.getScope());
             for (Exclusion exclusion : dependency.getExclusions()) {
-                MavenExcludesDescriptor mavenExcludesDescriptor = store.create(MavenExcludesDescriptor.class);
-                mavenExcludesDescriptor.setGroupId(exclusion.getGroupId());
-                mavenExcludesDescriptor.setArtifactId(exclusion.getArtifactId());
+                MavenExcludesDescriptor mavenExcludesDescriptor = store.create(MavenExcludesDescriptor.class, mavenExcludes -> {
+                    mavenExcludes.setGroupId(exclusion.getGroupId());
+                    mavenExcludes.setArtifactId(exclusion.getArtifactId());
+                });
                 dependencyDescriptor.getExclusions().add(mavenExcludesDescriptor);
             }
             dependencyDescriptors.add(dependencyDescriptor);
@@ -292,8 +294,7 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
     private void addExecutionGoals(MavenPluginExecutionDescriptor executionDescriptor, PluginExecution pluginExecution, Store store) {
         List<String> goals = pluginExecution.getGoals();
         for (String goal : goals) {
-            MavenExecutionGoalDescriptor goalDescriptor = store.create(MavenExecutionGoalDescriptor.class);
-            goalDescriptor.setName(goal);
+            MavenExecutionGoalDescriptor goalDescriptor = store.create(MavenExecutionGoalDescriptor.class, executionGoal -> executionGoal.setName(goal));
             executionDescriptor.getGoals().add(goalDescriptor);
         }
     }
@@ -311,11 +312,12 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
     private void addLicenses(MavenPomDescriptor pomDescriptor, Model model, Store store) {
         List<License> licenses = model.getLicenses();
         for (License license : licenses) {
-            MavenLicenseDescriptor licenseDescriptor = store.create(MavenLicenseDescriptor.class);
-            licenseDescriptor.setUrl(license.getUrl());
-            licenseDescriptor.setComments(license.getComments());
-            licenseDescriptor.setName(license.getName());
-            licenseDescriptor.setDistribution(license.getDistribution());
+            MavenLicenseDescriptor licenseDescriptor = store.create(MavenLicenseDescriptor.class, mavenLicense -> {
+                mavenLicense.setUrl(license.getUrl());
+                mavenLicense.setComments(license.getComments());
+                mavenLicense.setName(license.getName());
+                mavenLicense.setDistribution(license.getDistribution());
+            });
 
             pomDescriptor.getLicenses().add(licenseDescriptor);
         }
@@ -418,8 +420,7 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
      */
     private void addModules(BaseProfileDescriptor pomDescriptor, List<String> modules, Store store) {
         for (String module : modules) {
-            MavenModuleDescriptor moduleDescriptor = store.create(MavenModuleDescriptor.class);
-            moduleDescriptor.setName(module);
+            MavenModuleDescriptor moduleDescriptor = store.create(MavenModuleDescriptor.class, mavenModule -> mavenModule.setName(module));
             pomDescriptor.getModules().add(moduleDescriptor);
         }
 
@@ -457,10 +458,11 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
     private void addPluginExecutions(MavenPluginDescriptor mavenPluginDescriptor, Plugin plugin, Store store) {
         List<PluginExecution> executions = plugin.getExecutions();
         for (PluginExecution pluginExecution : executions) {
-            MavenPluginExecutionDescriptor executionDescriptor = store.create(MavenPluginExecutionDescriptor.class);
-            executionDescriptor.setId(pluginExecution.getId());
-            executionDescriptor.setPhase(pluginExecution.getPhase());
-            executionDescriptor.setInherited(pluginExecution.isInherited());
+            MavenPluginExecutionDescriptor executionDescriptor = store.create(MavenPluginExecutionDescriptor.class, execution -> {
+                execution.setId(pluginExecution.getId());
+                execution.setPhase(pluginExecution.getPhase());
+                execution.setInherited(pluginExecution.isInherited());
+            });
             mavenPluginDescriptor.getExecutions().add(executionDescriptor);
             addExecutionGoals(executionDescriptor, pluginExecution, store);
             addConfiguration(executionDescriptor, (Xpp3Dom) pluginExecution.getConfiguration(), store);
@@ -551,9 +553,10 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
     private void addProperties(BaseProfileDescriptor pomDescriptor, Properties properties, Store store) {
         Set<Entry<Object, Object>> entrySet = properties.entrySet();
         for (Entry<Object, Object> entry : entrySet) {
-            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class);
-            propertyDescriptor.setName(entry.getKey().toString());
-            propertyDescriptor.setValue(entry.getValue().toString());
+            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class, property -> {
+                property.setName(entry.getKey().toString());
+                property.setValue(entry.getValue().toString());
+            });
             pomDescriptor.getProperties().add(propertyDescriptor);
         }
 
@@ -586,13 +589,12 @@ public class MavenModelScannerPlugin extends AbstractScannerPlugin<Model, MavenP
     private ValueDescriptor<?> getConfigChildNodes(Xpp3Dom node, Store store) {
         Xpp3Dom[] children = node.getChildren();
         if (children.length == 0) {
-            PropertyDescriptor propertyDescriptor = store.create(PropertyDescriptor.class);
-            propertyDescriptor.setName(node.getName());
-            propertyDescriptor.setValue(node.getValue());
-            return propertyDescriptor;
+            return store.create(PropertyDescriptor.class, property -> {
+                property.setName(node.getName());
+                property.setValue(node.getValue());
+            });
         }
-        ArrayValueDescriptor childDescriptor = store.create(ArrayValueDescriptor.class);
-        childDescriptor.setName(node.getName());
+        ArrayValueDescriptor childDescriptor = store.create(ArrayValueDescriptor.class, arrayValue -> arrayValue.setName(node.getName()));
         for (Xpp3Dom child : children) {
             childDescriptor.getValue().add(getConfigChildNodes(child, store));
         }
@@ -4,13 +4,13 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
 import com.buschmais.jqassistant.plugin.maven3.api.model.MavenPomDescriptor;
 import com.buschmais.jqassistant.plugin.maven3.api.model.MavenPomXmlDescriptor;
 import com.buschmais.jqassistant.plugin.maven3.api.scanner.PomModelBuilder;
 import com.buschmais.jqassistant.plugin.xml.api.scanner.AbstractXmlFileScannerPlugin;
-import com.buschmais.jqassistant.plugin.xml.api.scanner.XMLFileFilter;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
@@ -23,6 +23,8 @@ import org.slf4j.LoggerFactory;
  * 
  * @author ronald.kunzmann@buschmais.com
  */
+@Matches(extensions = { ".pom", "pom.xml" })
+@Matches(extensions = ".xml", xmlRootElements = "{http://maven.apache.org/POM/4.0.0}project")
 public class MavenPomFileScannerPlugin extends AbstractXmlFileScannerPlugin<MavenPomXmlDescriptor> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MavenPomFileScannerPlugin.class);
@@ -34,21 +36,14 @@ public class MavenPomFileScannerPlugin extends AbstractXmlFileScannerPlugin<Mave
         mavenXpp3Reader = new MavenXpp3Reader();
     }
 
+    /**
+     * Accepts files with the extension <code>.pom</code> or <code>.xml</code>. The root element of XML files which are not named
+     * <code>pom.xml</code> is verified by the scanner using the {@link Matches} declaration, i.e. the content is not read again.
+     */
     @Override
-    public boolean accepts(FileResource item, String path, Scope scope) throws IOException {
-        boolean hasXMLExtension = path.toLowerCase().endsWith(".xml");
-        boolean isPomXML = path.toLowerCase().endsWith("pom.xml");
-        boolean hasPomExtension = path.toLowerCase().endsWith(".pom");
-        boolean identifiedByExtension = isPomXML || hasPomExtension;
-
-        boolean isMavenPOM;
-        if (!identifiedByExtension && hasXMLExtension) {
-            isMavenPOM = XMLFileFilter.rootElementMatches(item, path, "project", "http://maven.apache.org/POM/4.0.0");
-        } else {
-            isMavenPOM = identifiedByExtension;
-        }
-
-        return isMavenPOM;
+    public boolean accepts(FileResource item, String path, Scope scope) {
+        String lowerCasePath = path.toLowerCase();
+        return lowerCasePath.endsWith(".pom") || lowerCasePath.endsWith(".xml");
     }
 
     /** {@inheritDoc} */
@@ -5,6 +5,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -21,12 +22,14 @@ import com.buschmais.jqassistant.plugin.common.api.model.DependsOnDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
 import com.buschmais.jqassistant.plugin.common.api.scanner.AbstractScannerPlugin;
 import com.buschmais.jqassistant.plugin.common.api.scanner.FileResolver;
+import com.buschmais.jqassistant.plugin.common.api.scanner.SubgraphRemover;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor;
 import com.buschmais.jqassistant.plugin.java.api.model.JavaClassesDirectoryDescriptor;
 import com.buschmais.jqassistant.plugin.maven3.api.artifact.*;
 import com.buschmais.jqassistant.plugin.maven3.api.model.*;
 import com.buschmais.jqassistant.plugin.maven3.api.scanner.EffectiveModel;
 import com.buschmais.jqassistant.plugin.maven3.api.scanner.MavenScope;
+import com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency.DependencyScanCache;
 import com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency.DependencyScanner;
 import com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency.GraphResolver;
 
@@ -48,6 +51,8 @@ import org.slf4j.LoggerFactory;
 import static com.buschmais.jqassistant.core.shared.io.FileNameNormalizer.normalize;
 import static com.buschmais.jqassistant.plugin.java.api.scanner.JavaScope.CLASSPATH;
 import static com.buschmais.jqassistant.plugin.junit.api.scanner.JunitScope.TESTREPORTS;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.eclipse.aether.util.graph.transformer.ConflictResolver.CONFIG_PROP_VERBOSE;
 
 /**
@@ -61,6 +66,8 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
 
     private static final String PROPERTY_NAME_DEPENDENCIES_EXCLUDES = "maven3.dependencies.excludes";
 
+    private static final String PROPERTY_NAME_DEPENDENCIES_CACHE_DIRECTORY = "maven3.dependencies.cache.directory";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(MavenProjectScannerPlugin.class);
 
     private final ScopeHelper scopeHelper = new ScopeHelper(LOGGER);
@@ -71,6 +78,8 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
 
     private ArtifactFilter dependencyFilter = null;
 
+    private DependencyScanCache dependencyScanCache = null;
+
     /**
      * Default constructor.
      */
@@ -94,6 +103,8 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         String dependencyFilterIncludes = getStringProperty(PROPERTY_NAME_DEPENDENCIES_INCLUDES, null);
         String dependencyFilterExcludes = getStringProperty(PROPERTY_NAME_DEPENDENCIES_EXCLUDES, null);
         dependencyFilter = new ArtifactFilter(dependencyFilterIncludes, dependencyFilterExcludes);
+        String dependencyCacheDirectory = getStringProperty(PROPERTY_NAME_DEPENDENCIES_CACHE_DIRECTORY, null);
+        dependencyScanCache = dependencyCacheDirectory != null ? new DependencyScanCache(new File(dependencyCacheDirectory)) : null;
 
     }
 
@@ -135,8 +146,7 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         Artifact artifact = project.getArtifact();
         MavenMainArtifactDescriptor mainArtifactDescriptor = getMavenArtifactDescriptor(new MavenArtifactCoordinates(artifact, false),
             MavenMainArtifactDescriptor.class, artifactResolver, scanner);
-        projectDescriptor.getCreatesArtifacts()
-            .add(mainArtifactDescriptor);
+        addCreatedArtifact(projectDescriptor, mainArtifactDescriptor);
         // test artifact
         MavenArtifactDescriptor testArtifactDescriptor = null;
         String testOutputDirectory = project.getBuild()
@@ -144,11 +154,12 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         if (testOutputDirectory != null) {
             testArtifactDescriptor = getMavenArtifactDescriptor(new MavenArtifactCoordinates(artifact, true), MavenTestArtifactDescriptor.class,
                 artifactResolver, scanner);
-            DependsOnDescriptor dependsOnDescriptor = context.getStore()
-                .create(testArtifactDescriptor, DependsOnDescriptor.class, mainArtifactDescriptor);
-            dependsOnDescriptor.setScope(Artifact.SCOPE_COMPILE);
-            projectDescriptor.getCreatesArtifacts()
-                .add(testArtifactDescriptor);
+            if (!dependsOn(testArtifactDescriptor, mainArtifactDescriptor)) {
+                DependsOnDescriptor dependsOnDescriptor = context.getStore()
+                    .create(testArtifactDescriptor, DependsOnDescriptor.class, mainArtifactDescriptor);
+                dependsOnDescriptor.setScope(Artifact.SCOPE_COMPILE);
+            }
+            addCreatedArtifact(projectDescriptor, testArtifactDescriptor);
         }
 
         resolveDependencyGraph(project, mainArtifactDescriptor, testArtifactDescriptor, scanner, mavenSession);
@@ -162,6 +173,40 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         return projectDescriptor;
     }
 
+    /**
+     * Adds an artifact to the artifacts created by a project if it has not been added by a previous scan.
+     *
+     * @param projectDescriptor
+     *     The project descriptor.
+     * @param artifactDescriptor
+     *     The artifact descriptor.
+     */
+    private void addCreatedArtifact(MavenProjectDirectoryDescriptor projectDescriptor, ArtifactDescriptor artifactDescriptor) {
+        List<ArtifactDescriptor> createsArtifacts = projectDescriptor.getCreatesArtifacts();
+        if (!createsArtifacts.contains(artifactDescriptor)) {
+            createsArtifacts.add(artifactDescriptor);
+        }
+    }
+
+    /**
+     * Determines if an artifact depends on another artifact, e.g. if the dependency has been created by a previous scan.
+     *
+     * @param dependent
+     *     The dependent artifact.
+     * @param dependency
+     *     The dependency.
+     * @return <code>true</code> if the dependent artifact depends on the dependency.
+     */
+    private boolean dependsOn(ArtifactDescriptor dependent, ArtifactDescriptor dependency) {
+        for (DependsOnDescriptor dependsOnDescriptor : dependent.getDependencies()) {
+            if (Objects.equals(dependsOnDescriptor.getDependency()
+                .getId(), dependency.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void scanTestReports(MavenProject project, Scanner scanner) {
         // add test reports
         String surefireReports = project.getBuild()
@@ -175,7 +220,8 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
     private void scanIncludes(MavenProject project, Scanner scanner, MavenProjectDirectoryDescriptor projectDescriptor) {
         File basedir = project.getBasedir();
         Consumer<Descriptor> scanIncludeConsumer = descriptor -> {
-            if (descriptor instanceof FileDescriptor) {
+            if (descriptor instanceof FileDescriptor && !projectDescriptor.getContains()
+                .contains(descriptor)) {
                 projectDescriptor.getContains()
                     .add((FileDescriptor) descriptor);
             }
@@ -287,7 +333,7 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
             LOGGER.warn("Cannot resolve dependency graph for " + project, e);
         }
         if (rootNode != null) {
-            dependencyScanner.evaluate(rootNode, mainDescriptor, testDescriptor, scanDependencies, dependencyFilter, localRepository, scanner);
+            dependencyScanner.evaluate(rootNode, mainDescriptor, testDescriptor, scanDependencies, dependencyFilter, localRepository, dependencyScanCache, scanner);
         }
     }
 
@@ -331,6 +377,10 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
      *     The scanner.
      */
     private void addModel(MavenProject project, MavenProjectDirectoryDescriptor projectDescriptor, Scanner scanner) {
+        if (scanner.getConfiguration()
+            .incremental()) {
+            removeModel(projectDescriptor, scanner);
+        }
         File pomXmlFile = project.getFile();
         FileDescriptor mavenPomXmlDescriptor = scanner.scan(pomXmlFile, pomXmlFile.getAbsolutePath(), MavenScope.PROJECT);
         projectDescriptor.setModel(mavenPomXmlDescriptor);
@@ -347,6 +397,28 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         projectDescriptor.setEffectiveModel(effectiveModelDescriptor);
     }
 
+    /**
+     * Removes the model and the effective model which have been created by a previous scan of the project.
+     *
+     * @param projectDescriptor
+     *     The project descriptor.
+     * @param scanner
+     *     The scanner.
+     */
+    private void removeModel(MavenProjectDirectoryDescriptor projectDescriptor, Scanner scanner) {
+        FileDescriptor model = projectDescriptor.getModel();
+        MavenPomDescriptor effectiveModel = projectDescriptor.getEffectiveModel();
+        if (model != null || effectiveModel != null) {
+            projectDescriptor.setEffectiveModel(null);
+            SubgraphRemover subgraphRemover = new SubgraphRemover(scanner.getContext()
+                .getStore());
+            subgraphRemover.remove(model != null ? singletonList(model) : emptyList(), effectiveModel != null ? singletonList(effectiveModel) : emptyList());
+            if (model != null) {
+                subgraphRemover.reset(model);
+            }
+        }
+    }
+
     /**
      * Add the relation to the parent project.
      *
@@ -383,8 +455,11 @@ public class MavenProjectScannerPlugin extends AbstractScannerPlugin<MavenProjec
         for (MavenProject module : project.getCollectedProjects()) {
             if (modules.contains(module.getBasedir())) {
                 MavenProjectDirectoryDescriptor moduleDescriptor = resolveProject(module, MavenProjectDirectoryDescriptor.class, scannerContext);
-                projectDescriptor.getModules()
-                    .add(moduleDescriptor);
+                if (!projectDescriptor.getModules()
+                    .contains(moduleDescriptor)) {
+                    projectDescriptor.getModules()
+                        .add(moduleDescriptor);
+                }
             }
         }
     }
@@ -0,0 +1,632 @@
+package com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * An on-disk cache for the subgraphs created by scanning dependency artifacts.
+ * <p>
+ * Entries are identified by the coordinates and the SHA-256 hash of the content of an artifact, the version of jQAssistant, the versions of the
+ * installed plugins and the scanner properties. If an entry exists, its subgraph is replayed into the store instead of scanning the artifact,
+ * otherwise the artifact is scanned and the created subgraph is recorded.
+ * <p>
+ * The subgraph of an artifact consists of all nodes which are reachable by the relationships created during the scan, starting from the artifact
+ * node. Traversal stops at nodes which are owned by other artifacts, i.e. other artifacts themselves and types or their members which are contained
+ * or required by other artifacts. These are recorded as references which are resolved when the subgraph is replayed. If a subgraph contains a
+ * reference to another kind of node or a property value which cannot be serialized, no entry is recorded.
+ */
+public class DependencyScanCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DependencyScanCache.class);
+
+    private static final int BATCH_SIZE = 4096;
+
+    private static final String ARTIFACT_LABEL = "Artifact";
+
+    private static final String FQN = "fqn";
+
+    private static final String SIGNATURE = "signature";
+
+    private static final String CORE_POM_PROPERTIES = "/META-INF/maven/com.buschmais.jqassistant.core/scanner/pom.properties";
+
+    private static final String PLUGIN_DESCRIPTOR = "META-INF/jqassistant-plugin.xml";
+
+    /**
+     * The prefix of the scanner properties which control the selection of dependencies but do not affect the scan of an artifact.
+     */
+    private static final String DEPENDENCIES_PROPERTY_PREFIX = "maven3.dependencies.";
+
+    private final File directory;
+
+    private ClassLoader pluginClassLoader;
+
+    private String pluginVersions;
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *     The directory holding the cache entries.
+     */
+    public DependencyScanCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Replay the subgraph of an artifact from the cache or scan it and record the created subgraph.
+     *
+     * @param artifact
+     *     The {@link Artifact}.
+     * @param artifactFile
+     *     The artifact file.
+     * @param artifactDescriptor
+     *     The {@link Descriptor} representing the artifact in the store.
+     * @param scanner
+     *     The {@link Scanner}.
+     * @param scan
+     *     The {@link Runnable} for scanning the artifact.
+     */
+    public void scan(Artifact artifact, File artifactFile, Descriptor artifactDescriptor, Scanner scanner, Runnable scan) {
+        ScannerContext context = scanner.getContext();
+        File entryFile;
+        try {
+            entryFile = getEntryFile(artifact, artifactFile, scanner);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot determine scan cache entry for {}.", artifactFile, e);
+            scan.run();
+            return;
+        }
+        Store store = context.getStore();
+        store.getXOManager()
+            .flush();
+        long artifactId = artifactDescriptor.getId();
+        if (entryFile.exists() && replay(entryFile, artifactDescriptor, store, context.getClassLoader())) {
+            LOGGER.info("Replayed dependency '{}' from scan cache.", artifact);
+            return;
+        }
+        Set<Long> existingRelationships = getRelationships(artifactId, store);
+        Map<String, Object> existingProperties = new HashMap<>();
+        getNode(artifactId, store, existingProperties);
+        Set<Class<?>> existingTypes = getDescriptorTypes(artifactDescriptor);
+        scan.run();
+        store.getXOManager()
+            .flush();
+        ScanCacheEntry entry = record(artifactId, existingRelationships, existingTypes, existingProperties, store);
+        if (entry != null) {
+            write(entry, entryFile);
+        }
+    }
+
+    /**
+     * Determine the file of the cache entry for an artifact.
+     */
+    private File getEntryFile(Artifact artifact, File artifactFile, Scanner scanner) throws IOException {
+        StringBuilder key = new StringBuilder();
+        try (InputStream inputStream = new FileInputStream(artifactFile)) {
+            key.append(DigestUtils.sha256Hex(inputStream))
+                .append('\n');
+        }
+        key.append(getPluginVersions(scanner.getContext()
+            .getClassLoader()));
+        new TreeMap<>(scanner.getConfiguration()
+            .properties()).forEach((name, value) -> {
+            if (!name.startsWith(DEPENDENCIES_PROPERTY_PREFIX)) {
+                key.append(name)
+                    .append('=')
+                    .append(value)
+                    .append('\n');
+            }
+        });
+        String hash = DigestUtils.sha256Hex(key.toString());
+        StringBuilder fileName = new StringBuilder(artifact.getArtifactId()).append('-')
+            .append(artifact.getVersion());
+        if (artifact.getClassifier() != null && !artifact.getClassifier()
+            .isEmpty()) {
+            fileName.append('-')
+                .append(artifact.getClassifier());
+        }
+        fileName.append('.')
+            .append(artifact.getType())
+            .append('.')
+            .append(hash)
+            .append(".v")
+            .append(ScanCacheEntry.VERSION)
+            .append(".gz");
+        File artifactDirectory = new File(directory, artifact.getGroupId()
+            .replace('.', '/') + "/" + artifact.getArtifactId() + "/" + artifact.getVersion());
+        return new File(artifactDirectory, fileName.toString());
+    }
+
+    /**
+     * Determine the versions of jQAssistant and the plugins provided by a class loader.
+     * <p>
+     * The jar file modification time is added for snapshot versions as these may change without changing the version.
+     */
+    private String getPluginVersions(ClassLoader classLoader) throws IOException {
+        if (pluginVersions == null || pluginClassLoader != classLoader) {
+            StringBuilder versions = new StringBuilder("jqassistant=");
+            try (InputStream inputStream = Scanner.class.getResourceAsStream(CORE_POM_PROPERTIES)) {
+                if (inputStream != null) {
+                    Properties properties = new Properties();
+                    properties.load(inputStream);
+                    versions.append(properties.getProperty("version"));
+                }
+            }
+            versions.append('\n');
+            SortedSet<String> plugins = new TreeSet<>();
+            for (URL url : Collections.list(classLoader.getResources(PLUGIN_DESCRIPTOR))) {
+                URLConnection connection = url.openConnection();
+                try (InputStream inputStream = connection.getInputStream()) {
+                    XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+                    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                    XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+                    reader.nextTag();
+                    String version = reader.getAttributeValue(null, "version");
+                    StringBuilder plugin = new StringBuilder().append(reader.getAttributeValue(null, "id"))
+                        .append('=')
+                        .append(version);
+                    if (version == null || version.endsWith("SNAPSHOT")) {
+                        plugin.append('@')
+                            .append(connection.getLastModified());
+                    }
+                    plugins.add(plugin.toString());
+                } catch (XMLStreamException e) {
+                    throw new IOException("Cannot read plugin descriptor " + url, e);
+                }
+            }
+            plugins.forEach(plugin -> versions.append(plugin)
+                .append('\n'));
+            pluginVersions = versions.toString();
+            pluginClassLoader = classLoader;
+        }
+        return pluginVersions;
+    }
+
+    private boolean replay(File entryFile, Descriptor artifactDescriptor, Store store, ClassLoader classLoader) {
+        ScanCacheEntry entry;
+        try (InputStream inputStream = new FileInputStream(entryFile)) {
+            entry = ScanCacheEntry.read(inputStream);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot read scan cache entry {}.", entryFile, e);
+            return false;
+        }
+        if (entry == null) {
+            return false;
+        }
+        // resolve all types and references before writing to the store
+        List<Class<? extends Descriptor>> artifactTypes = new ArrayList<>();
+        for (String artifactType : entry.artifactTypes) {
+            try {
+                artifactTypes.add(classLoader.loadClass(artifactType)
+                    .asSubclass(Descriptor.class));
+            } catch (ClassNotFoundException | ClassCastException e) {
+                LOGGER.debug("Cannot resolve type {} of scan cache entry {}.", artifactType, entryFile);
+                return false;
+            }
+        }
+        long artifactId = artifactDescriptor.getId();
+        Map<Integer, Long> externalIds = resolveMembers(entry, artifactId, store);
+        if (externalIds == null) {
+            LOGGER.debug("Cannot resolve all references of scan cache entry {}.", entryFile);
+            return false;
+        }
+        long[] ids = new long[1 + entry.nodes.size() + entry.externalNodes.size()];
+        ids[ScanCacheEntry.ARTIFACT] = artifactId;
+        int externalOffset = 1 + entry.nodes.size();
+        resolveArtifacts(entry, externalOffset, externalIds, store);
+        externalIds.forEach((index, id) -> ids[externalOffset + index] = id);
+        // artifact, the types are added using the store to keep the cached instance consistent
+        Descriptor descriptor = artifactDescriptor;
+        for (Class<? extends Descriptor> artifactType : artifactTypes) {
+            descriptor = store.addDescriptorType(descriptor, artifactType);
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("artifact", artifactId);
+        parameters.put("properties", entry.artifactProperties);
+        store.executeQuery("MATCH (artifact) WHERE id(artifact)=$artifact SET artifact += $properties RETURN count(artifact)", parameters)
+            .getSingleResult();
+        // nodes
+        createNodes(entry.nodes, 1, ids, store);
+        // relationships
+        Map<String, List<Map<String, Object>>> relationshipsByType = new LinkedHashMap<>();
+        for (ScanCacheEntry.Relationship relationship : entry.relationships) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("source", ids[relationship.start]);
+            row.put("target", ids[relationship.end]);
+            row.put("properties", relationship.properties);
+            relationshipsByType.computeIfAbsent(relationship.type, type -> new ArrayList<>())
+                .add(row);
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> relationships : relationshipsByType.entrySet()) {
+            String createQuery = "UNWIND $rows as row " + //
+                "MATCH (source) WHERE id(source)=row.source " + //
+                "MATCH (target) WHERE id(target)=row.target " + //
+                "CREATE (source)-[r:`" + relationships.getKey() + "`]->(target) " + //
+                "SET r=row.properties " + //
+                "RETURN count(r)";
+            for (List<Map<String, Object>> batch : batches(relationships.getValue())) {
+                store.executeQuery(createQuery, singletonMap("rows", batch))
+                    .getSingleResult();
+                store.createdRelations(relationships.getKey(), batch.size());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the external types and members from the dependencies of the artifact.
+     *
+     * @return The ids of the resolved nodes by their index within the external nodes or <code>null</code> if a type or member cannot be resolved.
+     */
+    private Map<Integer, Long> resolveMembers(ScanCacheEntry entry, long artifactId, Store store) {
+        Map<Integer, Long> ids = new HashMap<>();
+        List<Map<String, Object>> references = new ArrayList<>();
+        for (int i = 0; i < entry.externalNodes.size(); i++) {
+            ScanCacheEntry.ExternalNode externalNode = entry.externalNodes.get(i);
+            if (externalNode.typeName != null) {
+                Map<String, Object> reference = new HashMap<>();
+                reference.put("index", i);
+                reference.put("fqn", externalNode.typeName);
+                reference.put("signature", externalNode.signature);
+                references.add(reference);
+            }
+        }
+        if (references.isEmpty()) {
+            return ids;
+        }
+        // a shortest path per candidate dependency, as enumerating all paths of a dependency graph with many diamonds grows exponentially
+        String query = "MATCH (artifact:Artifact), (dependency:Artifact)<-[:DEPENDS_ON]-(:Artifact) WHERE id(artifact)=$artifact and artifact <> dependency " + //
+            "WITH DISTINCT artifact, dependency " + //
+            "MATCH shortestPath((artifact)-[:DEPENDS_ON*]->(dependency)) " + //
+            "WITH DISTINCT dependency " + //
+            "UNWIND $references as reference " + //
+            "MATCH (dependency)-[r:CONTAINS|REQUIRES]->(type:Type) WHERE type.fqn=reference.fqn " + //
+            "OPTIONAL MATCH (type)-[:DECLARES]->(member) WHERE member.signature=reference.signature " + //
+            "WITH reference, type, member, r ORDER BY type(r) " + //
+            "WITH reference, collect(CASE WHEN reference.signature IS NULL THEN id(type) ELSE id(member) END) as ids " + //
+            "RETURN reference.index as index, ids[0] as id";
+        for (List<Map<String, Object>> batch : batches(references)) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("artifact", artifactId);
+            parameters.put("references", batch);
+            try (Result<CompositeRowObject> rows = store.executeQuery(query, parameters)) {
+                for (CompositeRowObject row : rows) {
+                    Number id = row.get("id", Number.class);
+                    if (id != null) {
+                        ids.put(row.get("index", Number.class)
+                            .intValue(), id.longValue());
+                    }
+                }
+            }
+        }
+        return ids.size() == references.size() ? ids : null;
+    }
+
+    /**
+     * Resolve the external artifacts by their full qualified names, missing artifacts are created.
+     */
+    private void resolveArtifacts(ScanCacheEntry entry, int externalOffset, Map<Integer, Long> ids, Store store) {
+        List<Map<String, Object>> references = new ArrayList<>();
+        for (int i = 0; i < entry.externalNodes.size(); i++) {
+            ScanCacheEntry.ExternalNode externalNode = entry.externalNodes.get(i);
+            if (externalNode.artifact != null) {
+                Map<String, Object> reference = new HashMap<>();
+                reference.put("index", i);
+                reference.put("fqn", externalNode.artifact.properties.get(FQN));
+                references.add(reference);
+            }
+        }
+        String query = "UNWIND $references as reference " + //
+            "OPTIONAL MATCH (artifact:Artifact) WHERE artifact.fqn=reference.fqn " + //
+            "WITH reference, collect(id(artifact)) as ids " + //
+            "RETURN reference.index as index, ids[0] as id";
+        for (List<Map<String, Object>> batch : batches(references)) {
+            try (Result<CompositeRowObject> rows = store.executeQuery(query, singletonMap("references", batch))) {
+                for (CompositeRowObject row : rows) {
+                    Number id = row.get("id", Number.class);
+                    if (id != null) {
+                        ids.put(row.get("index", Number.class)
+                            .intValue(), id.longValue());
+                    }
+                }
+            }
+        }
+        Map<Integer, ScanCacheEntry.Node> missingArtifacts = new LinkedHashMap<>();
+        for (Map<String, Object> reference : references) {
+            Integer index = (Integer) reference.get("index");
+            if (!ids.containsKey(index)) {
+                missingArtifacts.put(index, entry.externalNodes.get(index).artifact);
+            }
+        }
+        if (!missingArtifacts.isEmpty()) {
+            long[] createdIds = new long[externalOffset + entry.externalNodes.size()];
+            for (Map.Entry<Integer, ScanCacheEntry.Node> missingArtifact : missingArtifacts.entrySet()) {
+                createNodes(List.of(missingArtifact.getValue()), externalOffset + missingArtifact.getKey(), createdIds, store);
+                ids.put(missingArtifact.getKey(), createdIds[externalOffset + missingArtifact.getKey()]);
+            }
+        }
+    }
+
+    /**
+     * Create nodes grouped by their labels, each batch is reported to the {@link Store} for metrics and automatically committed transactions.
+     *
+     * @param nodes
+     *     The nodes.
+     * @param offset
+     *     The index of the first node.
+     * @param ids
+     *     The array receiving the ids of the created nodes.
+     * @param store
+     *     The {@link Store}.
+     */
+    private void createNodes(List<ScanCacheEntry.Node> nodes, int offset, long[] ids, Store store) {
+        Map<String, List<Map<String, Object>>> nodesByLabels = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            ScanCacheEntry.Node node = nodes.get(i);
+            Map<String, Object> row = new HashMap<>();
+            row.put("index", offset + i);
+            row.put("properties", node.properties);
+            nodesByLabels.computeIfAbsent(toLabels(node.labels), labels -> new ArrayList<>())
+                .add(row);
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> entry : nodesByLabels.entrySet()) {
+            String query = "UNWIND $rows as row " + //
+                "CREATE (node" + entry.getKey() + ") " + //
+                "SET node=row.properties " + //
+                "RETURN row.index as index, id(node) as id";
+            for (List<Map<String, Object>> batch : batches(entry.getValue())) {
+                try (Result<CompositeRowObject> rows = store.executeQuery(query, singletonMap("rows", batch))) {
+                    for (CompositeRowObject row : rows) {
+                        ids[row.get("index", Number.class)
+                            .intValue()] = row.get("id", Number.class)
+                            .longValue();
+                    }
+                }
+                store.createdNodes(entry.getKey(), batch.size());
+            }
+        }
+    }
+
+    /**
+     * Record the subgraph created by the scan of an artifact.
+     *
+     * @return The {@link ScanCacheEntry} or <code>null</code> if the subgraph cannot be recorded.
+     */
+    private ScanCacheEntry record(long artifactId, Set<Long> existingRelationships, Set<Class<?>> existingTypes, Map<String, Object> existingProperties,
+        Store store) {
+        ScanCacheEntry entry = new ScanCacheEntry();
+        Descriptor artifactDescriptor = store.executeQuery("MATCH (artifact) WHERE id(artifact)=$artifact RETURN artifact", singletonMap("artifact", artifactId))
+            .getSingleResult()
+            .get("artifact", Descriptor.class);
+        getDescriptorTypes(artifactDescriptor).stream()
+            .filter(type -> !existingTypes.contains(type))
+            .forEach(type -> entry.artifactTypes.add(type.getName()));
+        Map<String, Object> properties = new HashMap<>();
+        getNode(artifactId, store, properties);
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (!Objects.deepEquals(property.getValue(), existingProperties.get(property.getKey()))) {
+                if (!ScanCacheEntry.isSupported(property.getValue())) {
+                    return null;
+                }
+                entry.artifactProperties.put(property.getKey(), property.getValue());
+            }
+        }
+        Map<Long, Integer> nodeIndexes = new HashMap<>();
+        Map<Long, Integer> externalIndexes = new HashMap<>();
+        nodeIndexes.put(artifactId, ScanCacheEntry.ARTIFACT);
+        List<long[]> relationships = new ArrayList<>();
+        List<Map<String, Object>> relationshipProperties = new ArrayList<>();
+        List<String> relationshipTypes = new ArrayList<>();
+        List<Long> frontier = List.of(artifactId);
+        while (!frontier.isEmpty()) {
+            Set<Long> targets = new LinkedHashSet<>();
+            String query = "UNWIND $ids as sourceId " + //
+                "MATCH (source)-[r]->(target) WHERE id(source)=sourceId " + //
+                "RETURN sourceId, id(r) as relationshipId, type(r) as type, properties(r) as properties, id(target) as targetId";
+            for (List<Long> batch : batches(frontier)) {
+                try (Result<CompositeRowObject> rows = store.executeQuery(query, singletonMap("ids", batch))) {
+                    for (CompositeRowObject row : rows) {
+                        long sourceId = row.get("sourceId", Number.class)
+                            .longValue();
+                        if (sourceId == artifactId && existingRelationships.contains(row.get("relationshipId", Number.class)
+                            .longValue())) {
+                            continue;
+                        }
+                        Map<String, Object> relationshipProperty = row.get("properties", Map.class);
+                        if (!relationshipProperty.values()
+                            .stream()
+                            .allMatch(ScanCacheEntry::isSupported)) {
+                            return null;
+                        }
+                        long targetId = row.get("targetId", Number.class)
+                            .longValue();
+                        relationships.add(new long[] { sourceId, targetId });
+                        relationshipTypes.add(row.get("type", String.class));
+                        relationshipProperties.add(relationshipProperty);
+                        if (!nodeIndexes.containsKey(targetId) && !externalIndexes.containsKey(targetId)) {
+                            targets.add(targetId);
+                        }
+                    }
+                }
+            }
+            List<Long> next = new ArrayList<>();
+            if (!classify(new ArrayList<>(targets), artifactId, entry, nodeIndexes, externalIndexes, next, store)) {
+                return null;
+            }
+            frontier = next;
+        }
+        int externalOffset = 1 + entry.nodes.size();
+        for (int i = 0; i < relationships.size(); i++) {
+            long[] relationship = relationships.get(i);
+            entry.relationships.add(
+                new ScanCacheEntry.Relationship(relationshipTypes.get(i), nodeIndexes.get(relationship[0]), getIndex(relationship[1], nodeIndexes,
+                    externalIndexes, externalOffset), relationshipProperties.get(i)));
+        }
+        return entry;
+    }
+
+    private static int getIndex(long id, Map<Long, Integer> nodeIndexes, Map<Long, Integer> externalIndexes, int externalOffset) {
+        Integer index = nodeIndexes.get(id);
+        return index != null ? index : externalOffset + externalIndexes.get(id);
+    }
+
+    /**
+     * Classify the given nodes as owned by the artifact or external.
+     *
+     * @return <code>false</code> if a node is owned by another artifact but cannot be referenced.
+     */
+    private boolean classify(List<Long> ids, long artifactId, ScanCacheEntry entry, Map<Long, Integer> nodeIndexes, Map<Long, Integer> externalIndexes,
+        List<Long> owned, Store store) {
+        String query = "UNWIND $ids as nodeId " + //
+            "MATCH (node) WHERE id(node)=nodeId " + //
+            "OPTIONAL MATCH (other:Artifact)-[:CONTAINS|REQUIRES]->(anchor)-[:DECLARES*0..1]->(node) WHERE id(other)<>$artifact " + //
+            "WITH node, anchor ORDER BY anchor=node DESC " + // prefer the node itself as anchor, e.g. for inner classes
+            "WITH node, collect(anchor)[0] as anchor " + //
+            "RETURN id(node) as id, labels(node) as labels, properties(node) as properties, anchor IS NOT NULL as external, " + //
+            "anchor:Type as typeAnchor, anchor.fqn as typeName, anchor=node as anchored";
+        for (List<Long> batch : batches(ids)) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("artifact", artifactId);
+            parameters.put("ids", batch);
+            try (Result<CompositeRowObject> rows = store.executeQuery(query, parameters)) {
+                for (CompositeRowObject row : rows) {
+                    long id = row.get("id", Number.class)
+                        .longValue();
+                    List<String> labels = toStrings(row.get("labels", Object.class));
+                    Map<String, Object> properties = new LinkedHashMap<>(row.get("properties", Map.class));
+                    if (!properties.values()
+                        .stream()
+                        .allMatch(ScanCacheEntry::isSupported)) {
+                        return false;
+                    }
+                    ScanCacheEntry.Node node = new ScanCacheEntry.Node(labels, properties);
+                    if (labels.contains(ARTIFACT_LABEL)) {
+                        if (!(properties.get(FQN) instanceof String)) {
+                            return false;
+                        }
+                        externalIndexes.put(id, entry.externalNodes.size());
+                        entry.externalNodes.add(ScanCacheEntry.ExternalNode.artifact(node));
+                    } else if (Boolean.TRUE.equals(row.get("external", Boolean.class))) {
+                        String typeName = row.get("typeName", String.class);
+                        boolean anchored = Boolean.TRUE.equals(row.get("anchored", Boolean.class));
+                        Object signature = properties.get(SIGNATURE);
+                        if (!Boolean.TRUE.equals(row.get("typeAnchor", Boolean.class)) || typeName == null || (!anchored && !(signature instanceof String))) {
+                            return false;
+                        }
+                        externalIndexes.put(id, entry.externalNodes.size());
+                        entry.externalNodes.add(ScanCacheEntry.ExternalNode.member(typeName, anchored ? null : (String) signature));
+                    } else {
+                        nodeIndexes.put(id, 1 + entry.nodes.size());
+                        entry.nodes.add(node);
+                        owned.add(id);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void write(ScanCacheEntry entry, File entryFile) {
+        File entryDirectory = entryFile.getParentFile();
+        try {
+            Files.createDirectories(entryDirectory.toPath());
+            // write to a temporary file first as the cache directory might be shared by concurrent builds
+            Path tempFile = Files.createTempFile(entryDirectory.toPath(), entryFile.getName(), ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                    entry.write(outputStream);
+                }
+                Files.move(tempFile, entryFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            LOGGER.debug("Recorded {} nodes and {} relationships to scan cache entry {}.", entry.nodes.size(), entry.relationships.size(), entryFile);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write scan cache entry {}.", entryFile, e);
+        }
+    }
+
+    private static Set<Long> getRelationships(long nodeId, Store store) {
+        Set<Long> relationships = new HashSet<>();
+        try (Result<CompositeRowObject> rows = store.executeQuery("MATCH (node)-[r]->() WHERE id(node)=$node RETURN id(r) as id",
+            singletonMap("node", nodeId))) {
+            for (CompositeRowObject row : rows) {
+                relationships.add(row.get("id", Number.class)
+                    .longValue());
+            }
+        }
+        return relationships;
+    }
+
+    private static void getNode(long nodeId, Store store, Map<String, Object> properties) {
+        CompositeRowObject row = store.executeQuery("MATCH (node) WHERE id(node)=$node RETURN properties(node) as properties", singletonMap("node", nodeId))
+            .getSingleResult();
+        properties.putAll(row.get("properties", Map.class));
+    }
+
+    /**
+     * Determine the descriptor types of a (composite) descriptor instance.
+     */
+    private static Set<Class<?>> getDescriptorTypes(Descriptor descriptor) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type : descriptor.getClass()
+            .getInterfaces()) {
+            if (Descriptor.class.isAssignableFrom(type)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    private static List<String> toStrings(Object values) {
+        List<String> strings = new ArrayList<>();
+        if (values instanceof Collection<?>) {
+            for (Object value : (Collection<?>) values) {
+                strings.add((String) value);
+            }
+        } else if (values instanceof String[]) {
+            strings.addAll(Arrays.asList((String[]) values));
+        }
+        return strings;
+    }
+
+    private static String toLabels(List<String> labels) {
+        return labels.stream()
+            .sorted()
+            .map(label -> ":`" + label + "`")
+            .collect(joining());
+    }
+
+    private static <T> List<List<T>> batches(List<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += BATCH_SIZE) {
+            batches.add(values.subList(i, Math.min(values.size(), i + BATCH_SIZE)));
+        }
+        return batches;
+    }
+}
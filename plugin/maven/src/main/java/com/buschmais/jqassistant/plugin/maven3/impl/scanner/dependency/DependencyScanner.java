@@ -44,14 +44,16 @@ public class DependencyScanner {
      * @param testDescriptor
      *     The {@link MavenArtifactDescriptor} representing the test
      *     artifact.
+     * @param scanCache
+     *     The {@link DependencyScanCache}, may be <code>null</code>.
      * @param scanner
      *     The Scanner.
      */
     public void evaluate(DependencyNode rootNode, MavenArtifactDescriptor mainDescriptor, MavenArtifactDescriptor testDescriptor, boolean scanDependencies,
-        ArtifactFilter dependencyFilter, ArtifactRepository localRepository, Scanner scanner) {
+        ArtifactFilter dependencyFilter, ArtifactRepository localRepository, DependencyScanCache scanCache, Scanner scanner) {
         Map<Artifact, Set<Artifact>> dependencies = resolveDependencyGraph(rootNode, mainDescriptor, testDescriptor, scanner.getContext());
         if (scanDependencies) {
-            scanDependencyArtifacts(rootNode, dependencies, dependencyFilter, localRepository, scanner);
+            scanDependencyArtifacts(rootNode, dependencies, dependencyFilter, localRepository, scanCache, scanner);
         }
     }
 
@@ -61,7 +63,7 @@ public class DependencyScanner {
     }
 
     private void scanDependencyArtifacts(DependencyNode rootNode, Map<Artifact, Set<Artifact>> dependencies, ArtifactFilter dependencyFilter,
-        ArtifactRepository localRepository, Scanner scanner) {
+        ArtifactRepository localRepository, DependencyScanCache scanCache, Scanner scanner) {
         List<Artifact> artifacts = DependencyResolver.newInstance(dependencies.keySet(), artifact -> dependencies.getOrDefault(artifact, emptySet())).resolve();
         ArtifactResolver artifactResolver = scanner.getContext().peek(ArtifactResolver.class);
         for (Artifact artifact : artifacts) {
@@ -74,7 +76,12 @@ public class DependencyScanner {
                 // The dependency might have been scanned before within another module, so check
                 // if it is not yet a FileContainerDescriptor (directory, JAR, etc.)
                 if (artifactFile != null && !(fileDescriptor instanceof FileContainerDescriptor)) {
-                    scanner.scan(artifactFile, artifactFile.getAbsolutePath(), DefaultScope.NONE);
+                    Runnable scan = () -> scanner.scan(artifactFile, artifactFile.getAbsolutePath(), DefaultScope.NONE);
+                    if (scanCache != null) {
+                        scanCache.scan(artifact, artifactFile, fileDescriptor, scanner, scan);
+                    } else {
+                        scan.run();
+                    }
                 }
             }
         }
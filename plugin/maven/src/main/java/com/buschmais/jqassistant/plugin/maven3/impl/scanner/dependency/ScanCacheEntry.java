@@ -0,0 +1,332 @@
+package com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The subgraph created by scanning a dependency artifact in a compact serialized form.
+ * <p>
+ * Nodes and relationship endpoints are referenced by an index: <code>0</code> represents the artifact node, the following indexes represent the
+ * created nodes followed by the external nodes (i.e. nodes which are owned by other artifacts).
+ */
+class ScanCacheEntry {
+
+    /**
+     * The version of the serialized format, entries with a different version are ignored.
+     */
+    static final int VERSION = 2;
+
+    private static final int MAGIC = 0x4a514153; // "JQAS"
+
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte LIST = 5;
+
+    /**
+     * The index representing the artifact node.
+     */
+    static final int ARTIFACT = 0;
+
+    /**
+     * A node with its labels and properties.
+     */
+    static class Node {
+
+        final List<String> labels;
+
+        final Map<String, Object> properties;
+
+        Node(List<String> labels, Map<String, Object> properties) {
+            this.labels = labels;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * A node which is owned by another artifact.
+     * <p>
+     * Other artifacts are identified by their full qualified name. Types and their members are identified by the full qualified name of the type
+     * which is contained or required by a dependency and an optional signature of a member declared by that type.
+     */
+    static class ExternalNode {
+
+        final Node artifact;
+
+        final String typeName;
+
+        final String signature;
+
+        private ExternalNode(Node artifact, String typeName, String signature) {
+            this.artifact = artifact;
+            this.typeName = typeName;
+            this.signature = signature;
+        }
+
+        static ExternalNode artifact(Node artifact) {
+            return new ExternalNode(artifact, null, null);
+        }
+
+        static ExternalNode member(String typeName, String signature) {
+            return new ExternalNode(null, typeName, signature);
+        }
+    }
+
+    /**
+     * A relationship with its type and properties.
+     */
+    static class Relationship {
+
+        final String type;
+
+        final int start;
+
+        final int end;
+
+        final Map<String, Object> properties;
+
+        Relationship(String type, int start, int end, Map<String, Object> properties) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * The names of the descriptor types which have been added to the artifact node.
+     */
+    final List<String> artifactTypes = new ArrayList<>();
+
+    /**
+     * The properties which have been set on the artifact node.
+     */
+    final Map<String, Object> artifactProperties = new LinkedHashMap<>();
+
+    final List<Node> nodes = new ArrayList<>();
+
+    final List<ExternalNode> externalNodes = new ArrayList<>();
+
+    final List<Relationship> relationships = new ArrayList<>();
+
+    /**
+     * Determine if a property value can be written.
+     *
+     * @param value
+     *     The value.
+     * @return <code>true</code> if the value is supported.
+     */
+    static boolean isSupported(Object value) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return true;
+        } else if (value instanceof Collection<?>) {
+            return ((Collection<?>) value).stream()
+                .allMatch(ScanCacheEntry::isSupported);
+        } else if (value != null && value.getClass()
+            .isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (!isSupported(Array.get(value, i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Write the entry.
+     *
+     * @param outputStream
+     *     The {@link OutputStream}.
+     * @throws IOException
+     *     If writing fails.
+     */
+    void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeStrings(out, artifactTypes);
+        writeProperties(out, artifactProperties);
+        out.writeInt(nodes.size());
+        for (Node node : nodes) {
+            writeNode(out, node);
+        }
+        out.writeInt(externalNodes.size());
+        for (ExternalNode externalNode : externalNodes) {
+            out.writeBoolean(externalNode.artifact != null);
+            if (externalNode.artifact != null) {
+                writeNode(out, externalNode.artifact);
+            } else {
+                writeString(out, externalNode.typeName);
+                out.writeBoolean(externalNode.signature != null);
+                if (externalNode.signature != null) {
+                    writeString(out, externalNode.signature);
+                }
+            }
+        }
+        out.writeInt(relationships.size());
+        for (Relationship relationship : relationships) {
+            writeString(out, relationship.type);
+            out.writeInt(relationship.start);
+            out.writeInt(relationship.end);
+            writeProperties(out, relationship.properties);
+        }
+        out.flush();
+        out.close();
+    }
+
+    /**
+     * Read an entry.
+     *
+     * @param inputStream
+     *     The {@link InputStream}.
+     * @return The entry or <code>null</code> if it has been written using another format version.
+     * @throws IOException
+     *     If reading fails.
+     */
+    static ScanCacheEntry read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return null;
+        }
+        ScanCacheEntry entry = new ScanCacheEntry();
+        entry.artifactTypes.addAll(readStrings(in));
+        entry.artifactProperties.putAll(readProperties(in));
+        int nodeCount = in.readInt();
+        for (int i = 0; i < nodeCount; i++) {
+            entry.nodes.add(readNode(in));
+        }
+        int externalNodeCount = in.readInt();
+        for (int i = 0; i < externalNodeCount; i++) {
+            if (in.readBoolean()) {
+                entry.externalNodes.add(ExternalNode.artifact(readNode(in)));
+            } else {
+                String typeName = readString(in);
+                String signature = in.readBoolean() ? readString(in) : null;
+                entry.externalNodes.add(ExternalNode.member(typeName, signature));
+            }
+        }
+        int relationshipCount = in.readInt();
+        for (int i = 0; i < relationshipCount; i++) {
+            entry.relationships.add(new Relationship(readString(in), in.readInt(), in.readInt(), readProperties(in)));
+        }
+        return entry;
+    }
+
+    private static void writeNode(DataOutputStream out, Node node) throws IOException {
+        writeStrings(out, node.labels);
+        writeProperties(out, node.properties);
+    }
+
+    private static Node readNode(DataInputStream in) throws IOException {
+        return new Node(readStrings(in), readProperties(in));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeProperties(DataOutputStream out, Map<String, Object> properties) throws IOException {
+        out.writeInt(properties.size());
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, Object> readProperties(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            properties.put(readString(in), readValue(in));
+        }
+        return properties;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Collection<?>) {
+            Collection<?> values = (Collection<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(values.size());
+            for (Object element : values) {
+                writeValue(out, element);
+            }
+        } else if (value != null && value.getClass()
+            .isArray()) {
+            int length = Array.getLength(value);
+            out.writeByte(LIST);
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValue(out, Array.get(value, i));
+            }
+        } else {
+            throw new IOException("Unsupported property value: " + value);
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+        case STRING:
+            return readString(in);
+        case LONG:
+            return in.readLong();
+        case DOUBLE:
+            return in.readDouble();
+        case BOOLEAN:
+            return in.readBoolean();
+        case LIST:
+            int size = in.readInt();
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readValue(in));
+            }
+            return values;
+        default:
+            throw new IOException("Unknown property value type: " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // DataOutputStream#writeUTF is limited to 64k
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
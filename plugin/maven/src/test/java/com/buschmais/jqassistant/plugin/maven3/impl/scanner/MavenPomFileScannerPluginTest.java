@@ -73,37 +73,17 @@ class MavenPomFileScannerPluginTest {
     }
 
     @Test
-    void acceptChecksAcceptsWithRootTagProjectIfExtensionIsXMLAndNonStandardName() throws Exception {
+    void acceptDoesNotReadContentOfFilesWithExtensionDotXML() throws Exception {
         MavenPomFileScannerPlugin plugin = new MavenPomFileScannerPlugin();
 
-        InputStream inputStream = new ByteArrayInputStream("<project><a></a></project>".getBytes(StandardCharsets.UTF_8));
-
+        // the root element is verified by the scanner using the @Matches declaration, reading the content would fail
         FileResource fileResource = Mockito.mock(FileResource.class, NOT_MOCKED_ANSWER);
 
-        doReturn(inputStream).when(fileResource).createStream();
-
         String path = "/a/b/c/d.xml";
 
         boolean result = plugin.accepts(fileResource, path, DUMMY_SCOPE);
 
-        assertThat(result).isEqualTo(false);
-    }
-
-    @Test
-    void acceptChecksRefusesWithDifferentRootTagfExtensionIsXMLAndNonStandardName() throws Exception {
-        MavenPomFileScannerPlugin plugin = new MavenPomFileScannerPlugin();
-
-        InputStream inputStream = new ByteArrayInputStream("<root><a></a></root>".getBytes(StandardCharsets.UTF_8));
-
-        FileResource fileResource = Mockito.mock(FileResource.class, NOT_MOCKED_ANSWER);
-
-        doReturn(inputStream).when(fileResource).createStream();
-
-        String path = "/a/b/c/d.xml";
-
-        boolean result = plugin.accepts(fileResource, path, DUMMY_SCOPE);
-
-        assertThat(result).isEqualTo(false);
+        assertThat(result).isEqualTo(true);
     }
 
     private static class MethodNotMockedAnswer implements Answer {
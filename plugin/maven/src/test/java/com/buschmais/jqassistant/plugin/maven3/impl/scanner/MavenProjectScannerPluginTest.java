@@ -272,7 +272,7 @@ class MavenProjectScannerPluginTest {
 
         verify(dependencyGraphBuilder).buildDependencyGraph(any(ProjectBuildingRequest.class), eq(null));
         verify(dependencyScanner).evaluate(eq(dependencyNode), eq(mainArtifactDescriptor), eq(testArtifactDescriptor), eq(expectedDependenciesScan),
-            artifactFilterCaptor.capture(), eq(localRepository), eq(scanner));
+            artifactFilterCaptor.capture(), eq(localRepository), isNull(), eq(scanner));
 
         verify(store).create(testArtifactDescriptor, DependsOnDescriptor.class, mainArtifactDescriptor);
 
@@ -0,0 +1,66 @@
+package com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanCacheEntryTest {
+
+    @Test
+    void writeAndRead() throws IOException {
+        ScanCacheEntry entry = new ScanCacheEntry();
+        entry.artifactTypes.add("com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor");
+        entry.artifactTypes.add("com.buschmais.jqassistant.plugin.common.api.model.ArchiveDescriptor");
+        entry.artifactProperties.put("valid", true);
+        entry.nodes.add(new ScanCacheEntry.Node(List.of("Java", "Type", "Class"),
+            Map.of("fqn", "com.acme.Test", "byteCodeVersion", 61, "weight", 1.5d, "names", new String[] { "a", "b" })));
+        entry.externalNodes.add(ScanCacheEntry.ExternalNode.artifact(new ScanCacheEntry.Node(List.of("Maven", "Artifact"), Map.of("fqn", "com.acme:a:jar:1.0"))));
+        entry.externalNodes.add(ScanCacheEntry.ExternalNode.member("java.lang.Object", "void <init>()"));
+        entry.externalNodes.add(ScanCacheEntry.ExternalNode.member("java.lang.String", null));
+        entry.relationships.add(new ScanCacheEntry.Relationship("CONTAINS", ScanCacheEntry.ARTIFACT, 1, emptyMap()));
+        entry.relationships.add(new ScanCacheEntry.Relationship("INVOKES", 1, 3, Map.of("lineNumber", 42)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entry.write(outputStream);
+        ScanCacheEntry result = ScanCacheEntry.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertThat(result).isNotNull();
+        assertThat(result.artifactTypes).containsExactly("com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor",
+            "com.buschmais.jqassistant.plugin.common.api.model.ArchiveDescriptor");
+        assertThat(result.artifactProperties).containsEntry("valid", true);
+        assertThat(result.nodes).hasSize(1);
+        ScanCacheEntry.Node node = result.nodes.get(0);
+        assertThat(node.labels).containsExactly("Java", "Type", "Class");
+        assertThat(node.properties).containsEntry("fqn", "com.acme.Test")
+            .containsEntry("byteCodeVersion", 61L)
+            .containsEntry("weight", 1.5d)
+            .containsEntry("names", List.of("a", "b"));
+        assertThat(result.externalNodes).hasSize(3);
+        assertThat(result.externalNodes.get(0).artifact.properties).containsEntry("fqn", "com.acme:a:jar:1.0");
+        assertThat(result.externalNodes.get(1).typeName).isEqualTo("java.lang.Object");
+        assertThat(result.externalNodes.get(1).signature).isEqualTo("void <init>()");
+        assertThat(result.externalNodes.get(2).signature).isNull();
+        assertThat(result.relationships).hasSize(2);
+        ScanCacheEntry.Relationship invokes = result.relationships.get(1);
+        assertThat(invokes.type).isEqualTo("INVOKES");
+        assertThat(invokes.start).isEqualTo(1);
+        assertThat(invokes.end).isEqualTo(3);
+        assertThat(invokes.properties).containsEntry("lineNumber", 42L);
+    }
+
+    @Test
+    void supportedValues() {
+        assertThat(ScanCacheEntry.isSupported("value")).isTrue();
+        assertThat(ScanCacheEntry.isSupported(new long[] { 1, 2 })).isTrue();
+        assertThat(ScanCacheEntry.isSupported(List.of(1, 2))).isTrue();
+        assertThat(ScanCacheEntry.isSupported(new Object())).isFalse();
+        assertThat(ScanCacheEntry.isSupported(List.of(new Object()))).isFalse();
+    }
+}
@@ -0,0 +1,144 @@
+package com.buschmais.jqassistant.plugin.maven3.test.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
+import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.plugin.common.api.model.DependsOnDescriptor;
+import com.buschmais.jqassistant.plugin.java.api.model.JavaArtifactFileDescriptor;
+import com.buschmais.jqassistant.plugin.java.test.AbstractJavaPluginIT;
+import com.buschmais.jqassistant.plugin.maven3.api.model.MavenArtifactFileDescriptor;
+import com.buschmais.jqassistant.plugin.maven3.impl.scanner.dependency.DependencyScanCache;
+import com.buschmais.jqassistant.plugin.maven3.test.set.scancache.Dependency;
+import com.buschmais.jqassistant.plugin.maven3.test.set.scancache.Dependent;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.buschmais.jqassistant.core.shared.io.FileNameNormalizer.normalize;
+import static com.buschmais.jqassistant.plugin.java.impl.scanner.ClassFileScannerPlugin.PROPERTY_INCLUDE_LOCAL_VARIABLES;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Verifies replaying dependencies from the {@link DependencyScanCache}.
+ */
+class DependencyScanCacheIT extends AbstractJavaPluginIT {
+
+    @TempDir
+    private File tempDirectory;
+
+    private File dependencyFile;
+
+    private File dependentFile;
+
+    private int scans;
+
+    @BeforeEach
+    void createArtifacts() throws IOException {
+        File classesDirectory = getClassesDirectory(DependencyScanCacheIT.class);
+        dependencyFile = createJar("dependency.jar", classesDirectory, Dependency.class, Dependency.Inner.class);
+        dependentFile = createJar("dependent.jar", classesDirectory, Dependent.class);
+    }
+
+    @Test
+    void replay() throws IOException {
+        DependencyScanCache scanCache = new DependencyScanCache(new File(tempDirectory, "cache"));
+        Map<String, Long> scanned = scanDependencies(scanCache, true);
+        try (Stream<Path> entries = Files.walk(tempDirectory.toPath()
+            .resolve("cache"))) {
+            assertThat(entries.filter(path -> path.toString()
+                    .endsWith(".gz"))
+                .count()).isEqualTo(2);
+        }
+        store.reset();
+
+        Map<String, Long> replayed = scanDependencies(scanCache, false);
+
+        assertThat(replayed).isEqualTo(scanned);
+        store.beginTransaction();
+        assertThat(query("MATCH (a:Artifact{fqn:'com.acme:dependency:jar:1.0.0'}) RETURN a").getColumn("a")).hasOnlyElementsOfType(
+            JavaArtifactFileDescriptor.class);
+        store.commitTransaction();
+        store.beginTransaction();
+        assertThat(query("MATCH (:Artifact{fqn:'com.acme:dependent:jar:1.0.0'})-[:CONTAINS]->(:Type{name:'Dependent'})-[:DECLARES]->(:Method)" +
+            "-[:INVOKES]->(m:Method{name:'getValue'})<-[:DECLARES]-(:Type{name:'Dependency'})<-[:CONTAINS]-(:Artifact{fqn:'com.acme:dependency:jar:1.0.0'}) " +
+            "RETURN m").getColumn("m")).hasSize(1);
+        store.commitTransaction();
+    }
+
+    @Test
+    void changedScannerProperties() {
+        DependencyScanCache scanCache = new DependencyScanCache(new File(tempDirectory, "cache"));
+        scanDependencies(scanCache, getScanner(), true);
+        store.reset();
+
+        scanDependencies(scanCache, getScanner(Map.of(PROPERTY_INCLUDE_LOCAL_VARIABLES, "true")), true);
+
+        assertThat(scans).isEqualTo(4);
+    }
+
+    private Map<String, Long> scanDependencies(DependencyScanCache scanCache, boolean scan) {
+        return scanDependencies(scanCache, getScanner(), scan);
+    }
+
+    private Map<String, Long> scanDependencies(DependencyScanCache scanCache, Scanner scanner, boolean scan) {
+        store.beginTransaction();
+        MavenArtifactFileDescriptor dependency = createArtifact("dependency", dependencyFile);
+        MavenArtifactFileDescriptor dependent = createArtifact("dependent", dependentFile);
+        store.create(dependent, DependsOnDescriptor.class, dependency);
+        scanCache.scan(getArtifact("dependency"), dependencyFile, dependency, scanner, () -> scan(scanner, dependencyFile, scan));
+        scanCache.scan(getArtifact("dependent"), dependentFile, dependent, scanner, () -> scan(scanner, dependentFile, scan));
+        Map<String, Long> statistics = Stream.concat(query("MATCH (n) UNWIND labels(n) as label RETURN label as key, count(n) as count").getRows()
+                    .stream(), query("MATCH ()-[r]->() RETURN type(r) as key, count(r) as count").getRows()
+                    .stream())
+            .collect(toMap(row -> (String) row.get("key"), row -> (Long) row.get("count")));
+        store.commitTransaction();
+        return statistics;
+    }
+
+    private void scan(Scanner scanner, File file, boolean scan) {
+        if (!scan) {
+            fail("Expecting " + file + " to be replayed from the cache.");
+        }
+        scans++;
+        scanner.scan(file, normalize(file.getAbsolutePath()), DefaultScope.NONE);
+    }
+
+    private MavenArtifactFileDescriptor createArtifact(String artifactId, File file) {
+        MavenArtifactFileDescriptor artifactDescriptor = store.create(MavenArtifactFileDescriptor.class);
+        artifactDescriptor.setFullQualifiedName("com.acme:" + artifactId + ":jar:1.0.0");
+        artifactDescriptor.setFileName(normalize(file.getAbsolutePath()));
+        return artifactDescriptor;
+    }
+
+    private static Artifact getArtifact(String artifactId) {
+        return new DefaultArtifact("com.acme", artifactId, "1.0.0", "compile", "jar", null, new DefaultArtifactHandler("jar"));
+    }
+
+    private File createJar(String name, File classesDirectory, Class<?>... classes) throws IOException {
+        File jarFile = new File(tempDirectory, name);
+        try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(jarFile.toPath()))) {
+            for (Class<?> type : classes) {
+                String entryName = type.getName()
+                    .replace('.', '/') + ".class";
+                jarOutputStream.putNextEntry(new JarEntry(entryName));
+                Files.copy(new File(classesDirectory, entryName).toPath(), jarOutputStream);
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+}
@@ -0,0 +1,13 @@
+package com.buschmais.jqassistant.plugin.maven3.test.set.scancache;
+
+public class Dependency {
+
+    private String value;
+
+    public String getValue() {
+        return value;
+    }
+
+    public static class Inner {
+    }
+}
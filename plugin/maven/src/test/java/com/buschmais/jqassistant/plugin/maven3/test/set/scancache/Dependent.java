@@ -0,0 +1,12 @@
+package com.buschmais.jqassistant.plugin.maven3.test.set.scancache;
+
+import java.util.List;
+
+public class Dependent {
+
+    private List<Dependency.Inner> inners;
+
+    public String getValue(Dependency dependency) {
+        return dependency.getValue();
+    }
+}
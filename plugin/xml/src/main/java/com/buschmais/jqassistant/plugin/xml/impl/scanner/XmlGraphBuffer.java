@@ -0,0 +1,217 @@
+package com.buschmais.jqassistant.plugin.xml.impl.scanner;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.plugin.xml.api.model.XmlDescriptor;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
+import com.buschmais.xo.neo4j.api.annotation.Label;
+import com.buschmais.xo.neo4j.api.annotation.Relation;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Buffers the nodes and relations of an XML document in memory and writes them to the store using one batched Cypher query per node type and
+ * relation type.
+ * <p>
+ * The labels and relation types are determined from the {@link Label} and {@link Relation} annotations of the descriptors, the created nodes and
+ * relations are reported to {@link Store#createdNodes(Class, int)} and {@link Store#createdRelations(String, int)}. Written nodes keep their id,
+ * i.e. relations between nodes which have been written by different flushes are supported.
+ */
+class XmlGraphBuffer {
+
+    private final Store store;
+
+    private final Map<Class<? extends XmlDescriptor>, List<Node>> nodes = new LinkedHashMap<>();
+
+    private final Map<String, List<BufferedRelation>> relations = new LinkedHashMap<>();
+
+    private int size = 0;
+
+    XmlGraphBuffer(Store store) {
+        this.store = store;
+    }
+
+    /**
+     * Create a node.
+     *
+     * @param type
+     *     The descriptor type of the node, e.g. {@link com.buschmais.jqassistant.plugin.xml.api.model.XmlElementDescriptor}.
+     * @param properties
+     *     The properties.
+     * @return The {@link Node}.
+     */
+    Node createNode(Class<? extends XmlDescriptor> type, Map<String, Object> properties) {
+        Node node = new Node(properties);
+        nodes.computeIfAbsent(type, key -> new ArrayList<>())
+            .add(node);
+        size++;
+        return node;
+    }
+
+    /**
+     * Create a relation.
+     *
+     * @param source
+     *     The source node.
+     * @param type
+     *     The relation type as determined by {@link #getRelationType(Class, String)}.
+     * @param target
+     *     The target node.
+     */
+    void createRelation(Node source, String type, Node target) {
+        relations.computeIfAbsent(type, key -> new ArrayList<>())
+            .add(new BufferedRelation(source, target));
+        size++;
+    }
+
+    /**
+     * Return the number of buffered nodes and relations.
+     *
+     * @return The number of buffered nodes and relations.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Write all buffered nodes and relations to the store.
+     */
+    void flush() {
+        for (Map.Entry<Class<? extends XmlDescriptor>, List<Node>> entry : nodes.entrySet()) {
+            List<Node> typedNodes = entry.getValue();
+            List<Map<String, Object>> rows = new ArrayList<>(typedNodes.size());
+            for (int i = 0; i < typedNodes.size(); i++) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("index", i);
+                row.put("properties", typedNodes.get(i).properties);
+                rows.add(row);
+            }
+            String query = "UNWIND $rows as row " + //
+                "CREATE (node" + getLabels(entry.getKey()) + ") " + //
+                "SET node=row.properties " + //
+                "RETURN row.index as index, id(node) as id";
+            try (Result<CompositeRowObject> result = store.executeQuery(query, singletonMap("rows", rows))) {
+                for (CompositeRowObject row : result) {
+                    typedNodes.get(row.get("index", Number.class)
+                            .intValue()).id = row.get("id", Number.class)
+                        .longValue();
+                }
+            }
+            store.createdNodes(entry.getKey(), typedNodes.size());
+        }
+        for (Map.Entry<String, List<BufferedRelation>> entry : relations.entrySet()) {
+            List<Map<String, Object>> rows = new ArrayList<>(entry.getValue()
+                .size());
+            for (BufferedRelation relation : entry.getValue()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("source", relation.source.id);
+                row.put("target", relation.target.id);
+                rows.add(row);
+            }
+            String query = "UNWIND $rows as row " + //
+                "MATCH (source) WHERE id(source)=row.source " + //
+                "MATCH (target) WHERE id(target)=row.target " + //
+                "CREATE (source)-[r:" + entry.getKey() + "]->(target) " + //
+                "RETURN count(r)";
+            store.executeQuery(query, singletonMap("rows", rows))
+                .getSingleResult();
+            store.createdRelations(entry.getKey(), rows.size());
+        }
+        nodes.clear();
+        relations.clear();
+        size = 0;
+    }
+
+    /**
+     * Determine the labels of a descriptor type from the {@link Label} annotations of the type and its super types, e.g. <code>:Xml:Element</code>.
+     *
+     * @param type
+     *     The descriptor type.
+     * @return The labels.
+     */
+    static String getLabels(Class<?> type) {
+        Set<String> labels = new TreeSet<>();
+        collectLabels(type, labels);
+        return labels.stream()
+            .map(label -> ":" + label)
+            .collect(joining());
+    }
+
+    private static void collectLabels(Class<?> type, Set<String> labels) {
+        Label label = type.getAnnotation(Label.class);
+        if (label != null) {
+            labels.add(label.value());
+        }
+        for (Class<?> superType : type.getInterfaces()) {
+            collectLabels(superType, labels);
+        }
+    }
+
+    /**
+     * Determine the relation type of a property of a descriptor type from its {@link Relation} annotation, which may also be declared by a
+     * qualifying annotation like {@link com.buschmais.jqassistant.plugin.xml.api.model.XmlElementDescriptor.HasElement}.
+     *
+     * @param type
+     *     The descriptor type.
+     * @param getter
+     *     The name of the getter method representing the relation.
+     * @return The relation type.
+     */
+    static String getRelationType(Class<?> type, String getter) {
+        Method method;
+        try {
+            method = type.getMethod(getter);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot determine relation property " + getter + " of " + type.getName(), e);
+        }
+        Relation relation = method.getAnnotation(Relation.class);
+        if (relation == null) {
+            for (Annotation annotation : method.getAnnotations()) {
+                relation = annotation.annotationType()
+                    .getAnnotation(Relation.class);
+                if (relation != null) {
+                    break;
+                }
+            }
+        }
+        if (relation == null) {
+            throw new IllegalArgumentException("Method " + getter + " of " + type.getName() + " does not declare a relation.");
+        }
+        return relation.value();
+    }
+
+    /**
+     * A buffered node, the id is available after it has been flushed.
+     */
+    static final class Node {
+
+        private final Map<String, Object> properties;
+
+        private Long id;
+
+        private Node(Map<String, Object> properties) {
+            this.properties = properties;
+        }
+
+        Long getId() {
+            return id;
+        }
+    }
+
+    private static final class BufferedRelation {
+
+        private final Node source;
+
+        private final Node target;
+
+        private BufferedRelation(Node source, Node target) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
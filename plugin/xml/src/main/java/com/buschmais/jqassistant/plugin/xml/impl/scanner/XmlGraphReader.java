@@ -0,0 +1,206 @@
+package com.buschmais.jqassistant.plugin.xml.impl.scanner;
+
+import java.util.*;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.plugin.xml.api.model.*;
+import com.buschmais.jqassistant.plugin.xml.impl.scanner.XmlGraphBuffer.Node;
+
+import static com.buschmais.jqassistant.plugin.xml.impl.scanner.XmlGraphBuffer.getRelationType;
+import static java.util.Collections.singletonMap;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Reads an XML document for the high volume mode of the {@link XmlSourceScannerPlugin}.
+ * <p>
+ * The elements, attributes, namespaces and texts are created with the same labels, properties and relations as by the
+ * {@link XmlSourceScannerPlugin} but are buffered in a {@link XmlGraphBuffer}. The buffer is written to the store if an element up to the configured
+ * flush depth has been completed and the buffer has reached the batch size, i.e. subtrees are written as a whole. Elements with very large subtrees
+ * are written as soon as the buffer exceeds a multiple of the batch size. The written nodes and relations are reported to the store, which commits
+ * transactions according to its configured transaction size.
+ */
+class XmlGraphReader {
+
+    private static final String HAS_ELEMENT = getRelationType(XmlElementDescriptor.class, "getElements");
+    private static final String HAS_ATTRIBUTE = getRelationType(XmlElementDescriptor.class, "getAttributes");
+    private static final String HAS_TEXT = getRelationType(XmlElementDescriptor.class, "getCharacters");
+    private static final String DECLARES_NAMESPACE = getRelationType(XmlElementDescriptor.class, "getDeclaredNamespaces");
+    private static final String HAS_FIRST_CHILD = getRelationType(XmlElementDescriptor.class, "getFirstChild");
+    private static final String HAS_LAST_CHILD = getRelationType(XmlElementDescriptor.class, "getLastChild");
+    private static final String HAS_SIBLING = getRelationType(SiblingDescriptor.class, "getNextSibling");
+    private static final String OF_NAMESPACE = getRelationType(OfNamespaceDescriptor.class, "getNamespaceDeclaration");
+
+    private static final int MAX_BATCHES = 8;
+
+    private final Store store;
+
+    private final int flushDepth;
+
+    private final int batchSize;
+
+    private final int maxTextLength;
+
+    private final XmlGraphBuffer buffer;
+
+    private final Deque<ElementFrame> elements = new ArrayDeque<>();
+
+    private final Map<String, Node> namespaceMappings = new HashMap<>();
+
+    private Node rootElement;
+
+    XmlGraphReader(Store store, int flushDepth, int batchSize, int maxTextLength) {
+        this.store = store;
+        this.flushDepth = flushDepth;
+        this.batchSize = batchSize;
+        this.maxTextLength = maxTextLength;
+        this.buffer = new XmlGraphBuffer(store);
+    }
+
+    /**
+     * Read the document.
+     *
+     * @param streamReader
+     *     The {@link XMLStreamReader}.
+     * @param documentDescriptor
+     *     The {@link XmlDocumentDescriptor}.
+     * @throws XMLStreamException
+     *     If the document cannot be parsed, the nodes which have been read so far are written by {@link #finish(XmlDocumentDescriptor)}.
+     */
+    void read(XMLStreamReader streamReader, XmlDocumentDescriptor documentDescriptor) throws XMLStreamException {
+        while (streamReader.hasNext()) {
+            switch (streamReader.getEventType()) {
+            case XMLStreamConstants.START_DOCUMENT:
+                XmlSourceScannerPlugin.startDocument(streamReader, documentDescriptor);
+                break;
+            case XMLStreamConstants.START_ELEMENT:
+                startElement(streamReader);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                endElement(streamReader);
+                break;
+            case XMLStreamConstants.SPACE:
+            case XMLStreamConstants.CHARACTERS:
+                characters(streamReader, XmlTextDescriptor.class);
+                break;
+            case XMLStreamConstants.CDATA:
+                characters(streamReader, XmlCDataDescriptor.class);
+                break;
+            }
+            streamReader.next();
+        }
+        finish(documentDescriptor);
+    }
+
+    /**
+     * Write the buffered nodes to the store and add the root element to the document.
+     *
+     * @param documentDescriptor
+     *     The {@link XmlDocumentDescriptor}.
+     */
+    void finish(XmlDocumentDescriptor documentDescriptor) {
+        buffer.flush();
+        if (rootElement != null && documentDescriptor != null) {
+            XmlElementDescriptor rootElementDescriptor = store.executeQuery("MATCH (element) WHERE id(element)=$id RETURN element",
+                    singletonMap("id", rootElement.getId()))
+                .getSingleResult()
+                .get("element", XmlElementDescriptor.class);
+            documentDescriptor.setRootElement(rootElementDescriptor);
+            rootElement = null;
+        }
+    }
+
+    private void startElement(XMLStreamReader streamReader) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", streamReader.getLocalName());
+        properties.put("lineNumber", streamReader.getLocation()
+            .getLineNumber());
+        Node element = buffer.createNode(XmlElementDescriptor.class, properties);
+        ElementFrame parent = elements.peek();
+        if (parent == null) {
+            rootElement = element;
+        } else {
+            buffer.createRelation(parent.element, HAS_ELEMENT, element);
+            parent.addChild(element);
+        }
+        for (int i = 0; i < streamReader.getNamespaceCount(); i++) {
+            String prefix = streamReader.getNamespacePrefix(i);
+            Map<String, Object> namespaceProperties = new HashMap<>();
+            if (isNotEmpty(prefix)) {
+                namespaceProperties.put("prefix", prefix);
+            }
+            namespaceProperties.put("uri", streamReader.getNamespaceURI(i));
+            Node namespace = buffer.createNode(XmlNamespaceDescriptor.class, namespaceProperties);
+            if (isNotEmpty(prefix)) {
+                namespaceMappings.put(prefix, namespace);
+            }
+            buffer.createRelation(element, DECLARES_NAMESPACE, namespace);
+        }
+        setNamespaceDeclaration(element, streamReader.getPrefix());
+        for (int i = 0; i < streamReader.getAttributeCount(); i++) {
+            Map<String, Object> attributeProperties = new HashMap<>();
+            attributeProperties.put("name", streamReader.getAttributeLocalName(i));
+            attributeProperties.put("value", streamReader.getAttributeValue(i));
+            Node attribute = buffer.createNode(XmlAttributeDescriptor.class, attributeProperties);
+            setNamespaceDeclaration(attribute, streamReader.getAttributePrefix(i));
+            buffer.createRelation(element, HAS_ATTRIBUTE, attribute);
+        }
+        elements.push(new ElementFrame(element));
+    }
+
+    private void endElement(XMLStreamReader streamReader) {
+        ElementFrame frame = elements.pop();
+        if (frame.lastChild != null) {
+            buffer.createRelation(frame.element, HAS_LAST_CHILD, frame.lastChild);
+        }
+        XmlSourceScannerPlugin.endElement(streamReader, namespaceMappings);
+        if ((elements.size() < flushDepth && buffer.size() >= batchSize) || buffer.size() >= MAX_BATCHES * batchSize) {
+            buffer.flush();
+        }
+    }
+
+    private void characters(XMLStreamReader streamReader, Class<? extends XmlTextDescriptor> type) {
+        String value = XmlSourceScannerPlugin.getText(streamReader, maxTextLength);
+        ElementFrame parent = elements.peek();
+        if (value != null && parent != null) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("value", value);
+            properties.put("lineNumber", streamReader.getLocation()
+                .getLineNumber());
+            Node text = buffer.createNode(type, properties);
+            buffer.createRelation(parent.element, HAS_TEXT, text);
+            parent.addChild(text);
+        }
+    }
+
+    private void setNamespaceDeclaration(Node node, String prefix) {
+        if (isNotEmpty(prefix)) {
+            Node namespace = namespaceMappings.get(prefix);
+            if (namespace != null) {
+                buffer.createRelation(node, OF_NAMESPACE, namespace);
+            }
+        }
+    }
+
+    /**
+     * An open element and its last child, i.e. the previous sibling of the next child.
+     */
+    private final class ElementFrame {
+
+        private final Node element;
+
+        private Node lastChild;
+
+        private ElementFrame(Node element) {
+            this.element = element;
+        }
+
+        private void addChild(Node child) {
+            buffer.createRelation(lastChild == null ? element : lastChild, lastChild == null ? HAS_FIRST_CHILD : HAS_SIBLING, child);
+            lastChild = child;
+        }
+    }
+}
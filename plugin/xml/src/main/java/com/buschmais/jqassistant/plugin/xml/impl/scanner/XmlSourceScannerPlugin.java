@@ -1,6 +1,8 @@
 package com.buschmais.jqassistant.plugin.xml.impl.scanner;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,10 +26,23 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDocumentDescriptor> {
 
+    public static final String PROPERTY_HIGH_VOLUME = "xml.source.high-volume";
+    public static final String PROPERTY_FLUSH_DEPTH = "xml.source.flush-depth";
+    public static final String PROPERTY_BATCH_SIZE = "xml.source.batch-size";
+    public static final String PROPERTY_MAX_TEXT_LENGTH = "xml.source.max-text-length";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(XmlSourceScannerPlugin.class);
 
     private XMLInputFactory inputFactory;
 
+    private boolean highVolume = false;
+
+    private int flushDepth = 2;
+
+    private int batchSize = 10000;
+
+    private int maxTextLength = -1;
+
     @Override
     public void initialize() {
         inputFactory = XMLInputFactory.newInstance();
@@ -35,6 +50,14 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
         inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
     }
 
+    @Override
+    protected void configure() {
+        highVolume = getBooleanProperty(PROPERTY_HIGH_VOLUME, false);
+        flushDepth = Integer.parseInt(getStringProperty(PROPERTY_FLUSH_DEPTH, "2"));
+        batchSize = Integer.parseInt(getStringProperty(PROPERTY_BATCH_SIZE, "10000"));
+        maxTextLength = Integer.parseInt(getStringProperty(PROPERTY_MAX_TEXT_LENGTH, "-1"));
+    }
+
     @Override
     public boolean accepts(Source item, String path, Scope scope) throws IOException {
         return true;
@@ -45,12 +68,19 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
         ScannerContext context = scanner.getContext();
         Store store = context.getStore();
         XmlElementDescriptor parentElement = null;
+        Deque<XmlElementDescriptor> parentElements = new ArrayDeque<>();
         XmlDocumentDescriptor documentDescriptor = context.peek(XmlDocumentDescriptor.class);
         Map<String, XmlNamespaceDescriptor> namespaceMappings = new HashMap<>();
         Map<XmlElementDescriptor, SiblingDescriptor> siblings = new HashMap<>();
+        XmlGraphReader graphReader = null;
         try {
             XMLStreamReader streamReader = inputFactory.createXMLStreamReader(item);
-
+            if (highVolume) {
+                graphReader = new XmlGraphReader(store, flushDepth, batchSize, maxTextLength);
+                graphReader.read(streamReader, documentDescriptor);
+                documentDescriptor.setXmlWellFormed(true);
+                return documentDescriptor;
+            }
             while (streamReader.hasNext()) {
                 int eventType = streamReader.getEventType();
                 switch (eventType) {
@@ -60,11 +90,15 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
                 case XMLStreamConstants.START_ELEMENT:
                     XmlElementDescriptor childElement = startElement(streamReader, documentDescriptor, parentElement, namespaceMappings, store);
                     addSibling(parentElement, childElement, siblings);
+                    if (parentElement != null) {
+                        parentElements.push(parentElement);
+                    }
                     parentElement = childElement;
                     break;
                 case XMLStreamConstants.END_ELEMENT:
                     parentElement.setLastChild((XmlDescriptor) siblings.remove(parentElement));
-                    parentElement = endElement(streamReader, parentElement, namespaceMappings);
+                    endElement(streamReader, namespaceMappings);
+                    parentElement = parentElements.poll();
                     break;
                 case XMLStreamConstants.SPACE:
                 case XMLStreamConstants.CHARACTERS:
@@ -81,6 +115,9 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
             documentDescriptor.setXmlWellFormed(true);
         } catch (XMLStreamException e) {
             LOGGER.warn("Cannot parse document '" + path + "': " + e.getMessage());
+            if (graphReader != null) {
+                graphReader.finish(documentDescriptor);
+            }
             if (documentDescriptor != null) {
                 documentDescriptor.setXmlWellFormed(false);
             }
@@ -103,7 +140,7 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
         }
     }
 
-    private XmlDocumentDescriptor startDocument(XMLStreamReader streamReader, XmlDocumentDescriptor documentDescriptor) {
+    static XmlDocumentDescriptor startDocument(XMLStreamReader streamReader, XmlDocumentDescriptor documentDescriptor) {
         documentDescriptor.setXmlVersion(streamReader.getVersion());
         documentDescriptor.setCharacterEncodingScheme(streamReader.getCharacterEncodingScheme());
         documentDescriptor.setStandalone(streamReader.isStandalone());
@@ -113,7 +150,12 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
 
     private XmlElementDescriptor startElement(XMLStreamReader streamReader, XmlDocumentDescriptor documentDescriptor, XmlElementDescriptor parentElement,
             Map<String, XmlNamespaceDescriptor> namespaceMappings, Store store) {
-        XmlElementDescriptor elementDescriptor = store.create(XmlElementDescriptor.class);
+        String localName = streamReader.getLocalName();
+        int lineNumber = streamReader.getLocation().getLineNumber();
+        XmlElementDescriptor elementDescriptor = store.create(XmlElementDescriptor.class, element -> {
+            element.setName(localName);
+            element.setLineNumber(lineNumber);
+        });
         if (parentElement == null) {
             documentDescriptor.setRootElement(elementDescriptor);
         } else {
@@ -121,59 +163,85 @@ public class XmlSourceScannerPlugin extends AbstractScannerPlugin<Source, XmlDoc
         }
         // get namespace declaration
         for (int i = 0; i < streamReader.getNamespaceCount(); i++) {
-            XmlNamespaceDescriptor namespaceDescriptor = store.create(XmlNamespaceDescriptor.class);
             String prefix = streamReader.getNamespacePrefix(i);
             String uri = streamReader.getNamespaceURI(i);
+            XmlNamespaceDescriptor namespaceDescriptor = store.create(XmlNamespaceDescriptor.class, namespace -> {
+                if (isNotEmpty(prefix)) {
+                    namespace.setPrefix(prefix);
+                }
+                namespace.setUri(uri);
+            });
             if (isNotEmpty(prefix)) {
-                namespaceDescriptor.setPrefix(prefix);
                 namespaceMappings.put(prefix, namespaceDescriptor);
             }
-            namespaceDescriptor.setUri(uri);
             elementDescriptor.getDeclaredNamespaces().add(namespaceDescriptor);
         }
-        setName(elementDescriptor, streamReader.getLocalName(), streamReader.getPrefix(), namespaceMappings);
+        setNamespaceDeclaration(elementDescriptor, streamReader.getPrefix(), namespaceMappings);
 
         for (int i = 0; i < streamReader.getAttributeCount(); i++) {
-            XmlAttributeDescriptor attributeDescriptor = store.create(XmlAttributeDescriptor.class);
-            setName(attributeDescriptor, streamReader.getAttributeLocalName(i), streamReader.getAttributePrefix(i), namespaceMappings);
-            attributeDescriptor.setValue(streamReader.getAttributeValue(i));
+            String attributeName = streamReader.getAttributeLocalName(i);
+            String value = streamReader.getAttributeValue(i);
+            XmlAttributeDescriptor attributeDescriptor = store.create(XmlAttributeDescriptor.class, attribute -> {
+                attribute.setName(attributeName);
+                attribute.setValue(value);
+            });
+            setNamespaceDeclaration(attributeDescriptor, streamReader.getAttributePrefix(i), namespaceMappings);
             elementDescriptor.getAttributes().add(attributeDescriptor);
         }
-
-        elementDescriptor.setLineNumber(streamReader.getLocation().getLineNumber());
-
         return elementDescriptor;
     }
 
-    private XmlElementDescriptor endElement(XMLStreamReader streamReader, XmlElementDescriptor parentElement,
-            Map<String, XmlNamespaceDescriptor> namespaceMappings) {
+    static void endElement(XMLStreamReader streamReader, Map<String, ?> namespaceMappings) {
         for (int i = 0; i < streamReader.getNamespaceCount(); i++) {
             String prefix = streamReader.getNamespacePrefix(i);
             if (isNotEmpty(prefix)) {
                 namespaceMappings.remove(prefix);
             }
         }
-        return parentElement.getParent();
     }
 
     private <T extends XmlTextDescriptor> T characters(XMLStreamReader streamReader, Class<T> type, XmlElementDescriptor parentElement, Store store) {
-        if (streamReader.hasText()) {
-            int start = streamReader.getTextStart();
-            int length = streamReader.getTextLength();
-            String text = new String(streamReader.getTextCharacters(), start, length).trim();
-            if (isNotEmpty(text)) {
-                T textDescriptor = store.create(type);
-                textDescriptor.setValue(text);
-                textDescriptor.setLineNumber(streamReader.getLocation().getLineNumber());
-                parentElement.getCharacters().add(textDescriptor);
-                return textDescriptor;
-            }
+        String text = getText(streamReader, maxTextLength);
+        if (text != null) {
+            T textDescriptor = store.create(type);
+            textDescriptor.setValue(text);
+            textDescriptor.setLineNumber(streamReader.getLocation().getLineNumber());
+            parentElement.getCharacters().add(textDescriptor);
+            return textDescriptor;
         }
         return null;
     }
 
-    private void setName(OfNamespaceDescriptor ofNamespaceDescriptor, String localName, String prefix, Map<String, XmlNamespaceDescriptor> namespaceMappings) {
-        ofNamespaceDescriptor.setName(localName);
+    /**
+     * Return the trimmed text of the current event without creating strings for whitespace.
+     *
+     * @param streamReader
+     *     The {@link XMLStreamReader}.
+     * @param maxTextLength
+     *     The maximum length of the returned text, a negative value disables truncation.
+     * @return The text or <code>null</code> if the event does not provide text or contains only whitespace.
+     */
+    static String getText(XMLStreamReader streamReader, int maxTextLength) {
+        if (!streamReader.hasText() || streamReader.isWhiteSpace()) {
+            return null;
+        }
+        char[] characters = streamReader.getTextCharacters();
+        int start = streamReader.getTextStart();
+        int end = start + streamReader.getTextLength();
+        while (start < end && characters[start] <= ' ') {
+            start++;
+        }
+        while (end > start && characters[end - 1] <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return null;
+        }
+        return new String(characters, start, maxTextLength >= 0 ? Math.min(length, maxTextLength) : length);
+    }
+
+    private void setNamespaceDeclaration(OfNamespaceDescriptor ofNamespaceDescriptor, String prefix, Map<String, XmlNamespaceDescriptor> namespaceMappings) {
         if (isNotEmpty(prefix)) {
             XmlNamespaceDescriptor namespaceDescriptor = namespaceMappings.get(prefix);
             ofNamespaceDescriptor.setNamespaceDeclaration(namespaceDescriptor);
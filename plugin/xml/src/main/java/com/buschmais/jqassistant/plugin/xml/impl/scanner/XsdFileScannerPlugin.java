@@ -3,6 +3,7 @@ package com.buschmais.jqassistant.plugin.xml.impl.scanner;
 import java.io.IOException;
 
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Matches;
 import com.buschmais.jqassistant.core.scanner.api.Scope;
 import com.buschmais.jqassistant.plugin.common.api.scanner.filesystem.FileResource;
 import com.buschmais.jqassistant.plugin.xml.api.model.XmlFileDescriptor;
@@ -11,6 +12,7 @@ import com.buschmais.jqassistant.plugin.xml.api.scanner.AbstractXmlFileScannerPl
 /**
  * Implementation of a scanner for XSD files containing XML schema definitions.
  */
+@Matches(extensions = ".xsd")
 public class XsdFileScannerPlugin extends AbstractXmlFileScannerPlugin<XmlFileDescriptor> {
 
     @Override
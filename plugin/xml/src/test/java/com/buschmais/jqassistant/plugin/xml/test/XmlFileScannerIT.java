@@ -3,6 +3,9 @@ package com.buschmais.jqassistant.plugin.xml.test;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
@@ -11,9 +14,13 @@ import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
 import com.buschmais.jqassistant.plugin.common.api.model.FileDescriptor;
 import com.buschmais.jqassistant.plugin.xml.api.model.*;
+import com.buschmais.jqassistant.plugin.xml.impl.scanner.XmlSourceScannerPlugin;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
@@ -22,6 +29,14 @@ import static org.junit.Assert.fail;
  */
 class XmlFileScannerIT extends com.buschmais.jqassistant.core.test.plugin.AbstractPluginIT {
 
+    /**
+     * The relations which are followed for serializing the graph of a document, all other relations are represented by their target node only.
+     */
+    private static final Set<String> CONTAINMENT = Set.of("HAS_ELEMENT", "HAS_ATTRIBUTE", "HAS_TEXT", "DECLARES_NAMESPACE");
+
+    private static final Map<String, Object> HIGH_VOLUME = Map.of(XmlSourceScannerPlugin.PROPERTY_HIGH_VOLUME, "true",
+        XmlSourceScannerPlugin.PROPERTY_BATCH_SIZE, "1");
+
     /**
      * @throws java.io.IOException
      *             If the test fails.
@@ -53,6 +68,41 @@ class XmlFileScannerIT extends com.buschmais.jqassistant.core.test.plugin.Abstra
         store.commitTransaction();
     }
 
+    @Test
+    void validXmlFileHighVolume() {
+        store.beginTransaction();
+        File xmlFile = new File(getClassesDirectory(XmlFileScannerIT.class), "/validDocument.xml");
+        XmlFileDescriptor xmlFileDescriptor = getScanner(HIGH_VOLUME).scan(xmlFile, xmlFile.getAbsolutePath(), DefaultScope.NONE);
+        verifyDocument(xmlFileDescriptor);
+        store.commitTransaction();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/validDocument.xml", "/invalidDocument.xml", "/testSchema.xsd" })
+    void highVolumeCreatesSameGraph(String fileName) {
+        store.beginTransaction();
+        File xmlFile = new File(getClassesDirectory(XmlFileScannerIT.class), fileName);
+        XmlFileDescriptor defaultMode = getScanner().scan(xmlFile, "/default" + fileName, DefaultScope.NONE);
+        XmlFileDescriptor highVolume = getScanner(HIGH_VOLUME).scan(xmlFile, "/high-volume" + fileName, DefaultScope.NONE);
+
+        assertThat(highVolume.isXmlWellFormed()).isEqualTo(defaultMode.isXmlWellFormed());
+        assertThat(serializeRootElement(highVolume.getId())).isEqualTo(serializeRootElement(defaultMode.getId()));
+        store.commitTransaction();
+    }
+
+    @Test
+    void maxTextLength() {
+        store.beginTransaction();
+        File xmlFile = new File(getClassesDirectory(XmlFileScannerIT.class), "/validDocument.xml");
+        XmlFileDescriptor xmlFileDescriptor = getScanner(Map.of(XmlSourceScannerPlugin.PROPERTY_MAX_TEXT_LENGTH, "5")).scan(xmlFile,
+            xmlFile.getAbsolutePath(), DefaultScope.NONE);
+        List<String> texts = query(
+            "MATCH (document)-[:HAS_ROOT_ELEMENT]->()-[:HAS_ELEMENT*0..]->()-[:HAS_TEXT]->(text) WHERE id(document)=$id RETURN text.value as text",
+            singletonMap("id", xmlFileDescriptor.getId())).getColumn("text");
+        assertThat(texts).containsExactlyInAnyOrder("Child", "Extra", "Mixed");
+        store.commitTransaction();
+    }
+
     @Test
     void excludeXmlFile() {
         File xmlFile = new File(getClassesDirectory(XmlFileScannerIT.class), "/validDocument.xml");
@@ -173,4 +223,36 @@ class XmlFileScannerIT extends com.buschmais.jqassistant.core.test.plugin.Abstra
         assertThat(rootElement.getName()).isEqualTo("schema");
         store.commitTransaction();
     }
+
+    private String serializeRootElement(Object documentId) {
+        List<Map<String, Object>> rows = query("MATCH (document)-[:HAS_ROOT_ELEMENT]->(root) WHERE id(document)=$id RETURN id(root) as root",
+            singletonMap("id", documentId)).getRows();
+        assertThat(rows).hasSize(1);
+        return serialize(rows.get(0)
+            .get("root"));
+    }
+
+    /**
+     * Serializes a node by its labels and properties and the nodes it contains, ignoring ids and the order of relationships.
+     */
+    private String serialize(Object id) {
+        String node = shallow(id);
+        List<String> relations = query("MATCH (n)-[r]->(m) WHERE id(n)=$id RETURN type(r) as type, id(m) as target", singletonMap("id", id)).getRows()
+            .stream()
+            .map(row -> {
+                String type = (String) row.get("type");
+                return type + "->" + (CONTAINMENT.contains(type) ? serialize(row.get("target")) : shallow(row.get("target")));
+            })
+            .sorted()
+            .collect(Collectors.toList());
+        return node + relations;
+    }
+
+    private String shallow(Object id) {
+        Map<String, Object> node = query("MATCH (n) WHERE id(n)=$id RETURN labels(n) as labels, properties(n) as properties", singletonMap("id", id)).getRows()
+            .get(0);
+        return ((List<String>) node.get("labels")).stream()
+            .sorted()
+            .collect(Collectors.toList()) + new TreeMap<>((Map<String, Object>) node.get("properties")).toString();
+    }
 }
@@ -15,6 +15,7 @@ import com.buschmais.jqassistant.plugin.xml.api.model.XmlDescriptor;
 import com.buschmais.jqassistant.plugin.xml.api.model.XmlDocumentDescriptor;
 import com.buschmais.jqassistant.plugin.xml.api.model.XmlElementDescriptor;
 import com.buschmais.jqassistant.plugin.xml.impl.scanner.XmlSourceScannerPlugin;
+import com.buschmais.xo.api.Example;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,16 +55,21 @@ class XmlSourceScannerPluginTest {
         doReturn(scannerContext).when(scanner).getContext();
         doReturn(documentDescriptor).when(scannerContext).peek(XmlDocumentDescriptor.class);
         doReturn(store).when(scannerContext).getStore();
+        doAnswer(invocation -> createDescriptor(invocation.getArgument(0))).when(store).create(any());
         doAnswer(invocation -> {
-            Class<? extends XmlDescriptor> descriptor = (Class<? extends XmlDescriptor>) invocation.getArguments()[0];
-            XmlDescriptor xmlDescriptor = mock(descriptor);
-            if (xmlDescriptor instanceof XmlElementDescriptor) {
-                XmlElementDescriptor xmlElementDescriptor = (XmlElementDescriptor) xmlDescriptor;
-                stubXmlElementDescriptor(xmlElementDescriptor);
-            }
+            XmlDescriptor xmlDescriptor = createDescriptor(invocation.getArgument(0));
+            ((Example<XmlDescriptor>) invocation.getArgument(1)).prepare(xmlDescriptor);
             return xmlDescriptor;
-        }).when(store).create(any());
+        }).when(store).create(any(), any(Example.class));
+    }
 
+    private XmlDescriptor createDescriptor(Class<? extends XmlDescriptor> descriptor) {
+        XmlDescriptor xmlDescriptor = mock(descriptor);
+        if (xmlDescriptor instanceof XmlElementDescriptor) {
+            XmlElementDescriptor xmlElementDescriptor = (XmlElementDescriptor) xmlDescriptor;
+            stubXmlElementDescriptor(xmlElementDescriptor);
+        }
+        return xmlDescriptor;
     }
 
     private void stubXmlElementDescriptor(XmlElementDescriptor xmlElementDescriptor) {
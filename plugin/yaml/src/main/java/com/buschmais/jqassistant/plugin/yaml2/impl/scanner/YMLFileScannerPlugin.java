@@ -18,6 +18,7 @@ import com.buschmais.jqassistant.plugin.yaml2.api.model.YMLDocumentDescriptor;
 import com.buschmais.jqassistant.plugin.yaml2.api.model.YMLFileDescriptor;
 import com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph.GraphGenerationFailedException;
 import com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph.GraphGenerator;
+import com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph.StreamingGraphGenerator;
 import com.buschmais.jqassistant.plugin.yaml2.impl.scanner.parsing.EventParser;
 import com.buschmais.jqassistant.plugin.yaml2.impl.scanner.parsing.StreamNode;
 
@@ -34,9 +35,12 @@ public class YMLFileScannerPlugin extends AbstractScannerPlugin<FileResource, YM
 
     public static final String PROPERTY_INCLUDE = "yaml.file.include";
     public static final String PROPERTY_EXCLUDE = "yaml.file.exclude";
+    public static final String PROPERTY_SINGLE_PASS = "yaml.file.single-pass";
 
     private FilePatternMatcher filePatternMatcher;
 
+    private boolean singlePass = false;
+
     protected FilePatternMatcher getFilePatternMatcher() {
         return filePatternMatcher;
     }
@@ -55,6 +59,7 @@ public class YMLFileScannerPlugin extends AbstractScannerPlugin<FileResource, YM
     protected void configure() {
         String inclusionPattern = getStringProperty(PROPERTY_INCLUDE, null);
         String exclusionPattern = getStringProperty(PROPERTY_EXCLUDE, null);
+        singlePass = getBooleanProperty(PROPERTY_SINGLE_PASS, false);
 
         configure(inclusionPattern, exclusionPattern);
     }
@@ -88,18 +93,21 @@ public class YMLFileScannerPlugin extends AbstractScannerPlugin<FileResource, YM
         ScannerContext context = scanner.getContext();
         LoadSettings settings = LoadSettings.builder().build();
         FileDescriptor fileDescriptor = context.getCurrentDescriptor();
-        EventParser eventParser = new EventParser();
         YMLFileDescriptor yamlFileDescriptor = handleFileStart(fileDescriptor);
         yamlFileDescriptor.setValid(false);
 
         try (InputStream in = item.createStream()) {
             Parse parser = new Parse(settings);
             Iterable<Event> events = parser.parseInputStream(in);
-            StreamNode streamNode = eventParser.parse(StreamSupport.stream(events.spliterator(), false));
             Store store = getScannerContext().getStore();
-            GraphGenerator generator = new GraphGenerator(store);
-
-            Collection<YMLDocumentDescriptor> documents = generator.generate(streamNode);
+            Collection<YMLDocumentDescriptor> documents;
+
+            if (singlePass) {
+                documents = new StreamingGraphGenerator(store).generate(events);
+            } else {
+                StreamNode streamNode = new EventParser().parse(StreamSupport.stream(events.spliterator(), false));
+                documents = new GraphGenerator(store).generate(streamNode);
+            }
             documents.forEach(documentDescriptor -> yamlFileDescriptor.getDocuments().add(documentDescriptor));
 
             yamlFileDescriptor.setValid(true);
@@ -0,0 +1,456 @@
+package com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph;
+
+import java.util.*;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.plugin.yaml2.api.model.*;
+
+import org.snakeyaml.engine.v2.common.Anchor;
+import org.snakeyaml.engine.v2.events.*;
+
+import static com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph.GraphGenerator.Mode.REFERENCE;
+import static com.buschmais.jqassistant.plugin.yaml2.impl.scanner.graph.GraphGenerator.Mode.STANDARD;
+import static java.lang.String.format;
+
+/**
+ * Creates the graph of a YAML stream in a single pass over the events of the parser, i.e. without building the tree of
+ * {@link com.buschmais.jqassistant.plugin.yaml2.impl.scanner.parsing.StreamNode}s before.
+ *
+ * The enclosing maps and sequences of the current event are held on a stack of frames. The only events which are retained are those of nodes
+ * carrying an anchor, as an alias is represented by a copy of the anchored node which is created by replaying them. The resulting graph is the same
+ * as created by the {@link GraphGenerator}.
+ *
+ * The generator is only used if the configuration property <code>yaml.file.single-pass</code> is enabled.
+ */
+public class StreamingGraphGenerator {
+
+    private final Store store;
+    private final AnchorHandler anchorHandler;
+    private final AliasLinker aliasLinker;
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Map<String, Recording> recordings = new HashMap<>();
+    private final List<Recording> activeRecordings = new ArrayList<>();
+
+    private final List<YMLDocumentDescriptor> documents = new ArrayList<>(1);
+
+    public StreamingGraphGenerator(Store store) {
+        AnchorCache anchorCache = new AnchorCache();
+        this.store = store;
+        this.anchorHandler = new AnchorHandler(store, anchorCache);
+        this.aliasLinker = new AliasLinker(store, anchorCache);
+    }
+
+    public Collection<YMLDocumentDescriptor> generate(Iterable<Event> events) {
+        for (Event event : events) {
+            record(event);
+            process(event, STANDARD);
+        }
+        return documents;
+    }
+
+    private void process(Event event, GraphGenerator.Mode mode) {
+        switch (event.getEventId()) {
+            case StreamStart:
+            case StreamEnd:
+                break;
+
+            case DocumentStart:
+                frames.push(new DocumentFrame(store.create(YMLDocumentDescriptor.class)));
+                break;
+
+            case DocumentEnd:
+                documents.add(((DocumentFrame) frames.pop()).documentDescriptor);
+                break;
+
+            case Scalar:
+                handleScalar((ScalarEvent) event, mode);
+                break;
+
+            case Alias:
+                handleAlias((AliasEvent) event, mode);
+                break;
+
+            case MappingStart:
+                handleCollectionStart((NodeEvent) event, YMLMapDescriptor.class, mode);
+                break;
+
+            case SequenceStart:
+                handleCollectionStart((NodeEvent) event, YMLSequenceDescriptor.class, mode);
+                break;
+
+            case MappingEnd:
+            case SequenceEnd:
+                Frame frame = frames.pop();
+                YMLDescriptor descriptor = frame.end();
+                current().created(descriptor);
+                break;
+
+            default:
+                String message = format("Unable to process event '%s'", event.getEventId());
+                throw new IllegalStateException(message);
+        }
+    }
+
+    private void handleScalar(ScalarEvent event, GraphGenerator.Mode mode) {
+        Frame frame = current();
+
+        if (frame.isExpectingKey()) {
+            ((MapFrame) frame).simpleKey(event, mode);
+        } else {
+            YMLScalarDescriptor scalarDescriptor = store.create(YMLScalarDescriptor.class);
+            scalarDescriptor.setValue(event.getValue());
+            Integer index = frame.nextIndex();
+            if (index != null) {
+                scalarDescriptor.setIndex(index);
+            }
+            anchorHandler.handleAnchor(() -> event, scalarDescriptor, mode);
+            frame.created(scalarDescriptor);
+        }
+    }
+
+    private <D extends YMLDescriptor & YMLIndexable> void handleCollectionStart(NodeEvent event, Class<D> type, GraphGenerator.Mode mode) {
+        Frame frame = current();
+
+        if (frame.isExpectingKey()) {
+            ((MapFrame) frame).complexKey();
+        }
+
+        D descriptor = store.create(type);
+        Integer index = frame.nextIndex();
+        if (index != null) {
+            descriptor.setIndex(index);
+        }
+        anchorHandler.handleAnchor(() -> event, descriptor, mode);
+
+        if (descriptor instanceof YMLMapDescriptor) {
+            frames.push(new MapFrame((YMLMapDescriptor) descriptor, mode));
+        } else {
+            frames.push(new SequenceFrame((YMLSequenceDescriptor) descriptor));
+        }
+    }
+
+    private void handleAlias(AliasEvent event, GraphGenerator.Mode mode) {
+        String anchorName = event.getAlias().getValue();
+        Recording recording = getRecording(anchorName);
+        Frame frame = current();
+
+        if (frame.isExpectingKey()) {
+            ((MapFrame) frame).aliasKey(anchorName, recording);
+        } else {
+            frame.alias(anchorName, recording, mode);
+        }
+    }
+
+    /**
+     * Creates a copy of an anchored node by replaying its events.
+     */
+    private void replay(String anchorName, Recording recording, boolean link, GraphGenerator.Mode mode) {
+        AliasFrame aliasFrame = new AliasFrame(current(), anchorName, recording, link);
+        frames.push(aliasFrame);
+        for (Event event : recording.events) {
+            process(event, mode);
+        }
+        if (frames.pop() != aliasFrame) {
+            String message = format("Unbalanced events for anchor '%s'", anchorName);
+            throw new GraphGenerationFailedException(message);
+        }
+    }
+
+    /**
+     * Retains the events of all nodes which carry an anchor.
+     */
+    private void record(Event event) {
+        if (event instanceof NodeEvent) {
+            Optional<Anchor> anchor = ((NodeEvent) event).getAnchor();
+            if (anchor.isPresent() && !(event instanceof AliasEvent)) {
+                Frame frame = frames.peek();
+                Integer index = frame instanceof SequenceFrame ? ((SequenceFrame) frame).index : null;
+                Recording recording = new Recording(index);
+                recordings.put(anchor.get().getValue(), recording);
+                activeRecordings.add(recording);
+            }
+        }
+
+        if (!activeRecordings.isEmpty()) {
+            boolean start = event instanceof CollectionStartEvent;
+            boolean end = event instanceof CollectionEndEvent;
+            Iterator<Recording> iterator = activeRecordings.iterator();
+            while (iterator.hasNext()) {
+                Recording recording = iterator.next();
+                recording.events.add(event);
+                recording.depth += start ? 1 : end ? -1 : 0;
+                if (recording.depth == 0) {
+                    recording.complete = true;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private Recording getRecording(String anchorName) {
+        Recording recording = recordings.get(anchorName);
+        if (recording == null) {
+            String message = format("Anchor '%s' not found in document", anchorName);
+            throw new GraphGenerationFailedException(message);
+        }
+        if (!recording.complete) {
+            String message = format("Recursive alias '%s' is not supported", anchorName);
+            throw new GraphGenerationFailedException(message);
+        }
+        return recording;
+    }
+
+    private Frame current() {
+        Frame frame = frames.peek();
+        if (frame == null) {
+            throw new GraphGenerationFailedException("Node outside of a document");
+        }
+        return frame;
+    }
+
+    /**
+     * The events of an anchored node and its position in a sequence.
+     */
+    private static class Recording {
+        private final List<Event> events = new ArrayList<>();
+        private final Integer index;
+        private int depth = 0;
+        private boolean complete = false;
+
+        private Recording(Integer index) {
+            this.index = index;
+        }
+
+        private boolean isScalar() {
+            return events.size() == 1 && events.get(0) instanceof ScalarEvent;
+        }
+    }
+
+    private abstract static class Frame {
+
+        boolean isExpectingKey() {
+            return false;
+        }
+
+        /**
+         * Returns the index of the next node created within this frame.
+         */
+        Integer nextIndex() {
+            return null;
+        }
+
+        abstract void created(YMLDescriptor descriptor);
+
+        abstract void alias(String anchorName, Recording recording, GraphGenerator.Mode mode);
+
+        YMLDescriptor end() {
+            throw new IllegalStateException("Unexpected end of collection");
+        }
+    }
+
+    private class DocumentFrame extends Frame {
+        private final YMLDocumentDescriptor documentDescriptor;
+
+        private DocumentFrame(YMLDocumentDescriptor documentDescriptor) {
+            this.documentDescriptor = documentDescriptor;
+        }
+
+        @Override
+        void created(YMLDescriptor descriptor) {
+            if (descriptor instanceof YMLSequenceDescriptor) {
+                documentDescriptor.getSequences().add((YMLSequenceDescriptor) descriptor);
+            } else if (descriptor instanceof YMLMapDescriptor) {
+                documentDescriptor.getMaps().add((YMLMapDescriptor) descriptor);
+            } else {
+                documentDescriptor.getScalars().add((YMLScalarDescriptor) descriptor);
+            }
+        }
+
+        @Override
+        void alias(String anchorName, Recording recording, GraphGenerator.Mode mode) {
+            String message = format("Alias '%s' is not supported as document root", anchorName);
+            throw new GraphGenerationFailedException(message);
+        }
+    }
+
+    private class SequenceFrame extends Frame {
+        private final YMLSequenceDescriptor sequenceDescriptor;
+        private int index = 0;
+        private YMLDescriptor first;
+        private YMLDescriptor last;
+
+        private SequenceFrame(YMLSequenceDescriptor sequenceDescriptor) {
+            this.sequenceDescriptor = sequenceDescriptor;
+        }
+
+        @Override
+        Integer nextIndex() {
+            return index++;
+        }
+
+        @Override
+        void created(YMLDescriptor descriptor) {
+            store.addDescriptorType(descriptor, YMLItemDescriptor.class);
+
+            if (descriptor instanceof YMLSequenceDescriptor) {
+                sequenceDescriptor.getSequences().add((YMLSequenceDescriptor) descriptor);
+            } else if (descriptor instanceof YMLMapDescriptor) {
+                sequenceDescriptor.getMaps().add((YMLMapDescriptor) descriptor);
+            } else if (descriptor instanceof YMLScalarDescriptor) {
+                sequenceDescriptor.getScalars().add((YMLScalarDescriptor) descriptor);
+            } else {
+                String message = "Unsupported descriptor type";
+                throw new IllegalStateException(message);
+            }
+
+            if (first == null) {
+                first = descriptor;
+            }
+            last = descriptor;
+        }
+
+        @Override
+        void alias(String anchorName, Recording recording, GraphGenerator.Mode mode) {
+            replay(anchorName, recording, true, REFERENCE);
+        }
+
+        @Override
+        YMLDescriptor end() {
+            if (last != null) {
+                store.addDescriptorType(last, YMLLastDescriptor.class);
+            }
+            if (first != null) {
+                store.addDescriptorType(first, YMLFirstDescriptor.class);
+            }
+            return sequenceDescriptor;
+        }
+    }
+
+    private class MapFrame extends Frame {
+        private final YMLMapDescriptor mapDescriptor;
+        private final GraphGenerator.Mode mode;
+        private State state = State.KEY;
+        private YMLKeyDescriptor keyDescriptor;
+
+        private MapFrame(YMLMapDescriptor mapDescriptor, GraphGenerator.Mode mode) {
+            this.mapDescriptor = mapDescriptor;
+            this.mode = mode;
+        }
+
+        @Override
+        boolean isExpectingKey() {
+            return state == State.KEY;
+        }
+
+        void simpleKey(ScalarEvent event, GraphGenerator.Mode mode) {
+            YMLSimpleKeyDescriptor simpleKeyDescriptor = store.create(YMLSimpleKeyDescriptor.class);
+            simpleKeyDescriptor.setName(event.getValue());
+            mapDescriptor.getKeys().add(simpleKeyDescriptor);
+            anchorHandler.handleAnchor(() -> event, simpleKeyDescriptor, mode);
+            keyDescriptor = simpleKeyDescriptor;
+            state = State.SIMPLE_KEY_VALUE;
+        }
+
+        void aliasKey(String anchorName, Recording recording) {
+            if (!recording.isScalar()) {
+                String message = "Key of alias key node is not a scalar node";
+                throw new GraphGenerationFailedException(message);
+            }
+            YMLSimpleKeyDescriptor simpleKeyDescriptor = store.create(YMLSimpleKeyDescriptor.class);
+            simpleKeyDescriptor.setName(((ScalarEvent) recording.events.get(0)).getValue());
+            store.addDescriptorType(simpleKeyDescriptor, YMLAliasDescriptor.class);
+            mapDescriptor.getKeys().add(simpleKeyDescriptor);
+            aliasLinker.linkToAnchor(() -> anchorName, simpleKeyDescriptor);
+            keyDescriptor = simpleKeyDescriptor;
+            state = State.ALIAS_KEY_VALUE;
+        }
+
+        void complexKey() {
+            YMLComplexKeyDescriptor complexKeyDescriptor = store.create(YMLComplexKeyDescriptor.class);
+            mapDescriptor.getComplexKeys().add(complexKeyDescriptor);
+            keyDescriptor = complexKeyDescriptor;
+            state = State.COMPLEX_KEY;
+        }
+
+        @Override
+        void created(YMLDescriptor descriptor) {
+            switch (state) {
+                case COMPLEX_KEY:
+                    ((YMLComplexKeyDescriptor) keyDescriptor).setKey(descriptor);
+                    store.addDescriptorType(descriptor, YMLComplexKeyValue.class);
+                    state = State.COMPLEX_KEY_VALUE;
+                    return;
+                case SIMPLE_KEY_VALUE:
+                case COMPLEX_KEY_VALUE:
+                    store.addDescriptorType(descriptor, YMLValueDescriptor.class);
+                    keyDescriptor.setValue(descriptor);
+                    break;
+                case ALIAS_KEY_VALUE:
+                    keyDescriptor.setValue(descriptor);
+                    break;
+                default:
+                    throw new IllegalStateException("Value without key");
+            }
+            keyDescriptor = null;
+            state = State.KEY;
+        }
+
+        @Override
+        void alias(String anchorName, Recording recording, GraphGenerator.Mode mode) {
+            if (state == State.SIMPLE_KEY_VALUE) {
+                replay(anchorName, recording, true, REFERENCE);
+            } else {
+                // the aliased node is copied as value of alias and complex keys but not linked to its anchor
+                replay(anchorName, recording, false, this.mode);
+            }
+        }
+
+        @Override
+        YMLDescriptor end() {
+            return mapDescriptor;
+        }
+    }
+
+    private class AliasFrame extends Frame {
+        private final Frame parent;
+        private final String anchorName;
+        private final Recording recording;
+        private final boolean link;
+
+        private AliasFrame(Frame parent, String anchorName, Recording recording, boolean link) {
+            this.parent = parent;
+            this.anchorName = anchorName;
+            this.recording = recording;
+            this.link = link;
+        }
+
+        @Override
+        Integer nextIndex() {
+            // a copy takes the position of the alias in a sequence, otherwise the position of the anchored node
+            return parent instanceof SequenceFrame ? parent.nextIndex() : recording.index;
+        }
+
+        @Override
+        void created(YMLDescriptor descriptor) {
+            parent.created(descriptor);
+            if (link) {
+                aliasLinker.linkToAnchor(() -> anchorName, descriptor);
+            }
+        }
+
+        @Override
+        void alias(String anchorName, Recording recording, GraphGenerator.Mode mode) {
+            String message = format("Alias '%s' is not supported as alias", anchorName);
+            throw new GraphGenerationFailedException(message);
+        }
+    }
+
+    private enum State {
+        KEY,
+        SIMPLE_KEY_VALUE,
+        ALIAS_KEY_VALUE,
+        COMPLEX_KEY,
+        COMPLEX_KEY_VALUE
+    }
+}
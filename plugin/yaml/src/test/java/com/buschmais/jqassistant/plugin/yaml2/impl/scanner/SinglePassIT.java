@@ -0,0 +1,92 @@
+package com.buschmais.jqassistant.plugin.yaml2.impl.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.buschmais.jqassistant.plugin.yaml2.api.model.YMLFileDescriptor;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the single pass graph generation creates the same graph as the generation from the tree of parsed nodes.
+ */
+class SinglePassIT extends AbstractYAMLPluginIT {
+
+    static Stream<String> yamlFiles() throws IOException, URISyntaxException {
+        Path classesDirectory = Paths.get(SinglePassIT.class.getResource("/").toURI());
+        try (Stream<Path> paths = Files.walk(classesDirectory)) {
+            return paths.map(path -> classesDirectory.relativize(path).toString())
+                        .filter(path -> path.endsWith(".yaml") || path.endsWith(".yml"))
+                        .sorted()
+                        .collect(Collectors.toList())
+                        .stream();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("yamlFiles")
+    void sameGraphAsTreeBasedGeneration(String sourceFile) {
+        File yamlFile = new File(getClassesDirectory(YMLFileScannerPlugin.class), sourceFile);
+
+        YMLFileDescriptor treeBased = getScanner(singletonMap(YMLFileScannerPlugin.PROPERTY_SINGLE_PASS, "false"))
+            .scan(yamlFile, "/tree/" + sourceFile, null);
+        YMLFileDescriptor singlePass = getScanner(singletonMap(YMLFileScannerPlugin.PROPERTY_SINGLE_PASS, "true"))
+            .scan(yamlFile, "/single-pass/" + sourceFile, null);
+
+        assertThat(singlePass.isValid()).isEqualTo(treeBased.isValid());
+        if (treeBased.isValid()) {
+            assertThat(serialize(singlePass.getId())).isEqualTo(serialize(treeBased.getId()));
+        }
+    }
+
+    /**
+     * Serializes a node and all nodes reachable from it by their labels, properties and relationships, ignoring ids and the order of relationships.
+     */
+    private String serialize(Object id) {
+        Map<String, Object> node = query("MATCH (n) WHERE id(n)=$id RETURN labels(n) as labels, properties(n) as properties",
+            singletonMap("id", id)).getRows().get(0);
+        Map<String, Object> properties = properties(node);
+        properties.remove("fileName");
+        List<String> relations = query("MATCH (n)-[r]->(m) WHERE id(n)=$id RETURN type(r) as type, id(m) as target", singletonMap("id", id))
+            .getRows()
+            .stream()
+            .map(row -> {
+                String type = (String) row.get("type");
+                // anchors are represented by their labels and properties only
+                String target = "IS_ALIAS_FOR".equals(type) ? shallow(row.get("target")) : serialize(row.get("target"));
+                return type + "->" + target;
+            })
+            .sorted()
+            .collect(Collectors.toList());
+        return labels(node) + properties.toString() + relations;
+    }
+
+    private String shallow(Object id) {
+        Map<String, Object> node = query("MATCH (n) WHERE id(n)=$id RETURN labels(n) as labels, properties(n) as properties",
+            singletonMap("id", id)).getRows().get(0);
+        return labels(node) + properties(node).toString();
+    }
+
+    private static List<String> labels(Map<String, Object> node) {
+        return ((List<?>) node.get("labels")).stream().map(String.class::cast).sorted().collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> properties(Map<String, Object> node) {
+        Map<String, Object> properties = new TreeMap<>();
+        ((Map<?, ?>) node.get("properties")).forEach((key, value) -> properties.put((String) key, value));
+        return properties;
+    }
+}